@@ -28,6 +28,9 @@ import org.apache.carbondata.core.cache.dictionary.ForwardDictionaryCache;
 import org.apache.carbondata.core.cache.dictionary.ReverseDictionaryCache;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.indexstore.BlockletDataMapIndexStore;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooterCache;
+import org.apache.carbondata.core.mutate.DeleteDeltaCache;
+import org.apache.carbondata.core.scan.result.ScanResultCache;
 import org.apache.carbondata.core.util.CarbonProperties;
 
 import org.apache.log4j.Logger;
@@ -142,6 +145,12 @@ public class CacheProvider {
           new ForwardDictionaryCache<DictionaryColumnUniqueIdentifier, Dictionary>(carbonLRUCache);
     } else if (cacheType.equals(cacheType.DRIVER_BLOCKLET_DATAMAP)) {
       cacheObject = new BlockletDataMapIndexStore(carbonLRUCache);
+    } else if (cacheType.equals(CacheType.DELETE_DELTA)) {
+      cacheObject = new DeleteDeltaCache(carbonLRUCache);
+    } else if (cacheType.equals(CacheType.DATA_FILE_FOOTER)) {
+      cacheObject = new DataFileFooterCache(carbonLRUCache);
+    } else if (cacheType.equals(CacheType.SCAN_RESULT)) {
+      cacheObject = new ScanResultCache(carbonLRUCache);
     }
     cacheTypeToCacheMap.put(cacheType, cacheObject);
   }
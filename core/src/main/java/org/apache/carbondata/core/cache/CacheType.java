@@ -21,6 +21,11 @@ import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.cache.dictionary.DictionaryColumnUniqueIdentifier;
 import org.apache.carbondata.core.datastore.TableSegmentUniqueIdentifier;
 import org.apache.carbondata.core.datastore.block.AbstractIndex;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.blocklet.CacheableDataFileFooter;
+import org.apache.carbondata.core.mutate.BlockDeletedRows;
+import org.apache.carbondata.core.scan.executor.infos.DeleteDeltaInfo;
+import org.apache.carbondata.core.scan.result.CacheableScanResult;
 
 /**
  * class which defines different cache types. cache type can be dictionary cache for
@@ -47,6 +52,24 @@ public class CacheType<K, V> {
   public static final CacheType<TableSegmentUniqueIdentifier, AbstractIndex>
       DRIVER_BLOCKLET_DATAMAP = new CacheType("driver_blocklet_datamap");
 
+  /**
+   * Executor cache of the deleted rows of a block, read from its delete delta files
+   */
+  public static final CacheType<DeleteDeltaInfo, BlockDeletedRows> DELETE_DELTA =
+      new CacheType("delete_delta");
+
+  /**
+   * Cache of the footers of the data files
+   */
+  public static final CacheType<TableBlockInfo, CacheableDataFileFooter> DATA_FILE_FOOTER =
+      new CacheType("data_file_footer");
+
+  /**
+   * Executor cache of the rows scanned from a block by the row based query
+   */
+  public static final CacheType<String, CacheableScanResult> SCAN_RESULT =
+      new CacheType("scan_result");
+
   /**
    * cacheName which is unique name for a cache
    */
@@ -329,6 +329,26 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_INVISIBLE_SEGMENTS_PRESERVE_COUNT_DEFAULT = "200";
 
+  /**
+   * whether to append the changes of tablestatus into a binary change log instead of
+   * rewriting the whole tablestatus file, the tablestatus file is rewritten as a checkpoint
+   * after a number of changes
+   */
+  @CarbonProperty
+  public static final String CARBON_TABLE_STATUS_LOG_ENABLE = "carbon.tablestatus.log.enable";
+
+  public static final String CARBON_TABLE_STATUS_LOG_ENABLE_DEFAULT = "false";
+
+  /**
+   * number of changes appended to the tablestatus change log after which the tablestatus file
+   * is rewritten and the change log is removed
+   */
+  @CarbonProperty
+  public static final String CARBON_TABLE_STATUS_LOG_CHECKPOINT_INTERVAL =
+      "carbon.tablestatus.log.checkpoint.interval";
+
+  public static final String CARBON_TABLE_STATUS_LOG_CHECKPOINT_INTERVAL_DEFAULT = "50";
+
   /**
    * System older location to store system level data like datamap schema and status files.
    */
@@ -1130,6 +1150,17 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_COMPACTION_PREFETCH_ENABLE_DEFAULT = "false";
 
+  /**
+   * whether to compact the segments by copying the encoded blocklets into the new files when
+   * the rows need not to be rewritten, like when the schemas are same, there are no deleted
+   * rows and the segments are unsorted or their sort column ranges do not overlap
+   */
+  @CarbonProperty
+  public static final String CARBON_COMPACTION_COPY_BLOCKLETS_ENABLE =
+      "carbon.compaction.copy.blocklets.enable";
+
+  public static final String CARBON_COMPACTION_COPY_BLOCKLETS_ENABLE_DEFAULT = "false";
+
   /**
    * compression mode used by lucene for index writing, this conf will be passed to lucene writer
    * while writing index files.
@@ -1298,6 +1329,12 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_TASK_DISTRIBUTION_MERGE_FILES = "merge_small_files";
 
+  /**
+   * It packs the blocks into tasks of the configurable partition size as per the bytes of the
+   * projected columns to be read from them.
+   */
+  public static final String CARBON_TASK_DISTRIBUTION_PROJECTED_SIZE = "projected_size";
+
   /**
    * Default task distribution.
    */
@@ -1443,6 +1480,97 @@ public final class CarbonCommonConstants {
 
   public static final String USE_DISTRIBUTED_DATAMAP_DEFAULT = "false";
 
+  /**
+   * address of the blocklet index service in host:port format. When it is set, the driver
+   * prunes the blocklets of the transactional tables through the service, so the indexes are
+   * loaded and cached once in the long lived service process and shared by all the drivers.
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_SERVICE_ADDRESS = "carbon.index.service.address";
+
+  /**
+   * timeout in milliseconds of a request to the blocklet index service
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_SERVICE_TIMEOUT = "carbon.index.service.timeout";
+
+  public static final String CARBON_INDEX_SERVICE_TIMEOUT_DEFAULT = "60000";
+
+  /**
+   * number of threads of the blocklet index service to serve the requests
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_SERVICE_WORKER_THREADS =
+      "carbon.index.service.worker.threads";
+
+  public static final String CARBON_INDEX_SERVICE_WORKER_THREADS_DEFAULT = "8";
+
+  /**
+   * host name or address on which the blocklet index service listens, the loopback address by
+   * default so that only the drivers of the same host can reach it
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_SERVICE_BIND_HOST = "carbon.index.service.bind.host";
+
+  public static final String CARBON_INDEX_SERVICE_BIND_HOST_DEFAULT = "127.0.0.1";
+
+  /**
+   * secret shared by the blocklet index service and its clients. Both sides prove that they
+   * know it before any request is read, the service does not start without it.
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_SERVICE_SECRET = "carbon.index.service.secret";
+
+  /**
+   * whether the executor records the time taken by each operator of the scan, like reading,
+   * decoding, filtering and filling the vectors, in the process wide scan metrics
+   */
+  @CarbonProperty
+  public static final String CARBON_SCAN_METRICS_ENABLED = "carbon.scan.metrics.enabled";
+
+  public static final String CARBON_SCAN_METRICS_ENABLED_DEFAULT = "true";
+
+  /**
+   * whether EXPLAIN command executes the query and prints the runtime profile of each scan, like
+   * the pages pruned, the rows selected by each filter and the bytes read of each column
+   */
+  @CarbonProperty(dynamicConfigurable = true)
+  public static final String CARBON_EXPLAIN_ANALYZE = "carbon.explain.analyze";
+
+  public static final String CARBON_EXPLAIN_ANALYZE_DEFAULT = "false";
+
+  /**
+   * whether the footers of the V3 data files are cached in the LRU cache, so that the files
+   * opened again by the queries, compaction and SDK readers are not read and converted again.
+   * The memory of the cache is bounded by the LRU cache size of the process.
+   */
+  @CarbonProperty
+  public static final String CARBON_FOOTER_CACHE_ENABLED = "carbon.footer.cache.enabled";
+
+  public static final String CARBON_FOOTER_CACHE_ENABLED_DEFAULT = "false";
+
+  /**
+   * whether the rows scanned from a block by the row based query are cached in the executor LRU
+   * cache, so that the repeated queries with same projection and filter on the same data files
+   * and delete deltas return the cached rows instead of scanning the block again. It is ignored
+   * if the size of the LRU cache is not configured.
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_RESULT_CACHE_ENABLED =
+      "carbon.query.result.cache.enabled";
+
+  public static final String CARBON_QUERY_RESULT_CACHE_ENABLED_DEFAULT = "false";
+
+  /**
+   * maximum size in MB of the rows of one block cached by the query result cache, the rows of a
+   * block bigger than this are not cached
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_RESULT_CACHE_MAX_ENTRY_SIZE =
+      "carbon.query.result.cache.max.entry.size";
+
+  public static final String CARBON_QUERY_RESULT_CACHE_MAX_ENTRY_SIZE_DEFAULT = "8";
+
   @CarbonProperty(dynamicConfigurable = true)
   public static final String SUPPORT_DIRECT_QUERY_ON_DATAMAP =
       "carbon.query.directQueryOnDataMap.enabled";
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datamap;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datamap.dev.DataMap;
+import org.apache.carbondata.core.datamap.dev.expr.DataMapExprWrapper;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.indexstore.Blocklet;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonTaskInfo;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Runs the datamap pruning in a fork/join pool shared by all the queries in the driver. A pruning
+ * job is split in halves until each part is a single datamap, and idle threads steal the parts
+ * queued by the busy ones, so the threads are not left idle by skewed segments.
+ */
+@InterfaceAudience.Internal
+public final class DataMapPruneScheduler {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(DataMapPruneScheduler.class.getName());
+
+  private static volatile ForkJoinPool pool;
+
+  /**
+   * number of jobs blocked on IO in the pool, at most the parallelism of the pool
+   */
+  private static final AtomicInteger blockedJobs = new AtomicInteger();
+
+  private DataMapPruneScheduler() {
+  }
+
+  /**
+   * Return the number of threads used for pruning in the driver
+   */
+  public static int getNumOfThreadsForPruning() {
+    int numOfThreadsForPruning = Integer.parseInt(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING,
+            CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT));
+    if (numOfThreadsForPruning > Integer
+        .parseInt(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT)
+        || numOfThreadsForPruning < 1) {
+      LOGGER.info("Invalid value for carbon.max.driver.threads.for.block.pruning, value :"
+          + numOfThreadsForPruning + " .using the default threads : "
+          + CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT);
+      numOfThreadsForPruning = Integer
+          .parseInt(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT);
+    }
+    return numOfThreadsForPruning;
+  }
+
+  private static ForkJoinPool getPool() {
+    if (pool == null) {
+      synchronized (DataMapPruneScheduler.class) {
+        if (pool == null) {
+          int parallelism = getNumOfThreadsForPruning();
+          LOGGER.info("Creating datamap pruning pool with " + parallelism + " threads");
+          pool = new ForkJoinPool(parallelism, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+            @Override public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+              thread.setName("DataMapPruningPool-" + thread.getPoolIndex());
+              return thread;
+            }
+          }, null, false);
+        }
+      }
+    }
+    return pool;
+  }
+
+  /**
+   * Prune the datamaps in parallel
+   *
+   * @param dataMaps datamaps to prune
+   * @param segmentProperties segment properties of each datamap
+   * @param blocking true if the datamaps wait on IO while pruning, like bloom and lucene
+   * @return pruned blocklets of each datamap, in the order of the datamaps
+   */
+  static List<List<Blocklet>> prune(final List<DataMap> dataMaps,
+      final List<SegmentProperties> segmentProperties, final FilterResolverIntf filterExp,
+      final List<PartitionSpec> partitions, boolean blocking) throws IOException {
+    final List<List<Blocklet>> results =
+        new ArrayList<>(Collections.<List<Blocklet>>nCopies(dataMaps.size(), null));
+    execute(dataMaps.size(), new IndexedJob() {
+      @Override public void run(int index) throws IOException {
+        results.set(index,
+            dataMaps.get(index).prune(filterExp, segmentProperties.get(index), partitions));
+      }
+    }, blocking);
+    return results;
+  }
+
+  /**
+   * Prune the datamap expressions in parallel, the datamaps of each expression are also pruned
+   * in the same pool
+   *
+   * @return pruned blocklets of each expression, in the order of the expressions
+   */
+  public static List<List<ExtendedBlocklet>> prune(final List<DataMapExprWrapper> wrappers,
+      final List<Segment> segments, final List<PartitionSpec> partitions) throws IOException {
+    final List<List<ExtendedBlocklet>> results =
+        new ArrayList<>(Collections.<List<ExtendedBlocklet>>nCopies(wrappers.size(), null));
+    execute(wrappers.size(), new IndexedJob() {
+      @Override public void run(int index) throws IOException {
+        results.set(index, wrappers.get(index).prune(segments, partitions));
+      }
+    });
+    return results;
+  }
+
+  /**
+   * Run the job for all the indexes from 0 to count in the pool and wait for them
+   */
+  static void execute(int count, IndexedJob job) throws IOException {
+    execute(count, job, false);
+  }
+
+  /**
+   * Run the job for all the indexes from 0 to count in the pool and wait for them
+   *
+   * @param blocking true if the job blocks on IO, the pool then adds a thread while a job is
+   *                 blocked so that the other jobs keep running. At most as many jobs as the
+   *                 parallelism of the pool are blocked at a time, so the pool has at most twice
+   *                 the configured number of threads.
+   */
+  static void execute(int count, IndexedJob job, boolean blocking) throws IOException {
+    if (count == 0) {
+      return;
+    }
+    RangeTask task = new RangeTask(job, blocking, 0, count, Thread.currentThread().getName(),
+        ThreadLocalTaskInfo.getCarbonTaskInfo());
+    ForkJoinPool pruningPool = getPool();
+    try {
+      if (ForkJoinTask.getPool() == pruningPool) {
+        // called from a pruning task, run in the same pool so that this thread helps
+        task.invoke();
+      } else {
+        pruningPool.invoke(task);
+      }
+    } catch (PruneFailure e) {
+      Throwable cause = e.getCause();
+      while (cause instanceof PruneFailure) {
+        cause = cause.getCause();
+      }
+      throw (IOException) cause;
+    }
+  }
+
+  /**
+   * Job to run for each index in a range
+   */
+  interface IndexedJob {
+    void run(int index) throws IOException;
+  }
+
+  /**
+   * Runs the job for a range of indexes. The range is split in halves until it has only one
+   * index, and each index is run with the thread name and task info of the caller, as they are
+   * used for the pruning statistics and memory accounting.
+   */
+  private static final class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 2473853263102739853L;
+
+    private final IndexedJob job;
+
+    private final boolean blocking;
+
+    private final int from;
+
+    private final int to;
+
+    private final String threadName;
+
+    private final CarbonTaskInfo taskInfo;
+
+    RangeTask(IndexedJob job, boolean blocking, int from, int to, String threadName,
+        CarbonTaskInfo taskInfo) {
+      this.job = job;
+      this.blocking = blocking;
+      this.from = from;
+      this.to = to;
+      this.threadName = threadName;
+      this.taskInfo = taskInfo;
+    }
+
+    @Override protected void compute() {
+      if (to - from > 1) {
+        int mid = (from + to) >>> 1;
+        invokeAll(new RangeTask(job, blocking, from, mid, threadName, taskInfo),
+            new RangeTask(job, blocking, mid, to, threadName, taskInfo));
+        return;
+      }
+      Thread thread = Thread.currentThread();
+      String currentThreadName = thread.getName();
+      CarbonTaskInfo currentTaskInfo = ThreadLocalTaskInfo.getCarbonTaskInfo();
+      thread.setName(threadName);
+      ThreadLocalTaskInfo.setCarbonTaskInfo(taskInfo);
+      try {
+        if (blocking && tryBlock(getPool().getParallelism())) {
+          try {
+            BlockingJob blockingJob = new BlockingJob(job, from);
+            ForkJoinPool.managedBlock(blockingJob);
+            blockingJob.checkFailure();
+          } finally {
+            blockedJobs.decrementAndGet();
+          }
+        } else {
+          // the pool does not add a thread for a job which is not blocking, or when the maximum
+          // number of blocked jobs is reached
+          job.run(from);
+        }
+      } catch (IOException e) {
+        throw new PruneFailure(e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PruneFailure(new InterruptedIOException("Datamap pruning is interrupted"));
+      } finally {
+        ThreadLocalTaskInfo.setCarbonTaskInfo(currentTaskInfo);
+        thread.setName(currentThreadName);
+      }
+    }
+  }
+
+  /**
+   * Count a job blocked on IO, return false if the maximum number of blocked jobs is reached
+   */
+  private static boolean tryBlock(int maxBlockedJobs) {
+    while (true) {
+      int current = blockedJobs.get();
+      if (current >= maxBlockedJobs) {
+        return false;
+      }
+      if (blockedJobs.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Runs the job for one index as a blocker of the pool
+   */
+  private static final class BlockingJob implements ForkJoinPool.ManagedBlocker {
+
+    private final IndexedJob job;
+
+    private final int index;
+
+    private boolean done;
+
+    private IOException failure;
+
+    BlockingJob(IndexedJob job, int index) {
+      this.job = job;
+      this.index = index;
+    }
+
+    @Override public boolean block() {
+      try {
+        job.run(index);
+      } catch (IOException e) {
+        failure = e;
+      }
+      done = true;
+      return true;
+    }
+
+    @Override public boolean isReleasable() {
+      return done;
+    }
+
+    void checkFailure() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  /**
+   * Carries the IOException of a pruning task to the caller
+   */
+  private static final class PruneFailure extends RuntimeException {
+
+    private static final long serialVersionUID = -1652930219853340187L;
+
+    PruneFailure(Throwable cause) {
+      super(cause);
+    }
+  }
+}
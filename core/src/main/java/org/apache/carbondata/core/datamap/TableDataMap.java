@@ -20,13 +20,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -43,10 +37,11 @@ import org.apache.carbondata.core.indexstore.PartitionSpec;
 import org.apache.carbondata.core.indexstore.SegmentPropertiesFetcher;
 import org.apache.carbondata.core.indexstore.blockletindex.BlockDataMap;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.SegmentFileStore;
+import org.apache.carbondata.core.metadata.SegmentSummary;
 import org.apache.carbondata.core.metadata.schema.table.DataMapSchema;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
-import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.events.Event;
 import org.apache.carbondata.events.OperationContext;
 import org.apache.carbondata.events.OperationEventListener;
@@ -75,6 +70,11 @@ public final class TableDataMap extends OperationEventListener {
 
   private SegmentPropertiesFetcher segmentPropertiesFetcher;
 
+  /**
+   * summary of the segments read from the segment files, by segment file name
+   */
+  private Map<String, SegmentSummary> segmentSummaries = new ConcurrentHashMap<>();
+
   private static final Log LOG = LogFactory.getLog(TableDataMap.class);
 
   /**
@@ -127,49 +127,46 @@ public final class TableDataMap extends OperationEventListener {
   }
 
   /**
-   * Pass the valid segments and prune the datamap using filter expression
+   * Pass the valid segments and prune the datamap using filter expression. All the segments are
+   * pruned even for a query with LIMIT, as the engines do not pass the limit to the input format.
    *
    * @param segments
    * @param filterExp
    * @return
    */
-  public List<ExtendedBlocklet> prune(List<Segment> segments, final FilterResolverIntf filterExp,
-      final List<PartitionSpec> partitions) throws IOException {
-    final List<ExtendedBlocklet> blocklets = new ArrayList<>();
-    final Map<Segment, List<DataMap>> dataMaps = dataMapFactory.getDataMaps(segments);
+  public List<ExtendedBlocklet> prune(List<Segment> segments, FilterResolverIntf filterExp,
+      List<PartitionSpec> partitions) throws IOException {
+    List<ExtendedBlocklet> blocklets = new ArrayList<>();
     // for non-filter queries
     if (filterExp == null) {
       // if filter is not passed, then return all the blocklets.
       return pruneWithoutFilter(segments, partitions, blocklets);
     }
+    // skip the segments by their summary before loading their datamaps
+    segments = pruneSegmentsBySummary(segments, filterExp);
+    Map<Segment, List<DataMap>> dataMaps = dataMapFactory.getDataMaps(segments);
     // for filter queries
     int totalFiles = 0;
     int datamapsCount = 0;
-    int filesCountPerDatamap;
     boolean isBlockDataMapType = true;
     for (Segment segment : segments) {
       for (DataMap dataMap : dataMaps.get(segment)) {
-        if (!(dataMap instanceof BlockDataMap)) {
+        if (dataMap instanceof BlockDataMap) {
+          int filesCountPerDatamap = ((BlockDataMap) dataMap).getTotalBlocks();
+          // old legacy store can give 0, so consider one datamap as 1 record.
+          totalFiles += (filesCountPerDatamap == 0) ? 1 : filesCountPerDatamap;
+        } else {
           isBlockDataMapType = false;
-          break;
         }
-        filesCountPerDatamap = ((BlockDataMap) dataMap).getTotalBlocks();
-        // old legacy store can give 0, so consider one datamap as 1 record.
-        totalFiles += (filesCountPerDatamap == 0) ? 1 : filesCountPerDatamap;
         datamapsCount++;
       }
-      if (!isBlockDataMapType) {
-        // totalFiles fill be 0 for non-BlockDataMap Type. ex: lucene, bloom datamap. use old flow.
-        break;
-      }
     }
-    int numOfThreadsForPruning = getNumOfThreadsForPruning();
-    if (numOfThreadsForPruning == 1 || datamapsCount < numOfThreadsForPruning || totalFiles
-        < CarbonCommonConstants.CARBON_DRIVER_PRUNING_MULTI_THREAD_ENABLE_FILES_COUNT) {
-      // use multi-thread, only if the files are more than 0.1 million.
-      // As 0.1 million files block pruning can take only 1 second.
-      // Doing multi-thread for smaller values is not recommended as
-      // driver should have minimum threads opened to support multiple concurrent queries.
+    if (DataMapPruneScheduler.getNumOfThreadsForPruning() == 1 || datamapsCount < 2 || (
+        isBlockDataMapType && totalFiles
+            < CarbonCommonConstants.CARBON_DRIVER_PRUNING_MULTI_THREAD_ENABLE_FILES_COUNT)) {
+      // pruning the default datamap of less than 0.1 million files takes less than a second,
+      // scheduling it in parallel does not pay off. Index datamaps like bloom and lucene read
+      // their index while pruning, so they are pruned in parallel whenever possible
       return pruneWithFilter(segments, filterExp, partitions, blocklets, dataMaps);
     }
     // handle by multi-thread
@@ -204,134 +201,40 @@ public final class TableDataMap extends OperationEventListener {
     return blocklets;
   }
 
+  /**
+   * Prune each datamap of all the segments as a separate task in the shared pruning pool
+   */
   private List<ExtendedBlocklet> pruneWithFilterMultiThread(List<Segment> segments,
-      final FilterResolverIntf filterExp, final List<PartitionSpec> partitions,
-      List<ExtendedBlocklet> blocklets, final Map<Segment, List<DataMap>> dataMaps,
-      int totalFiles) {
-    int numOfThreadsForPruning = getNumOfThreadsForPruning();
-    LOG.info(
-        "Number of threads selected for multi-thread block pruning is " + numOfThreadsForPruning
-            + ". total files: " + totalFiles + ". total segments: " + segments.size());
-    int filesPerEachThread = totalFiles / numOfThreadsForPruning;
-    int prev;
-    int filesCount = 0;
-    int processedFileCount = 0;
-    int filesCountPerDatamap;
-    List<List<SegmentDataMapGroup>> segmentList = new ArrayList<>(numOfThreadsForPruning);
-    List<SegmentDataMapGroup> segmentDataMapGroupList = new ArrayList<>();
+      FilterResolverIntf filterExp, List<PartitionSpec> partitions,
+      List<ExtendedBlocklet> blocklets, Map<Segment, List<DataMap>> dataMaps, int totalFiles)
+      throws IOException {
+    List<DataMap> dataMapList = new ArrayList<>();
+    List<SegmentProperties> segmentPropertiesList = new ArrayList<>();
     for (Segment segment : segments) {
-      List<DataMap> eachSegmentDataMapList = dataMaps.get(segment);
-      prev = 0;
-      for (int i = 0; i < eachSegmentDataMapList.size(); i++) {
-        DataMap dataMap = eachSegmentDataMapList.get(i);
-        filesCountPerDatamap = ((BlockDataMap) dataMap).getTotalBlocks();
-        // old legacy store can give 0, so consider one datamap as 1 record.
-        filesCount += (filesCountPerDatamap == 0) ? 1 : filesCountPerDatamap;
-        if (filesCount >= filesPerEachThread) {
-          if (segmentList.size() != numOfThreadsForPruning - 1) {
-            // not the last segmentList
-            segmentDataMapGroupList.add(new SegmentDataMapGroup(segment, prev, i));
-            // save the last value to process in next thread
-            prev = i + 1;
-            segmentList.add(segmentDataMapGroupList);
-            segmentDataMapGroupList = new ArrayList<>();
-            processedFileCount += filesCount;
-            filesCount = 0;
-          } else {
-            // add remaining in the end
-            processedFileCount += filesCount;
-            filesCount = 0;
-          }
-        }
-      }
-      if (prev == 0 || prev != eachSegmentDataMapList.size()) {
-        // if prev == 0. Add a segment's all datamaps
-        // eachSegmentDataMapList.size() != prev, adding the last remaining datamaps of this segment
-        segmentDataMapGroupList
-            .add(new SegmentDataMapGroup(segment, prev, eachSegmentDataMapList.size() - 1));
-      }
-    }
-    // adding the last segmentList data
-    segmentList.add(segmentDataMapGroupList);
-    processedFileCount += filesCount;
-    if (processedFileCount != totalFiles) {
-      // this should not happen
-      throw new RuntimeException(" not all the files processed ");
-    }
-    List<Future<Void>> results = new ArrayList<>(numOfThreadsForPruning);
-    final Map<Segment, List<Blocklet>> prunedBlockletMap = new ConcurrentHashMap<>(segments.size());
-    final ExecutorService executorService = Executors.newFixedThreadPool(numOfThreadsForPruning);
-    final String threadName = Thread.currentThread().getName();
-    for (int i = 0; i < numOfThreadsForPruning; i++) {
-      final List<SegmentDataMapGroup> segmentDataMapGroups = segmentList.get(i);
-      results.add(executorService.submit(new Callable<Void>() {
-        @Override public Void call() throws IOException {
-          Thread.currentThread().setName(threadName);
-          for (SegmentDataMapGroup segmentDataMapGroup : segmentDataMapGroups) {
-            List<Blocklet> pruneBlocklets = new ArrayList<>();
-            List<DataMap> dataMapList = dataMaps.get(segmentDataMapGroup.getSegment());
-            for (int i = segmentDataMapGroup.getFromIndex();
-                 i <= segmentDataMapGroup.getToIndex(); i++) {
-              pruneBlocklets.addAll(dataMapList.get(i).prune(filterExp,
-                  segmentPropertiesFetcher.getSegmentProperties(segmentDataMapGroup.getSegment()),
-                  partitions));
-            }
-            synchronized (prunedBlockletMap) {
-              List<Blocklet> pruneBlockletsExisting =
-                  prunedBlockletMap.get(segmentDataMapGroup.getSegment());
-              if (pruneBlockletsExisting != null) {
-                pruneBlockletsExisting.addAll(pruneBlocklets);
-              } else {
-                prunedBlockletMap.put(segmentDataMapGroup.getSegment(), pruneBlocklets);
-              }
-            }
-          }
-          return null;
-        }
-      }));
-    }
-    executorService.shutdown();
-    try {
-      executorService.awaitTermination(2, TimeUnit.HOURS);
-    } catch (InterruptedException e) {
-      LOG.error("Error in pruning datamap in multi-thread: " + e.getMessage());
-    }
-    // check for error
-    for (Future<Void> result : results) {
-      try {
-        result.get();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new RuntimeException(e);
+      SegmentProperties segmentProperties = segmentPropertiesFetcher.getSegmentProperties(segment);
+      for (DataMap dataMap : dataMaps.get(segment)) {
+        dataMapList.add(dataMap);
+        segmentPropertiesList.add(segmentProperties);
       }
     }
-    for (Map.Entry<Segment, List<Blocklet>> entry : prunedBlockletMap.entrySet()) {
-      try {
-        blocklets.addAll(addSegmentId(
-            blockletDetailsFetcher.getExtendedBlocklets(entry.getValue(), entry.getKey()),
-            entry.getKey().toString()));
-      } catch (IOException e) {
-        throw new RuntimeException(e);
+    LOG.info("Pruning " + dataMapList.size() + " datamaps in parallel. total files: "
+        + totalFiles + ". total segments: " + segments.size());
+    List<List<Blocklet>> prunedBlocklets =
+        DataMapPruneScheduler.prune(dataMapList, segmentPropertiesList, filterExp, partitions,
+            dataMapFactory.isPruneBlocking());
+    int dataMapIndex = 0;
+    for (Segment segment : segments) {
+      List<Blocklet> pruneBlocklets = new ArrayList<>();
+      for (int i = 0; i < dataMaps.get(segment).size(); i++) {
+        pruneBlocklets.addAll(prunedBlocklets.get(dataMapIndex++));
       }
+      blocklets.addAll(
+          addSegmentId(blockletDetailsFetcher.getExtendedBlocklets(pruneBlocklets, segment),
+              segment.toString()));
     }
     return blocklets;
   }
 
-  private int getNumOfThreadsForPruning() {
-    int numOfThreadsForPruning = Integer.parseInt(CarbonProperties.getInstance()
-        .getProperty(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING,
-            CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT));
-    if (numOfThreadsForPruning > Integer
-        .parseInt(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT)
-        || numOfThreadsForPruning < 1) {
-      LOG.info("Invalid value for carbon.max.driver.threads.for.block.pruning, value :"
-          + numOfThreadsForPruning + " .using the default threads : "
-          + CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT);
-      numOfThreadsForPruning = Integer
-          .parseInt(CarbonCommonConstants.CARBON_MAX_DRIVER_THREADS_FOR_BLOCK_PRUNING_DEFAULT);
-    }
-    return numOfThreadsForPruning;
-  }
-
   private List<ExtendedBlocklet> addSegmentId(List<ExtendedBlocklet> pruneBlocklets,
       String segmentId) {
     for (ExtendedBlocklet blocklet : pruneBlocklets) {
@@ -418,6 +321,9 @@ public final class TableDataMap extends OperationEventListener {
   public void clear(List<Segment> segments) {
     for (Segment segment: segments) {
       dataMapFactory.clear(segment);
+      if (segment.getSegmentFileName() != null) {
+        segmentSummaries.remove(segment.getSegmentFileName());
+      }
     }
   }
 
@@ -428,6 +334,7 @@ public final class TableDataMap extends OperationEventListener {
     if (null != dataMapFactory) {
       dataMapFactory.clear();
     }
+    segmentSummaries.clear();
   }
 
   /**
@@ -449,6 +356,43 @@ public final class TableDataMap extends OperationEventListener {
     return dataMapSchema;
   }
 
+  /**
+   * Remove the segments which can not have rows matching the filter as per the summary in
+   * their segment file. The segments without summary are retained.
+   */
+  private List<Segment> pruneSegmentsBySummary(List<Segment> segments,
+      FilterResolverIntf filterExp) throws IOException {
+    List<Segment> prunedSegments = new ArrayList<>(segments.size());
+    for (Segment segment : segments) {
+      if (getSegmentSummary(segment)
+          .isScanRequired(filterExp, dataMapFactory.getCarbonTable(), segment.getSegmentNo())) {
+        prunedSegments.add(segment);
+      }
+    }
+    if (prunedSegments.size() < segments.size()) {
+      LOG.info("Skipped " + (segments.size() - prunedSegments.size()) + " out of "
+          + segments.size() + " segments by segment summary");
+    }
+    return prunedSegments;
+  }
+
+  private SegmentSummary getSegmentSummary(Segment segment) throws IOException {
+    String segmentFileName = segment.getSegmentFileName();
+    if (segmentFileName == null) {
+      return new SegmentSummary();
+    }
+    SegmentSummary summary = segmentSummaries.get(segmentFileName);
+    if (summary == null) {
+      summary = SegmentFileStore.readSegmentSummary(identifier.getTablePath(), segmentFileName);
+      if (summary == null) {
+        // cache the segments without summary also, so that their segment file is read once
+        summary = new SegmentSummary();
+      }
+      segmentSummaries.put(segmentFileName, summary);
+    }
+    return summary;
+  }
+
   public DataMapFactory getDataMapFactory() {
     return dataMapFactory;
   }
@@ -468,7 +412,7 @@ public final class TableDataMap extends OperationEventListener {
   public List<Segment> pruneSegments(List<Segment> segments, FilterResolverIntf filterExp)
       throws IOException {
     List<Segment> prunedSegments = new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-    for (Segment segment : segments) {
+    for (Segment segment : pruneSegmentsBySummary(segments, filterExp)) {
       List<DataMap> dataMaps = dataMapFactory.getDataMaps(segment);
       for (DataMap dataMap : dataMaps) {
         if (dataMap.isScanRequired(filterExp)) {
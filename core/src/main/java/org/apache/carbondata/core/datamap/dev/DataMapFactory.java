@@ -183,4 +183,13 @@ public abstract class DataMapFactory<T extends DataMap> {
   public boolean supportRebuild() {
     return false;
   }
+
+  /**
+   * whether the prune of the datamaps waits on IO, like reading the index files. Such datamaps
+   * are pruned as blocking tasks of the driver pruning pool, which may add threads while they
+   * wait. By default prune is in memory and does not block.
+   */
+  public boolean isPruneBlocking() {
+    return false;
+  }
 }
@@ -18,10 +18,14 @@ package org.apache.carbondata.core.datamap.dev.expr;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.carbondata.core.datamap.DataMapDistributable;
 import org.apache.carbondata.core.datamap.DataMapLevel;
+import org.apache.carbondata.core.datamap.DataMapPruneScheduler;
 import org.apache.carbondata.core.datamap.Segment;
 import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
 import org.apache.carbondata.core.indexstore.PartitionSpec;
@@ -48,8 +52,11 @@ public class AndDataMapExprWrapper implements DataMapExprWrapper {
   @Override
   public List<ExtendedBlocklet> prune(List<Segment> segments, List<PartitionSpec> partitionsToPrune)
       throws IOException {
-    List<ExtendedBlocklet> leftPrune = left.prune(segments, partitionsToPrune);
-    List<ExtendedBlocklet> rightPrune = right.prune(segments, partitionsToPrune);
+    // both sides are pruned in parallel
+    List<List<ExtendedBlocklet>> prunedBlocklets = DataMapPruneScheduler
+        .prune(Arrays.asList(left, right), segments, partitionsToPrune);
+    List<ExtendedBlocklet> leftPrune = prunedBlocklets.get(0);
+    Set<ExtendedBlocklet> rightPrune = new HashSet<>(prunedBlocklets.get(1));
     List<ExtendedBlocklet> andBlocklets = new ArrayList<>();
     for (ExtendedBlocklet blocklet : leftPrune) {
       if (rightPrune.contains(blocklet)) {
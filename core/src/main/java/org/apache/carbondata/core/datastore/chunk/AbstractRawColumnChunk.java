@@ -18,6 +18,7 @@ package org.apache.carbondata.core.datastore.chunk;
 
 import java.nio.ByteBuffer;
 
+import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.DataChunk3;
 
 /**
@@ -47,6 +48,11 @@ public abstract class AbstractRawColumnChunk {
 
   private DataChunk3 dataChunkV3;
 
+  /**
+   * uncompressed size in bytes of the pages decoded from this chunk
+   */
+  private long decodedPagesSize;
+
   public AbstractRawColumnChunk(int columnIndex, ByteBuffer rawData, long offSet, int length) {
     this.columnIndex = columnIndex;
     this.rawData = rawData;
@@ -122,6 +128,22 @@ public abstract class AbstractRawColumnChunk {
     this.dataChunkV3 = dataChunkV3;
   }
 
+  /**
+   * Add the uncompressed size of the page to be decoded, it is known only for V3 format
+   */
+  protected void addDecodedPageSize(int pageNumber) {
+    if (null != dataChunkV3) {
+      DataChunk2 pageMetadata = dataChunkV3.getData_chunk_list().get(pageNumber);
+      if (pageMetadata.isSetChunk_meta()) {
+        decodedPagesSize += pageMetadata.getChunk_meta().getTotal_uncompressed_size();
+      }
+    }
+  }
+
+  public long getDecodedPagesSize() {
+    return decodedPagesSize;
+  }
+
   public boolean[] getMinMaxFlagArray() {
     return minMaxFlagArray;
   }
@@ -57,6 +57,7 @@ public class MeasureRawColumnChunk extends AbstractRawColumnChunk {
     for (int i = 0; i < pagesCount; i++) {
       try {
         if (columnPages[i] == null) {
+          addDecodedPageSize(i);
           columnPages[i] = chunkReader.decodeColumnPage(this, i, null);
         }
       } catch (Exception e) {
@@ -78,6 +79,7 @@ public class MeasureRawColumnChunk extends AbstractRawColumnChunk {
 
     try {
       if (columnPages[pageNumber] == null) {
+        addDecodedPageSize(pageNumber);
         columnPages[pageNumber] = chunkReader.decodeColumnPage(this, pageNumber, null);
       }
     } catch (IOException | MemoryException e) {
@@ -102,6 +104,7 @@ public class MeasureRawColumnChunk extends AbstractRawColumnChunk {
       return columnPages[index];
     }
     try {
+      addDecodedPageSize(index);
       return chunkReader.decodeColumnPage(this, index, reusableDataBuffer);
     } catch (IOException | MemoryException e) {
       throw new RuntimeException(e);
@@ -119,6 +122,7 @@ public class MeasureRawColumnChunk extends AbstractRawColumnChunk {
       ReusableDataBuffer reusableDataBuffer) {
     assert pageNumber < pagesCount;
     try {
+      addDecodedPageSize(pageNumber);
       chunkReader.decodeColumnPageAndFillVector(this, pageNumber, vectorInfo, reusableDataBuffer);
     } catch (IOException | MemoryException e) {
       throw new RuntimeException(e);
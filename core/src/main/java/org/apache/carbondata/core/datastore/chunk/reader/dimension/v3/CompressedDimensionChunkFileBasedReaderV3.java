@@ -42,6 +42,7 @@ import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
 import org.apache.carbondata.core.scan.executor.util.QueryUtil;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.stats.ScanMetrics;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
@@ -329,6 +330,7 @@ public class CompressedDimensionChunkFileBasedReaderV3 extends AbstractChunkRead
     int[] invertedIndexes = new int[0];
     int[] invertedIndexesReverse = new int[0];
     int uncompressedSize = 0;
+    long decompressStartTime = ScanMetrics.getInstance().start();
     if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
       uncompressedSize =
           compressor.unCompressedLength(pageData.array(), offset, pageMetadata.data_page_length);
@@ -338,6 +340,7 @@ public class CompressedDimensionChunkFileBasedReaderV3 extends AbstractChunkRead
       dataPage = compressor.unCompressByte(pageData.array(), offset, pageMetadata.data_page_length);
       uncompressedSize = dataPage.length;
     }
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.DECOMPRESS, decompressStartTime);
     offset += pageMetadata.data_page_length;
     // if row id block is present then read the row id chunk and uncompress it
     if (CarbonUtil.hasEncoding(pageMetadata.encoders, Encoding.INVERTED_INDEX)) {
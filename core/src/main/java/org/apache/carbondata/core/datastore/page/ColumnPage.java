@@ -35,6 +35,7 @@ import org.apache.carbondata.core.localdictionary.generator.LocalDictionaryGener
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.stats.ScanMetrics;
 import org.apache.carbondata.core.util.CarbonProperties;
 
 import static org.apache.carbondata.core.metadata.datatype.DataTypes.*;
@@ -796,6 +797,15 @@ public abstract class ColumnPage {
   public static ColumnPage decompress(ColumnPageEncoderMeta meta, byte[] compressedData,
       int offset, int length, boolean isLVEncoded)
       throws MemoryException {
+    long startTime = ScanMetrics.getInstance().start();
+    ColumnPage page = decompressPage(meta, compressedData, offset, length, isLVEncoded);
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.DECOMPRESS, startTime);
+    return page;
+  }
+
+  private static ColumnPage decompressPage(ColumnPageEncoderMeta meta, byte[] compressedData,
+      int offset, int length, boolean isLVEncoded)
+      throws MemoryException {
     Compressor compressor = CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
     TableSpec.ColumnSpec columnSpec = meta.getColumnSpec();
     DataType storeDataType = meta.getStoreDataType();
@@ -860,6 +870,14 @@ public abstract class ColumnPage {
    */
   public static ColumnPage decompressDecimalPage(ColumnPageEncoderMeta meta, byte[] compressedData,
       int offset, int length) throws MemoryException {
+    long startTime = ScanMetrics.getInstance().start();
+    ColumnPage page = decompressDecimal(meta, compressedData, offset, length);
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.DECOMPRESS, startTime);
+    return page;
+  }
+
+  private static ColumnPage decompressDecimal(ColumnPageEncoderMeta meta, byte[] compressedData,
+      int offset, int length) throws MemoryException {
     Compressor compressor = CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
     ColumnPage decimalPage;
     DataType storeDataType = meta.getStoreDataType();
@@ -40,6 +40,7 @@ import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.stats.ScanMetrics;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.Encoding;
@@ -137,6 +138,7 @@ public class AdaptiveDeltaFloatingCodec extends AdaptiveCodec {
         Compressor compressor =
             CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
         byte[] unCompressData;
+        long decompressStartTime = ScanMetrics.getInstance().start();
         if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
           int uncompressedLength = compressor.unCompressedLength(input, offset, length);
           unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
@@ -144,6 +146,7 @@ public class AdaptiveDeltaFloatingCodec extends AdaptiveCodec {
         } else {
           unCompressData = compressor.unCompressByte(input, offset, length);
         }
+        ScanMetrics.getInstance().record(ScanMetrics.Operator.DECOMPRESS, decompressStartTime);
         converter.decodeAndFillVector(unCompressData, vectorInfo, nullBits, meta.getStoreDataType(),
             pageSize);
       }
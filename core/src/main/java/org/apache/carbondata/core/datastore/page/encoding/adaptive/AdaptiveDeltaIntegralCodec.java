@@ -43,6 +43,7 @@ import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
 import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertableVector;
+import org.apache.carbondata.core.stats.ScanMetrics;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.Encoding;
@@ -149,6 +150,7 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
         Compressor compressor =
             CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
         byte[] unCompressData;
+        long decompressStartTime = ScanMetrics.getInstance().start();
         if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
           int uncompressedLength = compressor.unCompressedLength(input, offset, length);
           unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
@@ -156,6 +158,7 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
         } else {
           unCompressData = compressor.unCompressByte(input, offset, length);
         }
+        ScanMetrics.getInstance().record(ScanMetrics.Operator.DECOMPRESS, decompressStartTime);
         if (DataTypes.isDecimal(meta.getSchemaDataType())) {
           TableSpec.ColumnSpec columnSpec = meta.getColumnSpec();
           DecimalConverterFactory.DecimalConverter decimalConverter =
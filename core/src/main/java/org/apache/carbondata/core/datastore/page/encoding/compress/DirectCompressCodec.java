@@ -43,6 +43,7 @@ import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
 import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertableVector;
+import org.apache.carbondata.core.stats.ScanMetrics;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.format.Encoding;
 
@@ -114,6 +115,7 @@ public class DirectCompressCodec implements ColumnPageCodec {
             CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
         int uncompressedLength;
         byte[] unCompressData;
+        long decompressStartTime = ScanMetrics.getInstance().start();
         if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
           uncompressedLength = compressor.unCompressedLength(input, offset, length);
           unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
@@ -122,6 +124,7 @@ public class DirectCompressCodec implements ColumnPageCodec {
           unCompressData = compressor.unCompressByte(input, offset, length);
           uncompressedLength = unCompressData.length;
         }
+        ScanMetrics.getInstance().record(ScanMetrics.Operator.DECOMPRESS, decompressStartTime);
         if (DataTypes.isDecimal(dataType)) {
           TableSpec.ColumnSpec columnSpec = meta.getColumnSpec();
           DecimalConverterFactory.DecimalConverter decimalConverter =
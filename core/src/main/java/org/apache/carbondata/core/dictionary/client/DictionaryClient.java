@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.dictionary.client;
 
+import java.util.List;
+
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
 
 public interface DictionaryClient {
@@ -26,4 +28,13 @@ public interface DictionaryClient {
   void shutDown();
 
   DictionaryMessage getDictionary(DictionaryMessage key);
+
+  /**
+   * Send all the requests to the server without waiting for the responses in between and then
+   * collect the responses
+   *
+   * @param keys requests
+   * @return responses in the order of the requests
+   */
+  List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys);
 }
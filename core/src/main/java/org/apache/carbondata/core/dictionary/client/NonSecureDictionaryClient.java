@@ -17,6 +17,7 @@
 package org.apache.carbondata.core.dictionary.client;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
@@ -83,6 +84,11 @@ public class NonSecureDictionaryClient implements DictionaryClient {
     return nonSecureDictionaryClientHandler.getDictionary(key);
   }
 
+  @Override
+  public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys) {
+    return nonSecureDictionaryClientHandler.getDictionaries(keys);
+  }
+
   /**
    * shutdown dictionary client
    */
@@ -16,6 +16,8 @@
  */
 package org.apache.carbondata.core.dictionary.client;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -91,14 +93,7 @@ public class NonSecureDictionaryClientHandler extends ChannelInboundHandlerAdapt
     try {
       dictionaryMessage = responseMsgQueue.poll(100, TimeUnit.SECONDS);
       if (dictionaryMessage == null) {
-        StringBuilder message = new StringBuilder();
-        message.append("DictionaryMessage { ColumnName: ")
-            .append(key.getColumnName())
-            .append(", DictionaryValue: ")
-            .append(key.getDictionaryValue())
-            .append(", type: ")
-            .append(key.getType());
-        throw new RuntimeException("Request timed out for key : " + message);
+        throw new RuntimeException("Request timed out for key : " + getKeyDescription(key));
       }
       return dictionaryMessage;
     } catch (Exception e) {
@@ -107,6 +102,52 @@ public class NonSecureDictionaryClientHandler extends ChannelInboundHandlerAdapt
     }
   }
 
+  /**
+   * client sends all the requests to server in one flush and then waits for the responses, the
+   * server responds in the order of the requests
+   *
+   * @param keys requests
+   * @return responses in the order of the requests
+   */
+  public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys) {
+    try {
+      for (DictionaryMessage key : keys) {
+        ByteBuf buffer = ctx.alloc().buffer();
+        key.writeData(buffer);
+        ctx.write(buffer).addListener(channelFutureListener);
+      }
+      ctx.flush();
+    } catch (Exception e) {
+      LOGGER.error("Error while send request to server ", e);
+      ctx.close();
+    }
+    List<DictionaryMessage> dictionaryMessages = new ArrayList<>(keys.size());
+    try {
+      for (DictionaryMessage key : keys) {
+        DictionaryMessage dictionaryMessage = responseMsgQueue.poll(100, TimeUnit.SECONDS);
+        if (dictionaryMessage == null) {
+          throw new RuntimeException("Request timed out for key : " + getKeyDescription(key));
+        }
+        dictionaryMessages.add(dictionaryMessage);
+      }
+      return dictionaryMessages;
+    } catch (Exception e) {
+      LOGGER.error(e);
+      throw new RuntimeException(e);
+    }
+  }
+
+  private String getKeyDescription(DictionaryMessage key) {
+    StringBuilder message = new StringBuilder();
+    message.append("DictionaryMessage { ColumnName: ")
+        .append(key.getColumnName())
+        .append(", DictionaryValue: ")
+        .append(key.getDictionaryValue())
+        .append(", type: ")
+        .append(key.getType());
+    return message.toString();
+  }
+
   private static class DictionaryChannelFutureListener implements ChannelFutureListener {
 
     private ChannelHandlerContext ctx;
@@ -114,6 +114,41 @@ public class IncrementalColumnDictionaryGenerator implements BiDictionary<Intege
     }
   }
 
+  /**
+   * Generate the keys of the values in bulk, the lock is taken once for all the new values
+   *
+   * @param values values to generate the keys
+   * @return keys in the order of the values
+   */
+  public int[] generateKeys(List<String> values) {
+    int[] keys = new int[values.size()];
+    int[] newValueIndexes = new int[values.size()];
+    int numOfNewValues = 0;
+    for (int i = 0; i < keys.length; i++) {
+      Integer dict = incrementalCache.get(values.get(i));
+      if (dict == null) {
+        newValueIndexes[numOfNewValues++] = i;
+      } else {
+        keys[i] = dict;
+      }
+    }
+    if (numOfNewValues > 0) {
+      synchronized (lock) {
+        for (int i = 0; i < numOfNewValues; i++) {
+          String value = values.get(newValueIndexes[i]);
+          Integer dict = incrementalCache.get(value);
+          if (dict == null) {
+            dict = ++currentDictionarySize;
+            incrementalCache.put(value, dict);
+            reverseIncrementalCache.put(dict, value);
+          }
+          keys[newValueIndexes[i]] = dict;
+        }
+      }
+    }
+    return keys;
+  }
+
   @Override public void writeDictionaryData() throws IOException {
     // initialize params
     AbsoluteTableIdentifier absoluteTableIdentifier = carbonTable.getAbsoluteTableIdentifier();
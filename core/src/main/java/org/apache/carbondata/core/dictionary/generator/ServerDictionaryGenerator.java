@@ -43,6 +43,15 @@ public class ServerDictionaryGenerator implements DictionaryGenerator<Integer, D
     return generator.generateKey(value);
   }
 
+  /**
+   * Generate the keys of all the values of the batch message and set them in the message
+   */
+  public void generateKeys(DictionaryMessage value) throws DictionaryGenerationException {
+    initializeGeneratorForColumn(value);
+    TableDictionaryGenerator generator = tableMap.get(value.getTableUniqueId());
+    value.setBatchDictionaryValues(generator.generateKeys(value));
+  }
+
   public void initializeGeneratorForTable(CarbonTable carbonTable) {
     // initialize TableDictionaryGenerator first
     String tableId = carbonTable.getCarbonTableIdentifier().getTableId();
@@ -66,6 +66,20 @@ public class TableDictionaryGenerator
     return generator.generateKey(value.getData());
   }
 
+  /**
+   * Generate the keys of all the values of the batch message
+   */
+  public int[] generateKeys(DictionaryMessage value) throws DictionaryGenerationException {
+    CarbonDimension dimension = carbonTable.getPrimitiveDimensionByName(value.getColumnName());
+
+    if (null == dimension) {
+      throw new DictionaryGenerationException("Dictionary Generation Failed");
+    }
+    DictionaryGenerator<Integer, String> generator =
+            columnMap.get(dimension.getColumnId());
+    return ((IncrementalColumnDictionaryGenerator) generator).generateKeys(value.getBatchData());
+  }
+
   public Integer size(DictionaryMessage key) {
     CarbonDimension dimension = carbonTable.getPrimitiveDimensionByName(key.getColumnName());
 
@@ -17,6 +17,8 @@
 package org.apache.carbondata.core.dictionary.generator.key;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 
@@ -52,6 +54,16 @@ public class DictionaryMessage {
    */
   private DictionaryMessageType type;
 
+  /**
+   * values of a batch request
+   */
+  private List<String> batchData;
+
+  /**
+   * dictionary values of a batch response, in the order of the batch request values
+   */
+  private int[] batchDictionaryValues;
+
   public void readSkipLength(ByteBuf byteBuf) {
 
     byte[] tableBytes = new byte[byteBuf.readInt()];
@@ -65,14 +77,7 @@ public class DictionaryMessage {
     byte typeByte = byteBuf.readByte();
     type = getKeyType(typeByte);
 
-    byte dataType = byteBuf.readByte();
-    if (dataType == 0) {
-      dictionaryValue = byteBuf.readInt();
-    } else {
-      byte[] dataBytes = new byte[byteBuf.readInt()];
-      byteBuf.readBytes(dataBytes);
-      data = new String(dataBytes, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
-    }
+    readData(byteBuf);
   }
 
   public void readFullLength(ByteBuf byteBuf) {
@@ -90,9 +95,27 @@ public class DictionaryMessage {
     byte typeByte = byteBuf.readByte();
     type = getKeyType(typeByte);
 
+    readData(byteBuf);
+  }
+
+  private void readData(ByteBuf byteBuf) {
     byte dataType = byteBuf.readByte();
     if (dataType == 0) {
       dictionaryValue = byteBuf.readInt();
+    } else if (dataType == 2) {
+      int size = byteBuf.readInt();
+      batchData = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        byte[] dataBytes = new byte[byteBuf.readInt()];
+        byteBuf.readBytes(dataBytes);
+        batchData
+            .add(new String(dataBytes, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+      }
+    } else if (dataType == 3) {
+      batchDictionaryValues = new int[byteBuf.readInt()];
+      for (int i = 0; i < batchDictionaryValues.length; i++) {
+        batchDictionaryValues[i] = byteBuf.readInt();
+      }
     } else {
       byte[] dataBytes = new byte[byteBuf.readInt()];
       byteBuf.readBytes(dataBytes);
@@ -116,7 +139,21 @@ public class DictionaryMessage {
 
     byteBuf.writeByte(type.getType());
 
-    if (dictionaryValue > 0) {
+    if (batchDictionaryValues != null) {
+      byteBuf.writeByte(3);
+      byteBuf.writeInt(batchDictionaryValues.length);
+      for (int value : batchDictionaryValues) {
+        byteBuf.writeInt(value);
+      }
+    } else if (batchData != null) {
+      byteBuf.writeByte(2);
+      byteBuf.writeInt(batchData.size());
+      for (String value : batchData) {
+        byte[] dataBytes = value.getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+        byteBuf.writeInt(dataBytes.length);
+        byteBuf.writeBytes(dataBytes);
+      }
+    } else if (dictionaryValue > 0) {
       byteBuf.writeByte(0);
       byteBuf.writeInt(dictionaryValue);
     } else {
@@ -139,6 +176,8 @@ public class DictionaryMessage {
         return DictionaryMessageType.SIZE;
       case 3:
         return DictionaryMessageType.WRITE_TABLE_DICTIONARY;
+      case 4:
+        return DictionaryMessageType.BATCH_DICT_GENERATION;
       default:
         return DictionaryMessageType.DICT_GENERATION;
     }
@@ -176,6 +215,22 @@ public class DictionaryMessage {
     this.dictionaryValue = dictionaryValue;
   }
 
+  public List<String> getBatchData() {
+    return batchData;
+  }
+
+  public void setBatchData(List<String> batchData) {
+    this.batchData = batchData;
+  }
+
+  public int[] getBatchDictionaryValues() {
+    return batchDictionaryValues;
+  }
+
+  public void setBatchDictionaryValues(int[] batchDictionaryValues) {
+    this.batchDictionaryValues = batchDictionaryValues;
+  }
+
   public String getTableUniqueId() {
     return tableUniqueId;
   }
@@ -23,7 +23,8 @@ public enum DictionaryMessageType {
 
   DICT_GENERATION((byte) 1),
   SIZE((byte) 2),
-  WRITE_TABLE_DICTIONARY((byte) 3);
+  WRITE_TABLE_DICTIONARY((byte) 3),
+  BATCH_DICT_GENERATION((byte) 4);
 
   final byte type;
 
@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.memory.MemoryType;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+
+import static org.apache.carbondata.core.memory.CarbonUnsafe.BYTE_ARRAY_OFFSET;
+import static org.apache.carbondata.core.memory.CarbonUnsafe.getUnsafe;
+
+/**
+ * Store the min and max values of the data map rows column wise. The min values of a column of
+ * all the rows are kept contiguous and so are the max values, along with a fixed width prefix of
+ * each value. So pruning on a column scans only the arrays of that column instead of reading
+ * every row.
+ */
+public class MinMaxColumnDMStore implements Serializable {
+
+  private static final long serialVersionUID = 4398231265203940112L;
+
+  private static final int INITIAL_ROW_CAPACITY = 64;
+
+  private final String taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+
+  /**
+   * min values of column i are at index 2 * i and max values at index 2 * i + 1
+   */
+  private final ValueColumn[] valueColumns;
+
+  /**
+   * bit of a row is set if the min and max of the column are written for the row
+   */
+  private final BitSet[] minMaxFlags;
+
+  private int rowCount;
+
+  /**
+   * holds the values of all the columns after conversion to unsafe, null before that
+   */
+  private transient MemoryBlock memoryBlock;
+
+  private boolean isMemoryFreed;
+
+  public MinMaxColumnDMStore(int columnCount) {
+    this.valueColumns = new ValueColumn[columnCount * 2];
+    for (int i = 0; i < valueColumns.length; i++) {
+      valueColumns[i] = new ValueColumn();
+    }
+    this.minMaxFlags = new BitSet[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      minMaxFlags[i] = new BitSet();
+    }
+  }
+
+  /**
+   * Add the min and max values of the next row
+   */
+  public void addRow(byte[][] minValues, byte[][] maxValues, boolean[] minMaxFlag) {
+    assert (memoryBlock == null);
+    for (int i = 0; i < minMaxFlags.length; i++) {
+      valueColumns[2 * i].add(minValues[i], rowCount);
+      valueColumns[2 * i + 1].add(maxValues[i], rowCount);
+      if (minMaxFlag[i]) {
+        minMaxFlags[i].set(rowCount);
+      }
+    }
+    rowCount++;
+  }
+
+  /**
+   * Compact the columns after all the rows are added and move them to unsafe if required
+   */
+  public void finishWriting(boolean addToUnsafe) throws MemoryException {
+    for (ValueColumn valueColumn : valueColumns) {
+      valueColumn.compact(rowCount);
+    }
+    if (addToUnsafe) {
+      convertToUnsafe();
+    }
+  }
+
+  /**
+   * Move the values of all the columns to one unsafe memory block
+   */
+  public void convertToUnsafe() throws MemoryException {
+    if (memoryBlock != null) {
+      return;
+    }
+    long totalLength = 0;
+    for (ValueColumn valueColumn : valueColumns) {
+      totalLength += valueColumn.length;
+    }
+    if (totalLength == 0) {
+      return;
+    }
+    memoryBlock =
+        UnsafeMemoryManager.allocateMemoryWithRetry(MemoryType.ONHEAP, taskId, totalLength);
+    long address = 0;
+    for (ValueColumn valueColumn : valueColumns) {
+      getUnsafe().copyMemory(valueColumn.data, BYTE_ARRAY_OFFSET, memoryBlock.getBaseObject(),
+          memoryBlock.getBaseOffset() + address, valueColumn.length);
+      valueColumn.address = address;
+      valueColumn.data = null;
+      address += valueColumn.length;
+    }
+  }
+
+  public byte[][] getMinValues(int row) {
+    return getValues(row, 0);
+  }
+
+  public byte[][] getMaxValues(int row) {
+    return getValues(row, 1);
+  }
+
+  private byte[][] getValues(int row, int minOrMax) {
+    assert (row < rowCount);
+    byte[][] values = new byte[minMaxFlags.length][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = valueColumns[2 * i + minOrMax].get(row, memoryBlock);
+    }
+    return values;
+  }
+
+  public boolean[] getMinMaxFlag(int row) {
+    assert (row < rowCount);
+    boolean[] minMaxFlag = new boolean[minMaxFlags.length];
+    for (int i = 0; i < minMaxFlag.length; i++) {
+      minMaxFlag[i] = minMaxFlags[i].get(row);
+    }
+    return minMaxFlag;
+  }
+
+  /**
+   * Clear the rows whose min and max of the column cannot contain any of the filter values,
+   * comparing only the prefixes. Rows for which min and max of the column is not written are
+   * kept, and the rows left still need to be checked on the complete values.
+   *
+   * @param column index of the column in min/max values
+   * @param filterValues filter values, compared as unsigned bytes with the min and max
+   * @param rows rows to check, the pruned rows are cleared
+   */
+  public void pruneByPrefix(int column, byte[][] filterValues, BitSet rows) {
+    long[] filterPrefixes = new long[filterValues.length];
+    for (int i = 0; i < filterValues.length; i++) {
+      filterPrefixes[i] = getPrefix(filterValues[i]);
+    }
+    Arrays.sort(filterPrefixes);
+    long[] minPrefixes = valueColumns[2 * column].prefixes;
+    long[] maxPrefixes = valueColumns[2 * column + 1].prefixes;
+    BitSet minMaxFlag = minMaxFlags[column];
+    for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount;
+         row = rows.nextSetBit(row + 1)) {
+      if (minMaxFlag.get(row)
+          && !isAnyInRange(filterPrefixes, minPrefixes[row], maxPrefixes[row])) {
+        rows.clear(row);
+      }
+    }
+  }
+
+  private static boolean isAnyInRange(long[] sortedValues, long min, long max) {
+    int index = Arrays.binarySearch(sortedValues, min);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return index < sortedValues.length && sortedValues[index] <= max;
+  }
+
+  /**
+   * Return first 8 bytes of the value as long, padded with zero. Sign bit is flipped so that
+   * signed comparison of the prefixes is same as unsigned comparison of the bytes, and if a value
+   * is less than other then its prefix is less than or equal to the prefix of the other.
+   */
+  static long getPrefix(byte[] value) {
+    long prefix = 0;
+    for (int i = 0; i < 8; i++) {
+      prefix <<= 8;
+      if (i < value.length) {
+        prefix |= value[i] & 0xFF;
+      }
+    }
+    return prefix ^ Long.MIN_VALUE;
+  }
+
+  public void freeMemory() {
+    if (!isMemoryFreed) {
+      if (memoryBlock != null) {
+        UnsafeMemoryManager.INSTANCE.freeMemory(taskId, memoryBlock);
+      }
+      isMemoryFreed = true;
+    }
+  }
+
+  public long getMemoryUsed() {
+    long memoryUsed = 0;
+    for (ValueColumn valueColumn : valueColumns) {
+      memoryUsed += valueColumn.getMemoryUsed();
+    }
+    for (BitSet minMaxFlag : minMaxFlags) {
+      memoryUsed += minMaxFlag.size() / 8;
+    }
+    return memoryUsed;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Min or max values of one column for all the rows
+   */
+  private static final class ValueColumn implements Serializable {
+
+    private static final long serialVersionUID = -2406613447105733950L;
+
+    private long[] prefixes = new long[INITIAL_ROW_CAPACITY];
+
+    /**
+     * value of row i is from offsets[i] to offsets[i + 1], null if all the values are of
+     * same width
+     */
+    private int[] offsets = new int[INITIAL_ROW_CAPACITY + 1];
+
+    /**
+     * length of each value if all the values are of same width, else -1
+     */
+    private int width = -1;
+
+    /**
+     * values on heap, null after conversion to unsafe
+     */
+    private byte[] data = new byte[INITIAL_ROW_CAPACITY * 8];
+
+    private int length;
+
+    /**
+     * start of the values in the unsafe memory block
+     */
+    private long address;
+
+    private void add(byte[] value, int row) {
+      if (row == prefixes.length) {
+        prefixes = Arrays.copyOf(prefixes, row * 2);
+        offsets = Arrays.copyOf(offsets, row * 2 + 1);
+      }
+      if (length + value.length > data.length) {
+        data = Arrays.copyOf(data, Math.max(data.length * 2, length + value.length));
+      }
+      prefixes[row] = getPrefix(value);
+      System.arraycopy(value, 0, data, length, value.length);
+      length += value.length;
+      offsets[row + 1] = length;
+    }
+
+    private void compact(int rowCount) {
+      if (prefixes.length != rowCount) {
+        prefixes = Arrays.copyOf(prefixes, rowCount);
+      }
+      if (data.length != length) {
+        data = Arrays.copyOf(data, length);
+      }
+      width = rowCount == 0 ? 0 : offsets[1];
+      for (int i = 1; i < rowCount && width >= 0; i++) {
+        if (offsets[i + 1] - offsets[i] != width) {
+          width = -1;
+        }
+      }
+      if (width >= 0) {
+        offsets = null;
+      } else if (offsets.length != rowCount + 1) {
+        offsets = Arrays.copyOf(offsets, rowCount + 1);
+      }
+    }
+
+    private byte[] get(int row, MemoryBlock memoryBlock) {
+      int start;
+      int valueLength;
+      if (offsets == null) {
+        start = row * width;
+        valueLength = width;
+      } else {
+        start = offsets[row];
+        valueLength = offsets[row + 1] - start;
+      }
+      byte[] value = new byte[valueLength];
+      if (data != null) {
+        System.arraycopy(data, start, value, 0, valueLength);
+      } else {
+        getUnsafe().copyMemory(memoryBlock.getBaseObject(),
+            memoryBlock.getBaseOffset() + address + start, value, BYTE_ARRAY_OFFSET, valueLength);
+      }
+      return value;
+    }
+
+    private long getMemoryUsed() {
+      long memoryUsed = length + prefixes.length * 8L;
+      if (offsets != null) {
+        memoryUsed += offsets.length * 4L;
+      }
+      return memoryUsed;
+    }
+  }
+}
@@ -37,6 +37,7 @@ import org.apache.carbondata.core.indexstore.BlockMetaInfo;
 import org.apache.carbondata.core.indexstore.Blocklet;
 import org.apache.carbondata.core.indexstore.BlockletDetailInfo;
 import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.MinMaxColumnDMStore;
 import org.apache.carbondata.core.indexstore.PartitionSpec;
 import org.apache.carbondata.core.indexstore.SafeMemoryDMStore;
 import org.apache.carbondata.core.indexstore.UnsafeMemoryDMStore;
@@ -58,6 +59,7 @@ import org.apache.carbondata.core.scan.filter.FilterExpressionProcessor;
 import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
 import org.apache.carbondata.core.scan.filter.executer.ImplicitColumnFilterExecutor;
+import org.apache.carbondata.core.scan.filter.executer.IncludeFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.intf.FilterOptimizer;
 import org.apache.carbondata.core.scan.filter.optimizer.RangeFilterOptmizer;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
@@ -90,6 +92,10 @@ public class BlockDataMap extends CoarseGrainDataMap
    * store which will hold all the block or blocklet entries in one task
    */
   protected AbstractMemoryDMStore memoryDMStore;
+  /**
+   * store which will hold the min and max values of the entries in memoryDMStore column wise
+   */
+  protected MinMaxColumnDMStore minMaxDMStore;
   /**
    * task summary holder store
    */
@@ -157,6 +163,9 @@ public class BlockDataMap extends CoarseGrainDataMap
     if (memoryDMStore != null) {
       memoryDMStore.finishWriting();
     }
+    if (minMaxDMStore != null) {
+      minMaxDMStore.finishWriting(memoryDMStore instanceof UnsafeMemoryDMStore);
+    }
     if (null != taskSummaryDMStore) {
       addTaskSummaryRowToUnsafeMemoryStore(taskSummarySchema, summaryRow, filePath, fileName,
           segmentId);
@@ -417,17 +426,13 @@ public class BlockDataMap extends CoarseGrainDataMap
         .getMinMaxForColumnsToBeCached(segmentProperties, minMaxCacheColumns, maxValues);
     boolean[] minMaxFlagValuesForColumnsToBeCached = BlockletDataMapUtil
         .getMinMaxFlagValuesForColumnsToBeCached(segmentProperties, minMaxCacheColumns, minMaxFlag);
-    row.setRow(addMinMax(schema[ordinal], minValuesForColumnsToBeCached), ordinal);
     // compute and set task level min values
     addTaskMinMaxValues(summaryRow, taskSummarySchema, taskMinMaxOrdinal,
         minValuesForColumnsToBeCached, TASK_MIN_VALUES_INDEX, true);
-    ordinal++;
     taskMinMaxOrdinal++;
-    row.setRow(addMinMax(schema[ordinal], maxValuesForColumnsToBeCached), ordinal);
     // compute and set task level max values
     addTaskMinMaxValues(summaryRow, taskSummarySchema, taskMinMaxOrdinal,
         maxValuesForColumnsToBeCached, TASK_MAX_VALUES_INDEX, false);
-    ordinal++;
     // add total rows in one carbondata file
     row.setInt((int) fileFooter.getNumberOfRows(), ordinal++);
     // add file name
@@ -443,9 +448,10 @@ public class BlockDataMap extends CoarseGrainDataMap
     try {
       setLocations(blockMetaInfo.getLocationInfo(), row, ordinal++);
       // store block size
-      row.setLong(blockMetaInfo.getSize(), ordinal++);
-      // add min max flag for all the dimension columns
-      addMinMaxFlagValues(row, schema[ordinal], minMaxFlagValuesForColumnsToBeCached, ordinal);
+      row.setLong(blockMetaInfo.getSize(), ordinal);
+      // min max values and flag of the block are stored column wise
+      minMaxDMStore.addRow(minValuesForColumnsToBeCached, maxValuesForColumnsToBeCached,
+          minMaxFlagValuesForColumnsToBeCached);
       memoryDMStore.addIndexRow(schema, row);
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -505,19 +511,6 @@ public class BlockDataMap extends CoarseGrainDataMap
     }
   }
 
-  protected DataMapRow addMinMax(CarbonRowSchema carbonRowSchema,
-      byte[][] minValues) {
-    CarbonRowSchema[] minSchemas =
-        ((CarbonRowSchema.StructCarbonRowSchema) carbonRowSchema).getChildSchemas();
-    DataMapRow minRow = new DataMapRowImpl(minSchemas);
-    int minOrdinal = 0;
-    // min value adding
-    for (int i = 0; i < minValues.length; i++) {
-      minRow.setByteArray(minValues[i], minOrdinal++);
-    }
-    return minRow;
-  }
-
   /**
    * This method will compute min/max values at task level
    *
@@ -580,6 +573,10 @@ public class BlockDataMap extends CoarseGrainDataMap
   protected void createMemorySchema(BlockletDataMapModel blockletDataMapModel)
       throws MemoryException {
     memoryDMStore = getMemoryDMStore(blockletDataMapModel.isAddToUnsafe());
+    List<CarbonColumn> minMaxCacheColumns = getMinMaxCacheColumns();
+    minMaxDMStore = new MinMaxColumnDMStore(null == minMaxCacheColumns ?
+        getSegmentProperties().getColumnsValueSize().length :
+        minMaxCacheColumns.size());
   }
 
   /**
@@ -668,25 +665,36 @@ public class BlockDataMap extends CoarseGrainDataMap
     } else {
       // Remove B-tree jump logic as start and end key prepared is not
       // correct for old store scenarios
-      int entryIndex = 0;
       FilterExecuter filterExecuter = FilterUtil
           .getFilterExecuterTree(filterExp, getSegmentProperties(), null, getMinMaxCacheColumns());
       // flag to be used for deciding whether use min/max in executor pruning for BlockletDataMap
       boolean useMinMaxForPruning = useMinMaxForExecutorPruning(filterExp);
-      // min and max for executor pruning
-      while (entryIndex < numEntries) {
-        DataMapRow safeRow = memoryDMStore.getDataMapRow(schema, entryIndex).convertToSafeRow();
-        boolean[] minMaxFlag = getMinMaxFlag(safeRow, BLOCK_MIN_MAX_FLAG);
-        String fileName = getFileNameWithFilePath(safeRow, filePath);
-        short blockletId = getBlockletId(safeRow);
-        boolean isValid =
-            addBlockBasedOnMinMaxValue(filterExecuter, getMinMaxValue(safeRow, MAX_VALUES_INDEX),
-                getMinMaxValue(safeRow, MIN_VALUES_INDEX), minMaxFlag, fileName, blockletId);
+      BitSet entries = new BitSet(numEntries);
+      entries.set(0, numEntries);
+      if (filterExecuter instanceof IncludeFilterExecuterImpl) {
+        // prune all the entries in one pass over the min/max prefixes of the filter column, only
+        // the entries left are checked on the complete min and max values
+        IncludeFilterExecuterImpl includeFilterExecuter =
+            (IncludeFilterExecuterImpl) filterExecuter;
+        byte[][] filterKeys = includeFilterExecuter.getFilterKeysForMinMaxPruning();
+        if (null != filterKeys) {
+          minMaxDMStore.pruneByPrefix(includeFilterExecuter.getColumnIndexInMinMaxByteArray(),
+              filterKeys, entries);
+        }
+      }
+      for (int entryIndex = entries.nextSetBit(0); entryIndex >= 0;
+           entryIndex = entries.nextSetBit(entryIndex + 1)) {
+        DataMapRow row = memoryDMStore.getDataMapRow(schema, entryIndex);
+        String fileName = getFileNameWithFilePath(row, filePath);
+        short blockletId = getBlockletId(row);
+        boolean isValid = addBlockBasedOnMinMaxValue(filterExecuter,
+            minMaxDMStore.getMaxValues(entryIndex), minMaxDMStore.getMinValues(entryIndex),
+            minMaxDMStore.getMinMaxFlag(entryIndex), fileName, blockletId);
         if (isValid) {
-          blocklets.add(createBlocklet(safeRow, fileName, blockletId, useMinMaxForPruning));
+          blocklets.add(
+              createBlocklet(row.convertToSafeRow(), fileName, blockletId, useMinMaxForPruning));
           hitBlocklets += getBlockletNumOfEntry(entryIndex);
         }
-        entryIndex++;
       }
     }
 
@@ -953,6 +961,9 @@ public class BlockDataMap extends CoarseGrainDataMap
     if (memoryDMStore != null) {
       memoryDMStore.freeMemory();
     }
+    if (minMaxDMStore != null) {
+      minMaxDMStore.freeMemory();
+    }
     // clear task min/max unsafe memory
     if (null != taskSummaryDMStore) {
       taskSummaryDMStore.freeMemory();
@@ -964,6 +975,9 @@ public class BlockDataMap extends CoarseGrainDataMap
     if (memoryDMStore != null) {
       memoryUsed += memoryDMStore.getMemoryUsed();
     }
+    if (minMaxDMStore != null) {
+      memoryUsed += minMaxDMStore.getMemoryUsed();
+    }
     if (null != taskSummaryDMStore) {
       memoryUsed += taskSummaryDMStore.getMemoryUsed();
     }
@@ -1024,6 +1038,9 @@ public class BlockDataMap extends CoarseGrainDataMap
       memoryDMStore.freeMemory();
       memoryDMStore = unsafeMemoryDMStore;
     }
+    if (minMaxDMStore != null) {
+      minMaxDMStore.convertToUnsafe();
+    }
     if (taskSummaryDMStore instanceof SafeMemoryDMStore) {
       UnsafeMemoryDMStore unsafeSummaryMemoryDMStore =
           taskSummaryDMStore.convertToUnsafeDMStore(getTaskSummarySchema());
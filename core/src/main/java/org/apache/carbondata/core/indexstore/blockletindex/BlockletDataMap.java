@@ -176,17 +176,13 @@ public class BlockletDataMap extends BlockDataMap implements Serializable {
       boolean[] minMaxFlagValuesForColumnsToBeCached = BlockletDataMapUtil
           .getMinMaxFlagValuesForColumnsToBeCached(segmentProperties, minMaxCacheColumns,
               fileFooter.getBlockletIndex().getMinMaxIndex().getIsMinMaxSet());
-      row.setRow(addMinMax(schema[ordinal], minValuesForColumnsToBeCached), ordinal);
       // compute and set task level min values
       addTaskMinMaxValues(summaryRow, taskSummarySchema, taskMinMaxOrdinal,
           minValuesForColumnsToBeCached, TASK_MIN_VALUES_INDEX, true);
-      ordinal++;
       taskMinMaxOrdinal++;
-      row.setRow(addMinMax(schema[ordinal], maxValuesForColumnsToBeCached), ordinal);
       // compute and set task level max values
       addTaskMinMaxValues(summaryRow, taskSummarySchema, taskMinMaxOrdinal,
           maxValuesForColumnsToBeCached, TASK_MAX_VALUES_INDEX, false);
-      ordinal++;
       row.setInt(blockletInfo.getNumberOfRows(), ordinal++);
       // add file name
       byte[] filePathBytes =
@@ -203,9 +199,6 @@ public class BlockletDataMap extends BlockDataMap implements Serializable {
         setLocations(blockMetaInfo.getLocationInfo(), row, ordinal++);
         // Store block size
         row.setLong(blockMetaInfo.getSize(), ordinal++);
-        // add min max flag for all the dimension columns
-        addMinMaxFlagValues(row, schema[ordinal], minMaxFlagValuesForColumnsToBeCached, ordinal);
-        ordinal++;
         // add blocklet info
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
         DataOutput dataOutput = new DataOutputStream(stream);
@@ -216,6 +209,9 @@ public class BlockletDataMap extends BlockDataMap implements Serializable {
         row.setShort((short) blockletInfo.getNumberOfPages(), ordinal++);
         // for relative blocklet id i.e blocklet id that belongs to a particular carbondata file
         row.setShort((short) relativeBlockletId++, ordinal);
+        // min max values and flag of the blocklet are stored column wise
+        minMaxDMStore.addRow(minValuesForColumnsToBeCached, maxValuesForColumnsToBeCached,
+            minMaxFlagValuesForColumnsToBeCached);
         memoryDMStore.addIndexRow(schema, row);
       } catch (Exception e) {
         throw new RuntimeException(e);
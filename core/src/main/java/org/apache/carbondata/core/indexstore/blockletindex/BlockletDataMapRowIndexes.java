@@ -21,33 +21,28 @@ package org.apache.carbondata.core.indexstore.blockletindex;
  */
 public interface BlockletDataMapRowIndexes {
 
-  // Each DataMapRow Indexes for blocklet and block dataMap
-  int MIN_VALUES_INDEX = 0;
+  // Each DataMapRow Indexes for blocklet and block dataMap, min and max values of the entries
+  // are stored column wise in MinMaxColumnDMStore
+  int ROW_COUNT_INDEX = 0;
 
-  int MAX_VALUES_INDEX = 1;
+  int FILE_PATH_INDEX = 1;
 
-  int ROW_COUNT_INDEX = 2;
+  int VERSION_INDEX = 2;
 
-  int FILE_PATH_INDEX = 3;
+  int SCHEMA_UPADATED_TIME_INDEX = 3;
 
-  int VERSION_INDEX = 4;
+  int BLOCK_FOOTER_OFFSET = 4;
 
-  int SCHEMA_UPADATED_TIME_INDEX = 5;
+  int LOCATIONS = 5;
 
-  int BLOCK_FOOTER_OFFSET = 6;
-
-  int LOCATIONS = 7;
-
-  int BLOCK_LENGTH = 8;
-
-  int BLOCK_MIN_MAX_FLAG = 9;
+  int BLOCK_LENGTH = 6;
 
   // below variables are specific for blockletDataMap
-  int BLOCKLET_INFO_INDEX = 10;
+  int BLOCKLET_INFO_INDEX = 7;
 
-  int BLOCKLET_PAGE_COUNT_INDEX = 11;
+  int BLOCKLET_PAGE_COUNT_INDEX = 8;
 
-  int BLOCKLET_ID_INDEX = 12;
+  int BLOCKLET_ID_INDEX = 9;
 
   // Summary dataMap row indexes
   int TASK_MIN_VALUES_INDEX = 0;
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Long lived process serving the blocklet pruning requests of the drivers of a host. The
+ * indexes are loaded once into the datamap cache of this process and are used by all the
+ * queries, so new drivers do not read the index files again.
+ *
+ * The server listens on {@link CarbonCommonConstants#CARBON_INDEX_SERVICE_BIND_HOST}, the
+ * loopback address by default, and serves only the clients which know
+ * {@link CarbonCommonConstants#CARBON_INDEX_SERVICE_SECRET}.
+ *
+ * Start it with: java -cp carbondata.jar:... BlockletIndexServer port
+ */
+@InterfaceAudience.Internal
+public class BlockletIndexServer {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(BlockletIndexServer.class.getName());
+
+  private final int port;
+
+  private final BlockletIndexService service;
+
+  private byte[] secret;
+
+  private int timeoutMillis;
+
+  /**
+   * table path to the table built from the schema of the last request
+   */
+  private final Map<String, CarbonTable> tables = new ConcurrentHashMap<>();
+
+  private ServerSocket serverSocket;
+
+  private ExecutorService workers;
+
+  private Thread acceptor;
+
+  private volatile boolean running;
+
+  public BlockletIndexServer(int port) {
+    this(port, new LocalBlockletIndexService());
+  }
+
+  /**
+   * @param port    port to listen, 0 to use a free port
+   * @param service service which prunes in this process
+   */
+  public BlockletIndexServer(int port, BlockletIndexService service) {
+    this.port = port;
+    this.service = service;
+  }
+
+  public synchronized void start() throws IOException {
+    if (running) {
+      return;
+    }
+    int numThreads;
+    try {
+      numThreads = Integer.parseInt(CarbonProperties.getInstance().getProperty(
+          CarbonCommonConstants.CARBON_INDEX_SERVICE_WORKER_THREADS,
+          CarbonCommonConstants.CARBON_INDEX_SERVICE_WORKER_THREADS_DEFAULT));
+    } catch (NumberFormatException e) {
+      numThreads = Integer.parseInt(
+          CarbonCommonConstants.CARBON_INDEX_SERVICE_WORKER_THREADS_DEFAULT);
+    }
+    secret = IndexServiceProtocol.getSecret();
+    try {
+      timeoutMillis = Integer.parseInt(CarbonProperties.getInstance().getProperty(
+          CarbonCommonConstants.CARBON_INDEX_SERVICE_TIMEOUT,
+          CarbonCommonConstants.CARBON_INDEX_SERVICE_TIMEOUT_DEFAULT));
+    } catch (NumberFormatException e) {
+      timeoutMillis = Integer.parseInt(CarbonCommonConstants.CARBON_INDEX_SERVICE_TIMEOUT_DEFAULT);
+    }
+    String host = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_INDEX_SERVICE_BIND_HOST,
+        CarbonCommonConstants.CARBON_INDEX_SERVICE_BIND_HOST_DEFAULT);
+    serverSocket = new ServerSocket();
+    serverSocket.setReuseAddress(true);
+    serverSocket.bind(new InetSocketAddress(host, port));
+    workers = Executors.newFixedThreadPool(Math.max(1, numThreads),
+        new CarbonThreadFactory("BlockletIndexServerWorker"));
+    running = true;
+    acceptor = new Thread(new Runnable() {
+      @Override public void run() {
+        accept();
+      }
+    }, "BlockletIndexServerAcceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+    LOGGER.info("Blocklet index server started on " + host + ":" + getPort());
+  }
+
+  /**
+   * Return the port the server listens
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to close blocklet index server socket", e);
+    }
+    workers.shutdownNow();
+    LOGGER.info("Blocklet index server stopped");
+  }
+
+  private void accept() {
+    while (running) {
+      try {
+        final Socket socket = serverSocket.accept();
+        workers.execute(new Runnable() {
+          @Override public void run() {
+            serve(socket);
+          }
+        });
+      } catch (SocketException e) {
+        // socket is closed by stop
+        if (running) {
+          LOGGER.error("Blocklet index server failed to accept connection", e);
+        }
+      } catch (IOException e) {
+        LOGGER.error("Blocklet index server failed to accept connection", e);
+      }
+    }
+  }
+
+  /**
+   * Serve one request of the connection, the connection is closed without reading the request
+   * if the client does not know the secret
+   */
+  private void serve(Socket socket) {
+    try {
+      socket.setTcpNoDelay(true);
+      // the client which does not complete the handshake does not hold the worker
+      socket.setSoTimeout(timeoutMillis);
+      BufferedInputStream input = new BufferedInputStream(socket.getInputStream());
+      BufferedOutputStream output = new BufferedOutputStream(socket.getOutputStream());
+      IndexServiceProtocol.acceptClient(new DataInputStream(input), new DataOutputStream(output),
+          secret);
+      socket.setSoTimeout(0);
+      IndexServiceMessage response;
+      try {
+        ObjectInputStream in = IndexServiceProtocol.newObjectInputStream(input);
+        response = handle((IndexServiceMessage) in.readObject());
+      } catch (Throwable e) {
+        LOGGER.error("Blocklet index server failed to serve request", e);
+        response = IndexServiceMessage.error(e.getClass().getName() + ": " + e.getMessage());
+      }
+      ObjectOutputStream out = new ObjectOutputStream(output);
+      out.writeObject(response);
+      out.flush();
+    } catch (IOException e) {
+      LOGGER.error("Blocklet index server failed to serve connection from "
+          + socket.getRemoteSocketAddress(), e);
+    } finally {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        LOGGER.warn("Failed to close connection of blocklet index server", e);
+      }
+    }
+  }
+
+  IndexServiceMessage handle(IndexServiceMessage request) throws IOException {
+    CarbonTable carbonTable = getTable(request.getTableInfo());
+    switch (request.getType()) {
+      case PRUNE:
+        return IndexServiceMessage.result(service.prune(carbonTable, request.getSegments(),
+            request.getFilter(), request.getPartitions()));
+      case INVALIDATE:
+        service.invalidateSegments(carbonTable, request.getSegments());
+        return IndexServiceMessage.result(new ArrayList<ExtendedBlocklet>(0));
+      default:
+        throw new IOException("Invalid request type " + request.getType());
+    }
+  }
+
+  /**
+   * Return the table of the schema, the indexes are cleared when the schema is changed
+   */
+  private synchronized CarbonTable getTable(TableInfo tableInfo) {
+    String tablePath = tableInfo.getOrCreateAbsoluteTableIdentifier().getTablePath();
+    CarbonTable carbonTable = tables.get(tablePath);
+    if (carbonTable == null
+        || carbonTable.getTableLastUpdatedTime() != tableInfo.getLastUpdatedTime()) {
+      if (carbonTable != null) {
+        DataMapStoreManager.getInstance().clearDataMaps(carbonTable.getAbsoluteTableIdentifier());
+      }
+      carbonTable = CarbonTable.buildFromTableInfo(tableInfo);
+      tables.put(tablePath, carbonTable);
+    }
+    return carbonTable;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length != 1) {
+      System.err.println("Usage: BlockletIndexServer <port>");
+      System.exit(1);
+    }
+    final BlockletIndexServer server = new BlockletIndexServer(Integer.parseInt(args[0]));
+    server.start();
+    Runtime.getRuntime().addShutdownHook(new Thread() {
+      @Override public void run() {
+        server.stop();
+      }
+    });
+    server.acceptor.join();
+  }
+}
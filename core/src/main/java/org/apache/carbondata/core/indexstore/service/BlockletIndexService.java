@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.datamap.Segment;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+
+/**
+ * Service which prunes the blocklets of a table with the default blocklet datamap. It can run
+ * in process or in a long lived index service process shared by the drivers of the host.
+ */
+@InterfaceAudience.Internal
+public interface BlockletIndexService {
+
+  /**
+   * Prune the blocklets of the segments with the default blocklet datamap
+   *
+   * @param carbonTable table to prune
+   * @param segments    segments to prune
+   * @param filter      resolved filter, null if there is no filter
+   * @param partitions  partitions to prune, null if all the partitions are read
+   * @return pruned blocklets
+   */
+  List<ExtendedBlocklet> prune(CarbonTable carbonTable, List<Segment> segments,
+      FilterResolverIntf filter, List<PartitionSpec> partitions) throws IOException;
+
+  /**
+   * Remove the cached indexes of the segments which are deleted or modified
+   */
+  void invalidateSegments(CarbonTable carbonTable, List<Segment> segments) throws IOException;
+}
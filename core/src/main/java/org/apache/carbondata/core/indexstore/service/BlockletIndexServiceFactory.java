@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Returns the blocklet index service configured by
+ * {@link CarbonCommonConstants#CARBON_INDEX_SERVICE_ADDRESS}
+ */
+@InterfaceAudience.Internal
+public final class BlockletIndexServiceFactory {
+
+  /**
+   * service used instead of the configured one
+   */
+  private static BlockletIndexService overrideService;
+
+  private static BlockletIndexService remoteService;
+
+  private static String remoteAddress;
+
+  private BlockletIndexServiceFactory() {
+  }
+
+  /**
+   * Return the configured index service, null if the blocklets are pruned in this process
+   */
+  public static synchronized BlockletIndexService getService() {
+    if (overrideService != null) {
+      return overrideService;
+    }
+    String address = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_INDEX_SERVICE_ADDRESS);
+    if (address == null || address.trim().isEmpty()) {
+      return null;
+    }
+    address = address.trim();
+    if (!address.equals(remoteAddress)) {
+      int separator = address.lastIndexOf(':');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Invalid "
+            + CarbonCommonConstants.CARBON_INDEX_SERVICE_ADDRESS + ": " + address);
+      }
+      int timeout;
+      try {
+        timeout = Integer.parseInt(CarbonProperties.getInstance().getProperty(
+            CarbonCommonConstants.CARBON_INDEX_SERVICE_TIMEOUT,
+            CarbonCommonConstants.CARBON_INDEX_SERVICE_TIMEOUT_DEFAULT));
+      } catch (NumberFormatException e) {
+        timeout = Integer.parseInt(CarbonCommonConstants.CARBON_INDEX_SERVICE_TIMEOUT_DEFAULT);
+      }
+      remoteService = new RemoteBlockletIndexService(address.substring(0, separator),
+          Integer.parseInt(address.substring(separator + 1)), timeout,
+          IndexServiceProtocol.getSecret());
+      remoteAddress = address;
+    }
+    return remoteService;
+  }
+
+  /**
+   * Use the given service instead of the configured one, like an in process service in tests.
+   * Pass null to use the configured service again.
+   */
+  public static synchronized void setService(BlockletIndexService indexService) {
+    overrideService = indexService;
+  }
+}
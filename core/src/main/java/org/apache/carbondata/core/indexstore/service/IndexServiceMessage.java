@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.carbondata.core.datamap.Segment;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+
+/**
+ * Request and response exchanged with the blocklet index service
+ */
+class IndexServiceMessage implements Serializable {
+
+  private static final long serialVersionUID = 4425730187354513129L;
+
+  enum Type {
+    PRUNE, INVALIDATE, RESULT, ERROR
+  }
+
+  private final Type type;
+
+  private TableInfo tableInfo;
+
+  private List<Segment> segments;
+
+  private FilterResolverIntf filter;
+
+  private List<PartitionSpec> partitions;
+
+  private List<ExtendedBlocklet> blocklets;
+
+  private String errorMessage;
+
+  private IndexServiceMessage(Type type) {
+    this.type = type;
+  }
+
+  static IndexServiceMessage prune(TableInfo tableInfo, List<Segment> segments,
+      FilterResolverIntf filter, List<PartitionSpec> partitions) {
+    IndexServiceMessage message = new IndexServiceMessage(Type.PRUNE);
+    message.tableInfo = tableInfo;
+    message.segments = segments;
+    message.filter = filter;
+    message.partitions = partitions;
+    return message;
+  }
+
+  static IndexServiceMessage invalidate(TableInfo tableInfo, List<Segment> segments) {
+    IndexServiceMessage message = new IndexServiceMessage(Type.INVALIDATE);
+    message.tableInfo = tableInfo;
+    message.segments = segments;
+    return message;
+  }
+
+  static IndexServiceMessage result(List<ExtendedBlocklet> blocklets) {
+    IndexServiceMessage message = new IndexServiceMessage(Type.RESULT);
+    message.blocklets = blocklets;
+    return message;
+  }
+
+  static IndexServiceMessage error(String errorMessage) {
+    IndexServiceMessage message = new IndexServiceMessage(Type.ERROR);
+    message.errorMessage = errorMessage;
+    return message;
+  }
+
+  Type getType() {
+    return type;
+  }
+
+  TableInfo getTableInfo() {
+    return tableInfo;
+  }
+
+  List<Segment> getSegments() {
+    return segments;
+  }
+
+  FilterResolverIntf getFilter() {
+    return filter;
+  }
+
+  List<PartitionSpec> getPartitions() {
+    return partitions;
+  }
+
+  List<ExtendedBlocklet> getBlocklets() {
+    return blocklets;
+  }
+
+  String getErrorMessage() {
+    return errorMessage;
+  }
+}
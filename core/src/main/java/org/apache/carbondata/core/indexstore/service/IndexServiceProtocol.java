@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Handshake and deserialization rules of the connections between {@link BlockletIndexServer}
+ * and {@link RemoteBlockletIndexService}.
+ *
+ * Each side sends a random challenge and the other side answers it with the HMAC of the
+ * challenge keyed by the shared secret, so no object is deserialized from a peer which does
+ * not know the secret. The messages are then read only if all their classes are carbon classes
+ * or the JDK value and collection classes used by them.
+ */
+final class IndexServiceProtocol {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private static final int CHALLENGE_LENGTH = 16;
+
+  private static final byte[] CLIENT_ROLE = "client".getBytes(Charset.forName("UTF-8"));
+
+  private static final byte[] SERVER_ROLE = "server".getBytes(Charset.forName("UTF-8"));
+
+  private static final String CARBON_PACKAGE = "org.apache.carbondata.";
+
+  private static final Set<String> ALLOWED_JDK_CLASSES = new HashSet<>(Arrays.asList(
+      "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+      "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+      "java.lang.Number", "java.lang.String", "java.lang.Enum", "java.math.BigDecimal",
+      "java.math.BigInteger", "java.util.ArrayList", "java.util.LinkedList",
+      "java.util.Arrays$ArrayList", "java.util.HashMap", "java.util.LinkedHashMap",
+      "java.util.TreeMap", "java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet",
+      "java.util.BitSet", "java.util.Date", "java.sql.Date", "java.sql.Timestamp",
+      "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.CopyOnWriteArrayList"));
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private IndexServiceProtocol() {
+  }
+
+  /**
+   * Return the configured shared secret
+   */
+  static byte[] getSecret() {
+    String secret = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_INDEX_SERVICE_SECRET);
+    if (secret == null || secret.isEmpty()) {
+      throw new IllegalStateException(
+          CarbonCommonConstants.CARBON_INDEX_SERVICE_SECRET + " is not configured");
+    }
+    return secret.getBytes(Charset.forName("UTF-8"));
+  }
+
+  /**
+   * Authenticate the client of the connection and prove the secret to it
+   *
+   * @throws IOException if the client does not know the secret
+   */
+  static void acceptClient(DataInputStream in, DataOutputStream out, byte[] secret)
+      throws IOException {
+    byte[] serverChallenge = newChallenge();
+    out.write(serverChallenge);
+    out.flush();
+    byte[] clientChallenge = new byte[CHALLENGE_LENGTH];
+    in.readFully(clientChallenge);
+    byte[] expectedProof = sign(secret, CLIENT_ROLE, serverChallenge);
+    byte[] clientProof = new byte[expectedProof.length];
+    in.readFully(clientProof);
+    if (!MessageDigest.isEqual(expectedProof, clientProof)) {
+      throw new IOException("Client of blocklet index service failed authentication");
+    }
+    out.write(sign(secret, SERVER_ROLE, clientChallenge));
+    out.flush();
+  }
+
+  /**
+   * Authenticate the server of the connection and prove the secret to it
+   *
+   * @throws IOException if the server does not know the secret
+   */
+  static void connectServer(DataInputStream in, DataOutputStream out, byte[] secret)
+      throws IOException {
+    byte[] serverChallenge = new byte[CHALLENGE_LENGTH];
+    in.readFully(serverChallenge);
+    byte[] clientChallenge = newChallenge();
+    out.write(clientChallenge);
+    out.write(sign(secret, CLIENT_ROLE, serverChallenge));
+    out.flush();
+    byte[] expectedProof = sign(secret, SERVER_ROLE, clientChallenge);
+    byte[] serverProof = new byte[expectedProof.length];
+    in.readFully(serverProof);
+    if (!MessageDigest.isEqual(expectedProof, serverProof)) {
+      throw new IOException("Blocklet index service failed authentication");
+    }
+  }
+
+  /**
+   * Return the stream to read the messages, it fails on any class not allowed in a message
+   */
+  static ObjectInputStream newObjectInputStream(InputStream in) throws IOException {
+    return new ObjectInputStream(in) {
+      @Override protected Class<?> resolveClass(ObjectStreamClass desc)
+          throws IOException, ClassNotFoundException {
+        if (!isAllowed(desc.getName())) {
+          throw new InvalidClassException(desc.getName(),
+              "class is not allowed in blocklet index service message");
+        }
+        return super.resolveClass(desc);
+      }
+
+      @Override protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+        throw new InvalidClassException("proxy classes are not allowed in blocklet index "
+            + "service message");
+      }
+    };
+  }
+
+  static boolean isAllowed(String className) {
+    String name = className;
+    // array of objects is [Lclass; and array of primitives is [type
+    while (name.startsWith("[")) {
+      name = name.substring(1);
+    }
+    if (name.length() == 1) {
+      return true;
+    }
+    if (name.startsWith("L") && name.endsWith(";")) {
+      name = name.substring(1, name.length() - 1);
+    }
+    return name.startsWith(CARBON_PACKAGE) || ALLOWED_JDK_CLASSES.contains(name)
+        || name.startsWith("java.util.Collections$");
+  }
+
+  private static byte[] newChallenge() {
+    byte[] challenge = new byte[CHALLENGE_LENGTH];
+    RANDOM.nextBytes(challenge);
+    return challenge;
+  }
+
+  private static byte[] sign(byte[] secret, byte[] role, byte[] challenge) throws IOException {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+      mac.update(role);
+      return mac.doFinal(challenge);
+    } catch (GeneralSecurityException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
+import org.apache.carbondata.core.datamap.Segment;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+
+/**
+ * Prunes with the datamaps cached in this process
+ */
+@InterfaceAudience.Internal
+public class LocalBlockletIndexService implements BlockletIndexService {
+
+  @Override public List<ExtendedBlocklet> prune(CarbonTable carbonTable, List<Segment> segments,
+      FilterResolverIntf filter, List<PartitionSpec> partitions) throws IOException {
+    return DataMapStoreManager.getInstance().getDefaultDataMap(carbonTable)
+        .prune(segments, filter, partitions);
+  }
+
+  @Override public void invalidateSegments(CarbonTable carbonTable, List<Segment> segments)
+      throws IOException {
+    DataMapStoreManager.getInstance().clearInvalidSegments(carbonTable, segments);
+  }
+}
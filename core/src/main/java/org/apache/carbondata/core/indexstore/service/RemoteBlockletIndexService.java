@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datamap.Segment;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Client of {@link BlockletIndexServer}. When the server cannot serve a request, the blocklets
+ * are pruned in this process, and the server is not tried again for a while if it is not
+ * reachable.
+ */
+@InterfaceAudience.Internal
+public class RemoteBlockletIndexService implements BlockletIndexService {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(RemoteBlockletIndexService.class.getName());
+
+  /**
+   * time to wait before connecting again to the server which was not reachable
+   */
+  private static final long RECONNECT_INTERVAL_MILLIS = 30000L;
+
+  private final String host;
+
+  private final int port;
+
+  private final int timeoutMillis;
+
+  private final byte[] secret;
+
+  private final BlockletIndexService localService = new LocalBlockletIndexService();
+
+  private volatile long unavailableUntil;
+
+  public RemoteBlockletIndexService(String host, int port, int timeoutMillis, byte[] secret) {
+    this.host = host;
+    this.port = port;
+    this.timeoutMillis = timeoutMillis;
+    this.secret = secret;
+  }
+
+  @Override public List<ExtendedBlocklet> prune(CarbonTable carbonTable, List<Segment> segments,
+      FilterResolverIntf filter, List<PartitionSpec> partitions) throws IOException {
+    if (System.currentTimeMillis() >= unavailableUntil) {
+      IndexServiceMessage response = send(IndexServiceMessage
+          .prune(carbonTable.getTableInfo(), segments, filter, partitions));
+      if (response != null) {
+        if (response.getType() == IndexServiceMessage.Type.RESULT) {
+          return response.getBlocklets();
+        }
+        LOGGER.warn("Blocklet index service failed to prune " + carbonTable.getTableUniqueName()
+            + ", pruning in process: " + response.getErrorMessage());
+      }
+    }
+    return localService.prune(carbonTable, segments, filter, partitions);
+  }
+
+  @Override public void invalidateSegments(CarbonTable carbonTable, List<Segment> segments)
+      throws IOException {
+    // the indexes can be cached in this process when the server was not reachable
+    localService.invalidateSegments(carbonTable, segments);
+    if (System.currentTimeMillis() >= unavailableUntil) {
+      IndexServiceMessage response =
+          send(IndexServiceMessage.invalidate(carbonTable.getTableInfo(), segments));
+      if (response != null && response.getType() == IndexServiceMessage.Type.ERROR) {
+        throw new IOException("Blocklet index service failed to invalidate segments of "
+            + carbonTable.getTableUniqueName() + ": " + response.getErrorMessage());
+      }
+    }
+  }
+
+  /**
+   * Send the request and return the response, null if the server is not reachable
+   */
+  private IndexServiceMessage send(IndexServiceMessage request) {
+    Socket socket = new Socket();
+    try {
+      socket.setTcpNoDelay(true);
+      socket.setSoTimeout(timeoutMillis);
+      socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+      BufferedInputStream input = new BufferedInputStream(socket.getInputStream());
+      BufferedOutputStream output = new BufferedOutputStream(socket.getOutputStream());
+      IndexServiceProtocol.connectServer(new DataInputStream(input),
+          new DataOutputStream(output), secret);
+      ObjectOutputStream out = new ObjectOutputStream(output);
+      out.writeObject(request);
+      out.flush();
+      ObjectInputStream in = IndexServiceProtocol.newObjectInputStream(input);
+      return (IndexServiceMessage) in.readObject();
+    } catch (IOException | ClassNotFoundException e) {
+      LOGGER.warn("Blocklet index service at " + host + ":" + port + " is not reachable", e);
+      unavailableUntil = System.currentTimeMillis() + RECONNECT_INTERVAL_MILLIS;
+      return null;
+    } finally {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        LOGGER.warn("Failed to close connection to blocklet index service", e);
+      }
+    }
+  }
+}
@@ -17,15 +17,33 @@
 
 package org.apache.carbondata.core.locks;
 
+import java.util.Random;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.util.CarbonProperties;
 
+import org.apache.log4j.Logger;
+
 /**
  * This is the abstract class of the lock implementations.This handles the
- * retrying part of the locking.
+ * retrying part of the locking. The waiters in the same process are queued in
+ * {@link CarbonLockManager} and the lock shared with the other processes is polled with
+ * exponential backoff and jitter, till retry count * retry timeout seconds.
  */
 public abstract class AbstractCarbonLock implements ICarbonLock {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(AbstractCarbonLock.class.getName());
+
+  /**
+   * first backoff interval while polling the lock
+   */
+  private static final long MIN_BACKOFF_MILLIS = 50L;
+
+  private static final Random RANDOM = new Random();
+
   private int retryCount;
 
   private int retryTimeout;
@@ -35,6 +53,11 @@ public abstract class AbstractCarbonLock implements ICarbonLock {
    */
   protected String lockFilePath;
 
+  /**
+   * whether this lock holds the lock of this process in {@link CarbonLockManager}
+   */
+  private boolean inProcessLockHeld;
+
   public abstract boolean lock();
 
   @Override
@@ -42,22 +65,82 @@ public abstract class AbstractCarbonLock implements ICarbonLock {
     return this.lockFilePath;
   }
 
+  /**
+   * Return the key identifying the lock within the process
+   */
+  protected String getLockKey() {
+    return this.lockFilePath;
+  }
+
   /**
    * API for enabling the locking of file with retries.
    */
   public boolean lockWithRetries() {
+    if (retryCount <= 0) {
+      return false;
+    }
+    long maxWaitMillis = Math.max(0L, retryCount * (long) retryTimeout * 1000L);
+    long startTime = System.currentTimeMillis();
+    String lockKey = getLockKey();
+    boolean locked = false;
     try {
-      for (int i = 0; i < retryCount; i++) {
-        if (lock()) {
-          return true;
-        } else {
-          Thread.sleep(retryTimeout * 1000L);
+      if (lockKey != null && !inProcessLockHeld) {
+        if (!CarbonLockManager.acquire(lockKey, maxWaitMillis)) {
+          return false;
         }
+        inProcessLockHeld = true;
       }
+      locked = lockWithBackoff(startTime + maxWaitMillis);
+      return locked;
     } catch (InterruptedException e) {
       return false;
+    } finally {
+      if (!locked) {
+        releaseInProcessLock();
+      }
+      long waitTime = System.currentTimeMillis() - startTime;
+      CarbonLockManager.recordWait(getLockUsage(lockKey), waitTime, locked);
+      if (waitTime >= 1000L) {
+        LOGGER.info("Waited " + waitTime + " ms for lock " + lockKey + ", acquired: " + locked);
+      }
+    }
+  }
+
+  /**
+   * Poll the lock till the deadline, doubling the interval between the attempts with random
+   * jitter so that the processes waiting for the lock do not retry together
+   */
+  private boolean lockWithBackoff(long deadline) throws InterruptedException {
+    long maxBackoff = Math.max(MIN_BACKOFF_MILLIS, retryTimeout * 1000L);
+    long backoff = MIN_BACKOFF_MILLIS;
+    while (!lock()) {
+      long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0) {
+        return false;
+      }
+      long jitter = (long) (RANDOM.nextDouble() * (backoff / 2));
+      Thread.sleep(Math.min(remaining, backoff / 2 + jitter));
+      backoff = Math.min(backoff * 2, maxBackoff);
+    }
+    return true;
+  }
+
+  /**
+   * Release the lock of this process so the next waiter of the process can try the lock. Lock
+   * implementations must call this after releasing the lock.
+   */
+  protected void releaseInProcessLock() {
+    if (inProcessLockHeld) {
+      inProcessLockHeld = false;
+      CarbonLockManager.release(getLockKey());
+    }
+  }
+
+  private static String getLockUsage(String lockKey) {
+    if (lockKey == null) {
+      return "unknown";
     }
-    return false;
+    return lockKey.substring(lockKey.lastIndexOf('/') + 1);
   }
 
   /**
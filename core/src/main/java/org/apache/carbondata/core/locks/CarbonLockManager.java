@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.locks;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+
+/**
+ * Coordinates the waiters of the carbon locks within the process. Waiters of a lock in the same
+ * process are queued in arrival order and woken as soon as the lock is released, only the head
+ * of the queue polls the lock shared with the other processes. It also records the time waited
+ * for the locks of each {@link LockUsage}.
+ */
+@InterfaceAudience.Internal
+public final class CarbonLockManager {
+
+  /**
+   * number of buckets of the wait time histogram, bucket i counts the waits less than 2^i
+   * milliseconds and the last bucket counts the longer waits
+   */
+  static final int NUM_BUCKETS = 20;
+
+  private static final ConcurrentHashMap<String, Semaphore> LOCAL_LOCKS =
+      new ConcurrentHashMap<>();
+
+  private static final ConcurrentHashMap<String, WaitStatistics> STATISTICS =
+      new ConcurrentHashMap<>();
+
+  private CarbonLockManager() {
+  }
+
+  /**
+   * Wait till the lock is free in this process
+   *
+   * @param lockKey       unique key of the lock
+   * @param maxWaitMillis maximum time to wait
+   * @return true if acquired, false if timed out
+   */
+  static boolean acquire(String lockKey, long maxWaitMillis) throws InterruptedException {
+    return getLocalLock(lockKey).tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Release the lock acquired by {@link #acquire(String, long)} and wake the next waiter
+   */
+  static void release(String lockKey) {
+    getLocalLock(lockKey).release();
+  }
+
+  private static Semaphore getLocalLock(String lockKey) {
+    Semaphore lock = LOCAL_LOCKS.get(lockKey);
+    if (lock == null) {
+      // fair, so that waiters acquire in arrival order
+      Semaphore newLock = new Semaphore(1, true);
+      lock = LOCAL_LOCKS.putIfAbsent(lockKey, newLock);
+      if (lock == null) {
+        lock = newLock;
+      }
+    }
+    return lock;
+  }
+
+  /**
+   * Record the time waited for a lock
+   */
+  static void recordWait(String lockUsage, long waitMillis, boolean acquired) {
+    WaitStatistics statistics = STATISTICS.get(lockUsage);
+    if (statistics == null) {
+      WaitStatistics newStatistics = new WaitStatistics();
+      statistics = STATISTICS.putIfAbsent(lockUsage, newStatistics);
+      if (statistics == null) {
+        statistics = newStatistics;
+      }
+    }
+    statistics.record(waitMillis, acquired);
+  }
+
+  /**
+   * Return the wait time histogram of the lock usage, element i is the number of waits less than
+   * 2^i milliseconds and the last element is the number of longer waits
+   */
+  public static long[] getWaitTimeHistogram(String lockUsage) {
+    long[] histogram = new long[NUM_BUCKETS + 1];
+    WaitStatistics statistics = STATISTICS.get(lockUsage);
+    if (statistics != null) {
+      for (int i = 0; i < histogram.length; i++) {
+        histogram[i] = statistics.buckets.get(i);
+      }
+    }
+    return histogram;
+  }
+
+  /**
+   * Return the summary of the wait times of all the lock usages
+   */
+  public static String getWaitStatistics() {
+    StringBuilder builder = new StringBuilder();
+    for (Map.Entry<String, WaitStatistics> entry :
+        new TreeMap<String, WaitStatistics>(STATISTICS).entrySet()) {
+      WaitStatistics statistics = entry.getValue();
+      long count = statistics.acquired.get() + statistics.failed.get();
+      builder.append(entry.getKey())
+          .append(": acquired=").append(statistics.acquired.get())
+          .append(", failed=").append(statistics.failed.get())
+          .append(", avgWaitMs=").append(count == 0 ? 0 : statistics.totalWait.get() / count)
+          .append(", maxWaitMs=").append(statistics.maxWait.get())
+          .append('\n');
+    }
+    return builder.toString();
+  }
+
+  static void clearStatistics() {
+    STATISTICS.clear();
+  }
+
+  private static final class WaitStatistics {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS + 1);
+
+    private final AtomicLong acquired = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong totalWait = new AtomicLong();
+
+    private final AtomicLong maxWait = new AtomicLong();
+
+    void record(long waitMillis, boolean isAcquired) {
+      int bucket = 64 - Long.numberOfLeadingZeros(Math.max(waitMillis, 0L));
+      buckets.incrementAndGet(Math.min(bucket, NUM_BUCKETS));
+      if (isAcquired) {
+        acquired.incrementAndGet();
+      } else {
+        failed.incrementAndGet();
+      }
+      totalWait.addAndGet(waitMillis);
+      long max = maxWait.get();
+      while (waitMillis > max && !maxWait.compareAndSet(max, waitMillis)) {
+        max = maxWait.get();
+      }
+    }
+  }
+}
@@ -90,6 +90,7 @@ public class HdfsFileLock extends AbstractCarbonLock {
         status = false;
       }
     }
+    releaseInProcessLock();
     return status;
   }
 
@@ -115,6 +115,7 @@ public class LocalFileLock extends AbstractCarbonLock {
       status = false;
     } finally {
       CarbonUtil.closeStreams(channel);
+      releaseInProcessLock();
     }
     return status;
   }
@@ -75,6 +75,7 @@ public class S3FileLock extends AbstractCarbonLock {
         status = false;
       }
     }
+    releaseInProcessLock();
     return status;
   }
 
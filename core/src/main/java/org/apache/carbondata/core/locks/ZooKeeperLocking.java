@@ -185,8 +185,14 @@ public class ZooKeeperLocking extends AbstractCarbonLock {
     } catch (KeeperException | InterruptedException e) {
       LOGGER.error(e.getMessage(), e);
       return false;
+    } finally {
+      releaseInProcessLock();
     }
     return true;
   }
 
+  @Override protected String getLockKey() {
+    return lockTypeFolder;
+  }
+
 }
@@ -166,6 +166,7 @@ public class SegmentFileStore {
         segmentRelativePath = segmentPath.substring(tablePath.length(), segmentPath.length());
       }
       segmentFile.addPath(segmentRelativePath, folderDetails);
+      segmentFile.setSegmentSummary(createSegmentSummary(segmentId, indexFiles));
       String segmentFileFolder = CarbonTablePath.getSegmentFilesLocation(tablePath);
       CarbonFile carbonFile = FileFactory.getCarbonFile(segmentFileFolder);
       if (!carbonFile.exists()) {
@@ -185,6 +186,32 @@ public class SegmentFileStore {
     return null;
   }
 
+  /**
+   * Create the summary of the segment from its index files. The segment file is written even if
+   * the summary can not be created, queries then load the index files to prune the segment.
+   */
+  private static SegmentSummary createSegmentSummary(String segmentId, CarbonFile[] indexFiles) {
+    try {
+      SegmentIndexFileStore indexFileStore = new SegmentIndexFileStore();
+      indexFileStore.readAllIIndexOfSegment(indexFiles);
+      return SegmentSummary.fromIndexFiles(indexFileStore.getCarbonIndexMapWithFullPath());
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to create summary of segment " + segmentId, e);
+      return null;
+    }
+  }
+
+  /**
+   * Reads the summary of the segment from its segment file
+   *
+   * @return summary of the segment, null if the segment file does not have it
+   */
+  public static SegmentSummary readSegmentSummary(String tablePath, String segmentFileName)
+      throws IOException {
+    SegmentFile segmentFile = readSegmentFile(getSegmentFilePath(tablePath, segmentFileName));
+    return segmentFile == null ? null : segmentFile.getSegmentSummary();
+  }
+
   /**
    * Move the loaded data from source folder to destination folder.
    */
@@ -993,6 +1020,11 @@ public class SegmentFileStore {
      */
     private Map<String, FolderDetails> locationMap;
 
+    /**
+     * summary of the data of all the index files in the segment, null if it is not known
+     */
+    private SegmentSummary segmentSummary;
+
     SegmentFile() {
       locationMap = new HashMap<>();
     }
@@ -1001,6 +1033,8 @@ public class SegmentFileStore {
       if (this == mapper) {
         return this;
       }
+      // the summary does not cover the index files of the merged segment file
+      segmentSummary = null;
       if (locationMap != null && mapper.locationMap != null) {
         for (Map.Entry<String, FolderDetails> entry : mapper.locationMap.entrySet()) {
           FolderDetails folderDetails = locationMap.get(entry.getKey());
@@ -1028,6 +1062,14 @@ public class SegmentFileStore {
       locationMap.put(path, details);
     }
 
+    public SegmentSummary getSegmentSummary() {
+      return segmentSummary;
+    }
+
+    void setSegmentSummary(SegmentSummary segmentSummary) {
+      this.segmentSummary = segmentSummary;
+    }
+
   }
 
   /**
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.metadata;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.SegmentPropertiesAndSchemaHolder;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.filter.FilterExpressionProcessor;
+import org.apache.carbondata.core.scan.filter.FilterUtil;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.DataFileFooterConverter;
+
+/**
+ * Summary of the data of a segment, it is kept in the segment file so that the segment can be
+ * skipped by a filter query without loading the index files of the segment.
+ * The min/max values are merged from the blocklet min/max of all the index files of the segment.
+ */
+public class SegmentSummary implements Serializable {
+
+  private static final long serialVersionUID = -4407260785262351728L;
+
+  /**
+   * unique ids of the columns of the segment, in the order of the index files
+   */
+  private List<String> columnIds;
+
+  private int[] columnCardinality;
+
+  private byte[][] minValues;
+
+  private byte[][] maxValues;
+
+  private boolean[] minMaxFlag;
+
+  private long rowCount;
+
+  private int blockletCount;
+
+  /**
+   * Summary which does not have min/max values, scan is always required for it
+   */
+  public SegmentSummary() {
+  }
+
+  SegmentSummary(List<ColumnSchema> columnsInTable, int[] columnCardinality) {
+    this.columnIds = new ArrayList<>(columnsInTable.size());
+    for (ColumnSchema column : columnsInTable) {
+      columnIds.add(column.getColumnUniqueId());
+    }
+    this.columnCardinality = columnCardinality;
+  }
+
+  /**
+   * Create the summary from the content of the index files of a segment
+   *
+   * @param indexFiles full path of the index file to its content
+   * @return summary of the segment, null if the index files have different schema or do not
+   * have min/max for all the columns as in the legacy store
+   */
+  static SegmentSummary fromIndexFiles(Map<String, byte[]> indexFiles) throws IOException {
+    DataFileFooterConverter fileFooterConverter = new DataFileFooterConverter();
+    SegmentSummary summary = null;
+    int columnCount = 0;
+    for (Map.Entry<String, byte[]> entry : indexFiles.entrySet()) {
+      List<DataFileFooter> indexInfo =
+          fileFooterConverter.getIndexInfo(entry.getKey(), entry.getValue());
+      for (DataFileFooter footer : indexInfo) {
+        if (summary == null) {
+          summary = new SegmentSummary(footer.getColumnInTable(),
+              footer.getSegmentInfo().getColumnCardinality());
+          columnCount = new SegmentProperties(footer.getColumnInTable(),
+              summary.columnCardinality).getColumnsValueSize().length;
+        } else if (!summary.isSameSchema(footer)) {
+          return null;
+        }
+        BlockletMinMaxIndex minMaxIndex = footer.getBlockletIndex().getMinMaxIndex();
+        if (minMaxIndex.getMinValues().length != columnCount
+            || minMaxIndex.getMaxValues().length != columnCount) {
+          return null;
+        }
+        long rows = footer.getNumberOfRows();
+        if (footer.getBlockletList() != null && footer.getBlockletList().size() == 1) {
+          rows = footer.getBlockletList().get(0).getNumberOfRows();
+        }
+        summary.addBlocklet(minMaxIndex.getMinValues(), minMaxIndex.getMaxValues(),
+            minMaxIndex.getIsMinMaxSet(), rows);
+      }
+    }
+    return summary;
+  }
+
+  private boolean isSameSchema(DataFileFooter footer) {
+    List<ColumnSchema> columnsInTable = footer.getColumnInTable();
+    if (columnsInTable.size() != columnIds.size() || !Arrays
+        .equals(columnCardinality, footer.getSegmentInfo().getColumnCardinality())) {
+      return false;
+    }
+    for (int i = 0; i < columnIds.size(); i++) {
+      if (!columnIds.get(i).equals(columnsInTable.get(i).getColumnUniqueId())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Merge the min/max of a blocklet into the summary
+   */
+  void addBlocklet(byte[][] blockletMinValues, byte[][] blockletMaxValues,
+      boolean[] isMinMaxSet, long blockletRowCount) {
+    if (minValues == null) {
+      minValues = blockletMinValues.clone();
+      maxValues = blockletMaxValues.clone();
+      minMaxFlag = new boolean[blockletMinValues.length];
+      Arrays.fill(minMaxFlag, true);
+    } else {
+      for (int i = 0; i < minValues.length; i++) {
+        if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(blockletMinValues[i], minValues[i]) < 0) {
+          minValues[i] = blockletMinValues[i];
+        }
+        if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(blockletMaxValues[i], maxValues[i]) > 0) {
+          maxValues[i] = blockletMaxValues[i];
+        }
+      }
+    }
+    if (isMinMaxSet != null) {
+      for (int i = 0; i < minMaxFlag.length; i++) {
+        minMaxFlag[i] = minMaxFlag[i] && isMinMaxSet[i];
+      }
+    }
+    rowCount += blockletRowCount;
+    blockletCount++;
+  }
+
+  /**
+   * Return false if no row of the segment can match the filter. Scan is required when the
+   * summary has no min/max or a column of the segment is not in the table any more.
+   */
+  public boolean isScanRequired(FilterResolverIntf filterExp, CarbonTable carbonTable,
+      String segmentId) {
+    if (minValues == null || filterExp == null) {
+      return true;
+    }
+    Map<String, ColumnSchema> tableColumns = new HashMap<>();
+    for (ColumnSchema column : carbonTable.getTableInfo().getFactTable().getListOfColumns()) {
+      tableColumns.put(column.getColumnUniqueId(), column);
+    }
+    List<ColumnSchema> columnsInTable = new ArrayList<>(columnIds.size());
+    for (String columnId : columnIds) {
+      ColumnSchema column = tableColumns.get(columnId);
+      if (column == null) {
+        return true;
+      }
+      columnsInTable.add(column);
+    }
+    SegmentPropertiesAndSchemaHolder schemaHolder = SegmentPropertiesAndSchemaHolder.getInstance();
+    SegmentProperties segmentProperties = schemaHolder.getSegmentProperties(schemaHolder
+        .addSegmentProperties(carbonTable, columnsInTable, columnCardinality, segmentId));
+    FilterExecuter filterExecuter =
+        FilterUtil.getFilterExecuterTree(filterExp, segmentProperties, null);
+    return FilterExpressionProcessor
+        .isScanRequired(filterExecuter, maxValues, minValues, minMaxFlag);
+  }
+
+  public List<String> getColumnIds() {
+    return columnIds;
+  }
+
+  public byte[][] getMinValues() {
+    return minValues;
+  }
+
+  public byte[][] getMaxValues() {
+    return maxValues;
+  }
+
+  public boolean[] getMinMaxFlag() {
+    return minMaxFlag;
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  public int getBlockletCount() {
+    return blockletCount;
+  }
+}
@@ -89,6 +89,27 @@ public class BlockletInfo implements Serializable, Writable {
 
   private int[] numberOfRowsPerPage;
 
+  /**
+   * Return a copy whose row counts, pages and min max index can be modified without changing
+   * this blocklet info, the chunk details are shared
+   */
+  public BlockletInfo copy() {
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.numberOfRows = numberOfRows;
+    blockletInfo.dimensionColumnChunk = dimensionColumnChunk;
+    blockletInfo.measureColumnChunk = measureColumnChunk;
+    blockletInfo.dimensionChunkOffsets = dimensionChunkOffsets;
+    blockletInfo.dimensionChunksLength = dimensionChunksLength;
+    blockletInfo.measureChunkOffsets = measureChunkOffsets;
+    blockletInfo.measureChunksLength = measureChunksLength;
+    blockletInfo.blockletIndex = blockletIndex == null ? null : blockletIndex.copy();
+    blockletInfo.dimensionOffset = dimensionOffset;
+    blockletInfo.measureOffsets = measureOffsets;
+    blockletInfo.numberOfPages = numberOfPages;
+    blockletInfo.numberOfRowsPerPage = numberOfRowsPerPage;
+    return blockletInfo;
+  }
+
   /**
    * @return the numberOfRows
    */
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.metadata.blocklet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+/**
+ * A cacheable holder of the footer of a data file, converted from thrift. The footer is shared
+ * by all the readers of the file, so each reader gets a copy of it.
+ */
+public class CacheableDataFileFooter implements Cacheable {
+
+  /**
+   * estimated bytes of the objects and references of a column schema
+   */
+  private static final int COLUMN_SCHEMA_SIZE = 512;
+
+  /**
+   * estimated bytes of the objects of a blocklet info apart from its min max and chunk lists
+   */
+  private static final int BLOCKLET_INFO_SIZE = 256;
+
+  /**
+   * estimated bytes of an element of the boxed chunk offset and length lists
+   */
+  private static final int CHUNK_ENTRY_SIZE = 40;
+
+  private final DataFileFooter dataFileFooter;
+
+  private final long memorySize;
+
+  public CacheableDataFileFooter(DataFileFooter dataFileFooter) {
+    this.dataFileFooter = dataFileFooter;
+    this.memorySize = estimateMemorySize(dataFileFooter);
+  }
+
+  /**
+   * Return a copy of the footer for a reader. The readers update the row counts, pages and
+   * min max values of the blocklet infos they get, so each reader gets its own blocklet infos,
+   * min max indexes and column list. The chunk details, min max values and column schemas
+   * are shared, the readers must not modify them.
+   */
+  public DataFileFooter getDataFileFooter() {
+    DataFileFooter footer = new DataFileFooter();
+    footer.setVersionId(dataFileFooter.getVersionId());
+    footer.setNumberOfRows(dataFileFooter.getNumberOfRows());
+    footer.setSegmentInfo(dataFileFooter.getSegmentInfo());
+    if (dataFileFooter.getBlockletList() != null) {
+      List<BlockletInfo> blockletList =
+          new ArrayList<>(dataFileFooter.getBlockletList().size());
+      for (BlockletInfo blockletInfo : dataFileFooter.getBlockletList()) {
+        blockletList.add(blockletInfo.copy());
+      }
+      footer.setBlockletList(blockletList);
+    }
+    if (dataFileFooter.getBlockletIndex() != null) {
+      footer.setBlockletIndex(dataFileFooter.getBlockletIndex().copy());
+    }
+    footer.setColumnInTable(getColumnInTable());
+    footer.setBlockInfo(dataFileFooter.getBlockInfo());
+    footer.setSchemaUpdatedTimeStamp(dataFileFooter.getSchemaUpdatedTimeStamp());
+    return footer;
+  }
+
+  /**
+   * Return a copy of the column list of the footer
+   */
+  public List<ColumnSchema> getColumnInTable() {
+    List<ColumnSchema> columnInTable = dataFileFooter.getColumnInTable();
+    return columnInTable == null ? null : new ArrayList<>(columnInTable);
+  }
+
+  private static long estimateMemorySize(DataFileFooter footer) {
+    long size = 0;
+    if (footer.getColumnInTable() != null) {
+      size += (long) footer.getColumnInTable().size() * COLUMN_SCHEMA_SIZE;
+    }
+    if (footer.getBlockletList() != null) {
+      for (BlockletInfo blockletInfo : footer.getBlockletList()) {
+        size += BLOCKLET_INFO_SIZE;
+        size += getSize(blockletInfo.getDimensionChunkOffsets()) * CHUNK_ENTRY_SIZE * 2;
+        size += getSize(blockletInfo.getMeasureChunkOffsets()) * CHUNK_ENTRY_SIZE * 2;
+        size += getSize(blockletInfo.getBlockletIndex());
+      }
+    }
+    size += getSize(footer.getBlockletIndex());
+    return size;
+  }
+
+  private static long getSize(List<?> list) {
+    return list == null ? 0 : list.size();
+  }
+
+  private static long getSize(BlockletIndex blockletIndex) {
+    if (blockletIndex == null || blockletIndex.getMinMaxIndex() == null) {
+      return 0;
+    }
+    BlockletMinMaxIndex minMaxIndex = blockletIndex.getMinMaxIndex();
+    return getSize(minMaxIndex.getMinValues()) + getSize(minMaxIndex.getMaxValues());
+  }
+
+  private static long getSize(byte[][] values) {
+    long size = 0;
+    if (values != null) {
+      for (byte[] value : values) {
+        // array header and reference
+        size += 24;
+        if (value != null) {
+          size += value.length;
+        }
+      }
+    }
+    return size;
+  }
+
+  @Override public long getFileTimeStamp() {
+    return 0;
+  }
+
+  @Override public int getAccessCount() {
+    return 0;
+  }
+
+  @Override public long getMemorySize() {
+    return memorySize;
+  }
+
+  @Override public void invalidate() {
+    // nothing to release, the footer is on heap
+  }
+}
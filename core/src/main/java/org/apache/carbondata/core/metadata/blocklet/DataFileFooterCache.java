@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.metadata.blocklet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.util.DataFileFooterConverterV3;
+
+/**
+ * Cache of the footers of V3 data files, keyed by the file path and the footer offset. The
+ * footer of a file is read and converted from thrift once, and the later opens of the file by
+ * the queries, compaction and SDK readers get it from the cache. Data files are never modified
+ * in place, so an entry is valid till it is evicted.
+ */
+public class DataFileFooterCache implements Cache<TableBlockInfo, CacheableDataFileFooter> {
+
+  private static final String CACHE_KEY_PREFIX = "footer_";
+
+  private CarbonLRUCache lruCache;
+
+  /**
+   * lock for each footer being read, so that concurrent readers of a file read it only once
+   */
+  private final ConcurrentHashMap<String, Object> loadingLocks = new ConcurrentHashMap<>();
+
+  public DataFileFooterCache(CarbonLRUCache lruCache) {
+    this.lruCache = lruCache;
+  }
+
+  @Override public CacheableDataFileFooter get(TableBlockInfo key) throws IOException {
+    String lruCacheKey = getLruCacheKey(key);
+    CacheableDataFileFooter footer = (CacheableDataFileFooter) lruCache.get(lruCacheKey);
+    if (footer != null) {
+      return footer;
+    }
+    Object lock = new Object();
+    Object existingLock = loadingLocks.putIfAbsent(lruCacheKey, lock);
+    if (existingLock != null) {
+      lock = existingLock;
+    }
+    synchronized (lock) {
+      try {
+        footer = (CacheableDataFileFooter) lruCache.get(lruCacheKey);
+        if (footer == null) {
+          footer = new CacheableDataFileFooter(
+              new DataFileFooterConverterV3().readDataFileFooter(key));
+          lruCache.put(lruCacheKey, footer, footer.getMemorySize());
+        }
+      } finally {
+        loadingLocks.remove(lruCacheKey);
+      }
+    }
+    return footer;
+  }
+
+  @Override public List<CacheableDataFileFooter> getAll(List<TableBlockInfo> keys)
+      throws IOException {
+    List<CacheableDataFileFooter> footers = new ArrayList<>(keys.size());
+    for (TableBlockInfo key : keys) {
+      footers.add(get(key));
+    }
+    return footers;
+  }
+
+  @Override public CacheableDataFileFooter getIfPresent(TableBlockInfo key) {
+    return (CacheableDataFileFooter) lruCache.get(getLruCacheKey(key));
+  }
+
+  @Override public void invalidate(TableBlockInfo key) {
+    lruCache.remove(getLruCacheKey(key));
+  }
+
+  @Override public void put(TableBlockInfo key, CacheableDataFileFooter value) {
+    lruCache.put(getLruCacheKey(key), value, value.getMemorySize());
+  }
+
+  @Override public void clearAccessCount(List<TableBlockInfo> keys) {
+    // access count is not maintained, entries can be removed any time as they are immutable
+  }
+
+  private static String getLruCacheKey(TableBlockInfo key) {
+    return CACHE_KEY_PREFIX + key.getFilePath() + "_" + key.getBlockOffset();
+  }
+}
@@ -47,6 +47,13 @@ public class BlockletIndex implements Serializable {
     this.minMaxIndex = minmax;
   }
 
+  /**
+   * Return a copy whose min max index can be modified without changing this index
+   */
+  public BlockletIndex copy() {
+    return new BlockletIndex(btreeIndex, minMaxIndex == null ? null : minMaxIndex.copy());
+  }
+
   /**
    * @return the btreeIndex
    */
@@ -62,6 +62,17 @@ public class BlockletMinMaxIndex implements Serializable {
     this.isMinMaxSet = ArrayUtils.toPrimitive(isMinMaxSet.toArray(new Boolean[isMinMaxSet.size()]));
   }
 
+  /**
+   * Return a copy whose values can be replaced without changing this index
+   */
+  public BlockletMinMaxIndex copy() {
+    BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex();
+    minMaxIndex.minValues = minValues == null ? null : minValues.clone();
+    minMaxIndex.maxValues = maxValues == null ? null : maxValues.clone();
+    minMaxIndex.isMinMaxSet = isMinMaxSet == null ? null : isMinMaxSet.clone();
+    return minMaxIndex;
+  }
+
   /**
    * @return the minValues
    */
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.mutate;
+
+import java.util.Map;
+
+import org.apache.carbondata.core.cache.Cacheable;
+
+/**
+ * A cacheable holder of the deleted rows of a block, mapping blockletid_pageid to the deleted
+ * rows of the page
+ */
+public class BlockDeletedRows implements Cacheable {
+
+  private final Map<String, DeleteDeltaVo> deletedRowsMap;
+
+  private final long deleteDeltaTimestamp;
+
+  private final long memorySize;
+
+  public BlockDeletedRows(Map<String, DeleteDeltaVo> deletedRowsMap, long deleteDeltaTimestamp) {
+    this.deletedRowsMap = deletedRowsMap;
+    this.deleteDeltaTimestamp = deleteDeltaTimestamp;
+    long size = 0;
+    for (Map.Entry<String, DeleteDeltaVo> entry : deletedRowsMap.entrySet()) {
+      entry.getValue().optimize();
+      // key chars and the references of the map entry
+      size += entry.getKey().length() * 2 + 64;
+      size += entry.getValue().getSizeInBytes();
+    }
+    this.memorySize = size;
+  }
+
+  public Map<String, DeleteDeltaVo> getDeletedRowsMap() {
+    return deletedRowsMap;
+  }
+
+  @Override public long getFileTimeStamp() {
+    return deleteDeltaTimestamp;
+  }
+
+  @Override public int getAccessCount() {
+    return 0;
+  }
+
+  @Override public long getMemorySize() {
+    return memorySize;
+  }
+
+  @Override public void invalidate() {
+    // nothing to release, the rows are on heap
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.mutate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.reader.CarbonDeleteFilesDataReader;
+import org.apache.carbondata.core.scan.executor.infos.DeleteDeltaInfo;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Executor cache of the deleted rows of the blocks. An entry is keyed by the block and the
+ * latest delete delta timestamp, so the delete delta files of a block are read once for all
+ * the tasks and queries till a new delete happens on the block. The entry of an older delete
+ * delta is not used by new queries and is evicted by the LRU cache.
+ *
+ * Nothing is evicted from the LRU cache if its size is not configured, so the deleted rows are
+ * cached only if carbon.max.executor.lru.cache.size is configured. Otherwise they are read for
+ * each query and kept only by the data block of the query.
+ */
+public class DeleteDeltaCache implements Cache<DeleteDeltaInfo, BlockDeletedRows> {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(DeleteDeltaCache.class.getName());
+
+  private static final String CACHE_KEY_PREFIX = "deletedelta_";
+
+  private CarbonLRUCache lruCache;
+
+  /**
+   * lock for each entry being loaded, so that concurrent tasks read the files only once
+   */
+  private final ConcurrentHashMap<String, Object> loadingLocks = new ConcurrentHashMap<>();
+
+  public DeleteDeltaCache(CarbonLRUCache lruCache) {
+    this.lruCache = lruCache;
+  }
+
+  @Override public BlockDeletedRows get(DeleteDeltaInfo key) throws IOException {
+    if (!lruCache.isLRUCacheSizeConfigured()) {
+      return load(key);
+    }
+    String lruCacheKey = getLruCacheKey(key);
+    BlockDeletedRows deletedRows = (BlockDeletedRows) lruCache.get(lruCacheKey);
+    if (deletedRows != null) {
+      return deletedRows;
+    }
+    Object lock = new Object();
+    Object existingLock = loadingLocks.putIfAbsent(lruCacheKey, lock);
+    if (existingLock != null) {
+      lock = existingLock;
+    }
+    synchronized (lock) {
+      try {
+        deletedRows = (BlockDeletedRows) lruCache.get(lruCacheKey);
+        if (deletedRows == null) {
+          deletedRows = load(key);
+          lruCache.put(lruCacheKey, deletedRows, deletedRows.getMemorySize());
+        }
+      } finally {
+        loadingLocks.remove(lruCacheKey);
+      }
+    }
+    return deletedRows;
+  }
+
+  private BlockDeletedRows load(DeleteDeltaInfo key) throws IOException {
+    try {
+      Map<String, DeleteDeltaVo> deletedRowsMap =
+          new CarbonDeleteFilesDataReader().getDeletedRowsDataVo(key.getDeleteDeltaFile());
+      return new BlockDeletedRows(deletedRowsMap, key.getLatestDeleteDeltaFileTimestamp());
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to read delete delta files of block " + key.getBlockKey(), e);
+      throw new IOException(e);
+    }
+  }
+
+  @Override public List<BlockDeletedRows> getAll(List<DeleteDeltaInfo> keys)
+      throws IOException {
+    List<BlockDeletedRows> deletedRows = new ArrayList<>(keys.size());
+    for (DeleteDeltaInfo key : keys) {
+      deletedRows.add(get(key));
+    }
+    return deletedRows;
+  }
+
+  @Override public BlockDeletedRows getIfPresent(DeleteDeltaInfo key) {
+    return (BlockDeletedRows) lruCache.get(getLruCacheKey(key));
+  }
+
+  @Override public void invalidate(DeleteDeltaInfo key) {
+    lruCache.remove(getLruCacheKey(key));
+  }
+
+  @Override public void put(DeleteDeltaInfo key, BlockDeletedRows value) {
+    if (lruCache.isLRUCacheSizeConfigured()) {
+      lruCache.put(getLruCacheKey(key), value, value.getMemorySize());
+    }
+  }
+
+  @Override public void clearAccessCount(List<DeleteDeltaInfo> keys) {
+    // access count is not maintained, entries can be removed any time as they are immutable
+  }
+
+  private static String getLruCacheKey(DeleteDeltaInfo key) {
+    return getLruCacheKey(key.getBlockKey(), key.getDeleteDeltaFile(),
+        key.getLatestDeleteDeltaFileTimestamp());
+  }
+
+  private static String getLruCacheKey(String blockKey, String[] deleteDeltaFiles,
+      long timestamp) {
+    if (blockKey != null) {
+      return CACHE_KEY_PREFIX + blockKey + "_" + timestamp;
+    }
+    // without block key the files identify the block
+    StringBuilder builder = new StringBuilder(CACHE_KEY_PREFIX);
+    for (String deleteDeltaFile : deleteDeltaFiles) {
+      builder.append(deleteDeltaFile).append(',');
+    }
+    return builder.append(timestamp).toString();
+  }
+}
@@ -20,19 +20,23 @@ import java.util.BitSet;
 import java.util.Iterator;
 import java.util.Set;
 
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
 /**
  * Class which keep the information about the rows
- * while got deleted
+ * while got deleted. The rows are kept in a compressed bitmap, as it is cached and shared by
+ * the queries on the block.
  */
 public class DeleteDeltaVo {
 
   /**
-   * deleted rows bitset
+   * deleted rows bitmap
    */
-  private BitSet bitSet;
+  private RoaringBitmap deletedRows;
 
   public DeleteDeltaVo() {
-    bitSet = new BitSet();
+    deletedRows = new RoaringBitmap();
   }
 
   /**
@@ -44,10 +48,17 @@ public class DeleteDeltaVo {
   public void insertData(Set<Integer> data) {
     Iterator<Integer> iterator = data.iterator();
     while (iterator.hasNext()) {
-      bitSet.set(iterator.next());
+      deletedRows.add(iterator.next());
     }
   }
 
+  /**
+   * Compress the bitmap after all the rows are inserted
+   */
+  public void optimize() {
+    deletedRows.runOptimize();
+  }
+
   /**
    * below method will be used to check the row is deleted or not
    *
@@ -55,10 +66,33 @@ public class DeleteDeltaVo {
    * @return
    */
   public boolean containsRow(int counter) {
-    return bitSet.get(counter);
+    return deletedRows.contains(counter);
+  }
+
+  /**
+   * Return number of deleted rows
+   */
+  public int getDeletedRowCount() {
+    return deletedRows.getCardinality();
   }
 
+  /**
+   * Return size of the deleted rows in memory
+   */
+  public long getSizeInBytes() {
+    return deletedRows.getSizeInBytes();
+  }
+
+  /**
+   * Return the deleted rows as a new bitset for the vector filling, it is not kept so that the
+   * cached rows stay compressed
+   */
   public BitSet getBitSet() {
-    return bitSet;
+    BitSet rows = new BitSet();
+    IntIterator iterator = deletedRows.getIntIterator();
+    while (iterator.hasNext()) {
+      rows.set(iterator.next());
+    }
+    return rows;
   }
 }
@@ -46,6 +46,9 @@ public class ExplainCollector {
   // mapping of thread name to map of table name to pruning info
   private Map<String, Map<String, TablePruningInfo>> scans = new ConcurrentHashMap<>();
 
+  // whether the query is executed to collect the runtime profile of the scans
+  private boolean analyze;
+
   private ExplainCollector() {
   }
 
@@ -54,14 +57,27 @@ public class ExplainCollector {
   }
 
   public static void setup() {
+    setup(false);
+  }
+
+  /**
+   * Setup the collector, if analyze is true the query will be executed and the runtime profile
+   * of each scan is collected along with the pruning information
+   */
+  public static void setup(boolean analyze) {
     boolean isQueryStatisticsEnabled = Boolean.parseBoolean(CarbonProperties.getInstance()
         .getProperty(CarbonCommonConstants.ENABLE_QUERY_STATISTICS,
             CarbonCommonConstants.ENABLE_QUERY_STATISTICS_DEFAULT));
-    if (isQueryStatisticsEnabled) {
+    if (isQueryStatisticsEnabled || analyze) {
       INSTANCE = new ExplainCollector();
+      INSTANCE.analyze = analyze;
     }
   }
 
+  public static boolean isAnalyze() {
+    return enabled() && get().analyze;
+  }
+
   public static void remove() {
     if (enabled()) {
       INSTANCE = null;
@@ -145,6 +161,17 @@ public class ExplainCollector {
     }
   }
 
+  /**
+   * Set the runtime profile of the current scan, it is filled after the query is executed.
+   * It is ignored if no pruning is done for the scan, like when there is no valid segment.
+   */
+  public static void setScanProfile(ScanProfile scanProfile) {
+    if (enabled() && get().scans.containsKey(Thread.currentThread().getName())) {
+      TablePruningInfo scan = getCurrentTablePruningInfo();
+      scan.setScanProfile(scanProfile);
+    }
+  }
+
   public static void addTotalBlocks(int numBlocks) {
     if (enabled()) {
       TablePruningInfo scan = getCurrentTablePruningInfo();
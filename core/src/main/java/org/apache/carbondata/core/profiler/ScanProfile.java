@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.profiler;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
+
+/**
+ * Runtime profile of the scan of one table, used for EXPLAIN command when the query is executed.
+ * Each task collects its own profile while scanning, and the profiles of all the tasks are
+ * merged in driver and printed after the pruning information of the table.
+ */
+@InterfaceAudience.Internal
+public class ScanProfile implements Serializable {
+
+  private static final long serialVersionUID = 6213720405891547234L;
+
+  private int numTasks;
+  private long totalTaskTime;
+  private long maxTaskTime;
+
+  private long totalBlocklets;
+  private long validBlocklets;
+  private long totalPages;
+  private long scannedPages;
+  private long validPages;
+
+  private long readTime;
+  private long scanTime;
+  private long pageUncompressTime;
+  private long fillTime;
+  private long resultPrepTime;
+
+  /**
+   * statistics of each node of the filter executer tree, in pre-order of the tree
+   */
+  private Map<String, FilterStats> filterStats = new LinkedHashMap<>();
+
+  /**
+   * bytes read and decompressed of each column
+   */
+  private Map<String, long[]> columnBytes = new LinkedHashMap<>();
+
+  /**
+   * Return the statistics of a node of the filter executer tree, the node is identified by its
+   * depth in the tree and its description, so the same node of the trees created for different
+   * blocks shares the statistics
+   */
+  public synchronized FilterStats getFilterStats(int depth, String description) {
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < depth; i++) {
+      key.append("  ");
+    }
+    key.append(description);
+    FilterStats stats = filterStats.get(key.toString());
+    if (stats == null) {
+      stats = new FilterStats();
+      filterStats.put(key.toString(), stats);
+    }
+    return stats;
+  }
+
+  public synchronized void addColumnBytes(String column, long bytesRead,
+      long bytesDecompressed) {
+    long[] bytes = columnBytes.get(column);
+    if (bytes == null) {
+      bytes = new long[2];
+      columnBytes.put(column, bytes);
+    }
+    bytes[0] += bytesRead;
+    bytes[1] += bytesDecompressed;
+  }
+
+  /**
+   * Add the page and time statistics collected by the scanners of one query iterator
+   */
+  public synchronized void addScanStatistics(Map<String, QueryStatistic> statistics) {
+    totalBlocklets += getCount(statistics, QueryStatisticsConstants.TOTAL_BLOCKLET_NUM);
+    validBlocklets += getCount(statistics, QueryStatisticsConstants.VALID_SCAN_BLOCKLET_NUM);
+    totalPages += getCount(statistics, QueryStatisticsConstants.TOTAL_PAGE_SCANNED);
+    scannedPages += getCount(statistics, QueryStatisticsConstants.PAGE_SCANNED);
+    validPages += getCount(statistics, QueryStatisticsConstants.VALID_PAGE_SCANNED);
+    readTime += getCount(statistics, QueryStatisticsConstants.READ_BLOCKlET_TIME);
+    scanTime += getCount(statistics, QueryStatisticsConstants.SCAN_BLOCKlET_TIME);
+    pageUncompressTime += getCount(statistics, QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME);
+    fillTime += getCount(statistics, QueryStatisticsConstants.KEY_COLUMN_FILLING_TIME)
+        + getCount(statistics, QueryStatisticsConstants.MEASURE_FILLING_TIME);
+    resultPrepTime += getCount(statistics, QueryStatisticsConstants.RESULT_PREP_TIME);
+  }
+
+  private static long getCount(Map<String, QueryStatistic> statistics, String key) {
+    QueryStatistic statistic = statistics.get(key);
+    return statistic == null ? 0 : statistic.getCount();
+  }
+
+  /**
+   * Add the time taken by one task, it is called once when the task completes
+   */
+  public synchronized void addTaskTime(long taskTime) {
+    numTasks++;
+    totalTaskTime += taskTime;
+    maxTaskTime = Math.max(maxTaskTime, taskTime);
+  }
+
+  public synchronized boolean isEmpty() {
+    return numTasks == 0 && totalBlocklets == 0 && filterStats.isEmpty()
+        && columnBytes.isEmpty();
+  }
+
+  public synchronized void merge(ScanProfile other) {
+    if (other == this) {
+      return;
+    }
+    synchronized (other) {
+      numTasks += other.numTasks;
+      totalTaskTime += other.totalTaskTime;
+      maxTaskTime = Math.max(maxTaskTime, other.maxTaskTime);
+      totalBlocklets += other.totalBlocklets;
+      validBlocklets += other.validBlocklets;
+      totalPages += other.totalPages;
+      scannedPages += other.scannedPages;
+      validPages += other.validPages;
+      readTime += other.readTime;
+      scanTime += other.scanTime;
+      pageUncompressTime += other.pageUncompressTime;
+      fillTime += other.fillTime;
+      resultPrepTime += other.resultPrepTime;
+      for (Map.Entry<String, FilterStats> entry : other.filterStats.entrySet()) {
+        FilterStats stats = filterStats.get(entry.getKey());
+        if (stats == null) {
+          stats = new FilterStats();
+          filterStats.put(entry.getKey(), stats);
+        }
+        stats.merge(entry.getValue());
+      }
+      for (Map.Entry<String, long[]> entry : other.columnBytes.entrySet()) {
+        addColumnBytes(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+      }
+    }
+  }
+
+  public synchronized int getNumTasks() {
+    return numTasks;
+  }
+
+  public synchronized long getTotalPages() {
+    return totalPages;
+  }
+
+  public synchronized long getScannedPages() {
+    return scannedPages;
+  }
+
+  public synchronized long getValidPages() {
+    return validPages;
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder
+        .append(" - executed: ").append(numTasks).append(" tasks, total ").append(totalTaskTime)
+        .append(" ms, max ").append(maxTaskTime).append(" ms").append("\n")
+        .append(" - scanned: ").append(validBlocklets).append(" of ").append(totalBlocklets)
+        .append(" blocklets, ").append(validPages).append(" of ").append(totalPages)
+        .append(" pages").append("\n")
+        .append("    - pruned by page min/max: ").append(totalPages - scannedPages)
+        .append(" pages").append("\n")
+        .append("    - pruned by filter: ").append(scannedPages - validPages)
+        .append(" pages").append("\n")
+        .append(" - time: read ").append(readTime).append(" ms, scan ").append(scanTime)
+        .append(" ms, uncompress ").append(pageUncompressTime).append(" ms, fill ")
+        .append(fillTime).append(" ms, result ").append(resultPrepTime).append(" ms")
+        .append("\n");
+    if (!filterStats.isEmpty()) {
+      builder.append(" - filter executers:").append("\n");
+      for (Map.Entry<String, FilterStats> entry : filterStats.entrySet()) {
+        builder.append("    - ").append(entry.getKey()).append(": ")
+            .append(entry.getValue().toString()).append("\n");
+      }
+    }
+    if (!columnBytes.isEmpty()) {
+      builder.append(" - columns:").append("\n");
+      for (Map.Entry<String, long[]> entry : columnBytes.entrySet()) {
+        builder.append("    - ").append(entry.getKey()).append(": read ")
+            .append(entry.getValue()[0]).append(" bytes, decompressed ")
+            .append(entry.getValue()[1]).append(" bytes").append("\n");
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Statistics of one node of the filter executer tree. It is updated concurrently by the
+   * blocklet scanning threads of the task.
+   */
+  public static class FilterStats implements Serializable {
+
+    private static final long serialVersionUID = -2851037741906587343L;
+
+    private final AtomicLong blocklets = new AtomicLong();
+    private final AtomicLong rowsIn = new AtomicLong();
+    private final AtomicLong rowsOut = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+
+    /**
+     * Add the result of applying the filter on one blocklet
+     */
+    public void addBlocklet(long numRowsIn, long numRowsOut, long timeNanos) {
+      blocklets.incrementAndGet();
+      rowsIn.addAndGet(numRowsIn);
+      rowsOut.addAndGet(numRowsOut);
+      nanos.addAndGet(timeNanos);
+    }
+
+    /**
+     * Add the result of applying the filter on one row
+     */
+    public void addRow(boolean selected, long timeNanos) {
+      rowsIn.incrementAndGet();
+      if (selected) {
+        rowsOut.incrementAndGet();
+      }
+      nanos.addAndGet(timeNanos);
+    }
+
+    public long getRowsIn() {
+      return rowsIn.get();
+    }
+
+    public long getRowsOut() {
+      return rowsOut.get();
+    }
+
+    void merge(FilterStats other) {
+      blocklets.addAndGet(other.blocklets.get());
+      rowsIn.addAndGet(other.rowsIn.get());
+      rowsOut.addAndGet(other.rowsOut.get());
+      nanos.addAndGet(other.nanos.get());
+    }
+
+    @Override
+    public String toString() {
+      return blocklets.get() + " blocklets, " + rowsOut.get() + " of " + rowsIn.get()
+          + " rows selected, " + nanos.get() / 1000000 + " ms";
+    }
+  }
+}
@@ -42,6 +42,8 @@ public class TablePruningInfo {
   private int numBlocksAfterFGPruning;
   private int numBlockletsAfterFGPruning;
 
+  private ScanProfile scanProfile;
+
   synchronized void addTotalBlocks(int numBlocks) {
     this.totalBlocks += numBlocks;
   }
@@ -85,8 +87,19 @@ public class TablePruningInfo {
     this.numBlockletsAfterFGPruning = numBlocklets;
   }
 
+  void setScanProfile(ScanProfile scanProfile) {
+    this.scanProfile = scanProfile;
+  }
+
   @Override
   public String toString() {
+    if (null == scanProfile) {
+      return getPruningInfo();
+    }
+    return getPruningInfo() + scanProfile.toString();
+  }
+
+  private String getPruningInfo() {
     if (showPruningInfo) {
       StringBuilder builder = new StringBuilder();
       builder
@@ -125,8 +125,20 @@ public class CarbonDeleteFilesDataReader {
    * @return map of blockletid_pageid to deleted rows
    */
   public Map<String, DeleteDeltaVo> getDeletedRowsDataVo(String[] deltaFiles) {
+    Map<String, DeleteDeltaVo> pageIdToBlockLetVo = new HashMap<>();
+    if (deltaFiles.length == 1) {
+      // mostly a block has one delete delta file, read it in the caller thread
+      try {
+        addDeletedRows(pageIdToBlockLetVo,
+            new DeleteDeltaFileReaderCallable(deltaFiles[0]).call().getBlockletDetails());
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      return pageIdToBlockLetVo;
+    }
     List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>();
-    ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
+    ExecutorService executorService =
+        Executors.newFixedThreadPool(Math.min(thread_pool_size, deltaFiles.length));
     for (final String deltaFile : deltaFiles) {
       taskSubmitList.add(executorService.submit(new DeleteDeltaFileReaderCallable(deltaFile)));
     }
@@ -136,7 +148,6 @@ public class CarbonDeleteFilesDataReader {
     } catch (InterruptedException e) {
       LOGGER.error("Error while reading the delete delta files : " + e.getMessage());
     }
-    Map<String, DeleteDeltaVo> pageIdToBlockLetVo = new HashMap<>();
     List<DeleteDeltaBlockletDetails> blockletDetails = null;
     for (int i = 0; i < taskSubmitList.size(); i++) {
       try {
@@ -144,18 +155,23 @@ public class CarbonDeleteFilesDataReader {
       } catch (InterruptedException | ExecutionException e) {
         throw new RuntimeException(e);
       }
-      for (DeleteDeltaBlockletDetails blockletDetail : blockletDetails) {
-        DeleteDeltaVo deleteDeltaVo = pageIdToBlockLetVo.get(blockletDetail.getBlockletKey());
-        if (null == deleteDeltaVo) {
-          deleteDeltaVo = new DeleteDeltaVo();
-          pageIdToBlockLetVo.put(blockletDetail.getBlockletKey(), deleteDeltaVo);
-        }
-        deleteDeltaVo.insertData(blockletDetail.getDeletedRows());
-      }
+      addDeletedRows(pageIdToBlockLetVo, blockletDetails);
     }
     return pageIdToBlockLetVo;
   }
 
+  private void addDeletedRows(Map<String, DeleteDeltaVo> pageIdToBlockLetVo,
+      List<DeleteDeltaBlockletDetails> blockletDetails) {
+    for (DeleteDeltaBlockletDetails blockletDetail : blockletDetails) {
+      DeleteDeltaVo deleteDeltaVo = pageIdToBlockLetVo.get(blockletDetail.getBlockletKey());
+      if (null == deleteDeltaVo) {
+        deleteDeltaVo = new DeleteDeltaVo();
+        pageIdToBlockLetVo.put(blockletDetail.getBlockletKey(), deleteDeltaVo);
+      }
+      deleteDeltaVo.insertData(blockletDetail.getDeletedRows());
+    }
+  }
+
   /**
    * returns delete delta file details for the specified block name
    * @param deltaFiles
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.aggregate;
+
+import java.math.BigDecimal;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+/**
+ * Partial result of one {@link ScanAggregate} computed by a task. It is updated with the values
+ * of a whole page or blocklet at a time, so the scan does not fill any row.
+ */
+public class AggregateAccumulator {
+
+  private ScanAggregate aggregate;
+
+  /**
+   * data type of the measure, null for COUNT(*) and dimensions
+   */
+  private DataType measureDataType;
+
+  private long count;
+
+  private long longSum;
+
+  private double doubleSum;
+
+  private BigDecimal decimalSum;
+
+  private Object minMax;
+
+  private boolean hasValue;
+
+  public AggregateAccumulator(ScanAggregate aggregate) {
+    this.aggregate = aggregate;
+    if (null != aggregate.getColumn() && aggregate.getColumn().isMeasure()) {
+      this.measureDataType = aggregate.getColumn().getDataType();
+    }
+  }
+
+  public ScanAggregate getAggregate() {
+    return aggregate;
+  }
+
+  /**
+   * Add the rows of COUNT(*)
+   */
+  public void addRows(long numRows) {
+    count += numRows;
+  }
+
+  /**
+   * Add the same value for the given number of rows, used for the default value of a column
+   * added after the block is written
+   */
+  public void addValue(Object value, long numRows) {
+    if (null == value || numRows == 0) {
+      return;
+    }
+    switch (aggregate.getFunction()) {
+      case COUNT:
+        count += numRows;
+        break;
+      case SUM:
+        if (DataTypes.isDecimal(measureDataType)) {
+          BigDecimal sum = ((BigDecimal) value).multiply(BigDecimal.valueOf(numRows));
+          decimalSum = null == decimalSum ? sum : decimalSum.add(sum);
+        } else if (measureDataType == DataTypes.DOUBLE) {
+          doubleSum += ((Number) value).doubleValue() * numRows;
+        } else {
+          longSum += ((Number) value).longValue() * numRows;
+        }
+        hasValue = true;
+        break;
+      default:
+        updateMinMax(toColumnValue(value));
+    }
+  }
+
+  /**
+   * Add the non null values of a page of integral measure
+   */
+  public void addPage(long numValues, long sum, long min, long max) {
+    if (numValues == 0) {
+      return;
+    }
+    switch (aggregate.getFunction()) {
+      case COUNT:
+        count += numValues;
+        break;
+      case SUM:
+        longSum += sum;
+        hasValue = true;
+        break;
+      case MIN:
+        updateMinMax(toColumnValue(min));
+        break;
+      default:
+        updateMinMax(toColumnValue(max));
+    }
+  }
+
+  /**
+   * Add the non null values of a page of double measure
+   */
+  public void addPage(long numValues, double sum, double min, double max) {
+    if (numValues == 0) {
+      return;
+    }
+    switch (aggregate.getFunction()) {
+      case COUNT:
+        count += numValues;
+        break;
+      case SUM:
+        doubleSum += sum;
+        hasValue = true;
+        break;
+      case MIN:
+        updateMinMax(min);
+        break;
+      default:
+        updateMinMax(max);
+    }
+  }
+
+  /**
+   * Add the non null values of a page of decimal measure or direct dictionary dimension, the
+   * sum is null for dimension
+   */
+  public void addPage(long numValues, BigDecimal sum, Object min, Object max) {
+    if (numValues == 0) {
+      return;
+    }
+    switch (aggregate.getFunction()) {
+      case COUNT:
+        count += numValues;
+        break;
+      case SUM:
+        decimalSum = null == decimalSum ? sum : decimalSum.add(sum);
+        hasValue = true;
+        break;
+      case MIN:
+        updateMinMax(toColumnValue(min));
+        break;
+      default:
+        updateMinMax(toColumnValue(max));
+    }
+  }
+
+  /**
+   * Add the minimum or maximum value of a blocklet taken from its statistics
+   */
+  public void addStatistics(Object value) {
+    updateMinMax(toColumnValue(value));
+  }
+
+  private void updateMinMax(Object value) {
+    if (null == minMax) {
+      minMax = value;
+    } else if (aggregate.getFunction() == AggregateFunction.MIN) {
+      if (ScanAggregate.compare(value, minMax) < 0) {
+        minMax = value;
+      }
+    } else if (ScanAggregate.compare(value, minMax) > 0) {
+      minMax = value;
+    }
+  }
+
+  /**
+   * convert the measure value to the type returned by the row based query for the measure
+   */
+  private Object toColumnValue(Object value) {
+    if (null == measureDataType || !(value instanceof Number)) {
+      return value;
+    }
+    if (value instanceof BigDecimal) {
+      BigDecimal decimal = (BigDecimal) value;
+      int scale = aggregate.getColumn().getColumnSchema().getScale();
+      return scale > decimal.scale() ? decimal.setScale(scale) : decimal;
+    }
+    Number number = (Number) value;
+    if (measureDataType == DataTypes.SHORT) {
+      return number.shortValue();
+    } else if (measureDataType == DataTypes.INT) {
+      return number.intValue();
+    } else if (measureDataType == DataTypes.LONG) {
+      return number.longValue();
+    } else if (measureDataType == DataTypes.DOUBLE) {
+      return number.doubleValue();
+    }
+    return value;
+  }
+
+  /**
+   * Return the partial result of the aggregate
+   */
+  public Object getResult() {
+    switch (aggregate.getFunction()) {
+      case COUNT:
+        return count;
+      case SUM:
+        if (!hasValue) {
+          return null;
+        } else if (DataTypes.isDecimal(measureDataType)) {
+          return decimalSum;
+        } else if (measureDataType == DataTypes.DOUBLE) {
+          return doubleSum;
+        }
+        return longSum;
+      default:
+        return minMax;
+    }
+  }
+}
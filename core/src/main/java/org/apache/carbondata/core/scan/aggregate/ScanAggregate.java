@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.aggregate;
+
+import java.math.BigDecimal;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+
+/**
+ * Aggregate pushed down to the scan. The scan returns one row of partial results per task, one
+ * value for each aggregate in the order of the aggregates, and the engine merges the partial
+ * results of the tasks using {@link #merge(Object, Object)}.
+ *
+ * COUNT returns a Long, SUM returns a Long for integral columns, a Double for double column and
+ * a BigDecimal for decimal column, MIN and MAX return the value of the column like the row based
+ * query. SUM, MIN and MAX return null if there is no non null value.
+ */
+public class ScanAggregate {
+
+  private AggregateFunction function;
+
+  /**
+   * column to aggregate, null for COUNT(*)
+   */
+  private CarbonColumn column;
+
+  public ScanAggregate(AggregateFunction function, CarbonColumn column) {
+    this.function = function;
+    this.column = column;
+    if (!isSupported(function, column)) {
+      throw new IllegalArgumentException("Aggregate " + this + " is not supported in scan");
+    }
+  }
+
+  /**
+   * Return whether the aggregate can be pushed down to the scan. Supported are COUNT(*), all the
+   * aggregates on short, int, long, double and decimal measures, and COUNT, MIN and MAX on date
+   * and timestamp columns with direct dictionary encoding.
+   */
+  public static boolean isSupported(AggregateFunction function, CarbonColumn column) {
+    if (null == column) {
+      return function == AggregateFunction.COUNT;
+    }
+    DataType dataType = column.getDataType();
+    if (column.isMeasure()) {
+      return dataType == DataTypes.SHORT || dataType == DataTypes.INT
+          || dataType == DataTypes.LONG || dataType == DataTypes.DOUBLE
+          || DataTypes.isDecimal(dataType);
+    }
+    return function != AggregateFunction.SUM && !column.isComplex()
+        && null == ((CarbonDimension) column).getComplexParentDimension()
+        && column.hasEncoding(Encoding.DIRECT_DICTIONARY);
+  }
+
+  public AggregateFunction getFunction() {
+    return function;
+  }
+
+  public CarbonColumn getColumn() {
+    return column;
+  }
+
+  /**
+   * Merge two partial results of this aggregate
+   */
+  public Object merge(Object result1, Object result2) {
+    if (null == result1) {
+      return result2;
+    } else if (null == result2) {
+      return result1;
+    }
+    switch (function) {
+      case COUNT:
+        return (Long) result1 + (Long) result2;
+      case SUM:
+        if (result1 instanceof BigDecimal) {
+          return ((BigDecimal) result1).add((BigDecimal) result2);
+        } else if (result1 instanceof Double) {
+          return (Double) result1 + (Double) result2;
+        }
+        return (Long) result1 + (Long) result2;
+      case MIN:
+        return compare(result1, result2) <= 0 ? result1 : result2;
+      default:
+        return compare(result1, result2) >= 0 ? result1 : result2;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static int compare(Object value1, Object value2) {
+    return ((Comparable<Object>) value1).compareTo(value2);
+  }
+
+  @Override
+  public String toString() {
+    return function + "(" + (null == column ? "*" : column.getColName()) + ")";
+  }
+}
@@ -236,7 +236,7 @@ public class DictionaryBasedVectorResultCollector extends AbstractScannedResultC
       int deletedRows = 0;
       if (deltaVo != null) {
         bitSet = deltaVo.getBitSet();
-        deletedRows = bitSet.cardinality();
+        deletedRows = deltaVo.getDeletedRowCount();
       }
       fillColumnVectorDetails(columnarBatch, bitSet);
       fillResultToColumnarBatch(scannedResult);
@@ -27,6 +27,8 @@ import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonComplexColumnVector;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 public class ArrayQueryType extends ComplexQueryType implements GenericQueryType {
@@ -78,6 +80,28 @@ public class ArrayQueryType extends ComplexQueryType implements GenericQueryType
     }
   }
 
+  @Override public void fillVector(DimensionRawColumnChunk[] rawColumnChunks,
+      DimensionColumnPage[][] dimensionColumnPages, int rowNumber, int pageNumber,
+      CarbonColumnVector vector, int vectorRow) {
+    ByteBuffer byteArray =
+        ByteBuffer.wrap(getChunkData(rawColumnChunks, dimensionColumnPages, rowNumber, pageNumber));
+    int dataLength = byteArray.getInt();
+    if (dataLength == -1) {
+      vector.putNull(vectorRow);
+      return;
+    }
+    CarbonComplexColumnVector arrayVector = (CarbonComplexColumnVector) vector;
+    int childRow = arrayVector.appendArray(vectorRow, dataLength);
+    if (dataLength > 0) {
+      int dataOffset = byteArray.getInt();
+      CarbonColumnVector childVector = arrayVector.getChildVector(0);
+      for (int i = 0; i < dataLength; i++) {
+        children.fillVector(rawColumnChunks, dimensionColumnPages, dataOffset++, pageNumber,
+            childVector, childRow++);
+      }
+    }
+  }
+
   @Override public int getColsCount() {
     return children.getColsCount() + 1;
   }
@@ -50,6 +50,15 @@ public class ComplexQueryType {
     return output;
   }
 
+  /**
+   * Return the data of the row in the page without copying it
+   */
+  protected byte[] getChunkData(DimensionRawColumnChunk[] rawColumnChunks,
+      DimensionColumnPage[][] dimensionColumnPages, int rowNumber, int pageNumber) {
+    return getDecodedDimensionPage(dimensionColumnPages, rawColumnChunks[blockIndex], pageNumber)
+        .getChunkData(rowNumber);
+  }
+
   /*
    * This method will read the block data chunk from the respective block
    */
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.complextypes;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.Map;
 
@@ -31,9 +32,11 @@ import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionary
 import org.apache.carbondata.core.keygenerator.mdkey.Bits;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.DecimalType;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
@@ -106,6 +109,40 @@ public class PrimitiveQueryType extends ComplexQueryType implements GenericQuery
     dataOutputStream.write(currentVal);
   }
 
+  @Override public void fillVector(DimensionRawColumnChunk[] rawColumnChunks,
+      DimensionColumnPage[][] dimensionColumnPages, int rowNumber, int pageNumber,
+      CarbonColumnVector vector, int vectorRow) {
+    byte[] value = getChunkData(rawColumnChunks, dimensionColumnPages, rowNumber, pageNumber);
+    Object data = getDataObject(ByteBuffer.wrap(value), value.length);
+    if (data == null) {
+      vector.putNull(vectorRow);
+    } else if (dataType == DataTypes.BOOLEAN) {
+      vector.putBoolean(vectorRow, (Boolean) data);
+    } else if (dataType == DataTypes.BYTE) {
+      vector.putByte(vectorRow, ((Number) data).byteValue());
+    } else if (dataType == DataTypes.SHORT) {
+      vector.putShort(vectorRow, ((Number) data).shortValue());
+    } else if (dataType == DataTypes.INT || dataType == DataTypes.DATE) {
+      vector.putInt(vectorRow, ((Number) data).intValue());
+    } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
+      vector.putLong(vectorRow, ((Number) data).longValue());
+    } else if (dataType == DataTypes.FLOAT) {
+      vector.putFloat(vectorRow, ((Number) data).floatValue());
+    } else if (dataType == DataTypes.DOUBLE) {
+      vector.putDouble(vectorRow, ((Number) data).doubleValue());
+    } else if (DataTypes.isDecimal(dataType)) {
+      BigDecimal decimal =
+          data instanceof BigDecimal ? (BigDecimal) data : new BigDecimal(data.toString());
+      vector.putDecimal(vectorRow, decimal, ((DecimalType) dataType).getPrecision());
+    } else if (!isDictionary) {
+      // no dictionary value is stored as it is
+      vector.putByteArray(vectorRow, value);
+    } else {
+      vector.putByteArray(vectorRow,
+          data.toString().getBytes(CarbonCommonConstants.DEFAULT_CHARSET_CLASS));
+    }
+  }
+
   @Override public void fillRequiredBlockData(RawBlockletColumnChunks blockChunkHolder)
       throws IOException {
     readBlockDataChunk(blockChunkHolder);
@@ -29,6 +29,8 @@ import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonComplexColumnVector;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 public class StructQueryType extends ComplexQueryType implements GenericQueryType {
@@ -96,6 +98,25 @@ public class StructQueryType extends ComplexQueryType implements GenericQueryTyp
     }
   }
 
+  @Override public void fillVector(DimensionRawColumnChunk[] rawColumnChunks,
+      DimensionColumnPage[][] dimensionColumnPages, int rowNumber, int pageNumber,
+      CarbonColumnVector vector, int vectorRow) {
+    ByteBuffer byteArray =
+        ByteBuffer.wrap(getChunkData(rawColumnChunks, dimensionColumnPages, rowNumber, pageNumber));
+    int childElement = byteArray.getShort();
+    CarbonComplexColumnVector structVector = (CarbonComplexColumnVector) vector;
+    structVector.putStruct(vectorRow, childElement);
+    // fields are at the same row as the struct
+    for (int i = 0; i < children.size(); i++) {
+      if (i < childElement) {
+        children.get(i).fillVector(rawColumnChunks, dimensionColumnPages, rowNumber, pageNumber,
+            structVector.getChildVector(i), vectorRow);
+      } else {
+        structVector.getChildVector(i).putNull(vectorRow);
+      }
+    }
+  }
+
   @Override public void fillRequiredBlockData(RawBlockletColumnChunks blockChunkHolder)
       throws IOException {
     readBlockDataChunk(blockChunkHolder);
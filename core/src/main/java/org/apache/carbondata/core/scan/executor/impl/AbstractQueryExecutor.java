@@ -217,9 +217,12 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
           fileFooter = CarbonUtil.readMetadataFile(blockInfo);
           // In case of non transactional table just set columnUniqueId as columnName to support
           // backward compatibility. non transactional tables column uniqueId is always equal to
-          // columnName
+          // columnName. The schemas are copied first as the footer may be shared by the cache.
           if (!queryModel.getTable().isTransactionalTable()) {
-            QueryUtil.updateColumnUniqueIdForNonTransactionTable(fileFooter.getColumnInTable());
+            List<ColumnSchema> columnsInTable = BlockletDataMapUtil.readColumnSchema(
+                BlockletDataMapUtil.convertSchemaToBinary(fileFooter.getColumnInTable()));
+            QueryUtil.updateColumnUniqueIdForNonTransactionTable(columnsInTable);
+            fileFooter.setColumnInTable(columnsInTable);
           }
           filePathToFileFooterMapping.put(blockInfo.getFilePath(), fileFooter);
           blockInfo.setDetailInfo(blockletDetailInfo);
@@ -508,6 +511,15 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
       }
     }
 
+    // complex columns are filled row by row from the child pages, so they are not supported by
+    // direct fill
+    for (ProjectionDimension projectionDimension : projectDimensions) {
+      if (projectionDimension.getDimension().isComplex()) {
+        queryModel.setDirectVectorFill(false);
+        break;
+      }
+    }
+
     blockExecutionInfo
         .setDirectVectorFill(queryModel.isDirectVectorFill());
 
@@ -524,7 +536,7 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
       // loading the filter executor tree for filter evaluation
       blockExecutionInfo.setFilterExecuterTree(FilterUtil
           .getFilterExecuterTree(queryModel.getFilterExpressionResolverTree(), segmentProperties,
-              blockExecutionInfo.getComlexDimensionInfoMap()));
+              blockExecutionInfo.getComlexDimensionInfoMap(), queryModel.getScanProfile()));
     }
     try {
       startIndexKey = FilterUtil.prepareDefaultStartIndexKey(segmentProperties);
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.executor.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.aggregate.ScanAggregate;
+import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.RowBatch;
+import org.apache.carbondata.core.scan.result.iterator.AggregateQueryResultIterator;
+
+import org.apache.hadoop.conf.Configuration;
+
+/**
+ * Below class will be used to execute the aggregate query, the aggregates of the query model
+ * are computed by the scan and one row of partial results is returned for all the blocks
+ */
+public class AggregateQueryExecutor extends AbstractQueryExecutor<RowBatch> {
+
+  public AggregateQueryExecutor(Configuration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public CarbonIterator<RowBatch> execute(QueryModel queryModel)
+      throws QueryExecutionException, IOException {
+    for (ScanAggregate aggregate : queryModel.getAggregates()) {
+      if (!isProjected(aggregate.getColumn(), queryModel)) {
+        throw new QueryExecutionException(new IllegalArgumentException(
+            "Column of aggregate " + aggregate + " is not in projection"));
+      }
+    }
+    this.setExecutorService(Executors.newCachedThreadPool());
+    List<BlockExecutionInfo> blockExecutionInfoList = getBlockExecutionInfos(queryModel);
+    this.queryIterator = new AggregateQueryResultIterator(
+        blockExecutionInfoList,
+        queryModel,
+        queryProperties.executorService
+    );
+    return queryIterator;
+  }
+
+  private static boolean isProjected(CarbonColumn column, QueryModel queryModel) {
+    if (null == column) {
+      return true;
+    }
+    for (CarbonColumn projectionColumn : queryModel.getProjectionColumns()) {
+      if (projectionColumn.getColumnId().equals(column.getColumnId())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -25,6 +25,11 @@ import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
  */
 public class DeleteDeltaInfo {
 
+  /**
+   * unique key of the block of the delete delta files
+   */
+  private String blockKey;
+
   /**
    * delete delta files
    */
@@ -36,11 +41,20 @@ public class DeleteDeltaInfo {
   private long latestDeleteDeltaFileTimestamp;
 
   public DeleteDeltaInfo(String[] deleteDeltaFile) {
+    this(null, deleteDeltaFile);
+  }
+
+  public DeleteDeltaInfo(String blockKey, String[] deleteDeltaFile) {
+    this.blockKey = blockKey;
     this.deleteDeltaFile = deleteDeltaFile;
     this.latestDeleteDeltaFileTimestamp =
         CarbonUpdateUtil.getLatestDeleteDeltaTimestamp(deleteDeltaFile);
   }
 
+  public String getBlockKey() {
+    return blockKey;
+  }
+
   public String[] getDeleteDeltaFile() {
     return deleteDeltaFile;
   }
@@ -52,6 +66,7 @@ public class DeleteDeltaInfo {
   @Override public int hashCode() {
     final int prime = 31;
     int result = 1;
+    result = prime * result + (blockKey == null ? 0 : blockKey.hashCode());
     result = prime * result + Arrays.hashCode(deleteDeltaFile);
     result =
         prime * result + (int) (latestDeleteDeltaFileTimestamp ^ (latestDeleteDeltaFileTimestamp
@@ -70,6 +85,9 @@ public class DeleteDeltaInfo {
       return false;
     }
     DeleteDeltaInfo other = (DeleteDeltaInfo) obj;
+    if (blockKey == null ? other.blockKey != null : !blockKey.equals(other.blockKey)) {
+      return false;
+    }
     if (!Arrays.equals(deleteDeltaFile, other.deleteDeltaFile)) {
       return false;
     }
@@ -64,6 +64,7 @@ import org.apache.carbondata.core.metadata.encoder.Encoding;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.profiler.ScanProfile;
 import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
 import org.apache.carbondata.core.scan.executor.util.QueryUtil;
 import org.apache.carbondata.core.scan.expression.ColumnExpression;
@@ -86,6 +87,7 @@ import org.apache.carbondata.core.scan.filter.executer.ImplicitIncludeFilterExec
 import org.apache.carbondata.core.scan.filter.executer.IncludeFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.executer.MeasureColumnExecuterFilterInfo;
 import org.apache.carbondata.core.scan.filter.executer.OrFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.ProfilingFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.executer.RangeValueFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.executer.RestructureExcludeFilterExecutorImpl;
 import org.apache.carbondata.core.scan.filter.executer.RestructureIncludeFilterExecutorImpl;
@@ -125,6 +127,33 @@ public final class FilterUtil {
 
   }
 
+  /**
+   * Method will create filter executer tree based on the filter resolved tree, if the scan
+   * profile is not null each node of the tree is wrapped to record its statistics in the profile
+   */
+  private static FilterExecuter createFilterExecuterTree(
+      FilterResolverIntf filterExpressionResolverTree, SegmentProperties segmentProperties,
+      Map<Integer, GenericQueryType> complexDimensionInfoMap,
+      List<CarbonColumn> minMaxCacheColumns, int depth, ScanProfile scanProfile) {
+    if (null == scanProfile) {
+      return createFilterExecuter(filterExpressionResolverTree, segmentProperties,
+          complexDimensionInfoMap, minMaxCacheColumns, depth, null);
+    }
+    // get the statistics before creating the children, so that they are in pre-order of the tree
+    ScanProfile.FilterStats filterStats =
+        scanProfile.getFilterStats(depth, getFilterDescription(filterExpressionResolverTree));
+    return new ProfilingFilterExecuterImpl(
+        createFilterExecuter(filterExpressionResolverTree, segmentProperties,
+            complexDimensionInfoMap, minMaxCacheColumns, depth, scanProfile), filterStats);
+  }
+
+  private static String getFilterDescription(FilterResolverIntf filterExpressionResolverTree) {
+    FilterExecuterType filterExecuterType = filterExpressionResolverTree.getFilterExecuterType();
+    Expression filterExpression = filterExpressionResolverTree.getFilterExpression();
+    String type = null == filterExecuterType ? "ROWLEVEL" : filterExecuterType.name();
+    return null == filterExpression ? type : type + " " + filterExpression.getStatement();
+  }
+
   /**
    * Pattern used : Visitor Pattern
    * Method will create filter executer tree based on the filter resolved tree,
@@ -135,10 +164,10 @@ public final class FilterUtil {
    * @param segmentProperties
    * @return FilterExecuter instance
    */
-  private static FilterExecuter createFilterExecuterTree(
+  private static FilterExecuter createFilterExecuter(
       FilterResolverIntf filterExpressionResolverTree, SegmentProperties segmentProperties,
       Map<Integer, GenericQueryType> complexDimensionInfoMap,
-      List<CarbonColumn> minMaxCacheColumns) {
+      List<CarbonColumn> minMaxCacheColumns, int depth, ScanProfile scanProfile) {
     FilterExecuterType filterExecuterType = filterExpressionResolverTree.getFilterExecuterType();
     if (null != filterExecuterType) {
       switch (filterExecuterType) {
@@ -166,15 +195,15 @@ public final class FilterUtil {
         case OR:
           return new OrFilterExecuterImpl(
               createFilterExecuterTree(filterExpressionResolverTree.getLeft(), segmentProperties,
-                  complexDimensionInfoMap, minMaxCacheColumns),
+                  complexDimensionInfoMap, minMaxCacheColumns, depth + 1, scanProfile),
               createFilterExecuterTree(filterExpressionResolverTree.getRight(), segmentProperties,
-                  complexDimensionInfoMap, minMaxCacheColumns));
+                  complexDimensionInfoMap, minMaxCacheColumns, depth + 1, scanProfile));
         case AND:
           return new AndFilterExecuterImpl(
               createFilterExecuterTree(filterExpressionResolverTree.getLeft(), segmentProperties,
-                  complexDimensionInfoMap, minMaxCacheColumns),
+                  complexDimensionInfoMap, minMaxCacheColumns, depth + 1, scanProfile),
               createFilterExecuterTree(filterExpressionResolverTree.getRight(), segmentProperties,
-                  complexDimensionInfoMap, minMaxCacheColumns));
+                  complexDimensionInfoMap, minMaxCacheColumns, depth + 1, scanProfile));
         case ROWLEVEL_LESSTHAN:
         case ROWLEVEL_LESSTHAN_EQUALTO:
         case ROWLEVEL_GREATERTHAN_EQUALTO:
@@ -1452,8 +1481,8 @@ public final class FilterUtil {
   public static FilterExecuter getFilterExecuterTree(
       FilterResolverIntf filterExpressionResolverTree, SegmentProperties segmentProperties,
       Map<Integer, GenericQueryType> complexDimensionInfoMap) {
-    return getFilterExecuterTree(filterExpressionResolverTree, segmentProperties,
-        complexDimensionInfoMap, null);
+    return createFilterExecuterTree(filterExpressionResolverTree, segmentProperties,
+        complexDimensionInfoMap, null, 0, null);
   }
 
   /**
@@ -1468,7 +1497,23 @@ public final class FilterUtil {
       Map<Integer, GenericQueryType> complexDimensionInfoMap,
       List<CarbonColumn> minMaxCacheColumns) {
     return createFilterExecuterTree(filterExpressionResolverTree, segmentProperties,
-        complexDimensionInfoMap, minMaxCacheColumns);
+        complexDimensionInfoMap, minMaxCacheColumns, 0, null);
+  }
+
+  /**
+   * API will create an filter executer tree based on the filter resolver, if the scan profile
+   * is not null each node of the tree records its statistics in the profile
+   *
+   * @param filterExpressionResolverTree
+   * @param segmentProperties
+   * @param scanProfile
+   * @return
+   */
+  public static FilterExecuter getFilterExecuterTree(
+      FilterResolverIntf filterExpressionResolverTree, SegmentProperties segmentProperties,
+      Map<Integer, GenericQueryType> complexDimensionInfoMap, ScanProfile scanProfile) {
+    return createFilterExecuterTree(filterExpressionResolverTree, segmentProperties,
+        complexDimensionInfoMap, null, 0, scanProfile);
   }
 
   /**
@@ -26,6 +26,7 @@ import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 
 public interface GenericQueryType {
 
@@ -47,6 +48,15 @@ public interface GenericQueryType {
 
   void fillRequiredBlockData(RawBlockletColumnChunks blockChunkHolder) throws IOException;
 
+  /**
+   * Fill the value of the row in the page to the row of the vector. The values are read directly
+   * from the pages of the child columns, the vector of a complex column must be a
+   * {@link org.apache.carbondata.core.scan.result.vector.CarbonComplexColumnVector}
+   */
+  void fillVector(DimensionRawColumnChunk[] rawColumnChunks,
+      DimensionColumnPage[][] dimensionColumnPages, int rowNumber, int pageNumber,
+      CarbonColumnVector vector, int vectorRow);
+
   Object getDataBasedOnDataType(ByteBuffer dataBuffer);
 
   Object getDataBasedOnColumn(ByteBuffer dataBuffer, CarbonDimension parent, CarbonDimension child);
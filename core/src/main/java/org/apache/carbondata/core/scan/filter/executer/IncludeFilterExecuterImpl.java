@@ -536,6 +536,29 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
     return bitSet;
   }
 
+  /**
+   * Return the filter keys if the filter is on a dimension whose min and max values are compared
+   * with the filter keys as unsigned bytes, else null
+   */
+  public byte[][] getFilterKeysForMinMaxPruning() {
+    if (!isDimensionPresentInCurrentBlock || (
+        DataTypeUtil.isPrimitiveColumn(dimColumnEvaluatorInfo.getDimension().getDataType())
+            && !dimColumnEvaluatorInfo.getDimension().hasEncoding(Encoding.DICTIONARY))) {
+      return null;
+    }
+    return dimColumnExecuterInfo.getFilterKeys();
+  }
+
+  /**
+   * Return the index of the filter column in the min and max values of the blocks
+   */
+  public int getColumnIndexInMinMaxByteArray() {
+    if (isDimensionPresentInCurrentBlock) {
+      return dimColumnEvaluatorInfo.getColumnIndexInMinMaxByteArray();
+    }
+    return msrColumnEvaluatorInfo.getColumnIndexInMinMaxByteArray();
+  }
+
   private boolean isScanRequired(byte[] blkMaxVal, byte[] blkMinVal, byte[][] filterValues,
       boolean isMinMaxSet) {
     if (!isMinMaxSet) {
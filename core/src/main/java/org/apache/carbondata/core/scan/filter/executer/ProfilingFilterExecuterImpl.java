@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.profiler.ScanProfile;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.filter.intf.RowIntf;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.util.BitSetGroup;
+
+/**
+ * Filter executer which wraps a node of the filter executer tree and records the rows given to
+ * the node, the rows selected by it and the time taken, used when the query is profiled.
+ */
+public class ProfilingFilterExecuterImpl implements FilterExecuter, ImplicitColumnFilterExecutor {
+
+  private FilterExecuter filterExecuter;
+
+  private ScanProfile.FilterStats filterStats;
+
+  public ProfilingFilterExecuterImpl(FilterExecuter filterExecuter,
+      ScanProfile.FilterStats filterStats) {
+    this.filterExecuter = filterExecuter;
+    this.filterStats = filterStats;
+  }
+
+  @Override
+  public BitSetGroup applyFilter(RawBlockletColumnChunks rawBlockletColumnChunks,
+      boolean useBitsetPipeLine) throws FilterUnsupportedException, IOException {
+    // in bitset pipeline the node is applied only on the rows selected by the previous node
+    long rowsIn;
+    if (useBitsetPipeLine && rawBlockletColumnChunks.getBitSetGroup() != null) {
+      rowsIn = cardinality(rawBlockletColumnChunks.getBitSetGroup());
+    } else {
+      rowsIn = rawBlockletColumnChunks.getDataBlock().numRows();
+    }
+    long startTime = System.nanoTime();
+    BitSetGroup bitSetGroup =
+        filterExecuter.applyFilter(rawBlockletColumnChunks, useBitsetPipeLine);
+    long timeTaken = System.nanoTime() - startTime;
+    filterStats.addBlocklet(rowsIn, cardinality(bitSetGroup), timeTaken);
+    return bitSetGroup;
+  }
+
+  private static long cardinality(BitSetGroup bitSetGroup) {
+    long cardinality = 0;
+    for (int i = 0; i < bitSetGroup.getNumberOfPages(); i++) {
+      BitSet bitSet = bitSetGroup.getBitSet(i);
+      if (bitSet != null) {
+        cardinality += bitSet.cardinality();
+      }
+    }
+    return cardinality;
+  }
+
+  @Override
+  public BitSet prunePages(RawBlockletColumnChunks rawBlockletColumnChunks)
+      throws FilterUnsupportedException, IOException {
+    return filterExecuter.prunePages(rawBlockletColumnChunks);
+  }
+
+  @Override
+  public boolean applyFilter(RowIntf value, int dimOrdinalMax)
+      throws FilterUnsupportedException, IOException {
+    long startTime = System.nanoTime();
+    boolean selected = filterExecuter.applyFilter(value, dimOrdinalMax);
+    filterStats.addRow(selected, System.nanoTime() - startTime);
+    return selected;
+  }
+
+  @Override
+  public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue,
+      boolean[] isMinMaxSet) {
+    return filterExecuter.isScanRequired(blockMaxValue, blockMinValue, isMinMaxSet);
+  }
+
+  @Override
+  public void readColumnChunks(RawBlockletColumnChunks rawBlockletColumnChunks)
+      throws IOException {
+    filterExecuter.readColumnChunks(rawBlockletColumnChunks);
+  }
+
+  @Override
+  public BitSet isFilterValuesPresentInBlockOrBlocklet(byte[][] maxValue, byte[][] minValue,
+      String uniqueBlockPath, boolean[] isMinMaxSet) {
+    if (filterExecuter instanceof ImplicitColumnFilterExecutor) {
+      return ((ImplicitColumnFilterExecutor) filterExecuter)
+          .isFilterValuesPresentInBlockOrBlocklet(maxValue, minValue, uniqueBlockPath,
+              isMinMaxSet);
+    }
+    return filterExecuter.isScanRequired(maxValue, minValue, isMinMaxSet);
+  }
+
+  @Override
+  public Boolean isFilterValuesPresentInAbstractIndex(byte[][] maxValue, byte[][] minValue,
+      boolean[] isMinMaxSet) {
+    if (filterExecuter instanceof ImplicitColumnFilterExecutor) {
+      return ((ImplicitColumnFilterExecutor) filterExecuter)
+          .isFilterValuesPresentInAbstractIndex(maxValue, minValue, isMinMaxSet);
+    }
+    return !filterExecuter.isScanRequired(maxValue, minValue, isMinMaxSet).isEmpty();
+  }
+}
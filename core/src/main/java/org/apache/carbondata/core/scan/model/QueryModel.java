@@ -31,6 +31,8 @@ import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.mutate.UpdateVO;
+import org.apache.carbondata.core.profiler.ScanProfile;
+import org.apache.carbondata.core.scan.aggregate.ScanAggregate;
 import org.apache.carbondata.core.scan.expression.ColumnExpression;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.UnknownExpression;
@@ -133,6 +135,18 @@ public class QueryModel {
    */
   private boolean isDirectVectorFill;
 
+  /**
+   * runtime profile of the scan, it is set only when the query is profiled by EXPLAIN command
+   */
+  private ScanProfile scanProfile;
+
+  /**
+   * aggregates computed by the scan, if set the query returns one row of partial results of the
+   * aggregates instead of the rows of the projection. The column of each aggregate must be in
+   * the projection.
+   */
+  private List<ScanAggregate> aggregates;
+
   private QueryModel(CarbonTable carbonTable) {
     tableBlockInfos = new ArrayList<TableBlockInfo>();
     invalidSegmentIds = new ArrayList<>();
@@ -423,6 +437,26 @@ public class QueryModel {
     isDirectVectorFill = directVectorFill;
   }
 
+  public ScanProfile getScanProfile() {
+    return scanProfile;
+  }
+
+  public void setScanProfile(ScanProfile scanProfile) {
+    this.scanProfile = scanProfile;
+  }
+
+  public List<ScanAggregate> getAggregates() {
+    return aggregates;
+  }
+
+  /**
+   * Set the aggregates to compute in the scan, the columns of the aggregates must be projection
+   * columns of the query, otherwise the scan throws UnsupportedOperationException
+   */
+  public void setAggregates(List<ScanAggregate> aggregates) {
+    this.aggregates = aggregates;
+  }
+
   @Override
   public String toString() {
     return String.format("scan on table %s.%s, %d projection columns with filter (%s)",
@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.aggregate.AggregateAccumulator;
+import org.apache.carbondata.core.scan.aggregate.AggregateFunction;
+import org.apache.carbondata.core.scan.aggregate.ScanAggregate;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.executor.infos.DimensionInfo;
+import org.apache.carbondata.core.scan.executor.infos.MeasureInfo;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.result.BlockletScannedResult;
+import org.apache.carbondata.core.scan.scanner.BlockletScanner;
+import org.apache.carbondata.core.scan.scanner.impl.BlockletFilterScanner;
+import org.apache.carbondata.core.scan.scanner.impl.BlockletFullScanner;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.util.BlockletDataMapUtil;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+
+/**
+ * Computes the aggregates pushed down to the scan over the blocklets of one block.
+ *
+ * When the query has no filter and the block has no deleted rows, a blocklet is answered from
+ * its statistics if possible: COUNT(*) from the row count and MIN, MAX from the blocklet min/max,
+ * without reading the blocklet. Otherwise the blocklet is scanned and the aggregates are computed
+ * over the decoded pages of the selected rows, directly on the values of the measure pages and
+ * on the surrogate keys of the direct dictionary pages, without filling any row.
+ */
+public class AggregateBlockProcessor {
+
+  private BlockExecutionInfo blockExecutionInfo;
+
+  private FileReader fileReader;
+
+  private BlockletScanner blockletScanner;
+
+  private AggregateAccumulator[] accumulators;
+
+  /**
+   * measure chunk index of each aggregate, -1 if it is not a measure present in the block
+   */
+  private int[] measureChunkIndexes;
+
+  /**
+   * dimension chunk index of each aggregate, -1 if it is not a dimension present in the block
+   */
+  private int[] dimensionChunkIndexes;
+
+  /**
+   * index of the aggregate column in the blocklet min/max, -1 if not present in the block
+   */
+  private int[] minMaxIndexes;
+
+  /**
+   * value of the aggregate column for all the rows if it is not present in the block
+   */
+  private Object[] defaultValues;
+
+  private DataType[] dataTypes;
+
+  private DirectDictionaryGenerator[] directDictionaryGenerators;
+
+  /**
+   * length of the min/max of the blocklets having statistics of all the columns
+   */
+  private int minMaxLength;
+
+  /**
+   * row ids of the selected rows of the current page
+   */
+  private int[] rowIds;
+
+  public AggregateBlockProcessor(BlockExecutionInfo blockExecutionInfo, FileReader fileReader,
+      QueryStatisticsModel queryStatisticsModel, AggregateAccumulator[] accumulators) {
+    this.blockExecutionInfo = blockExecutionInfo;
+    this.blockExecutionInfo.setQueryStatisticsModel(queryStatisticsModel);
+    this.fileReader = fileReader;
+    this.accumulators = accumulators;
+    if (blockExecutionInfo.getFilterExecuterTree() != null) {
+      blockletScanner = new BlockletFilterScanner(blockExecutionInfo, queryStatisticsModel);
+    } else {
+      blockletScanner = new BlockletFullScanner(blockExecutionInfo, queryStatisticsModel);
+    }
+    SegmentProperties segmentProperties = blockExecutionInfo.getDataBlock().getSegmentProperties();
+    this.minMaxLength =
+        segmentProperties.getLastDimensionColOrdinal() + segmentProperties.getMeasures().size();
+    int numAggregates = accumulators.length;
+    measureChunkIndexes = new int[numAggregates];
+    dimensionChunkIndexes = new int[numAggregates];
+    minMaxIndexes = new int[numAggregates];
+    defaultValues = new Object[numAggregates];
+    dataTypes = new DataType[numAggregates];
+    directDictionaryGenerators = new DirectDictionaryGenerator[numAggregates];
+    for (int i = 0; i < numAggregates; i++) {
+      measureChunkIndexes[i] = -1;
+      dimensionChunkIndexes[i] = -1;
+      minMaxIndexes[i] = -1;
+      CarbonColumn column = accumulators[i].getAggregate().getColumn();
+      if (null == column) {
+        continue;
+      }
+      dataTypes[i] = column.getDataType();
+      if (column.isMeasure()) {
+        initMeasure(i, column, segmentProperties);
+      } else {
+        initDimension(i, column, segmentProperties);
+        directDictionaryGenerators[i] =
+            DirectDictionaryKeyGeneratorFactory.getDirectDictionaryGenerator(dataTypes[i]);
+      }
+    }
+  }
+
+  private void initMeasure(int index, CarbonColumn column, SegmentProperties segmentProperties) {
+    ProjectionMeasure[] queryMeasures = blockExecutionInfo.getActualQueryMeasures();
+    MeasureInfo measureInfo = blockExecutionInfo.getMeasureInfo();
+    int presentIndex = 0;
+    for (int i = 0; i < queryMeasures.length; i++) {
+      if (queryMeasures[i].getMeasure().getColumnId().equals(column.getColumnId())) {
+        if (measureInfo.getMeasureExists()[i]) {
+          measureChunkIndexes[index] = measureInfo.getMeasureOrdinals()[presentIndex];
+          minMaxIndexes[index] = BlockletDataMapUtil.getColumnOrdinal(segmentProperties,
+              blockExecutionInfo.getProjectionMeasures()[presentIndex].getMeasure());
+        } else {
+          defaultValues[index] = measureInfo.getDefaultValues()[i];
+        }
+        return;
+      }
+      if (measureInfo.getMeasureExists()[i]) {
+        presentIndex++;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Column of aggregate " + accumulators[index].getAggregate() + " is not in projection");
+  }
+
+  private void initDimension(int index, CarbonColumn column,
+      SegmentProperties segmentProperties) {
+    ProjectionDimension[] queryDimensions = blockExecutionInfo.getActualQueryDimensions();
+    DimensionInfo dimensionInfo = blockExecutionInfo.getDimensionInfo();
+    int presentIndex = 0;
+    for (int i = 0; i < queryDimensions.length; i++) {
+      if (queryDimensions[i].getDimension().getColumnId().equals(column.getColumnId())) {
+        if (dimensionInfo.getDimensionExists()[i]) {
+          CarbonColumn blockDimension =
+              blockExecutionInfo.getProjectionDimensions()[presentIndex].getDimension();
+          dimensionChunkIndexes[index] = segmentProperties.getDimensionOrdinalToChunkMapping()
+              .get(blockDimension.getOrdinal());
+          minMaxIndexes[index] =
+              BlockletDataMapUtil.getColumnOrdinal(segmentProperties, blockDimension);
+        } else {
+          defaultValues[index] = dimensionInfo.getDefaultValues()[i];
+        }
+        return;
+      }
+      if (dimensionInfo.getDimensionExists()[i]) {
+        presentIndex++;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Column of aggregate " + accumulators[index].getAggregate() + " is not in projection");
+  }
+
+  /**
+   * Aggregate all the blocklets of the block
+   */
+  public void process() throws IOException, FilterUnsupportedException {
+    // statistics do not consider the deleted rows and the rows removed by the filter
+    boolean useStatistics = blockExecutionInfo.getFilterExecuterTree() == null
+        && (null == blockExecutionInfo.getDeletedRecordsMap()
+        || blockExecutionInfo.getDeletedRecordsMap().isEmpty());
+    BlockletIterator blockletIterator = new BlockletIterator(
+        blockExecutionInfo.getFirstDataBlock(), blockExecutionInfo.getNumberOfBlockToScan());
+    while (blockletIterator.hasNext()) {
+      DataRefNode dataBlock = blockletIterator.next();
+      if (useStatistics && aggregateFromStatistics(dataBlock)) {
+        continue;
+      }
+      if (dataBlock.getColumnsMaxValue() == null || blockletScanner.isScanRequired(dataBlock)) {
+        RawBlockletColumnChunks rawBlockletColumnChunks = RawBlockletColumnChunks.newInstance(
+            blockExecutionInfo.getTotalNumberDimensionToRead(),
+            blockExecutionInfo.getTotalNumberOfMeasureToRead(), fileReader, dataBlock);
+        blockletScanner.readBlocklet(rawBlockletColumnChunks);
+        BlockletScannedResult scannedResult =
+            blockletScanner.scanBlocklet(rawBlockletColumnChunks);
+        try {
+          aggregateScannedResult(scannedResult);
+        } finally {
+          scannedResult.freeMemory();
+        }
+      }
+    }
+  }
+
+  /**
+   * Aggregate the blocklet from its statistics, return false if any of the aggregates needs the
+   * blocklet to be scanned
+   */
+  private boolean aggregateFromStatistics(DataRefNode dataBlock) {
+    byte[][] maxValues = dataBlock.getColumnsMaxValue();
+    byte[][] minValues = dataBlock.getColumnsMinValue();
+    boolean[] isMinMaxSet = dataBlock.minMaxFlagArray();
+    Object[] values = new Object[accumulators.length];
+    for (int i = 0; i < accumulators.length; i++) {
+      ScanAggregate aggregate = accumulators[i].getAggregate();
+      if (null == aggregate.getColumn() || minMaxIndexes[i] == -1) {
+        // COUNT(*) or column not present in block
+        continue;
+      }
+      if (aggregate.getFunction() == AggregateFunction.COUNT
+          || aggregate.getFunction() == AggregateFunction.SUM) {
+        // null count and sum are not in statistics
+        return false;
+      }
+      int minMaxIndex = minMaxIndexes[i];
+      if (null == maxValues || null == minValues || maxValues.length != minMaxLength
+          || null == isMinMaxSet || !isMinMaxSet[minMaxIndex]) {
+        return false;
+      }
+      byte[] value = aggregate.getFunction() == AggregateFunction.MIN ?
+          minValues[minMaxIndex] : maxValues[minMaxIndex];
+      values[i] = getStatisticsValue(i, value);
+      if (null == values[i]) {
+        return false;
+      }
+    }
+    int numRows = dataBlock.numRows();
+    for (int i = 0; i < accumulators.length; i++) {
+      if (null == accumulators[i].getAggregate().getColumn()) {
+        accumulators[i].addRows(numRows);
+      } else if (minMaxIndexes[i] == -1) {
+        accumulators[i].addValue(defaultValues[i], numRows);
+      } else {
+        accumulators[i].addStatistics(values[i]);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the value of the min or max statistics of the aggregate column, null if the value
+   * may not be exact. Statistics of a measure page take null as 0 and statistics of a dictionary
+   * page take null as the null surrogate key, so a min or max equal to them is not used.
+   */
+  private Object getStatisticsValue(int index, byte[] value) {
+    if (null == value || value.length == 0) {
+      return null;
+    }
+    if (measureChunkIndexes[index] != -1) {
+      Object measureValue = DataTypeUtil.getMeasureObjectFromDataType(value, dataTypes[index]);
+      if (measureValue instanceof BigDecimal) {
+        return ((BigDecimal) measureValue).signum() == 0 ? null : measureValue;
+      }
+      return ((Number) measureValue).doubleValue() == 0 ? null : measureValue;
+    }
+    if (value.length > 4 || null == directDictionaryGenerators[index]) {
+      return null;
+    }
+    int surrogate = CarbonUtil.getSurrogateInternal(value, 0, value.length);
+    if (surrogate <= CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY) {
+      return null;
+    }
+    return directDictionaryGenerators[index].getValueFromSurrogate(surrogate);
+  }
+
+  private void aggregateScannedResult(BlockletScannedResult scannedResult) {
+    while (scannedResult.hasNext()) {
+      int pageRowCount = scannedResult.getCurrentPageRowCount();
+      if (null == rowIds || rowIds.length < pageRowCount) {
+        rowIds = new int[pageRowCount];
+      }
+      // collect the selected rows of the page which are not deleted
+      int numRows = 0;
+      for (int i = scannedResult.getRowCounter(); i < pageRowCount; i++) {
+        scannedResult.incrementCounter();
+        int rowId = scannedResult.getCurrentRowId();
+        if (!scannedResult.containsDeletedRow(rowId)) {
+          rowIds[numRows++] = rowId;
+        }
+      }
+      for (int i = 0; i < accumulators.length; i++) {
+        if (null == accumulators[i].getAggregate().getColumn()) {
+          accumulators[i].addRows(numRows);
+        } else if (measureChunkIndexes[i] != -1) {
+          aggregateMeasurePage(i, scannedResult.getMeasureChunk(measureChunkIndexes[i]),
+              numRows);
+        } else if (dimensionChunkIndexes[i] != -1) {
+          aggregateDictionaryPage(i, scannedResult.getDimensionChunk(dimensionChunkIndexes[i]),
+              numRows);
+        } else {
+          accumulators[i].addValue(defaultValues[i], numRows);
+        }
+      }
+    }
+  }
+
+  private void aggregateMeasurePage(int index, ColumnPage page, int numRows) {
+    BitSet nullBits = page.getNullBits();
+    DataType dataType = dataTypes[index];
+    long count = 0;
+    if (DataTypes.isDecimal(dataType)) {
+      BigDecimal sum = BigDecimal.ZERO;
+      BigDecimal min = null;
+      BigDecimal max = null;
+      for (int i = 0; i < numRows; i++) {
+        int rowId = rowIds[i];
+        if (nullBits.get(rowId)) {
+          continue;
+        }
+        BigDecimal value = page.getDecimal(rowId);
+        if (null == value) {
+          continue;
+        }
+        count++;
+        sum = sum.add(value);
+        if (null == min || value.compareTo(min) < 0) {
+          min = value;
+        }
+        if (null == max || value.compareTo(max) > 0) {
+          max = value;
+        }
+      }
+      accumulators[index].addPage(count, sum, min, max);
+    } else if (dataType == DataTypes.DOUBLE) {
+      double sum = 0;
+      double min = Double.MAX_VALUE;
+      double max = -Double.MAX_VALUE;
+      for (int i = 0; i < numRows; i++) {
+        int rowId = rowIds[i];
+        if (nullBits.get(rowId)) {
+          continue;
+        }
+        double value = page.getDouble(rowId);
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      accumulators[index].addPage(count, sum, min, max);
+    } else {
+      // integral page, adaptive encoded values are converted while reading them
+      long sum = 0;
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for (int i = 0; i < numRows; i++) {
+        int rowId = rowIds[i];
+        if (nullBits.get(rowId)) {
+          continue;
+        }
+        long value = page.getLong(rowId);
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      accumulators[index].addPage(count, sum, min, max);
+    }
+  }
+
+  private void aggregateDictionaryPage(int index, DimensionColumnPage page, int numRows) {
+    // surrogate keys of direct dictionary are in the order of the values
+    int[] surrogate = new int[1];
+    long count = 0;
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
+    for (int i = 0; i < numRows; i++) {
+      page.fillSurrogateKey(rowIds[i], 0, surrogate);
+      if (surrogate[0] == CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY) {
+        continue;
+      }
+      count++;
+      min = Math.min(min, surrogate[0]);
+      max = Math.max(max, surrogate[0]);
+    }
+    if (count > 0) {
+      accumulators[index].addPage(count, null,
+          directDictionaryGenerators[index].getValueFromSurrogate(min),
+          directDictionaryGenerators[index].getValueFromSurrogate(max));
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.result.CacheableScanResult;
+import org.apache.carbondata.core.scan.result.ScanResultCache;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+
+/**
+ * Block iterator of the row based query which returns the rows of the block from the
+ * {@link ScanResultCache} if present, else scans the block and adds the rows to the cache once
+ * the block is completely scanned. The rows are copied while adding and returning, as the read
+ * support of the engines converts the values of the returned rows in place.
+ */
+public class CachingDataBlockIterator extends DataBlockIterator {
+
+  private ScanResultCache resultCache;
+
+  private String cacheKey;
+
+  private int batchSize;
+
+  /**
+   * rows of the block present in cache, null if the block is scanned
+   */
+  private List<Object[]> cachedRows;
+
+  private int cachedRowIndex;
+
+  /**
+   * rows scanned from the block to be added to cache, null if the block is not to be cached
+   */
+  private List<Object[]> scannedRows;
+
+  private long scannedRowsSize;
+
+  private long maxEntrySize;
+
+  public CachingDataBlockIterator(BlockExecutionInfo blockExecutionInfo, FileReader fileReader,
+      int batchSize, QueryStatisticsModel queryStatisticsModel, ExecutorService executorService,
+      ScanResultCache resultCache, String cacheKey) {
+    super(blockExecutionInfo, fileReader, batchSize, queryStatisticsModel, executorService);
+    this.resultCache = resultCache;
+    this.cacheKey = cacheKey;
+    this.batchSize = batchSize;
+    CacheableScanResult cachedResult = resultCache.getIfPresent(cacheKey);
+    if (null != cachedResult) {
+      cachedRows = cachedResult.getRows();
+    } else {
+      scannedRows = new ArrayList<>();
+      maxEntrySize = ScanResultCache.getMaxEntrySize();
+    }
+  }
+
+  @Override
+  public List<Object[]> next() {
+    if (null != cachedRows) {
+      int endIndex = Math.min(cachedRowIndex + batchSize, cachedRows.size());
+      List<Object[]> rows = new ArrayList<>(endIndex - cachedRowIndex);
+      for (int i = cachedRowIndex; i < endIndex; i++) {
+        rows.add(cachedRows.get(i).clone());
+      }
+      cachedRowIndex = endIndex;
+      return rows;
+    }
+    List<Object[]> rows = super.next();
+    if (null != scannedRows) {
+      for (Object[] row : rows) {
+        scannedRowsSize += CacheableScanResult.estimateRowSize(row);
+        scannedRows.add(row.clone());
+      }
+      if (scannedRowsSize > maxEntrySize) {
+        // too big to cache, stop copying the rows
+        scannedRows = null;
+      }
+    }
+    return rows;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (null != cachedRows) {
+      return cachedRowIndex < cachedRows.size();
+    }
+    boolean hasNext = super.hasNext();
+    if (!hasNext && null != scannedRows) {
+      // block is completely scanned, the rows are not cached if the query stops before it
+      resultCache.put(cacheKey, new CacheableScanResult(scannedRows, scannedRowsSize));
+      scannedRows = null;
+    }
+    return hasNext;
+  }
+}
@@ -27,16 +27,22 @@ import java.util.Map;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
 import org.apache.carbondata.core.mutate.DeleteDeltaVo;
 import org.apache.carbondata.core.mutate.TupleIdEnum;
+import org.apache.carbondata.core.profiler.ScanProfile;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonComplexColumnVector;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 import org.apache.carbondata.core.scan.scanner.LazyBlockletLoader;
@@ -44,6 +50,7 @@ import org.apache.carbondata.core.scan.scanner.LazyPageLoader;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.stats.ScanMetrics;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
 
@@ -154,6 +161,16 @@ public abstract class BlockletScannedResult {
 
   private ReusableDataBuffer[] measureReusableBuffer;
 
+  /**
+   * segment properties of the block, used to get the column names when the scan is profiled
+   */
+  private SegmentProperties segmentProperties;
+
+  /**
+   * whether the bytes of the column chunks are added to the scan profile
+   */
+  private boolean columnBytesProfiled;
+
   public BlockletScannedResult(BlockExecutionInfo blockExecutionInfo,
       QueryStatisticsModel queryStatisticsModel) {
     this.dimensionReusableBuffer = blockExecutionInfo.getDimensionResusableDataBuffer();
@@ -166,6 +183,9 @@ public abstract class BlockletScannedResult {
     this.totalDimensionsSize = blockExecutionInfo.getProjectionDimensions().length;
     this.deletedRecordMap = blockExecutionInfo.getDeletedRecordsMap();
     this.queryStatisticsModel = queryStatisticsModel;
+    if (null != queryStatisticsModel && null != queryStatisticsModel.getScanProfile()) {
+      this.segmentProperties = blockExecutionInfo.getDataBlock().getSegmentProperties();
+    }
     validRowIds = new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
   }
 
@@ -214,6 +234,16 @@ public abstract class BlockletScannedResult {
     return measureColumnPages[ordinal][pageCounter];
   }
 
+  /**
+   * Below method will be used to get the dimension page of the current page
+   *
+   * @param chunkIndex dimension chunk index
+   * @return dimension column page
+   */
+  public DimensionColumnPage getDimensionChunk(int chunkIndex) {
+    return dimensionColumnPages[chunkIndex][pageCounter];
+  }
+
   /**
    * Below method will be used to get the key for all the dictionary dimensions
    * which is present in the query
@@ -256,8 +286,11 @@ public abstract class BlockletScannedResult {
   public void fillColumnarDictionaryBatch(ColumnVectorInfo[] vectorInfo) {
     int column = 0;
     for (int i = 0; i < this.dictionaryColumnChunkIndexes.length; i++) {
+      long startTime = ScanMetrics.getInstance().start();
+      String columnName = vectorInfo[column].getColumnName();
       column = dimensionColumnPages[dictionaryColumnChunkIndexes[i]][pageCounter]
           .fillVector(vectorInfo, column);
+      ScanMetrics.getInstance().record(ScanMetrics.Operator.VECTOR_FILL, columnName, startTime);
     }
   }
 
@@ -266,8 +299,11 @@ public abstract class BlockletScannedResult {
    */
   public void fillColumnarNoDictionaryBatch(ColumnVectorInfo[] vectorInfo) {
     for (int i = 0; i < this.noDictionaryColumnChunkIndexes.length; i++) {
+      long startTime = ScanMetrics.getInstance().start();
       dimensionColumnPages[noDictionaryColumnChunkIndexes[i]][pageCounter]
           .fillVector(vectorInfo, i);
+      ScanMetrics.getInstance().record(ScanMetrics.Operator.VECTOR_FILL,
+          vectorInfo[i].getColumnName(), startTime);
     }
   }
 
@@ -276,8 +312,11 @@ public abstract class BlockletScannedResult {
    */
   public void fillColumnarMeasureBatch(ColumnVectorInfo[] vectorInfo, int[] measuresOrdinal) {
     for (int i = 0; i < measuresOrdinal.length; i++) {
+      long startTime = ScanMetrics.getInstance().start();
       vectorInfo[i].measureVectorFiller
           .fillMeasureVector(measureColumnPages[measuresOrdinal[i]][pageCounter], vectorInfo[i]);
+      ScanMetrics.getInstance().record(ScanMetrics.Operator.VECTOR_FILL,
+          vectorInfo[i].getColumnName(), startTime);
     }
   }
 
@@ -287,10 +326,22 @@ public abstract class BlockletScannedResult {
         new ReUsableByteArrayDataOutputStream(byteStream);
     boolean isExceptionThrown = false;
     for (int i = 0; i < vectorInfos.length; i++) {
+      long startTime = ScanMetrics.getInstance().start();
       int offset = vectorInfos[i].offset;
       int len = offset + vectorInfos[i].size;
       int vectorOffset = vectorInfos[i].vectorOffset;
       CarbonColumnVector vector = vectorInfos[i].vector;
+      if (vector instanceof CarbonComplexColumnVector) {
+        // fill the nested vector from the child pages, without assembling the row
+        for (int j = offset; j < len; j++) {
+          vectorInfos[i].genericQueryType.fillVector(dimRawColumnChunks, dimensionColumnPages,
+              pageFilteredRowId == null ? j : pageFilteredRowId[pageCounter][j], pageCounter,
+              vector, vectorOffset++);
+        }
+        ScanMetrics.getInstance().record(ScanMetrics.Operator.VECTOR_FILL,
+            vectorInfos[i].getColumnName(), startTime);
+        continue;
+      }
       for (int j = offset; j < len; j++) {
         try {
           vectorInfos[i].genericQueryType
@@ -311,6 +362,8 @@ public abstract class BlockletScannedResult {
           }
         }
       }
+      ScanMetrics.getInstance().record(ScanMetrics.Operator.VECTOR_FILL,
+          vectorInfos[i].getColumnName(), startTime);
     }
     CarbonUtil.closeStreams(reuseableDataOutput);
     CarbonUtil.closeStreams(byteStream);
@@ -397,15 +450,19 @@ public abstract class BlockletScannedResult {
     long startTime = System.currentTimeMillis();
     for (int i = 0; i < dimensionColumnPages.length; i++) {
       if (dimensionColumnPages[i][pageCounter] == null && dimRawColumnChunks[i] != null) {
+        long decodeStartTime = ScanMetrics.getInstance().start();
         dimensionColumnPages[i][pageCounter] = dimRawColumnChunks[i]
             .convertToDimColDataChunkWithOutCache(pageCounter, null);
+        ScanMetrics.getInstance().record(ScanMetrics.Operator.DECODE, decodeStartTime);
       }
     }
 
     for (int i = 0; i < measureColumnPages.length; i++) {
       if (measureColumnPages[i][pageCounter] == null && msrRawColumnChunks[i] != null) {
+        long decodeStartTime = ScanMetrics.getInstance().start();
         measureColumnPages[i][pageCounter] = msrRawColumnChunks[i]
             .convertToColumnPageWithOutCache(pageCounter, null);
+        ScanMetrics.getInstance().record(ScanMetrics.Operator.DECODE, decodeStartTime);
       }
     }
     QueryStatistic pageUncompressTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
@@ -678,6 +735,10 @@ public abstract class BlockletScannedResult {
    * Below method will be used to free the occupied memory
    */
   public void freeMemory() {
+    if (null != segmentProperties && !columnBytesProfiled) {
+      addColumnBytesToProfile();
+      columnBytesProfiled = true;
+    }
     // first free the dimension chunks
     if (null != dimensionColumnPages) {
       for (int i = 0; i < dimensionColumnPages.length; i++) {
@@ -717,6 +778,53 @@ public abstract class BlockletScannedResult {
     validRowIds = null;
   }
 
+  /**
+   * Add the bytes read and the bytes decompressed of each column chunk to the scan profile
+   */
+  private void addColumnBytesToProfile() {
+    ScanProfile scanProfile = queryStatisticsModel.getScanProfile();
+    if (null != dimRawColumnChunks) {
+      String[] columnNames = new String[dimRawColumnChunks.length];
+      Map<Integer, Integer> ordinalToChunkMapping =
+          segmentProperties.getDimensionOrdinalToChunkMapping();
+      for (CarbonDimension dimension : segmentProperties.getDimensions()) {
+        setColumnName(columnNames, ordinalToChunkMapping.get(dimension.getOrdinal()), dimension);
+      }
+      for (CarbonDimension dimension : segmentProperties.getComplexDimensions()) {
+        setColumnName(columnNames, ordinalToChunkMapping.get(dimension.getOrdinal()), dimension);
+      }
+      for (int i = 0; i < dimRawColumnChunks.length; i++) {
+        if (null != dimRawColumnChunks[i]) {
+          scanProfile.addColumnBytes(null == columnNames[i] ? "dimension chunk " + i
+                  : columnNames[i], dimRawColumnChunks[i].getLength(),
+              dimRawColumnChunks[i].getDecodedPagesSize());
+        }
+      }
+    }
+    if (null != msrRawColumnChunks) {
+      String[] columnNames = new String[msrRawColumnChunks.length];
+      Map<Integer, Integer> ordinalToChunkMapping =
+          segmentProperties.getMeasuresOrdinalToChunkMapping();
+      for (CarbonMeasure measure : segmentProperties.getMeasures()) {
+        setColumnName(columnNames, ordinalToChunkMapping.get(measure.getOrdinal()), measure);
+      }
+      for (int i = 0; i < msrRawColumnChunks.length; i++) {
+        if (null != msrRawColumnChunks[i]) {
+          scanProfile.addColumnBytes(null == columnNames[i] ? "measure chunk " + i
+                  : columnNames[i], msrRawColumnChunks[i].getLength(),
+              msrRawColumnChunks[i].getDecodedPagesSize());
+        }
+      }
+    }
+  }
+
+  private static void setColumnName(String[] columnNames, Integer chunkIndex,
+      CarbonColumn column) {
+    if (null != chunkIndex && chunkIndex < columnNames.length) {
+      columnNames[chunkIndex] = column.getColName();
+    }
+  }
+
   /**
    * @param pageFilteredRowCount set total of number rows valid after scanning
    */
@@ -813,6 +921,7 @@ public abstract class BlockletScannedResult {
       int vectorOffset) {
     int rowsFiltered = 0;
     if (currentDeleteDeltaVo != null) {
+      long startTime = ScanMetrics.getInstance().start();
       int len = startRow + size;
       for (int i = startRow; i < len; i++) {
         int rowId = pageFilteredRowId != null ? pageFilteredRowId[pageCounter][i] : i;
@@ -822,6 +931,7 @@ public abstract class BlockletScannedResult {
         }
         vectorOffset++;
       }
+      ScanMetrics.getInstance().record(ScanMetrics.Operator.DELETE_DELTA, startTime);
     }
     return rowsFiltered;
   }
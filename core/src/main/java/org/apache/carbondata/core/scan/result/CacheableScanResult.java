@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.apache.carbondata.core.cache.Cacheable;
+
+/**
+ * Rows scanned from one block by a query, cached by {@link ScanResultCache}
+ */
+public class CacheableScanResult implements Cacheable {
+
+  private final List<Object[]> rows;
+
+  private final long memorySize;
+
+  public CacheableScanResult(List<Object[]> rows, long memorySize) {
+    this.rows = rows;
+    this.memorySize = memorySize;
+  }
+
+  /**
+   * Return the cached rows, the rows must not be modified by the caller
+   */
+  public List<Object[]> getRows() {
+    return rows;
+  }
+
+  /**
+   * Return the estimated heap size of the row
+   */
+  public static long estimateRowSize(Object[] row) {
+    // object header and the references of the array
+    long size = 16 + 8L * row.length;
+    for (Object value : row) {
+      if (value instanceof byte[]) {
+        size += 16 + ((byte[]) value).length;
+      } else if (value instanceof String) {
+        size += 40 + 2L * ((String) value).length();
+      } else if (value instanceof BigDecimal) {
+        size += 64;
+      } else if (value != null) {
+        size += 16;
+      }
+    }
+    return size;
+  }
+
+  @Override public long getFileTimeStamp() {
+    return 0;
+  }
+
+  @Override public int getAccessCount() {
+    return 0;
+  }
+
+  @Override public long getMemorySize() {
+    return memorySize;
+  }
+
+  @Override public void invalidate() {
+    // rows may still be replayed by the running queries, they are freed by GC after that
+  }
+}
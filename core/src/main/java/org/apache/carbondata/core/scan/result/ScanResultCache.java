@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.indexstore.blockletindex.BlockletDataRefNode;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Executor cache of the rows scanned from a block by the row based query, so that the queries
+ * repeated by the dashboards on the historical segments do not scan the blocks again.
+ *
+ * The key is made of the data file and the blocklets scanned, the delete delta files of the
+ * block, and the projection, filter and converter of the query. Data files are never modified in
+ * place, and update and delete create new data and delete delta files, so a changed segment
+ * gives a new key and the entries of the old files are evicted by the LRU cache. So the cache is
+ * used only when the size of the LRU cache is configured.
+ */
+public class ScanResultCache implements Cache<String, CacheableScanResult> {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(ScanResultCache.class.getName());
+
+  private static final String CACHE_KEY_PREFIX = "scan_result_";
+
+  private CarbonLRUCache lruCache;
+
+  private volatile boolean unboundedWarned;
+
+  public ScanResultCache(CarbonLRUCache lruCache) {
+    this.lruCache = lruCache;
+  }
+
+  /**
+   * Rows can be loaded only by scanning the block, so it returns null if the rows are not cached
+   */
+  @Override public CacheableScanResult get(String key) {
+    return getIfPresent(key);
+  }
+
+  @Override public List<CacheableScanResult> getAll(List<String> keys) {
+    List<CacheableScanResult> results = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      results.add(get(key));
+    }
+    return results;
+  }
+
+  @Override public CacheableScanResult getIfPresent(String key) {
+    return (CacheableScanResult) lruCache.get(CACHE_KEY_PREFIX + key);
+  }
+
+  @Override public void invalidate(String key) {
+    lruCache.remove(CACHE_KEY_PREFIX + key);
+  }
+
+  @Override public void put(String key, CacheableScanResult value) {
+    lruCache.put(CACHE_KEY_PREFIX + key, value, value.getMemorySize());
+  }
+
+  @Override public void clearAccessCount(List<String> keys) {
+    // access count is not maintained, entries can be removed any time
+  }
+
+  /**
+   * Return whether the rows can be cached. Nothing is evicted from the LRU cache if its size is
+   * not configured, so the rows are not cached then.
+   */
+  public boolean isSizeBounded() {
+    if (lruCache.isLRUCacheSizeConfigured()) {
+      return true;
+    }
+    if (!unboundedWarned) {
+      unboundedWarned = true;
+      LOGGER.warn(CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_ENABLED
+          + " is ignored as the LRU cache size is not configured, configure "
+          + CarbonCommonConstants.CARBON_MAX_EXECUTOR_LRU_CACHE_SIZE + " to cache the rows");
+    }
+    return false;
+  }
+
+  /**
+   * Return whether the rows of the query can be cached. Only the row based queries are cached,
+   * the raw queries of compaction, the vector reader and the aggregate queries are not.
+   */
+  public static boolean isCacheable(QueryModel queryModel) {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_ENABLED,
+            CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_ENABLED_DEFAULT))
+        && !queryModel.isVectorReader() && !queryModel.isForcedDetailRawQuery()
+        && null == queryModel.getAggregates();
+  }
+
+  /**
+   * Return the maximum size in bytes of the rows of one block to be cached
+   */
+  public static long getMaxEntrySize() {
+    long maxEntrySizeInMB;
+    try {
+      maxEntrySizeInMB = Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_MAX_ENTRY_SIZE,
+              CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_MAX_ENTRY_SIZE_DEFAULT));
+    } catch (NumberFormatException e) {
+      maxEntrySizeInMB =
+          Long.parseLong(CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_MAX_ENTRY_SIZE_DEFAULT);
+    }
+    return maxEntrySizeInMB * 1024 * 1024;
+  }
+
+  /**
+   * Return the part of the key decided by the query, same for all the blocks of the query
+   */
+  public static String getQueryKey(QueryModel queryModel) {
+    StringBuilder key = new StringBuilder();
+    // column id is used instead of the name, so a column dropped and added again is different,
+    // and the data type is added as alter can change the type and the decimal precision
+    for (ProjectionDimension dimension : queryModel.getProjectionDimensions()) {
+      key.append(dimension.getOrdinal()).append(':');
+      appendColumn(key, dimension.getDimension());
+      key.append(',');
+    }
+    for (ProjectionMeasure measure : queryModel.getProjectionMeasures()) {
+      key.append(measure.getOrdinal()).append(':');
+      appendColumn(key, measure.getMeasure());
+      key.append(',');
+    }
+    key.append("_filter:");
+    if (null != queryModel.getFilterExpressionResolverTree()
+        && null != queryModel.getFilterExpressionResolverTree().getFilterExpression()) {
+      key.append(queryModel.getFilterExpressionResolverTree().getFilterExpression().getString());
+    }
+    key.append("_converter:");
+    if (null != queryModel.getConverter()) {
+      key.append(queryModel.getConverter().getClass().getName());
+    }
+    key.append("_rowId:").append(queryModel.isRequiredRowId());
+    return key.toString();
+  }
+
+  private static void appendColumn(StringBuilder key, CarbonColumn column) {
+    key.append(column.getColumnId()).append(':').append(column.getDataType().getName())
+        .append('(').append(column.getColumnSchema().getPrecision()).append(',')
+        .append(column.getColumnSchema().getScale()).append(')');
+    List<CarbonDimension> children = column instanceof CarbonDimension ?
+        ((CarbonDimension) column).getListOfChildDimensions() : null;
+    if (null != children) {
+      key.append('<');
+      for (CarbonDimension child : children) {
+        appendColumn(key, child);
+        key.append(',');
+      }
+      key.append('>');
+    }
+  }
+
+  /**
+   * Return the key of the rows of the block scanned by the query
+   */
+  public static String getKey(String queryKey, BlockExecutionInfo blockExecutionInfo) {
+    StringBuilder key = new StringBuilder();
+    DataRefNode dataRefNode = blockExecutionInfo.getFirstDataBlock();
+    List<TableBlockInfo> blockInfos = ((BlockletDataRefNode) dataRefNode).getBlockInfos();
+    key.append(blockInfos.get(0).getFilePath()).append('_')
+        .append(blockInfos.get(0).getBlockOffset()).append("_blocklets:")
+        .append(blockExecutionInfo.getStartBlockletIndex()).append(',')
+        .append(blockExecutionInfo.getNumberOfBlockletToScan());
+    for (TableBlockInfo blockInfo : blockInfos) {
+      if (null != blockInfo.getDetailInfo()) {
+        key.append(',').append(blockInfo.getDetailInfo().getBlockletId());
+      }
+    }
+    key.append("_deleteDelta:");
+    if (null != blockExecutionInfo.getDeleteDeltaFilePath()) {
+      // delete delta file names have the timestamp of the delete, sorted as listing order varies
+      String[] deleteDeltaFiles = blockExecutionInfo.getDeleteDeltaFilePath().clone();
+      Arrays.sort(deleteDeltaFiles);
+      key.append(Arrays.toString(deleteDeltaFiles));
+    }
+    key.append('_').append(queryKey);
+    return key.toString();
+  }
+}
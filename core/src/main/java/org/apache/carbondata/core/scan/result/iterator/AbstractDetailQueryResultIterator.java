@@ -19,23 +19,28 @@ package org.apache.carbondata.core.scan.result.iterator;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CacheProvider;
+import org.apache.carbondata.core.cache.CacheType;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.datastore.block.AbstractIndex;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.indexstore.blockletindex.BlockletDataRefNode;
+import org.apache.carbondata.core.mutate.BlockDeletedRows;
 import org.apache.carbondata.core.mutate.DeleteDeltaVo;
-import org.apache.carbondata.core.reader.CarbonDeleteFilesDataReader;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.executor.infos.DeleteDeltaInfo;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.processor.CachingDataBlockIterator;
 import org.apache.carbondata.core.scan.processor.DataBlockIterator;
+import org.apache.carbondata.core.scan.result.CacheableScanResult;
+import org.apache.carbondata.core.scan.result.ScanResultCache;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
@@ -58,9 +63,6 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(AbstractDetailQueryResultIterator.class.getName());
 
-  private static final Map<DeleteDeltaInfo, Object> deleteDeltaToLockObjectMap =
-      new ConcurrentHashMap<>();
-
   protected ExecutorService execService;
   /**
    * execution info of the block
@@ -85,7 +87,17 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
   /**
    * queryStatisticsModel to store query statistics object
    */
-  private QueryStatisticsModel queryStatisticsModel;
+  QueryStatisticsModel queryStatisticsModel;
+
+  /**
+   * cache of the scanned rows of the blocks, null if the rows of the query are not cached
+   */
+  private ScanResultCache resultCache;
+
+  /**
+   * part of the result cache key decided by the query
+   */
+  private String resultCacheQueryKey;
 
   AbstractDetailQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
       ExecutorService execService) {
@@ -107,17 +119,28 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
         FileFactory.getFileType(queryModel.getAbsoluteTableIdentifier().getTablePath()));
     this.fileReader.setReadPageByPage(queryModel.isReadPageByPage());
     this.execService = execService;
-    intialiseInfos();
+    intialiseInfos(queryModel.getAbsoluteTableIdentifier().getTablePath());
     initQueryStatiticsModel();
+    this.queryStatisticsModel.setScanProfile(queryModel.getScanProfile());
+    if (ScanResultCache.isCacheable(queryModel)) {
+      Cache<String, CacheableScanResult> cache =
+          CacheProvider.getInstance().createCache(CacheType.SCAN_RESULT);
+      if (((ScanResultCache) cache).isSizeBounded()) {
+        this.resultCache = (ScanResultCache) cache;
+        this.resultCacheQueryKey = ScanResultCache.getQueryKey(queryModel);
+      }
+    }
   }
 
-  private void intialiseInfos() {
+  private void intialiseInfos(String tablePath) {
     for (BlockExecutionInfo blockInfo : blockExecutionInfos) {
       Map<String, DeleteDeltaVo> deletedRowsMap = null;
       // if delete delta file is present
       if (null != blockInfo.getDeleteDeltaFilePath() && 0 != blockInfo
           .getDeleteDeltaFilePath().length) {
-        DeleteDeltaInfo deleteDeltaInfo = new DeleteDeltaInfo(blockInfo.getDeleteDeltaFilePath());
+        DeleteDeltaInfo deleteDeltaInfo = new DeleteDeltaInfo(
+            tablePath + CarbonCommonConstants.FILE_SEPARATOR + blockInfo.getBlockIdString(),
+            blockInfo.getDeleteDeltaFilePath());
         // read and get the delete detail block details
         deletedRowsMap = getDeleteDeltaDetails(blockInfo.getDataBlock(), deleteDeltaInfo);
         // set the deleted row to block execution info
@@ -132,7 +155,9 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
   }
 
   /**
-   * Below method will be used to get the delete delta rows for a block
+   * Below method will be used to get the delete delta rows for a block. The rows are read once
+   * per block and delete delta timestamp in the executor and shared by all the tasks through
+   * the delete delta cache.
    *
    * @param dataBlock       data block
    * @param deleteDeltaInfo delete delta info
@@ -146,43 +171,16 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
         .getLatestDeleteDeltaFileTimestamp()) {
       return dataBlock.getDeletedRowsMap();
     }
-    CarbonDeleteFilesDataReader carbonDeleteDeltaFileReader = null;
-    // get the lock object so in case of concurrent query only one task will read the delete delta
-    // files other tasks will wait
-    Object lockObject = deleteDeltaToLockObjectMap.get(deleteDeltaInfo);
-    // if lock object is null then add a lock object
-    if (null == lockObject) {
-      synchronized (deleteDeltaToLockObjectMap) {
-        // double checking
-        lockObject = deleteDeltaToLockObjectMap.get(deleteDeltaInfo);
-        if (null == lockObject) {
-          lockObject = new Object();
-          deleteDeltaToLockObjectMap.put(deleteDeltaInfo, lockObject);
-        }
-      }
-    }
-    // double checking to check the deleted rows is already present or not
-    if (dataBlock.getDeleteDeltaTimestamp() < deleteDeltaInfo.getLatestDeleteDeltaFileTimestamp()) {
-      // if not then acquire the lock
-      synchronized (lockObject) {
-        // check the timestamp again
-        if (dataBlock.getDeleteDeltaTimestamp() < deleteDeltaInfo
-            .getLatestDeleteDeltaFileTimestamp()) {
-          // read the delete delta files
-          carbonDeleteDeltaFileReader = new CarbonDeleteFilesDataReader();
-          Map<String, DeleteDeltaVo> deletedRowsMap = carbonDeleteDeltaFileReader
-              .getDeletedRowsDataVo(deleteDeltaInfo.getDeleteDeltaFile());
-          setDeltedDeltaBoToDataBlock(deleteDeltaInfo, deletedRowsMap, dataBlock);
-          // remove the lock
-          deleteDeltaToLockObjectMap.remove(deleteDeltaInfo);
-          return deletedRowsMap;
-        } else {
-          return dataBlock.getDeletedRowsMap();
-        }
-      }
-    } else {
-      return dataBlock.getDeletedRowsMap();
+    Cache<DeleteDeltaInfo, BlockDeletedRows> deleteDeltaCache =
+        CacheProvider.getInstance().createCache(CacheType.DELETE_DELTA);
+    Map<String, DeleteDeltaVo> deletedRowsMap;
+    try {
+      deletedRowsMap = deleteDeltaCache.get(deleteDeltaInfo).getDeletedRowsMap();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     }
+    setDeltedDeltaBoToDataBlock(deleteDeltaInfo, deletedRowsMap, dataBlock);
+    return deletedRowsMap;
   }
 
   /**
@@ -237,6 +235,11 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
       }
       BlockExecutionInfo executionInfo = blockExecutionInfos.get(0);
       blockExecutionInfos.remove(executionInfo);
+      if (null != resultCache) {
+        return new CachingDataBlockIterator(executionInfo, fileReader, batchSize,
+            queryStatisticsModel, execService, resultCache,
+            ScanResultCache.getKey(resultCacheQueryKey, executionInfo));
+      }
       return new DataBlockIterator(executionInfo, fileReader, batchSize, queryStatisticsModel,
           execService);
     }
@@ -316,6 +319,10 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     } catch (IOException e) {
       LOGGER.error(e);
     }
+    if (null != queryStatisticsModel.getScanProfile()) {
+      queryStatisticsModel.getScanProfile()
+          .addScanStatistics(queryStatisticsModel.getStatisticsTypeAndObjMap());
+    }
   }
 
 }
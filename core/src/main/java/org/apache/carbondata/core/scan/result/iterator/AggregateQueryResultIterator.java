@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.result.iterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.carbondata.core.scan.aggregate.AggregateAccumulator;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.processor.AggregateBlockProcessor;
+import org.apache.carbondata.core.scan.result.RowBatch;
+
+/**
+ * In case of aggregate query the aggregates are computed over all the blocks of the task and
+ * a single row of partial results is returned, one value for each aggregate of the query model
+ */
+public class AggregateQueryResultIterator extends AbstractDetailQueryResultIterator<RowBatch> {
+
+  private AggregateAccumulator[] accumulators;
+
+  private boolean aggregated;
+
+  public AggregateQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
+      ExecutorService execService) {
+    super(infos, queryModel, execService);
+    accumulators = new AggregateAccumulator[queryModel.getAggregates().size()];
+    for (int i = 0; i < accumulators.length; i++) {
+      accumulators[i] = new AggregateAccumulator(queryModel.getAggregates().get(i));
+    }
+  }
+
+  @Override public boolean hasNext() {
+    return !aggregated;
+  }
+
+  @Override public RowBatch next() {
+    try {
+      for (BlockExecutionInfo blockExecutionInfo : blockExecutionInfos) {
+        fileReader.finish();
+        new AggregateBlockProcessor(blockExecutionInfo, fileReader, queryStatisticsModel,
+            accumulators).process();
+      }
+    } catch (IOException | FilterUnsupportedException e) {
+      throw new RuntimeException(e);
+    }
+    blockExecutionInfos.clear();
+    aggregated = true;
+    Object[] row = new Object[accumulators.length];
+    for (int i = 0; i < accumulators.length; i++) {
+      row[i] = accumulators[i].getResult();
+    }
+    List<Object[]> rows = new ArrayList<>(1);
+    rows.add(row);
+    RowBatch rowBatch = new RowBatch();
+    rowBatch.setRows(rows);
+    return rowBatch;
+  }
+}
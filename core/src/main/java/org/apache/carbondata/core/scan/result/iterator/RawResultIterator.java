@@ -54,6 +54,11 @@ public class RawResultIterator extends CarbonIterator<Object[]> {
   private List<Object[]> backupBuffer;
   private int currentIdxInBuffer;
   private ExecutorService executorService;
+  /**
+   * true if the executor service is created by this iterator, shared executor is shut down by
+   * its owner
+   */
+  private boolean ownExecutorService;
   private Future<Void> fetchFuture;
   private Object[] currentRawRow = null;
   private boolean isBackupFilled = false;
@@ -67,10 +72,22 @@ public class RawResultIterator extends CarbonIterator<Object[]> {
   public RawResultIterator(CarbonIterator<RowBatch> detailRawQueryResultIterator,
       SegmentProperties sourceSegProperties, SegmentProperties destinationSegProperties,
       boolean isStreamingHandoff) {
+    this(detailRawQueryResultIterator, sourceSegProperties, destinationSegProperties,
+        isStreamingHandoff, null);
+  }
+
+  /**
+   * @param prefetchExecutor executor to prefetch the next batch, it can be shared by the
+   *                         iterators of all the sources. If null, an executor is created for
+   *                         this iterator when prefetch is enabled.
+   */
+  public RawResultIterator(CarbonIterator<RowBatch> detailRawQueryResultIterator,
+      SegmentProperties sourceSegProperties, SegmentProperties destinationSegProperties,
+      boolean isStreamingHandoff, ExecutorService prefetchExecutor) {
     this.detailRawQueryResultIterator = detailRawQueryResultIterator;
     this.sourceSegProperties = sourceSegProperties;
     this.destinationSegProperties = destinationSegProperties;
-    this.executorService = Executors.newFixedThreadPool(1);
+    this.executorService = prefetchExecutor;
 
     if (!isStreamingHandoff) {
       init();
@@ -81,6 +98,10 @@ public class RawResultIterator extends CarbonIterator<Object[]> {
     this.prefetchEnabled = CarbonProperties.getInstance().getProperty(
         CarbonCommonConstants.CARBON_COMPACTION_PREFETCH_ENABLE,
         CarbonCommonConstants.CARBON_COMPACTION_PREFETCH_ENABLE_DEFAULT).equalsIgnoreCase("true");
+    if (prefetchEnabled && executorService == null) {
+      executorService = Executors.newFixedThreadPool(1);
+      ownExecutorService = true;
+    }
     try {
       new RowsFetcher(false).call();
       if (prefetchEnabled) {
@@ -203,8 +224,10 @@ public class RawResultIterator extends CarbonIterator<Object[]> {
   }
 
   public void close() {
-    if (null != executorService) {
+    if (ownExecutorService) {
       executorService.shutdownNow();
+    } else if (null != fetchFuture) {
+      fetchFuture.cancel(true);
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.vector;
+
+/**
+ * Vector of an array, struct or map column. The values are held by the child vectors, so the
+ * scan fills them directly from the pages of the child columns instead of assembling a value
+ * object for each row.
+ */
+public interface CarbonComplexColumnVector extends CarbonColumnVector {
+
+  /**
+   * Return the child vector, the element vector of an array, the vector of a field of struct or
+   * the vector of the key value structs of a map
+   */
+  CarbonColumnVector getChildVector(int ordinal);
+
+  /**
+   * Add an array or map of length elements at the row. The elements are to be filled in the
+   * child vector from the returned row on.
+   */
+  int appendArray(int rowId, int length);
+
+  /**
+   * Set the number of fields stored in the struct at the row. Like the row reader, the value of
+   * the row has only these fields.
+   */
+  void putStruct(int rowId, int fieldCount);
+}
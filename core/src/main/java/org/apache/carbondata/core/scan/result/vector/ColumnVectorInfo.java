@@ -39,6 +39,18 @@ public class ColumnVectorInfo implements Comparable<ColumnVectorInfo> {
   public BitSet deletedRows;
   public DecimalConverterFactory.DecimalConverter decimalConverter;
 
+  /**
+   * name of the projected column filled into the vector, null if not known
+   */
+  public String getColumnName() {
+    if (dimension != null) {
+      return dimension.getColumnName();
+    } else if (measure != null) {
+      return measure.getColumnName();
+    }
+    return null;
+  }
+
   @Override public int compareTo(ColumnVectorInfo o) {
     return ordinal - o.ordinal;
   }
@@ -247,7 +247,7 @@ public class CarbonColumnVectorImpl implements CarbonColumnVector {
       return  byteArr;
     } else if (dataType == DataTypes.SHORT) {
       return shorts;
-    } else if (dataType == DataTypes.INT) {
+    } else if (dataType == DataTypes.INT || dataType == DataTypes.DATE) {
       return ints;
     } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
       return longs;
@@ -383,6 +383,58 @@ public class CarbonColumnVectorImpl implements CarbonColumnVector {
     byteArr = data;
   }
 
+  /**
+   * Grow the vector to hold at least capacity rows, keeping the filled values
+   */
+  public void reserve(int capacity) {
+    if (capacity <= batchSize) {
+      return;
+    }
+    int newSize = Math.max(capacity, batchSize * 2);
+    if (byteArr != null && (dataType == DataTypes.BOOLEAN || dataType == DataTypes.BYTE)) {
+      byteArr = Arrays.copyOf(byteArr, newSize);
+    }
+    if (shorts != null) {
+      shorts = Arrays.copyOf(shorts, newSize);
+    }
+    if (ints != null) {
+      ints = Arrays.copyOf(ints, newSize);
+    }
+    if (longs != null) {
+      longs = Arrays.copyOf(longs, newSize);
+    }
+    if (floats != null) {
+      floats = Arrays.copyOf(floats, newSize);
+    }
+    if (doubles != null) {
+      doubles = Arrays.copyOf(doubles, newSize);
+    }
+    if (decimals != null) {
+      decimals = Arrays.copyOf(decimals, newSize);
+    }
+    if (bytes != null) {
+      bytes = Arrays.copyOf(bytes, newSize);
+    }
+    if (data != null) {
+      data = Arrays.copyOf(data, newSize);
+    }
+    if (offsets != null) {
+      offsets = Arrays.copyOf(offsets, newSize);
+      lengths = Arrays.copyOf(lengths, newSize);
+    }
+    if (dictionaryVector instanceof CarbonColumnVectorImpl) {
+      ((CarbonColumnVectorImpl) dictionaryVector).reserve(newSize);
+    }
+    batchSize = newSize;
+  }
+
+  /**
+   * Return the number of rows the vector can hold
+   */
+  public int getCapacity() {
+    return batchSize;
+  }
+
   public int[] getLengths() {
     return lengths;
   }
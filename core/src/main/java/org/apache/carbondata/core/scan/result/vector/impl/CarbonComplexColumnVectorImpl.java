@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.vector.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.ArrayType;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.MapType;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.datatype.StructType;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonComplexColumnVector;
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Vector of an array, struct or map column. An array row holds the offset and length of its
+ * elements in the element vector, a struct row holds its fields at the same row of the field
+ * vectors, and a map is an array of key value structs.
+ */
+public class CarbonComplexColumnVectorImpl extends CarbonColumnVectorImpl
+    implements CarbonComplexColumnVector {
+
+  private List<CarbonColumnVectorImpl> childrenVector;
+
+  /**
+   * number of elements filled in the element vector of array and map
+   */
+  private int elementCount;
+
+  /**
+   * number of fields stored in each struct row, -1 if the row has all the fields
+   */
+  private int[] fieldCounts;
+
+  public CarbonComplexColumnVectorImpl(int batchSize, DataType dataType) {
+    super(batchSize, dataType);
+    childrenVector = new ArrayList<>();
+    if (DataTypes.isArrayType(dataType)) {
+      childrenVector.add(createVector(batchSize, ((ArrayType) dataType).getElementType()));
+    } else if (DataTypes.isMapType(dataType)) {
+      List<StructField> fields = new ArrayList<>(2);
+      fields.add(new StructField("key", ((MapType) dataType).getKeyType()));
+      fields.add(new StructField("value", ((MapType) dataType).getValueType()));
+      childrenVector.add(createVector(batchSize, DataTypes.createStructType(fields)));
+    } else if (DataTypes.isStructType(dataType)) {
+      for (StructField field : ((StructType) dataType).getFields()) {
+        childrenVector.add(createVector(batchSize, field.getDataType()));
+      }
+      fieldCounts = new int[batchSize];
+      Arrays.fill(fieldCounts, -1);
+    } else {
+      throw new IllegalArgumentException(dataType.getName() + " is not a complex type");
+    }
+  }
+
+  /**
+   * Create the vector of the data type, nested vector for the complex types
+   */
+  public static CarbonColumnVectorImpl createVector(int batchSize, DataType dataType) {
+    if (dataType.isComplexType()) {
+      return new CarbonComplexColumnVectorImpl(batchSize, dataType);
+    }
+    return new CarbonColumnVectorImpl(batchSize, dataType);
+  }
+
+  @Override
+  public CarbonColumnVector getChildVector(int ordinal) {
+    return childrenVector.get(ordinal);
+  }
+
+  @Override
+  public int appendArray(int rowId, int length) {
+    int offset = elementCount;
+    elementCount += length;
+    childrenVector.get(0).reserve(elementCount);
+    putArray(rowId, offset, length);
+    return offset;
+  }
+
+  @Override
+  public void putStruct(int rowId, int fieldCount) {
+    fieldCounts[rowId] = fieldCount;
+  }
+
+  @Override
+  public void reserve(int capacity) {
+    super.reserve(capacity);
+    if (fieldCounts != null && fieldCounts.length < getCapacity()) {
+      int filled = fieldCounts.length;
+      fieldCounts = Arrays.copyOf(fieldCounts, getCapacity());
+      Arrays.fill(fieldCounts, filled, fieldCounts.length, -1);
+    }
+    if (DataTypes.isStructType(getType())) {
+      // fields are at the same rows as the struct
+      for (CarbonColumnVectorImpl childVector : childrenVector) {
+        childVector.reserve(capacity);
+      }
+    }
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    elementCount = 0;
+    if (fieldCounts != null) {
+      Arrays.fill(fieldCounts, -1);
+    }
+    for (CarbonColumnVectorImpl childVector : childrenVector) {
+      childVector.reset();
+    }
+  }
+
+  /**
+   * Return the value of the row in the format of the row reader, object array for array and
+   * struct, and object array of the key array and value array for map
+   */
+  @Override
+  public Object getData(int rowId) {
+    if (isNull(rowId)) {
+      return null;
+    }
+    Object value = super.getData(rowId);
+    if (value != null) {
+      // filled as object
+      return value;
+    }
+    if (DataTypes.isStructType(getType())) {
+      int fieldCount = childrenVector.size();
+      if (fieldCounts[rowId] >= 0) {
+        fieldCount = Math.min(fieldCounts[rowId], fieldCount);
+      }
+      Object[] fields = new Object[fieldCount];
+      for (int i = 0; i < fields.length; i++) {
+        fields[i] = getChildData(childrenVector.get(i), rowId);
+      }
+      return fields;
+    }
+    int offset = getOffsets()[rowId];
+    int length = getLengths()[rowId];
+    CarbonColumnVectorImpl elementVector = childrenVector.get(0);
+    if (DataTypes.isMapType(getType())) {
+      Object[] keys = new Object[length];
+      Object[] values = new Object[length];
+      List<CarbonColumnVectorImpl> entryVectors =
+          ((CarbonComplexColumnVectorImpl) elementVector).childrenVector;
+      CarbonColumnVectorImpl keyVector = entryVectors.get(0);
+      CarbonColumnVectorImpl valueVector = entryVectors.get(1);
+      for (int i = 0; i < length; i++) {
+        keys[i] = getChildData(keyVector, offset + i);
+        values[i] = getChildData(valueVector, offset + i);
+      }
+      return new Object[] { keys, values };
+    }
+    Object[] elements = new Object[length];
+    for (int i = 0; i < length; i++) {
+      elements[i] = getChildData(elementVector, offset + i);
+    }
+    return elements;
+  }
+
+  private static Object getChildData(CarbonColumnVectorImpl childVector, int rowId) {
+    Object data = childVector.getData(rowId);
+    if (data == null) {
+      return null;
+    }
+    DataType dataType = childVector.getType();
+    if (dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR) {
+      if (data instanceof byte[]) {
+        return ByteUtil.toString((byte[]) data, 0, ((byte[]) data).length);
+      }
+    } else if (dataType == DataTypes.BOOLEAN) {
+      return ByteUtil.toBoolean((byte) data);
+    }
+    return data;
+  }
+}
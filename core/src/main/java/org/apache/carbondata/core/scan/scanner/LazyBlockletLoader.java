@@ -28,6 +28,7 @@ import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.stats.ScanMetrics;
 
 /**
  * Reads the blocklet column chunks lazily, it means it reads the column chunks from disk when
@@ -82,6 +83,7 @@ public class LazyBlockletLoader {
     FileReader fileReader = rawBlockletColumnChunks.getFileReader();
 
     long readTime = System.currentTimeMillis();
+    long ioStartTime = ScanMetrics.getInstance().start();
     int[][] allSelectedDimensionColumnIndexRange =
         blockExecutionInfo.getAllSelectedDimensionColumnIndexRange();
     DimensionRawColumnChunk[] projectionListDimensionChunk = rawBlockletColumnChunks.getDataBlock()
@@ -126,6 +128,7 @@ public class LazyBlockletLoader {
                 .readMeasureChunk(fileReader, projectionListMeasureIndex);
       }
     }
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.IO_WAIT, ioStartTime);
     readTime = System.currentTimeMillis() - readTime;
     QueryStatistic time = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.READ_BLOCKlET_TIME);
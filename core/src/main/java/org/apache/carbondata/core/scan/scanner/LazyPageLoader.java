@@ -25,6 +25,7 @@ import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.stats.ScanMetrics;
 
 /**
  * Page loads lazily, it means it decompresses and fills the vector when execution engine wants
@@ -66,6 +67,7 @@ public class LazyPageLoader {
       }
     }
     long startTime = System.currentTimeMillis();
+    long decodeStartTime = ScanMetrics.getInstance().start();
     if (isMeasure) {
       ((MeasureRawColumnChunk) lazyChunkWrapper.getRawColumnChunk())
           .convertToColumnPageAndFillVector(pageNumber, vectorInfo, reusableDataBuffer);
@@ -73,6 +75,9 @@ public class LazyPageLoader {
       ((DimensionRawColumnChunk) lazyChunkWrapper.getRawColumnChunk())
           .convertToDimColDataChunkAndFillVector(pageNumber, vectorInfo, reusableDataBuffer);
     }
+    // the page is decoded directly into the vector, so it is recorded as decode
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.DECODE, vectorInfo.getColumnName(),
+        decodeStartTime);
     if (queryStatisticsModel.isEnabled()) {
       QueryStatistic pageUncompressTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
           .get(QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME);
@@ -38,6 +38,7 @@ import org.apache.carbondata.core.scan.scanner.LazyBlockletLoader;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.stats.ScanMetrics;
 import org.apache.carbondata.core.util.BitSetGroup;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
@@ -141,7 +142,9 @@ public class BlockletFilterScanner extends BlockletFullScanner {
   @Override
   public void readBlocklet(RawBlockletColumnChunks rawBlockletColumnChunks) throws IOException {
     long startTime = System.currentTimeMillis();
+    long ioStartTime = ScanMetrics.getInstance().start();
     this.filterExecuter.readColumnChunks(rawBlockletColumnChunks);
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.IO_WAIT, ioStartTime);
     // adding statistics for carbon read time
     QueryStatistic readTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.READ_BLOCKlET_TIME);
@@ -176,8 +179,10 @@ public class BlockletFilterScanner extends BlockletFullScanner {
     BitSetGroup fgBitSetGroup = rawBlockletColumnChunks.getDataBlock().getIndexedData();
     rawBlockletColumnChunks.setBitSetGroup(fgBitSetGroup);
     // apply filter on actual data, for each page
+    long filterStartTime = ScanMetrics.getInstance().start();
     BitSetGroup bitSetGroup = this.filterExecuter.applyFilter(rawBlockletColumnChunks,
         useBitSetPipeLine);
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.FILTER, filterStartTime);
     // if filter result is empty then return with empty result
     if (bitSetGroup.isEmpty()) {
       CarbonUtil.freeMemory(rawBlockletColumnChunks.getDimensionRawColumnChunks(),
@@ -236,7 +241,7 @@ public class BlockletFilterScanner extends BlockletFullScanner {
     dimensionReadTime = System.currentTimeMillis() - dimensionReadTime;
 
     FileReader fileReader = rawBlockletColumnChunks.getFileReader();
-
+    long ioStartTime = ScanMetrics.getInstance().start();
 
     DimensionRawColumnChunk[] dimensionRawColumnChunks =
         new DimensionRawColumnChunk[blockExecutionInfo.getTotalNumberDimensionToRead()];
@@ -302,6 +307,7 @@ public class BlockletFilterScanner extends BlockletFullScanner {
             .readMeasureChunk(fileReader, projectionListMeasureIndex);
       }
     }
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.IO_WAIT, ioStartTime);
     ColumnPage[][] measureColumnPages = new ColumnPage[numMeasureChunks][numPages];
     scannedResult.setDimensionColumnPages(dimensionColumnPages);
     scannedResult.setPageFilteredRowId(pageFilteredRowId);
@@ -346,7 +352,9 @@ public class BlockletFilterScanner extends BlockletFullScanner {
     totalBlockletStatistic.addCountStatistic(QueryStatisticsConstants.TOTAL_BLOCKLET_NUM,
         totalBlockletStatistic.getCount() + 1);
     // apply filter on actual data, for each page
+    long filterStartTime = ScanMetrics.getInstance().start();
     BitSet pages = this.filterExecuter.prunePages(rawBlockletColumnChunks);
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.FILTER, filterStartTime);
     // if filter result is empty then return with empty result
     if (pages.isEmpty()) {
       CarbonUtil.freeMemory(rawBlockletColumnChunks.getDimensionRawColumnChunks(),
@@ -34,6 +34,7 @@ import org.apache.carbondata.core.scan.scanner.LazyBlockletLoader;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.stats.ScanMetrics;
 
 /**
  * Blocklet scanner to do full scan of a blocklet,
@@ -141,6 +142,7 @@ public class BlockletFullScanner implements BlockletScanner {
   public void readBlocklet(RawBlockletColumnChunks rawBlockletColumnChunks)
       throws IOException {
     long startTime = System.currentTimeMillis();
+    long ioStartTime = ScanMetrics.getInstance().start();
     DimensionRawColumnChunk[] dimensionRawColumnChunks = rawBlockletColumnChunks.getDataBlock()
         .readDimensionChunks(rawBlockletColumnChunks.getFileReader(),
             blockExecutionInfo.getAllSelectedDimensionColumnIndexRange());
@@ -149,6 +151,7 @@ public class BlockletFullScanner implements BlockletScanner {
         .readMeasureChunks(rawBlockletColumnChunks.getFileReader(),
             blockExecutionInfo.getAllSelectedMeasureIndexRange());
     rawBlockletColumnChunks.setMeasureRawColumnChunks(measureRawColumnChunks);
+    ScanMetrics.getInstance().record(ScanMetrics.Operator.IO_WAIT, ioStartTime);
     // adding statistics for carbon read time
     QueryStatistic readTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.READ_BLOCKlET_TIME);
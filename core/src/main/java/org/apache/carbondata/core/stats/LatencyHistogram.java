@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+
+/**
+ * Histogram of durations with fixed buckets, bucket 0 counts the durations less than one
+ * microsecond and bucket i counts the durations in [2^(i-1), 2^i) microseconds. Recording is
+ * one increment of an atomic cell, nothing is allocated.
+ */
+@InterfaceAudience.Internal
+final class LatencyHistogram {
+
+  static final int NUM_BUCKETS = 32;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+  void record(long nanos) {
+    buckets.incrementAndGet(getBucket(nanos));
+  }
+
+  static int getBucket(long nanos) {
+    long micros = nanos / 1000;
+    if (micros <= 0) {
+      return 0;
+    }
+    return Math.min(64 - Long.numberOfLeadingZeros(micros), NUM_BUCKETS - 1);
+  }
+
+  /**
+   * upper bound of the durations counted in the bucket, in nanoseconds
+   */
+  static long getUpperBound(int bucket) {
+    return (1L << bucket) * 1000;
+  }
+
+  long[] snapshot() {
+    long[] counts = new long[NUM_BUCKETS];
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+    }
+    return counts;
+  }
+
+  void reset() {
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      buckets.set(i, 0);
+    }
+  }
+}
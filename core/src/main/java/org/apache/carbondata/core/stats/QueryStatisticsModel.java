@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.profiler.ScanProfile;
 import org.apache.carbondata.core.util.CarbonProperties;
 
 public class QueryStatisticsModel {
@@ -34,6 +35,11 @@ public class QueryStatisticsModel {
       .getProperty(CarbonCommonConstants.ENABLE_QUERY_STATISTICS,
           CarbonCommonConstants.ENABLE_QUERY_STATISTICS_DEFAULT));
 
+  /**
+   * runtime profile of the scan, null if the query is not profiled
+   */
+  private ScanProfile scanProfile;
+
   public QueryStatisticsRecorder getRecorder() {
     return recorder;
   }
@@ -49,4 +55,12 @@ public class QueryStatisticsModel {
   public boolean isEnabled() {
     return isEnabled;
   }
+
+  public ScanProfile getScanProfile() {
+    return scanProfile;
+  }
+
+  public void setScanProfile(ScanProfile scanProfile) {
+    this.scanProfile = scanProfile;
+  }
 }
@@ -17,8 +17,8 @@
 package org.apache.carbondata.core.stats;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.common.logging.impl.StatisticLevel;
@@ -41,9 +41,10 @@ public class QueryStatisticsRecorderImpl implements QueryStatisticsRecorder, Ser
   /**
    * list for statistics to record time taken
    * by each phase of the query for example aggregation
-   * scanning,block loading time etc.
+   * scanning,block loading time etc. It is a lock free queue as the statistics are recorded
+   * by the scan threads concurrently.
    */
-  private List<QueryStatistic> queryStatistics;
+  private Queue<QueryStatistic> queryStatistics;
 
   /**
    * query id with task
@@ -51,7 +52,7 @@ public class QueryStatisticsRecorderImpl implements QueryStatisticsRecorder, Ser
   private String queryId;
 
   public QueryStatisticsRecorderImpl(String queryId) {
-    queryStatistics = new ArrayList<QueryStatistic>();
+    queryStatistics = new ConcurrentLinkedQueue<QueryStatistic>();
     this.queryId = queryId;
   }
 
@@ -60,7 +61,7 @@ public class QueryStatisticsRecorderImpl implements QueryStatisticsRecorder, Ser
    *
    * @param statistic
    */
-  public synchronized void recordStatistics(QueryStatistic statistic) {
+  public void recordStatistics(QueryStatistic statistic) {
     queryStatistics.add(statistic);
   }
 
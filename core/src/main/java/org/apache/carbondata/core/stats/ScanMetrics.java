@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Process wide metrics of the scan, always on. For each operator of the scan it keeps the total
+ * time, the number of operations and a histogram of the duration of one operation, and for the
+ * column level operators the total time of each column. Blocklet level operators are recorded
+ * once per blocklet and column level operators once per column page.
+ *
+ * Recording is lock free, the counters are striped over the threads and the histograms have
+ * fixed buckets, so the cost is two calls of System.nanoTime and a few atomic adds per operation.
+ * When disabled by {@link CarbonCommonConstants#CARBON_SCAN_METRICS_ENABLED} nothing is timed.
+ *
+ * The metrics are read with {@link #snapshot()} or through JMX under {@link #OBJECT_NAME}.
+ */
+@InterfaceAudience.Developer("stats")
+@InterfaceStability.Evolving
+public final class ScanMetrics implements ScanMetricsMXBean {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(ScanMetrics.class.getName());
+
+  public static final String OBJECT_NAME = "org.apache.carbondata:type=ScanMetrics";
+
+  /**
+   * Operators of the scan
+   */
+  public enum Operator {
+    /**
+     * reading the column chunks of a blocklet from the file, per blocklet
+     */
+    IO_WAIT,
+    /**
+     * decompressing a column page, per column page
+     */
+    DECOMPRESS,
+    /**
+     * decoding a column page including its decompression, per column page
+     */
+    DECODE,
+    /**
+     * applying the filter on the pages of a blocklet, per blocklet
+     */
+    FILTER,
+    /**
+     * filling the rows of a column page into the vector, per column page
+     */
+    VECTOR_FILL,
+    /**
+     * removing the rows deleted by the delete delta files, per page
+     */
+    DELETE_DELTA
+  }
+
+  /**
+   * maximum number of columns tracked, the columns beyond it are recorded only in the
+   * operator totals
+   */
+  private static final int MAX_COLUMNS = 1024;
+
+  private static final Operator[] OPERATORS = Operator.values();
+
+  private static final ScanMetrics INSTANCE = new ScanMetrics(Boolean.parseBoolean(
+      CarbonProperties.getInstance().getProperty(
+          CarbonCommonConstants.CARBON_SCAN_METRICS_ENABLED,
+          CarbonCommonConstants.CARBON_SCAN_METRICS_ENABLED_DEFAULT)));
+
+  static {
+    if (INSTANCE.enabled) {
+      registerMBean(INSTANCE);
+    }
+  }
+
+  private final boolean enabled;
+
+  private final StripedCounter[] totalNanos = new StripedCounter[OPERATORS.length];
+
+  private final StripedCounter[] counts = new StripedCounter[OPERATORS.length];
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[OPERATORS.length];
+
+  private final ConcurrentMap<String, AtomicLongArray> columnNanos = new ConcurrentHashMap<>();
+
+  ScanMetrics(boolean enabled) {
+    this.enabled = enabled;
+    for (int i = 0; i < OPERATORS.length; i++) {
+      totalNanos[i] = new StripedCounter();
+      counts[i] = new StripedCounter();
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  public static ScanMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  private static void registerMBean(ScanMetrics metrics) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(metrics, name);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Failed to register the scan metrics in JMX", e);
+    }
+  }
+
+  @Override public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Return the start time of an operation to pass to the record methods, 0 if disabled
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Record an operation of the operator started at the given time
+   */
+  public void record(Operator operator, long startTime) {
+    if (enabled) {
+      add(operator, System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * Record an operation of the operator on the column started at the given time, the column
+   * can be null if it is not known
+   */
+  public void record(Operator operator, String column, long startTime) {
+    if (enabled) {
+      long nanos = System.nanoTime() - startTime;
+      add(operator, nanos);
+      if (column == null) {
+        return;
+      }
+      AtomicLongArray columnMetrics = columnNanos.get(column);
+      if (columnMetrics == null) {
+        if (columnNanos.size() >= MAX_COLUMNS) {
+          return;
+        }
+        columnMetrics = new AtomicLongArray(OPERATORS.length);
+        AtomicLongArray existing = columnNanos.putIfAbsent(column, columnMetrics);
+        if (existing != null) {
+          columnMetrics = existing;
+        }
+      }
+      columnMetrics.addAndGet(operator.ordinal(), nanos);
+    }
+  }
+
+  void add(Operator operator, long nanos) {
+    int index = operator.ordinal();
+    totalNanos[index].add(nanos);
+    counts[index].add(1);
+    histograms[index].record(nanos);
+  }
+
+  /**
+   * Return a copy of the current metrics
+   */
+  public ScanMetricsSnapshot snapshot() {
+    long[] total = new long[OPERATORS.length];
+    long[] count = new long[OPERATORS.length];
+    long[][] buckets = new long[OPERATORS.length][];
+    for (int i = 0; i < OPERATORS.length; i++) {
+      total[i] = totalNanos[i].sum();
+      count[i] = counts[i].sum();
+      buckets[i] = histograms[i].snapshot();
+    }
+    Map<String, long[]> columns = new TreeMap<>();
+    for (Map.Entry<String, AtomicLongArray> entry : columnNanos.entrySet()) {
+      long[] nanos = new long[OPERATORS.length];
+      for (int i = 0; i < OPERATORS.length; i++) {
+        nanos[i] = entry.getValue().get(i);
+      }
+      columns.put(entry.getKey(), nanos);
+    }
+    return new ScanMetricsSnapshot(total, count, buckets, columns);
+  }
+
+  @Override public void reset() {
+    for (int i = 0; i < OPERATORS.length; i++) {
+      totalNanos[i].reset();
+      counts[i].reset();
+      histograms[i].reset();
+    }
+    columnNanos.clear();
+  }
+
+  @Override public Map<String, Long> getTotalTimeNanos() {
+    ScanMetricsSnapshot snapshot = snapshot();
+    Map<String, Long> result = new TreeMap<>();
+    for (Operator operator : OPERATORS) {
+      result.put(operator.name().toLowerCase(), snapshot.getTotalNanos(operator));
+    }
+    return result;
+  }
+
+  @Override public Map<String, Long> getCounts() {
+    ScanMetricsSnapshot snapshot = snapshot();
+    Map<String, Long> result = new TreeMap<>();
+    for (Operator operator : OPERATORS) {
+      result.put(operator.name().toLowerCase(), snapshot.getCount(operator));
+    }
+    return result;
+  }
+
+  @Override public Map<String, Long> getP50Nanos() {
+    return getPercentileNanos(50);
+  }
+
+  @Override public Map<String, Long> getP99Nanos() {
+    return getPercentileNanos(99);
+  }
+
+  private Map<String, Long> getPercentileNanos(double percentile) {
+    ScanMetricsSnapshot snapshot = snapshot();
+    Map<String, Long> result = new TreeMap<>();
+    for (Operator operator : OPERATORS) {
+      result.put(operator.name().toLowerCase(),
+          snapshot.getPercentileNanos(operator, percentile));
+    }
+    return result;
+  }
+
+  @Override public Map<String, Long> getColumnTimeNanos() {
+    ScanMetricsSnapshot snapshot = snapshot();
+    Map<String, Long> result = new TreeMap<>();
+    for (Operator operator : OPERATORS) {
+      for (Map.Entry<String, Long> entry : snapshot.getColumnNanos(operator).entrySet()) {
+        result.put(entry.getKey() + "/" + operator.name().toLowerCase(), entry.getValue());
+      }
+    }
+    return result;
+  }
+}
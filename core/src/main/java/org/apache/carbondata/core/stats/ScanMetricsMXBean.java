@@ -14,37 +14,34 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.apache.carbondata.core.datamap;
 
-import java.io.Serializable;
+package org.apache.carbondata.core.stats;
+
+import java.util.Map;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
 
 /**
- * Wrapper that have a group of selected datamap for segment.
- * this have information about from which index to which index need to process the datamap.
+ * JMX view of the {@link ScanMetrics} of the process, all the times are in nanoseconds and the
+ * maps are keyed by the lower case operator name
  */
-public class SegmentDataMapGroup implements Serializable {
+@InterfaceAudience.Developer("stats")
+public interface ScanMetricsMXBean {
 
-  private Segment segment;
+  boolean isEnabled();
 
-  private int fromIndex;
+  Map<String, Long> getTotalTimeNanos();
 
-  private int toIndex;
+  Map<String, Long> getCounts();
 
-  public SegmentDataMapGroup(Segment segment, int fromIndex, int toIndex) {
-    this.segment = segment;
-    this.fromIndex = fromIndex;
-    this.toIndex = toIndex;
-  }
+  Map<String, Long> getP50Nanos();
 
-  public Segment getSegment() {
-    return segment;
-  }
+  Map<String, Long> getP99Nanos();
 
-  public int getFromIndex() {
-    return fromIndex;
-  }
+  /**
+   * total time of each column and operator, keyed by column/operator
+   */
+  Map<String, Long> getColumnTimeNanos();
 
-  public int getToIndex() {
-    return toIndex;
-  }
+  void reset();
 }
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.stats;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.core.stats.ScanMetrics.Operator;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * Point in time copy of the {@link ScanMetrics} of one process. Snapshots of several executors
+ * can be merged to get the metrics of the cluster.
+ */
+@InterfaceAudience.Developer("stats")
+@InterfaceStability.Evolving
+public class ScanMetricsSnapshot implements Serializable {
+
+  private static final long serialVersionUID = 2516416342315226791L;
+
+  private static final int NUM_OPERATORS = Operator.values().length;
+
+  private final long[] totalNanos;
+
+  private final long[] counts;
+
+  private final long[][] histograms;
+
+  /**
+   * total time taken in nanoseconds of each operator for the column
+   */
+  private final Map<String, long[]> columnNanos;
+
+  ScanMetricsSnapshot(long[] totalNanos, long[] counts, long[][] histograms,
+      Map<String, long[]> columnNanos) {
+    this.totalNanos = totalNanos;
+    this.counts = counts;
+    this.histograms = histograms;
+    this.columnNanos = columnNanos;
+  }
+
+  /**
+   * Return an empty snapshot, to merge the snapshots of several processes into
+   */
+  public static ScanMetricsSnapshot empty() {
+    return new ScanMetricsSnapshot(new long[NUM_OPERATORS], new long[NUM_OPERATORS],
+        new long[NUM_OPERATORS][LatencyHistogram.NUM_BUCKETS], new TreeMap<String, long[]>());
+  }
+
+  /**
+   * total time taken by the operator in nanoseconds
+   */
+  public long getTotalNanos(Operator operator) {
+    return totalNanos[operator.ordinal()];
+  }
+
+  /**
+   * number of times the operator is recorded
+   */
+  public long getCount(Operator operator) {
+    return counts[operator.ordinal()];
+  }
+
+  /**
+   * Return the upper bound in nanoseconds of the duration of one operation under which the
+   * given percentage of the operations completed, 0 if the operator is not recorded
+   *
+   * @param percentile in the range (0, 100]
+   */
+  public long getPercentileNanos(Operator operator, double percentile) {
+    long[] buckets = histograms[operator.ordinal()];
+    long total = 0;
+    for (long count : buckets) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(total * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= rank) {
+        return LatencyHistogram.getUpperBound(i);
+      }
+    }
+    return LatencyHistogram.getUpperBound(buckets.length - 1);
+  }
+
+  /**
+   * total time taken by the operator for each column in nanoseconds
+   */
+  public Map<String, Long> getColumnNanos(Operator operator) {
+    Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, long[]> entry : columnNanos.entrySet()) {
+      long nanos = entry.getValue()[operator.ordinal()];
+      if (nanos > 0) {
+        result.put(entry.getKey(), nanos);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Add the metrics of the other snapshot to this snapshot
+   */
+  public ScanMetricsSnapshot merge(ScanMetricsSnapshot other) {
+    for (int i = 0; i < NUM_OPERATORS; i++) {
+      totalNanos[i] += other.totalNanos[i];
+      counts[i] += other.counts[i];
+      for (int j = 0; j < LatencyHistogram.NUM_BUCKETS; j++) {
+        histograms[i][j] += other.histograms[i][j];
+      }
+    }
+    for (Map.Entry<String, long[]> entry : other.columnNanos.entrySet()) {
+      long[] nanos = columnNanos.get(entry.getKey());
+      if (nanos == null) {
+        columnNanos.put(entry.getKey(), entry.getValue().clone());
+      } else {
+        for (int i = 0; i < NUM_OPERATORS; i++) {
+          nanos[i] += entry.getValue()[i];
+        }
+      }
+    }
+    return this;
+  }
+
+  @Override public String toString() {
+    String[] header = { "operator", "count", "total_time", "p50", "p99" };
+    Operator[] operators = Operator.values();
+    String[][] rows = new String[operators.length][];
+    for (int i = 0; i < operators.length; i++) {
+      rows[i] = new String[] { operators[i].name().toLowerCase(),
+          String.valueOf(counts[i]), toMillis(totalNanos[i]),
+          toMillis(getPercentileNanos(operators[i], 50)),
+          toMillis(getPercentileNanos(operators[i], 99)) };
+    }
+    StringBuilder builder = new StringBuilder();
+    CarbonUtil.logTable(builder, header, rows, "");
+    return builder.toString();
+  }
+
+  private static String toMillis(long nanos) {
+    return String.format("%.3fms", nanos / 1000000.0);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+
+/**
+ * Counter which spreads the updates of the threads over several cells, so that the scan
+ * threads updating the same counter do not contend on one cache line. The cells are summed
+ * only when the counter is read.
+ */
+@InterfaceAudience.Internal
+final class StripedCounter {
+
+  /**
+   * number of longs in a cache line, each cell is padded to one cache line
+   */
+  private static final int PADDING = 8;
+
+  private static final int STRIPES;
+
+  static {
+    int processors = Runtime.getRuntime().availableProcessors();
+    int stripes = 1;
+    while (stripes < processors && stripes < 64) {
+      stripes <<= 1;
+    }
+    STRIPES = stripes;
+  }
+
+  private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+  void add(long value) {
+    int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+    cells.addAndGet(stripe * PADDING, value);
+  }
+
+  long sum() {
+    long sum = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      sum += cells.get(i * PADDING);
+    }
+    return sum;
+  }
+
+  void reset() {
+    for (int i = 0; i < STRIPES; i++) {
+      cells.set(i * PADDING, 0);
+    }
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.carbondata.core.stats;
 import java.io.Serializable;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
@@ -74,7 +75,7 @@ public class TaskStatistics implements Serializable {
     this.files = files;
   }
 
-  public TaskStatistics build(long startTime, List<QueryStatistic> queryStatistics) {
+  public TaskStatistics build(long startTime, Collection<QueryStatistic> queryStatistics) {
     this.values[2] = startTime;
     for (QueryStatistic statistic : queryStatistics) {
       if (statistic.getMessage() != null) {
@@ -17,6 +17,9 @@
 
 package org.apache.carbondata.core.statusmanager;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -430,6 +433,67 @@ public class LoadMetadataDetails implements Serializable {
     this.segmentFile = segmentFile;
   }
 
+  /**
+   * Write the details in binary format of the tablestatus change log
+   */
+  void writeBinary(DataOutput out) throws IOException {
+    writeString(out, timestamp);
+    writeString(out, loadStatus == null ? null : loadStatus.name());
+    writeString(out, loadName);
+    writeString(out, partitionCount);
+    writeString(out, isDeleted);
+    writeString(out, dataSize);
+    writeString(out, indexSize);
+    writeString(out, updateDeltaEndTimestamp);
+    writeString(out, updateDeltaStartTimestamp);
+    writeString(out, updateStatusFileName);
+    writeString(out, modificationOrdeletionTimesStamp);
+    writeString(out, loadStartTime);
+    writeString(out, mergedLoadName);
+    writeString(out, visibility);
+    writeString(out, majorCompacted);
+    writeString(out, fileFormat == null ? null : fileFormat.name());
+    writeString(out, segmentFile);
+  }
+
+  /**
+   * Read the details written by {@link #writeBinary(DataOutput)}
+   */
+  static LoadMetadataDetails readBinary(DataInput in) throws IOException {
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    details.timestamp = readString(in);
+    String status = readString(in);
+    details.loadStatus = status == null ? null : SegmentStatus.valueOf(status);
+    details.loadName = readString(in);
+    details.partitionCount = readString(in);
+    details.isDeleted = readString(in);
+    details.dataSize = readString(in);
+    details.indexSize = readString(in);
+    details.updateDeltaEndTimestamp = readString(in);
+    details.updateDeltaStartTimestamp = readString(in);
+    details.updateStatusFileName = readString(in);
+    details.modificationOrdeletionTimesStamp = readString(in);
+    details.loadStartTime = readString(in);
+    details.mergedLoadName = readString(in);
+    details.visibility = readString(in);
+    details.majorCompacted = readString(in);
+    String format = readString(in);
+    details.fileFormat = format == null ? null : FileFormat.valueOf(format);
+    details.segmentFile = readString(in);
+    return details;
+  }
+
+  private static void writeString(DataOutput out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
   @Override public String toString() {
     return "LoadMetadataDetails{" + "loadStatus=" + loadStatus + ", loadName='" + loadName + '\''
         + ", loadStartTime='" + loadStartTime + '\'' + ", segmentFile='" + segmentFile + '\'' + '}';
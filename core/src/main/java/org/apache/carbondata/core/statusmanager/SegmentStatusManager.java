@@ -94,12 +94,7 @@ public class SegmentStatusManager {
   public static long getTableStatusLastModifiedTime(AbsoluteTableIdentifier identifier)
       throws IOException {
     String tableStatusPath = CarbonTablePath.getTableStatusFilePath(identifier.getTablePath());
-    if (!FileFactory.isFileExist(tableStatusPath, FileFactory.getFileType(tableStatusPath))) {
-      return 0L;
-    } else {
-      return FileFactory.getCarbonFile(tableStatusPath, FileFactory.getFileType(tableStatusPath))
-          .getLastModifiedTime();
-    }
+    return TableStatusLog.getLastModifiedTime(tableStatusPath);
   }
 
   public ValidAndInvalidSegmentsInfo getValidAndInvalidSegments() throws IOException {
@@ -233,6 +228,17 @@ public class SegmentStatusManager {
 
   public static LoadMetadataDetails[] readTableStatusFile(String tableStatusPath)
       throws IOException {
+    if (TableStatusLog.isSupported(tableStatusPath)) {
+      return TableStatusLog.read(tableStatusPath);
+    }
+    return readTableStatusJson(tableStatusPath);
+  }
+
+  /**
+   * Reads the load details from the JSON file, without applying the tablestatus change log
+   */
+  static LoadMetadataDetails[] readTableStatusJson(String tableStatusPath)
+      throws IOException {
     Gson gsonObjectToRead = new Gson();
     DataInputStream dataInputStream = null;
     BufferedReader buffReader = null;
@@ -483,7 +489,8 @@ public class SegmentStatusManager {
   }
 
   /**
-   * writes load details into a given file at @param dataLoadLocation
+   * writes load details into a given file at @param dataLoadLocation. For the tablestatus file
+   * of the table the changes are appended to its change log when it is enabled.
    *
    * @param dataLoadLocation
    * @param listOfLoadFolderDetailsArray
@@ -491,6 +498,18 @@ public class SegmentStatusManager {
    */
   public static void writeLoadDetailsIntoFile(String dataLoadLocation,
       LoadMetadataDetails[] listOfLoadFolderDetailsArray) throws IOException {
+    boolean logSupported = TableStatusLog.isSupported(dataLoadLocation);
+    if (logSupported && TableStatusLog.append(dataLoadLocation, listOfLoadFolderDetailsArray)) {
+      return;
+    }
+    writeTableStatusJson(dataLoadLocation, listOfLoadFolderDetailsArray);
+    if (logSupported) {
+      TableStatusLog.onCheckpoint(dataLoadLocation, listOfLoadFolderDetailsArray);
+    }
+  }
+
+  private static void writeTableStatusJson(String dataLoadLocation,
+      LoadMetadataDetails[] listOfLoadFolderDetailsArray) throws IOException {
     AtomicFileOperations fileWrite =
         AtomicFileOperationFactory.getAtomicFileOperations(dataLoadLocation);
     BufferedWriter brWriter = null;
@@ -0,0 +1,491 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Append only change log of the tablestatus file.
+ *
+ * The tablestatus JSON file is the checkpoint, the changes of the load details after it are
+ * appended to the tablestatus.log file as checksummed binary frames. Each frame records the
+ * modified time and length of the checkpoint it applies to, so the frames of an older
+ * checkpoint are ignored after the tablestatus file is rewritten. The tablestatus file is
+ * rewritten and the log is removed after a configured number of frames.
+ *
+ * The load details of the checkpoint and the applied frames are cached as a snapshot per
+ * tablestatus file, a read only applies the frames appended after the last read.
+ */
+final class TableStatusLog {
+
+  private static final Logger LOG =
+      LogServiceFactory.getLogService(TableStatusLog.class.getName());
+
+  static final String LOG_FILE_EXTENSION = ".log";
+
+  private static final int FRAME_MAGIC = 0x43534c47;
+
+  private static final byte PUT = 1;
+
+  private static final byte REMOVE = 2;
+
+  /**
+   * magic, payload length and checksum
+   */
+  private static final int FRAME_OVERHEAD = 4 + 4 + 8;
+
+  private static final int MAX_CACHED_SNAPSHOTS = 256;
+
+  private static final Map<String, Snapshot> SNAPSHOTS =
+      new LinkedHashMap<String, Snapshot>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+          return size() > MAX_CACHED_SNAPSHOTS;
+        }
+      };
+
+  private TableStatusLog() {
+  }
+
+  /**
+   * Only the tablestatus file of the table has change log, not the history or the uuid files
+   */
+  static boolean isSupported(String tableStatusPath) {
+    return CarbonTablePath.TABLE_STATUS_FILE.equals(
+        FileFactory.getCarbonFile(tableStatusPath).getName());
+  }
+
+  static boolean isEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE,
+        CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE_DEFAULT));
+  }
+
+  private static int getCheckpointInterval() {
+    int interval;
+    try {
+      interval = Integer.parseInt(CarbonProperties.getInstance().getProperty(
+          CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_CHECKPOINT_INTERVAL,
+          CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_CHECKPOINT_INTERVAL_DEFAULT));
+    } catch (NumberFormatException e) {
+      interval = Integer.parseInt(
+          CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_CHECKPOINT_INTERVAL_DEFAULT);
+    }
+    return interval;
+  }
+
+  static String getLogPath(String tableStatusPath) {
+    return tableStatusPath + LOG_FILE_EXTENSION;
+  }
+
+  /**
+   * Return the last modified time of the tablestatus file and its change log
+   */
+  static long getLastModifiedTime(String tableStatusPath) throws IOException {
+    long lastModifiedTime = 0L;
+    String[] paths = new String[] { tableStatusPath, getLogPath(tableStatusPath) };
+    for (String path : paths) {
+      if (FileFactory.isFileExist(path, FileFactory.getFileType(path))) {
+        lastModifiedTime = Math.max(lastModifiedTime,
+            FileFactory.getCarbonFile(path, FileFactory.getFileType(path)).getLastModifiedTime());
+      }
+    }
+    return lastModifiedTime;
+  }
+
+  /**
+   * Read the load details of the tablestatus file with the changes in its log applied
+   */
+  static LoadMetadataDetails[] read(String tableStatusPath) throws IOException {
+    CarbonFile logFile = FileFactory.getCarbonFile(getLogPath(tableStatusPath));
+    boolean logExists = logFile.exists();
+    if (!logExists && !isEnabled()) {
+      return SegmentStatusManager.readTableStatusJson(tableStatusPath);
+    }
+    Snapshot snapshot = getSnapshot(tableStatusPath, logFile, logExists);
+    if (snapshot == null) {
+      return SegmentStatusManager.readTableStatusJson(tableStatusPath);
+    }
+    synchronized (snapshot) {
+      return snapshot.toDetails();
+    }
+  }
+
+  /**
+   * Append the difference of the given details and the current details of the tablestatus file
+   * to the log. Caller must hold the table status lock.
+   *
+   * @return false if the change cannot be appended and the tablestatus file must be rewritten
+   */
+  static boolean append(String tableStatusPath, LoadMetadataDetails[] details) {
+    if (!isEnabled()) {
+      return false;
+    }
+    try {
+      CarbonFile logFile = FileFactory.getCarbonFile(getLogPath(tableStatusPath));
+      Snapshot snapshot = getSnapshot(tableStatusPath, logFile, logFile.exists());
+      if (snapshot == null) {
+        return false;
+      }
+      synchronized (snapshot) {
+        if (!snapshot.appendable || snapshot.frameCount >= getCheckpointInterval()) {
+          return false;
+        }
+        byte[] payload = snapshot.createFramePayload(details);
+        if (payload == null) {
+          return false;
+        }
+        if (payload.length == 0) {
+          // nothing changed
+          return true;
+        }
+        byte[] frame = createFrame(payload);
+        writeFrame(logFile.getPath(), frame, snapshot.logOffset > 0);
+        snapshot.applyFrame(payload, snapshot.logOffset + frame.length);
+      }
+      return true;
+    } catch (IOException | UnsupportedOperationException e) {
+      // file systems like S3 do not support append
+      LOG.warn("Failed to append to tablestatus log, rewriting tablestatus file", e);
+      return false;
+    }
+  }
+
+  /**
+   * Remove the change log after the tablestatus file is rewritten with the given details
+   */
+  static void onCheckpoint(String tableStatusPath, LoadMetadataDetails[] details) {
+    String logPath = getLogPath(tableStatusPath);
+    synchronized (SNAPSHOTS) {
+      SNAPSHOTS.remove(tableStatusPath);
+    }
+    try {
+      if (FileFactory.isFileExist(logPath, FileFactory.getFileType(logPath))) {
+        // the frames of the old checkpoint are ignored even if the delete fails
+        if (!FileFactory.getCarbonFile(logPath).delete()) {
+          LOG.warn("Failed to delete tablestatus log " + logPath);
+        }
+      }
+      if (isEnabled()) {
+        CarbonFile checkpoint = FileFactory.getCarbonFile(tableStatusPath);
+        Snapshot snapshot = new Snapshot(checkpoint.getLastModifiedTime(), checkpoint.getSize());
+        if (snapshot.addCheckpointDetails(details)) {
+          synchronized (SNAPSHOTS) {
+            SNAPSHOTS.put(tableStatusPath, snapshot);
+          }
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to clean tablestatus log " + logPath, e);
+    }
+  }
+
+  /**
+   * Remove the cached snapshots, used by the tests to read the files again
+   */
+  static void clearSnapshots() {
+    synchronized (SNAPSHOTS) {
+      SNAPSHOTS.clear();
+    }
+  }
+
+  /**
+   * Return the snapshot of the tablestatus file refreshed with the frames appended to the log,
+   * null if the load details cannot be kept as snapshot
+   */
+  private static Snapshot getSnapshot(String tableStatusPath, CarbonFile logFile,
+      boolean logExists) throws IOException {
+    CarbonFile checkpoint = FileFactory.getCarbonFile(tableStatusPath);
+    if (!checkpoint.exists()) {
+      return null;
+    }
+    long checkpointTime = checkpoint.getLastModifiedTime();
+    long checkpointLength = checkpoint.getSize();
+    long logLength = logExists ? logFile.getSize() : 0L;
+    Snapshot snapshot;
+    synchronized (SNAPSHOTS) {
+      snapshot = SNAPSHOTS.get(tableStatusPath);
+    }
+    if (snapshot != null) {
+      synchronized (snapshot) {
+        if (!snapshot.isValid(checkpointTime, checkpointLength, logLength)) {
+          snapshot = null;
+        }
+      }
+    }
+    if (snapshot == null) {
+      snapshot = new Snapshot(checkpointTime, checkpointLength);
+      if (!snapshot.addCheckpointDetails(
+          SegmentStatusManager.readTableStatusJson(tableStatusPath))) {
+        return null;
+      }
+      synchronized (SNAPSHOTS) {
+        SNAPSHOTS.put(tableStatusPath, snapshot);
+      }
+    }
+    synchronized (snapshot) {
+      if (logLength > snapshot.logOffset) {
+        snapshot.readFrames(logFile.getPath(), logLength);
+      }
+    }
+    return snapshot;
+  }
+
+  private static byte[] createFrame(byte[] payload) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(payload, 0, payload.length);
+    ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.length + FRAME_OVERHEAD);
+    DataOutputStream out = new DataOutputStream(frame);
+    out.writeInt(FRAME_MAGIC);
+    out.writeInt(payload.length);
+    out.write(payload);
+    out.writeLong(crc.getValue());
+    out.close();
+    return frame.toByteArray();
+  }
+
+  private static void writeFrame(String logPath, byte[] frame, boolean append)
+      throws IOException {
+    DataOutputStream out = null;
+    try {
+      out = FileFactory.getDataOutputStream(logPath, FileFactory.getFileType(logPath),
+          CarbonCommonConstants.BYTEBUFFER_SIZE, append);
+      // single write, a torn frame fails the checksum and is ignored by the readers
+      out.write(frame);
+      out.flush();
+    } finally {
+      CarbonUtil.closeStreams(out);
+    }
+  }
+
+  /**
+   * Load details of a checkpoint and the frames applied to it. The details are kept encoded,
+   * so a read decodes fresh objects which the caller can modify.
+   */
+  private static final class Snapshot {
+
+    private final long checkpointTime;
+
+    private final long checkpointLength;
+
+    /**
+     * segment name to encoded details, in the order of the tablestatus file
+     */
+    private final LinkedHashMap<String, byte[]> details = new LinkedHashMap<>();
+
+    /**
+     * end of the last valid frame in the log
+     */
+    private long logOffset;
+
+    /**
+     * number of frames of this checkpoint in the log
+     */
+    private int frameCount;
+
+    /**
+     * false if the log has a torn tail or frames of another checkpoint, then the next change
+     * rewrites the tablestatus file
+     */
+    private boolean appendable = true;
+
+    Snapshot(long checkpointTime, long checkpointLength) {
+      this.checkpointTime = checkpointTime;
+      this.checkpointLength = checkpointLength;
+    }
+
+    boolean isValid(long checkpointTime, long checkpointLength, long logLength) {
+      return this.checkpointTime == checkpointTime && this.checkpointLength == checkpointLength
+          && logLength >= logOffset;
+    }
+
+    /**
+     * @return false if the details cannot be keyed by segment name
+     */
+    boolean addCheckpointDetails(LoadMetadataDetails[] checkpointDetails) throws IOException {
+      for (LoadMetadataDetails detail : checkpointDetails) {
+        if (detail.getLoadName() == null
+            || details.put(detail.getLoadName(), encode(detail)) != null) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    LoadMetadataDetails[] toDetails() throws IOException {
+      LoadMetadataDetails[] result = new LoadMetadataDetails[details.size()];
+      int i = 0;
+      for (byte[] encoded : details.values()) {
+        result[i++] = LoadMetadataDetails.readBinary(
+            new DataInputStream(new ByteArrayInputStream(encoded)));
+      }
+      return result;
+    }
+
+    void readFrames(String logPath, long logLength) throws IOException {
+      DataInputStream in = FileFactory.getDataInputStream(logPath,
+          FileFactory.getFileType(logPath), CarbonCommonConstants.BYTEBUFFER_SIZE, logOffset);
+      try {
+        long offset = logOffset;
+        while (offset + FRAME_OVERHEAD <= logLength) {
+          if (in.readInt() != FRAME_MAGIC) {
+            break;
+          }
+          int length = in.readInt();
+          if (length < 0 || offset + FRAME_OVERHEAD + length > logLength) {
+            break;
+          }
+          byte[] payload = new byte[length];
+          in.readFully(payload);
+          CRC32 crc = new CRC32();
+          crc.update(payload, 0, length);
+          if (in.readLong() != crc.getValue()) {
+            break;
+          }
+          offset += FRAME_OVERHEAD + length;
+          applyFrame(payload, offset);
+        }
+      } catch (EOFException e) {
+        // frame being written, read it next time
+      } finally {
+        CarbonUtil.closeStreams(in);
+      }
+      if (logOffset != logLength) {
+        LOG.warn("tablestatus log " + logPath + " has incomplete frame at offset " + logOffset);
+        appendable = false;
+      }
+    }
+
+    void applyFrame(byte[] payload, long frameEnd) throws IOException {
+      logOffset = frameEnd;
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+      if (in.readLong() != checkpointTime || in.readLong() != checkpointLength) {
+        // frame of an older checkpoint
+        appendable = false;
+        return;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        byte operation = in.readByte();
+        String name = in.readUTF();
+        if (operation == PUT) {
+          byte[] encoded = new byte[in.readInt()];
+          in.readFully(encoded);
+          details.put(name, encoded);
+        } else if (operation == REMOVE) {
+          details.remove(name);
+        } else {
+          throw new IOException("Invalid tablestatus log operation " + operation);
+        }
+      }
+      frameCount++;
+    }
+
+    /**
+     * Create the frame payload changing this snapshot into the given details
+     *
+     * @return null if the change cannot be logged, empty if there is no change
+     */
+    byte[] createFramePayload(LoadMetadataDetails[] newDetails) throws IOException {
+      LinkedHashMap<String, byte[]> newEncoded = new LinkedHashMap<>();
+      for (LoadMetadataDetails detail : newDetails) {
+        if (detail.getLoadName() == null
+            || newEncoded.put(detail.getLoadName(), encode(detail)) != null) {
+          return null;
+        }
+      }
+      // applying the operations keeps the order of the existing segments and adds the new
+      // segments at the end, any other reordering needs a checkpoint
+      List<String> expectedOrder = new ArrayList<>(newEncoded.size());
+      List<String> removed = new ArrayList<>();
+      for (String name : details.keySet()) {
+        if (newEncoded.containsKey(name)) {
+          expectedOrder.add(name);
+        } else {
+          removed.add(name);
+        }
+      }
+      List<String> put = new ArrayList<>();
+      for (Map.Entry<String, byte[]> entry : newEncoded.entrySet()) {
+        byte[] existing = details.get(entry.getKey());
+        if (existing == null) {
+          expectedOrder.add(entry.getKey());
+          put.add(entry.getKey());
+        } else if (!Arrays.equals(existing, entry.getValue())) {
+          put.add(entry.getKey());
+        }
+      }
+      Iterator<String> expected = expectedOrder.iterator();
+      for (String name : newEncoded.keySet()) {
+        if (!name.equals(expected.next())) {
+          return null;
+        }
+      }
+      if (removed.isEmpty() && put.isEmpty()) {
+        return new byte[0];
+      }
+      ByteArrayOutputStream payload = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(payload);
+      out.writeLong(checkpointTime);
+      out.writeLong(checkpointLength);
+      out.writeInt(removed.size() + put.size());
+      for (String name : removed) {
+        out.writeByte(REMOVE);
+        out.writeUTF(name);
+      }
+      for (String name : put) {
+        byte[] encoded = newEncoded.get(name);
+        out.writeByte(PUT);
+        out.writeUTF(name);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+      }
+      out.close();
+      return payload.toByteArray();
+    }
+
+    private static byte[] encode(LoadMetadataDetails detail) throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+      DataOutputStream out = new DataOutputStream(bytes);
+      detail.writeBinary(out);
+      out.close();
+      return bytes.toByteArray();
+    }
+  }
+}
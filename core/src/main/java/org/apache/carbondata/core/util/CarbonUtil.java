@@ -25,6 +25,9 @@ import java.security.PrivilegedExceptionAction;
 import java.util.*;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CacheProvider;
+import org.apache.carbondata.core.cache.CacheType;
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.cache.dictionary.DictionaryColumnUniqueIdentifier;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -57,6 +60,7 @@ import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.metadata.SegmentFileStore;
 import org.apache.carbondata.core.metadata.ValueEncoderMeta;
+import org.apache.carbondata.core.metadata.blocklet.CacheableDataFileFooter;
 import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
 import org.apache.carbondata.core.metadata.blocklet.SegmentInfo;
 import org.apache.carbondata.core.metadata.converter.SchemaConverter;
@@ -916,6 +920,11 @@ public final class CarbonUtil {
       boolean forceReadDataFileFooter) throws IOException {
     BlockletDetailInfo detailInfo = tableBlockInfo.getDetailInfo();
     if (detailInfo == null || forceReadDataFileFooter) {
+      Cache<TableBlockInfo, CacheableDataFileFooter> footerCache =
+          getFooterCache(tableBlockInfo.getVersion());
+      if (footerCache != null) {
+        return footerCache.get(tableBlockInfo).getDataFileFooter();
+      }
       AbstractDataFileFooterConverter fileFooterConverter =
           DataFileFooterConverterFactory.getInstance()
               .getDataFileFooterConverter(tableBlockInfo.getVersion());
@@ -924,9 +933,18 @@ public final class CarbonUtil {
       DataFileFooter fileFooter = new DataFileFooter();
       fileFooter.setSchemaUpdatedTimeStamp(detailInfo.getSchemaUpdatedTimeStamp());
       ColumnarFormatVersion version = ColumnarFormatVersion.valueOf(detailInfo.getVersionNumber());
-      AbstractDataFileFooterConverter dataFileFooterConverter =
-          DataFileFooterConverterFactory.getInstance().getDataFileFooterConverter(version);
-      List<ColumnSchema> schema = dataFileFooterConverter.getSchema(tableBlockInfo);
+      // take the schema from the footer if it is cached instead of reading the file header
+      Cache<TableBlockInfo, CacheableDataFileFooter> footerCache = getFooterCache(version);
+      CacheableDataFileFooter cachedFooter =
+          footerCache == null ? null : footerCache.getIfPresent(tableBlockInfo);
+      List<ColumnSchema> schema;
+      if (cachedFooter != null) {
+        schema = cachedFooter.getColumnInTable();
+      } else {
+        AbstractDataFileFooterConverter dataFileFooterConverter =
+            DataFileFooterConverterFactory.getInstance().getDataFileFooterConverter(version);
+        schema = dataFileFooterConverter.getSchema(tableBlockInfo);
+      }
       fileFooter.setColumnInTable(schema);
       SegmentInfo segmentInfo = new SegmentInfo();
       segmentInfo.setColumnCardinality(detailInfo.getDimLens());
@@ -935,6 +953,19 @@ public final class CarbonUtil {
     }
   }
 
+  /**
+   * Return the footer cache if it is enabled, only the footers of V3 files are cached
+   */
+  private static Cache<TableBlockInfo, CacheableDataFileFooter> getFooterCache(
+      ColumnarFormatVersion version) {
+    if (version != ColumnarFormatVersion.V3 || !Boolean.parseBoolean(CarbonProperties
+        .getInstance().getProperty(CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED,
+            CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED_DEFAULT))) {
+      return null;
+    }
+    return CacheProvider.getInstance().createCache(CacheType.DATA_FILE_FOOTER);
+  }
+
   /**
    * Below method will be used to get the number of dimension column
    * in carbon column schema
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datamap;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataMapPruneSchedulerTest {
+
+  @Test public void testExecuteAllIndexes() throws IOException {
+    final AtomicIntegerArray counts = new AtomicIntegerArray(37);
+    final String callerName = Thread.currentThread().getName();
+    DataMapPruneScheduler.execute(counts.length(), new DataMapPruneScheduler.IndexedJob() {
+      @Override public void run(int index) {
+        Assert.assertEquals(callerName, Thread.currentThread().getName());
+        counts.incrementAndGet(index);
+      }
+    });
+    for (int i = 0; i < counts.length(); i++) {
+      Assert.assertEquals(1, counts.get(i));
+    }
+  }
+
+  @Test public void testNestedExecute() throws IOException {
+    final AtomicIntegerArray counts = new AtomicIntegerArray(16);
+    DataMapPruneScheduler.execute(4, new DataMapPruneScheduler.IndexedJob() {
+      @Override public void run(final int outer) throws IOException {
+        DataMapPruneScheduler.execute(4, new DataMapPruneScheduler.IndexedJob() {
+          @Override public void run(int inner) {
+            counts.incrementAndGet(outer * 4 + inner);
+          }
+        });
+      }
+    });
+    for (int i = 0; i < counts.length(); i++) {
+      Assert.assertEquals(1, counts.get(i));
+    }
+  }
+
+  @Test public void testFailurePropagated() {
+    try {
+      DataMapPruneScheduler.execute(8, new DataMapPruneScheduler.IndexedJob() {
+        @Override public void run(int index) throws IOException {
+          if (index == 5) {
+            throw new IOException("failed to read index 5");
+          }
+        }
+      });
+      Assert.fail("IOException expected");
+    } catch (IOException e) {
+      Assert.assertEquals("failed to read index 5", e.getMessage());
+    }
+  }
+
+  @Test public void testBlockingJobsKeepPoolBounded() throws IOException {
+    // many jobs wait on IO at the same time, the pool adds threads only for as many blocked jobs
+    // as its parallelism
+    final int parallelism = DataMapPruneScheduler.getNumOfThreadsForPruning();
+    int count = parallelism * 8;
+    final AtomicIntegerArray released = new AtomicIntegerArray(count);
+    final AtomicInteger maxPoolSize = new AtomicInteger();
+    DataMapPruneScheduler.execute(count, new DataMapPruneScheduler.IndexedJob() {
+      @Override public void run(int index) throws IOException {
+        int poolSize = ForkJoinTask.getPool().getPoolSize();
+        while (poolSize > maxPoolSize.get()) {
+          maxPoolSize.compareAndSet(maxPoolSize.get(), poolSize);
+        }
+        try {
+          Thread.sleep(20);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        released.set(index, 1);
+      }
+    }, true);
+    for (int i = 0; i < count; i++) {
+      Assert.assertEquals(1, released.get(i));
+    }
+    Assert.assertTrue("pool size " + maxPoolSize.get(), maxPoolSize.get() <= 2 * parallelism);
+  }
+
+  @Test public void testCallerFromOtherPoolRunsInPruningPool() throws Exception {
+    final ForkJoinPool otherPool = new ForkJoinPool(1);
+    final AtomicReference<ForkJoinPool> jobPool = new AtomicReference<>();
+    try {
+      otherPool.invoke(new RecursiveAction() {
+        @Override protected void compute() {
+          try {
+            DataMapPruneScheduler.execute(1, new DataMapPruneScheduler.IndexedJob() {
+              @Override public void run(int index) {
+                jobPool.set(ForkJoinTask.getPool());
+              }
+            });
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      });
+    } finally {
+      otherPool.shutdown();
+    }
+    Assert.assertNotNull(jobPool.get());
+    Assert.assertNotSame(otherPool, jobPool.get());
+  }
+}
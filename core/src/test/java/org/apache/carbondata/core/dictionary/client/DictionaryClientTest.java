@@ -18,7 +18,12 @@
 package org.apache.carbondata.core.dictionary.client;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -169,6 +174,53 @@ public class DictionaryClientTest {
     // Shutdown the server
   }
 
+  @Test public void testBatchClient() throws Exception {
+    NonSecureDictionaryClient client = new NonSecureDictionaryClient();
+    client.startClient(null, host, 5678, false);
+
+    Thread.sleep(1000);
+    // overlapping batches of values, sent together
+    List<DictionaryMessage> requests = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      DictionaryMessage ageKey = new DictionaryMessage();
+      ageKey.setColumnName(ageColumnSchema.getColumnName());
+      ageKey.setTableUniqueId("1");
+      ageKey.setType(DictionaryMessageType.BATCH_DICT_GENERATION);
+      List<String> values = new ArrayList<>();
+      for (int j = 0; j < 1000; j++) {
+        values.add(String.valueOf(i * 500 + j));
+      }
+      ageKey.setBatchData(values);
+      requests.add(ageKey);
+    }
+    List<DictionaryMessage> responses = client.getDictionaries(requests);
+    Assert.assertEquals(3, responses.size());
+
+    Map<String, Integer> dictionary = new HashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      List<String> values = requests.get(i).getBatchData();
+      int[] keys = responses.get(i).getBatchDictionaryValues();
+      Assert.assertEquals(values.size(), keys.length);
+      for (int j = 0; j < keys.length; j++) {
+        Integer previous = dictionary.put(values.get(j), keys[j]);
+        if (previous != null) {
+          Assert.assertEquals(previous.intValue(), keys[j]);
+        }
+      }
+    }
+    Assert.assertEquals(2000, dictionary.size());
+    Assert.assertEquals(2000, new HashSet<>(dictionary.values()).size());
+
+    DictionaryMessage sizeKey = new DictionaryMessage();
+    sizeKey.setColumnName(ageColumnSchema.getColumnName());
+    sizeKey.setTableUniqueId("1");
+    sizeKey.setData("0");
+    sizeKey.setType(DictionaryMessageType.SIZE);
+    Assert.assertEquals(2001, client.getDictionary(sizeKey).getDictionaryValue());
+
+    client.shutDown();
+  }
+
   @Test public void testToCheckIfCorrectTimeOutExceptionMessageIsThrown() {
     new MockUp<LinkedBlockingQueue<DictionaryMessage>>() {
       @SuppressWarnings("unused")
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore;
+
+import java.util.BitSet;
+
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MinMaxColumnDMStoreTest {
+
+  private static byte[] bytes(String value) {
+    return ByteUtil.toBytes(value);
+  }
+
+  /**
+   * column 0 holds fixed width values and column 1 variable width values
+   */
+  private MinMaxColumnDMStore createStore(boolean addToUnsafe) throws MemoryException {
+    MinMaxColumnDMStore store = new MinMaxColumnDMStore(2);
+    for (int i = 0; i < 100; i++) {
+      byte[][] minValues = new byte[][] { ByteUtil.toBytes(i * 10), bytes("minmax__" + i) };
+      byte[][] maxValues =
+          new byte[][] { ByteUtil.toBytes(i * 10 + 9), bytes("minmax__" + i + "z") };
+      store.addRow(minValues, maxValues, new boolean[] { true, i % 2 == 0 });
+    }
+    store.finishWriting(addToUnsafe);
+    return store;
+  }
+
+  @Test public void testReadValues() throws MemoryException {
+    for (boolean addToUnsafe : new boolean[] { false, true }) {
+      MinMaxColumnDMStore store = createStore(addToUnsafe);
+      try {
+        Assert.assertEquals(100, store.getRowCount());
+        for (int i = 0; i < 100; i++) {
+          Assert.assertArrayEquals(ByteUtil.toBytes(i * 10), store.getMinValues(i)[0]);
+          Assert.assertArrayEquals(ByteUtil.toBytes(i * 10 + 9), store.getMaxValues(i)[0]);
+          Assert.assertArrayEquals(bytes("minmax__" + i), store.getMinValues(i)[1]);
+          Assert.assertArrayEquals(bytes("minmax__" + i + "z"), store.getMaxValues(i)[1]);
+          Assert.assertTrue(store.getMinMaxFlag(i)[0]);
+          Assert.assertEquals(i % 2 == 0, store.getMinMaxFlag(i)[1]);
+        }
+      } finally {
+        store.freeMemory();
+      }
+    }
+  }
+
+  @Test public void testPruneByPrefix() throws MemoryException {
+    MinMaxColumnDMStore store = createStore(true);
+    try {
+      BitSet rows = new BitSet();
+      rows.set(0, 100);
+      store.pruneByPrefix(0, new byte[][] { ByteUtil.toBytes(255), ByteUtil.toBytes(993) }, rows);
+      Assert.assertEquals(2, rows.cardinality());
+      Assert.assertTrue(rows.get(25));
+      Assert.assertTrue(rows.get(99));
+
+      // prefixes of the values are same, so the rows can not be pruned on the prefix
+      rows.set(0, 100);
+      store.pruneByPrefix(1, new byte[][] { bytes("minmax__500") }, rows);
+      Assert.assertEquals(100, rows.cardinality());
+
+      // rows without min and max for the column are never pruned
+      rows.set(0, 100);
+      store.pruneByPrefix(1, new byte[][] { bytes("a") }, rows);
+      Assert.assertEquals(50, rows.cardinality());
+      Assert.assertEquals(1, rows.nextSetBit(0));
+    } finally {
+      store.freeMemory();
+    }
+  }
+
+  @Test public void testPrefixOrder() {
+    byte[][] values = new byte[][] { new byte[0], new byte[] { 0 }, new byte[] { 1, -1 },
+        new byte[] { 127 }, new byte[] { -128 }, new byte[] { -1, -1, -1, -1, -1, -1, -1, -1, 0 } };
+    for (int i = 1; i < values.length; i++) {
+      Assert.assertTrue(ByteUtil.UnsafeComparer.INSTANCE.compareTo(values[i - 1], values[i]) < 0);
+      Assert.assertTrue(MinMaxColumnDMStore.getPrefix(values[i - 1])
+          <= MinMaxColumnDMStore.getPrefix(values[i]));
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datamap.Segment;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockletIndexServerTest {
+
+  private static final String SECRET = "index-service-test-secret";
+
+  private BlockletIndexServer server;
+
+  private RecordingIndexService recordingService;
+
+  @Before public void setUp() throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_INDEX_SERVICE_SECRET, SECRET);
+    recordingService = new RecordingIndexService();
+    server = new BlockletIndexServer(0, recordingService);
+    server.start();
+  }
+
+  @After public void tearDown() {
+    server.stop();
+    CarbonProperties.getInstance()
+        .removeProperty(CarbonCommonConstants.CARBON_INDEX_SERVICE_SECRET);
+  }
+
+  private static CarbonTable createTable(long lastUpdatedTime) {
+    ColumnSchema column = new ColumnSchema();
+    column.setColumnName("name");
+    column.setColumnUniqueId(UUID.randomUUID().toString());
+    column.setDataType(DataTypes.STRING);
+    column.setDimensionColumn(true);
+    column.setEncodingList(new ArrayList<Encoding>());
+    TableSchema tableSchema = new TableSchema();
+    tableSchema.setListOfColumns(Collections.singletonList(column));
+    tableSchema.setTableId("1");
+    tableSchema.setTableName("index_service_table");
+    TableInfo tableInfo = new TableInfo();
+    tableInfo.setDatabaseName("default");
+    tableInfo.setLastUpdatedTime(lastUpdatedTime);
+    tableInfo.setTableUniqueName("default_index_service_table");
+    tableInfo.setFactTable(tableSchema);
+    tableInfo.setTablePath("./index_service_table");
+    return CarbonTable.buildFromTableInfo(tableInfo);
+  }
+
+  @Test public void testPruneThroughServer() throws IOException {
+    RemoteBlockletIndexService client = new RemoteBlockletIndexService("localhost",
+        server.getPort(), 10000, SECRET.getBytes(Charset.forName("UTF-8")));
+    CarbonTable carbonTable = createTable(1000L);
+    List<ExtendedBlocklet> blocklets = client.prune(carbonTable,
+        Collections.singletonList(new Segment("0")), null, null);
+    Assert.assertEquals(1, blocklets.size());
+    Assert.assertEquals("0", blocklets.get(0).getSegmentId());
+    Assert.assertEquals("part-0-0.carbondata", blocklets.get(0).getPath());
+
+    // same schema is served by the table built for the first request
+    client.prune(carbonTable, Collections.singletonList(new Segment("0")), null, null);
+    Assert.assertEquals(2, recordingService.tables.size());
+    Assert.assertSame(recordingService.tables.get(0), recordingService.tables.get(1));
+
+    client.prune(createTable(2000L), Collections.singletonList(new Segment("0")), null, null);
+    Assert.assertNotSame(recordingService.tables.get(1), recordingService.tables.get(2));
+    Assert.assertEquals(2000L, recordingService.tables.get(2).getTableLastUpdatedTime());
+  }
+
+  @Test public void testServerClosesConnectionOfUnauthenticatedClient() throws IOException {
+    Socket socket = new Socket();
+    try {
+      socket.setSoTimeout(10000);
+      socket.connect(new InetSocketAddress("localhost", server.getPort()));
+      DataInputStream in = new DataInputStream(socket.getInputStream());
+      byte[] challenge = new byte[16];
+      in.readFully(challenge);
+      // client challenge followed by a proof made without the secret
+      socket.getOutputStream().write(new byte[16 + 32]);
+      socket.getOutputStream().flush();
+      Assert.assertEquals(-1, in.read());
+    } finally {
+      socket.close();
+    }
+    Assert.assertTrue(recordingService.tables.isEmpty());
+  }
+
+  @Test public void testMessageClassesAreRestricted() throws Exception {
+    Assert.assertTrue(IndexServiceProtocol.isAllowed(IndexServiceMessage.class.getName()));
+    Assert.assertTrue(IndexServiceProtocol.isAllowed("java.util.ArrayList"));
+    Assert.assertTrue(IndexServiceProtocol.isAllowed("[B"));
+    Assert.assertTrue(
+        IndexServiceProtocol.isAllowed("[Lorg.apache.carbondata.core.datamap.Segment;"));
+    Assert.assertFalse(IndexServiceProtocol.isAllowed("java.util.PriorityQueue"));
+    Assert.assertFalse(IndexServiceProtocol
+        .isAllowed("org.apache.commons.collections.functors.InvokerTransformer"));
+    Assert.assertFalse(IndexServiceProtocol.isAllowed("[Ljava.lang.Runtime;"));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(new PriorityQueue<String>(Collections.singletonList("a")));
+    out.close();
+    InputStream in = new ByteArrayInputStream(bytes.toByteArray());
+    try {
+      IndexServiceProtocol.newObjectInputStream(in).readObject();
+      Assert.fail("PriorityQueue must not be deserialized");
+    } catch (InvalidClassException e) {
+      Assert.assertTrue(e.getMessage().contains("java.util.PriorityQueue"));
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testServerDoesNotStartWithoutSecret() throws IOException {
+    CarbonProperties.getInstance()
+        .removeProperty(CarbonCommonConstants.CARBON_INDEX_SERVICE_SECRET);
+    new BlockletIndexServer(0, recordingService).start();
+  }
+
+  @Test public void testFactoryReturnsOverrideService() {
+    Assert.assertNull(BlockletIndexServiceFactory.getService());
+    BlockletIndexServiceFactory.setService(recordingService);
+    try {
+      Assert.assertSame(recordingService, BlockletIndexServiceFactory.getService());
+    } finally {
+      BlockletIndexServiceFactory.setService(null);
+    }
+  }
+
+  /**
+   * In process stand-in of the index service, which records the tables it is called with
+   */
+  private static class RecordingIndexService implements BlockletIndexService {
+
+    private final List<CarbonTable> tables = Collections.synchronizedList(
+        new ArrayList<CarbonTable>());
+
+    @Override public List<ExtendedBlocklet> prune(CarbonTable carbonTable,
+        List<Segment> segments, FilterResolverIntf filter, List<PartitionSpec> partitions) {
+      tables.add(carbonTable);
+      List<ExtendedBlocklet> blocklets = new ArrayList<>();
+      for (Segment segment : segments) {
+        ExtendedBlocklet blocklet = new ExtendedBlocklet("part-0-0.carbondata", "0");
+        blocklet.setSegmentId(segment.getSegmentNo());
+        blocklets.add(blocklet);
+      }
+      return blocklets;
+    }
+
+    @Override public void invalidateSegments(CarbonTable carbonTable, List<Segment> segments) {
+      tables.add(carbonTable);
+    }
+  }
+}
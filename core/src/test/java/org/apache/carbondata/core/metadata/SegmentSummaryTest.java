@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import com.google.gson.Gson;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentSummaryTest {
+
+  private static SegmentSummary createSummary() {
+    List<ColumnSchema> columns = new ArrayList<>();
+    for (String name : new String[] { "name", "city" }) {
+      ColumnSchema column = new ColumnSchema();
+      column.setColumnName(name);
+      column.setColumnUniqueId(name + "_id");
+      column.setDataType(DataTypes.STRING);
+      column.setDimensionColumn(true);
+      columns.add(column);
+    }
+    SegmentSummary summary = new SegmentSummary(columns, new int[] { -1, -1 });
+    summary.addBlocklet(new byte[][] { ByteUtil.toBytes("bb"), ByteUtil.toBytes("x") },
+        new byte[][] { ByteUtil.toBytes("dd"), ByteUtil.toBytes("y") }, null, 100);
+    summary.addBlocklet(new byte[][] { ByteUtil.toBytes("aa"), ByteUtil.toBytes("y") },
+        new byte[][] { ByteUtil.toBytes("cc"), ByteUtil.toBytes("z") },
+        new boolean[] { true, false }, 50);
+    return summary;
+  }
+
+  @Test public void testMergeBlocklets() {
+    SegmentSummary summary = createSummary();
+    Assert.assertEquals(150, summary.getRowCount());
+    Assert.assertEquals(2, summary.getBlockletCount());
+    Assert.assertArrayEquals(ByteUtil.toBytes("aa"), summary.getMinValues()[0]);
+    Assert.assertArrayEquals(ByteUtil.toBytes("dd"), summary.getMaxValues()[0]);
+    Assert.assertArrayEquals(ByteUtil.toBytes("x"), summary.getMinValues()[1]);
+    Assert.assertArrayEquals(ByteUtil.toBytes("z"), summary.getMaxValues()[1]);
+    Assert.assertTrue(summary.getMinMaxFlag()[0]);
+    Assert.assertFalse(summary.getMinMaxFlag()[1]);
+  }
+
+  @Test public void testJsonRoundTrip() {
+    Gson gson = new Gson();
+    SegmentSummary summary =
+        gson.fromJson(gson.toJson(createSummary()), SegmentSummary.class);
+    Assert.assertEquals(150, summary.getRowCount());
+    Assert.assertEquals("city_id", summary.getColumnIds().get(1));
+    Assert.assertArrayEquals(ByteUtil.toBytes("aa"), summary.getMinValues()[0]);
+    Assert.assertArrayEquals(ByteUtil.toBytes("z"), summary.getMaxValues()[1]);
+  }
+
+  @Test public void testScanRequiredWithoutMinMax() {
+    Assert.assertTrue(new SegmentSummary().isScanRequired(null, null, "0"));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.metadata.blocklet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DataFileFooterCacheTest {
+
+  private static final String FILE =
+      "/store/db/t1/Fact/Part0/Segment_0/part-0-0_batchno0-0-0-1.carbondata";
+
+  private DataFileFooter createFooter() {
+    BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex();
+    minMaxIndex.setMinValues(new byte[][] { new byte[] { 1 }, new byte[] { 2 } });
+    minMaxIndex.setMaxValues(new byte[][] { new byte[] { 8 }, new byte[] { 9 } });
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setDimensionChunkOffsets(Arrays.asList(0L, 100L));
+    blockletInfo.setMeasureChunkOffsets(Arrays.asList(200L));
+    blockletInfo.setBlockletIndex(new BlockletIndex(null, minMaxIndex));
+    List<BlockletInfo> blockletList = new ArrayList<>();
+    blockletList.add(blockletInfo);
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("c1");
+    columnSchema.setColumnUniqueId("c1_id");
+    columnSchema.setDataType(DataTypes.STRING);
+    columnSchema.setDimensionColumn(true);
+    List<ColumnSchema> columnInTable = new ArrayList<>();
+    columnInTable.add(columnSchema);
+    DataFileFooter footer = new DataFileFooter();
+    footer.setBlockletList(blockletList);
+    footer.setColumnInTable(columnInTable);
+    return footer;
+  }
+
+  private TableBlockInfo createBlockInfo(long footerOffset) {
+    return new TableBlockInfo(FILE, footerOffset, "0", new String[] { "localhost" }, 1024L,
+        ColumnarFormatVersion.V3, null);
+  }
+
+  @Test public void testFooterIsCachedByFileAndOffset() {
+    DataFileFooterCache cache = new DataFileFooterCache(new CarbonLRUCache("prop1", "-1"));
+    CacheableDataFileFooter footer = new CacheableDataFileFooter(createFooter());
+    assertTrue(footer.getMemorySize() > 0);
+    cache.put(createBlockInfo(500L), footer);
+    assertSame(footer, cache.getIfPresent(createBlockInfo(500L)));
+    assertNull(cache.getIfPresent(createBlockInfo(600L)));
+    cache.invalidate(createBlockInfo(500L));
+    assertNull(cache.getIfPresent(createBlockInfo(500L)));
+  }
+
+  @Test public void testReadersDoNotModifyCachedFooter() {
+    CacheableDataFileFooter cachedFooter = new CacheableDataFileFooter(createFooter());
+    DataFileFooter firstQueryFooter = cachedFooter.getDataFileFooter();
+    DataFileFooter secondQueryFooter = cachedFooter.getDataFileFooter();
+    assertNotSame(firstQueryFooter.getBlockletList().get(0),
+        secondQueryFooter.getBlockletList().get(0));
+
+    // the first query updates its footer the way the query executor and the data ref node do
+    BlockletInfo blockletInfo = firstQueryFooter.getBlockletList().get(0);
+    blockletInfo.setNumberOfRows(10);
+    blockletInfo.setNumberOfPages(2);
+    blockletInfo.setNumberOfRowsPerPage(new int[] { 5, 5 });
+    BlockletMinMaxIndex minMaxIndex = blockletInfo.getBlockletIndex().getMinMaxIndex();
+    minMaxIndex.setMinValues(new byte[][] { new byte[] { 0 } });
+    minMaxIndex.setMaxValues(new byte[][] { new byte[] { 0 } });
+    firstQueryFooter.getColumnInTable().clear();
+
+    // neither the footer of the second query nor the footer handed out later see the updates
+    for (DataFileFooter footer : Arrays
+        .asList(secondQueryFooter, cachedFooter.getDataFileFooter())) {
+      BlockletInfo unchangedInfo = footer.getBlockletList().get(0);
+      assertEquals(0, unchangedInfo.getNumberOfRows());
+      assertEquals(1, unchangedInfo.getNumberOfPages());
+      assertNull(unchangedInfo.getNumberOfRowsPerPage());
+      BlockletMinMaxIndex unchangedIndex = unchangedInfo.getBlockletIndex().getMinMaxIndex();
+      assertArrayEquals(new byte[][] { new byte[] { 1 }, new byte[] { 2 } },
+          unchangedIndex.getMinValues());
+      assertArrayEquals(new byte[][] { new byte[] { 8 }, new byte[] { 9 } },
+          unchangedIndex.getMaxValues());
+      assertEquals(1, footer.getColumnInTable().size());
+      assertEquals(Arrays.asList(0L, 100L), unchangedInfo.getDimensionChunkOffsets());
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.mutate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.scan.executor.infos.DeleteDeltaInfo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeleteDeltaCacheTest {
+
+  private static final String BLOCK = "/store/db/t1/Fact/Part0/Segment_0/part-0-0_batchno0-0-0-1";
+
+  private BlockDeletedRows createDeletedRows(long timestamp, int... rows) {
+    Set<Integer> deleted = new HashSet<>();
+    for (int row : rows) {
+      deleted.add(row);
+    }
+    DeleteDeltaVo deleteDeltaVo = new DeleteDeltaVo();
+    deleteDeltaVo.insertData(deleted);
+    Map<String, DeleteDeltaVo> deletedRowsMap = new HashMap<>();
+    deletedRowsMap.put("0_0", deleteDeltaVo);
+    return new BlockDeletedRows(deletedRowsMap, timestamp);
+  }
+
+  private DeleteDeltaInfo createInfo(long timestamp) {
+    return new DeleteDeltaInfo(BLOCK,
+        new String[] { BLOCK + "-" + timestamp + CarbonCommonConstants.DELETE_DELTA_FILE_EXT });
+  }
+
+  @Test public void testDeleteDeltaVo() {
+    BlockDeletedRows deletedRows = createDeletedRows(1L, 1, 5, 6, 7, 100);
+    DeleteDeltaVo deleteDeltaVo = deletedRows.getDeletedRowsMap().get("0_0");
+    assertEquals(5, deleteDeltaVo.getDeletedRowCount());
+    assertTrue(deleteDeltaVo.containsRow(6));
+    assertFalse(deleteDeltaVo.containsRow(8));
+    assertEquals(5, deleteDeltaVo.getBitSet().cardinality());
+    assertTrue(deletedRows.getMemorySize() > 0);
+  }
+
+  @Test public void testEntriesKeyedByDeleteDeltaTimestamp() {
+    DeleteDeltaCache cache = new DeleteDeltaCache(new CarbonLRUCache("prop1", "10"));
+    DeleteDeltaInfo older = createInfo(1000L);
+    DeleteDeltaInfo newer = createInfo(2000L);
+    cache.put(older, createDeletedRows(1000L, 1));
+    cache.put(newer, createDeletedRows(2000L, 1, 2));
+    // the entry of the older delete delta is left to the LRU eviction
+    assertEquals(1,
+        cache.getIfPresent(older).getDeletedRowsMap().get("0_0").getDeletedRowCount());
+    assertEquals(2,
+        cache.getIfPresent(newer).getDeletedRowsMap().get("0_0").getDeletedRowCount());
+    cache.invalidate(newer);
+    assertNull(cache.getIfPresent(newer));
+  }
+
+  @Test public void testNotCachedWithoutLRUCacheSize() {
+    // nothing is evicted from the LRU cache if its size is not configured
+    DeleteDeltaCache cache = new DeleteDeltaCache(new CarbonLRUCache("prop1", "-1"));
+    DeleteDeltaInfo info = createInfo(1000L);
+    cache.put(info, createDeletedRows(1000L, 1));
+    assertNull(cache.getIfPresent(info));
+  }
+}
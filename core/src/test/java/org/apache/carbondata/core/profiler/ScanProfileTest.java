@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.profiler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScanProfileTest {
+
+  @Test public void testMergeTaskProfiles() {
+    ScanProfile driverProfile = new ScanProfile();
+    assertTrue(driverProfile.isEmpty());
+    for (int i = 0; i < 2; i++) {
+      ScanProfile taskProfile = new ScanProfile();
+      Map<String, QueryStatistic> statistics = new HashMap<>();
+      addStatistic(statistics, QueryStatisticsConstants.TOTAL_PAGE_SCANNED, 10);
+      addStatistic(statistics, QueryStatisticsConstants.PAGE_SCANNED, 6);
+      addStatistic(statistics, QueryStatisticsConstants.VALID_PAGE_SCANNED, 4);
+      taskProfile.addScanStatistics(statistics);
+      taskProfile.getFilterStats(0, "AND").addBlocklet(100, 20, 1000);
+      taskProfile.getFilterStats(1, "INCLUDE c1 = 1").addBlocklet(100, 50, 1000);
+      taskProfile.getFilterStats(1, "INCLUDE c2 = 2").addBlocklet(50, 20, 1000);
+      taskProfile.addColumnBytes("c1", 100, 400);
+      taskProfile.addTaskTime(10 + i);
+      driverProfile.merge(taskProfile);
+    }
+    assertEquals(2, driverProfile.getNumTasks());
+    assertEquals(20, driverProfile.getTotalPages());
+    assertEquals(12, driverProfile.getScannedPages());
+    assertEquals(8, driverProfile.getValidPages());
+    ScanProfile.FilterStats filterStats = driverProfile.getFilterStats(1, "INCLUDE c2 = 2");
+    assertEquals(100, filterStats.getRowsIn());
+    assertEquals(40, filterStats.getRowsOut());
+    String output = driverProfile.toString();
+    assertTrue(output.contains(" - executed: 2 tasks, total 21 ms, max 11 ms"));
+    assertTrue(output.contains("    - pruned by page min/max: 8 pages"));
+    assertTrue(output.contains("    -   INCLUDE c1 = 1: 2 blocklets, 100 of 200 rows selected"));
+    assertTrue(output.contains("    - c1: read 200 bytes, decompressed 800 bytes"));
+    // filter nodes are printed in pre-order of the tree
+    assertTrue(output.indexOf("AND") < output.indexOf("INCLUDE c1 = 1"));
+    assertTrue(output.indexOf("INCLUDE c1 = 1") < output.indexOf("INCLUDE c2 = 2"));
+  }
+
+  private static void addStatistic(Map<String, QueryStatistic> statistics, String key,
+      long count) {
+    QueryStatistic statistic = new QueryStatistic();
+    statistic.addCountStatistic(key, count);
+    statistics.put(key, statistic);
+  }
+}
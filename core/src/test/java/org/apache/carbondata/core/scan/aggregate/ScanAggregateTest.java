@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.aggregate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScanAggregateTest {
+
+  private static CarbonMeasure createMeasure(DataType dataType, int scale) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("m1");
+    columnSchema.setDataType(dataType);
+    columnSchema.setScale(scale);
+    columnSchema.setDimensionColumn(false);
+    return new CarbonMeasure(columnSchema, 0);
+  }
+
+  private static CarbonDimension createDimension(DataType dataType, Encoding... encodings) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("d1");
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(true);
+    List<Encoding> encodingList = new ArrayList<>();
+    for (Encoding encoding : encodings) {
+      encodingList.add(encoding);
+    }
+    columnSchema.setEncodingList(encodingList);
+    return new CarbonDimension(columnSchema, 0, 0, 0);
+  }
+
+  @Test public void testSupportedAggregates() {
+    assertTrue(ScanAggregate.isSupported(AggregateFunction.COUNT, null));
+    assertFalse(ScanAggregate.isSupported(AggregateFunction.SUM, null));
+    CarbonMeasure intMeasure = createMeasure(DataTypes.INT, 0);
+    for (AggregateFunction function : AggregateFunction.values()) {
+      assertTrue(ScanAggregate.isSupported(function, intMeasure));
+    }
+    assertFalse(
+        ScanAggregate.isSupported(AggregateFunction.MAX, createMeasure(DataTypes.FLOAT, 0)));
+    CarbonDimension date =
+        createDimension(DataTypes.DATE, Encoding.DICTIONARY, Encoding.DIRECT_DICTIONARY);
+    assertTrue(ScanAggregate.isSupported(AggregateFunction.MIN, date));
+    assertFalse(ScanAggregate.isSupported(AggregateFunction.SUM, date));
+    assertFalse(ScanAggregate.isSupported(AggregateFunction.MIN,
+        createDimension(DataTypes.STRING, Encoding.INVERTED_INDEX)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedAggregateIsRejected() {
+    new ScanAggregate(AggregateFunction.SUM, null);
+  }
+
+  @Test public void testMergePartialResults() {
+    CarbonMeasure longMeasure = createMeasure(DataTypes.LONG, 0);
+    ScanAggregate count = new ScanAggregate(AggregateFunction.COUNT, null);
+    assertEquals(5L, count.merge(2L, 3L));
+    ScanAggregate sum = new ScanAggregate(AggregateFunction.SUM, longMeasure);
+    assertEquals(5L, sum.merge(2L, 3L));
+    assertEquals(3L, sum.merge(null, 3L));
+    ScanAggregate min = new ScanAggregate(AggregateFunction.MIN, longMeasure);
+    assertEquals(2L, min.merge(2L, 3L));
+    ScanAggregate max = new ScanAggregate(AggregateFunction.MAX, longMeasure);
+    assertEquals(3L, max.merge(2L, 3L));
+    assertNull(max.merge(null, null));
+  }
+
+  @Test public void testAccumulateIntegralMeasure() {
+    CarbonMeasure intMeasure = createMeasure(DataTypes.INT, 0);
+    AggregateAccumulator sum =
+        new AggregateAccumulator(new ScanAggregate(AggregateFunction.SUM, intMeasure));
+    AggregateAccumulator min =
+        new AggregateAccumulator(new ScanAggregate(AggregateFunction.MIN, intMeasure));
+    AggregateAccumulator count =
+        new AggregateAccumulator(new ScanAggregate(AggregateFunction.COUNT, intMeasure));
+    assertNull(sum.getResult());
+    assertNull(min.getResult());
+    for (AggregateAccumulator accumulator : new AggregateAccumulator[] { sum, min, count }) {
+      accumulator.addPage(3, 10L, 2L, 5L);
+      accumulator.addPage(0, 0L, Long.MAX_VALUE, Long.MIN_VALUE);
+      accumulator.addValue(7, 2);
+      accumulator.addStatistics(-1);
+    }
+    assertEquals(24L, sum.getResult());
+    assertEquals(-1, min.getResult());
+    assertEquals(5L, count.getResult());
+  }
+
+  @Test public void testAccumulateDecimalAndDoubleMeasure() {
+    CarbonMeasure decimalMeasure = createMeasure(DataTypes.createDecimalType(10, 2), 2);
+    AggregateAccumulator sum =
+        new AggregateAccumulator(new ScanAggregate(AggregateFunction.SUM, decimalMeasure));
+    sum.addPage(2, new BigDecimal("3.50"), new BigDecimal("1.25"), new BigDecimal("2.25"));
+    sum.addValue(new BigDecimal("1.00"), 3);
+    assertEquals(new BigDecimal("6.50"), sum.getResult());
+    AggregateAccumulator max =
+        new AggregateAccumulator(new ScanAggregate(AggregateFunction.MAX, decimalMeasure));
+    max.addStatistics(new BigDecimal("4.5"));
+    assertEquals(new BigDecimal("4.50"), max.getResult());
+
+    CarbonMeasure doubleMeasure = createMeasure(DataTypes.DOUBLE, 0);
+    AggregateAccumulator doubleSum =
+        new AggregateAccumulator(new ScanAggregate(AggregateFunction.SUM, doubleMeasure));
+    doubleSum.addPage(2, 1.5d, 0.5d, 1.0d);
+    assertEquals(1.5d, (Double) doubleSum.getResult(), 0);
+  }
+
+  @Test public void testCountRows() {
+    AggregateAccumulator count =
+        new AggregateAccumulator(new ScanAggregate(AggregateFunction.COUNT, null));
+    count.addRows(32000);
+    count.addRows(10);
+    assertEquals(32010L, count.getResult());
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.SegmentPropertiesTestUtil;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.indexstore.BlockletDetailInfo;
+import org.apache.carbondata.core.indexstore.blockletindex.IndexWrapper;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.result.ScanResultCache;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CachingDataBlockIteratorTest {
+
+  private static final String FILE =
+      "/store/db/t1/Fact/Part0/Segment_0/part-0-0_batchno0-0-0-1.carbondata";
+
+  private static final int BATCH_SIZE = 4;
+
+  private static final int NUM_ROWS = 10;
+
+  private ScanResultCache resultCache;
+
+  /**
+   * rows returned by the scan of the block
+   */
+  private List<Object[]> blockRows;
+
+  /**
+   * number of rows scanned from the block
+   */
+  private int scannedRowCount;
+
+  @Before public void setUp() {
+    // the size of the LRU cache is the default of 10 MB as the property is not set
+    resultCache = new ScanResultCache(new CarbonLRUCache("carbon.scan.result.test.size", "10"));
+    blockRows = createRows(NUM_ROWS);
+    scannedRowCount = 0;
+    new MockUp<DataBlockIterator>() {
+      private int rowIndex;
+
+      @Mock public void $init(BlockExecutionInfo blockExecutionInfo, FileReader fileReader,
+          int batchSize, QueryStatisticsModel queryStatisticsModel,
+          ExecutorService executorService) {
+        rowIndex = 0;
+      }
+
+      @Mock public boolean hasNext() {
+        return rowIndex < blockRows.size();
+      }
+
+      @Mock public List<Object[]> next() {
+        int endIndex = Math.min(rowIndex + BATCH_SIZE, blockRows.size());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = rowIndex; i < endIndex; i++) {
+          rows.add(blockRows.get(i).clone());
+        }
+        scannedRowCount += endIndex - rowIndex;
+        rowIndex = endIndex;
+        return rows;
+      }
+    };
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance()
+        .removeProperty(CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_MAX_ENTRY_SIZE);
+  }
+
+  @Test public void testCachedRowsAreReplayed() {
+    String key = getKey(createExecutionInfo(null));
+    // the read support converts the values of the returned rows in place
+    assertRows(readAndConvertRows(key), NUM_ROWS);
+    assertEquals(NUM_ROWS, scannedRowCount);
+    assertNotNull(resultCache.getIfPresent(key));
+
+    // the cached rows are not converted, and the block is not scanned again
+    assertRows(readAndConvertRows(key), NUM_ROWS);
+    assertRows(readAndConvertRows(key), NUM_ROWS);
+    assertEquals(NUM_ROWS, scannedRowCount);
+  }
+
+  @Test public void testRowsNotCachedWhenQueryStopsEarly() {
+    String key = getKey(createExecutionInfo(null));
+    CachingDataBlockIterator iterator = createIterator(key);
+    // a limit query stops after the first batch
+    if (iterator.hasNext()) {
+      assertEquals(BATCH_SIZE, iterator.next().size());
+    }
+    assertNull(resultCache.getIfPresent(key));
+
+    // the next query scans the complete block and caches its rows
+    assertRows(readAndConvertRows(key), NUM_ROWS);
+    assertEquals(BATCH_SIZE + NUM_ROWS, scannedRowCount);
+    assertNotNull(resultCache.getIfPresent(key));
+  }
+
+  @Test public void testRowsBiggerThanMaxEntrySizeNotCached() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_QUERY_RESULT_CACHE_MAX_ENTRY_SIZE, "0");
+    String key = getKey(createExecutionInfo(null));
+    assertRows(readAndConvertRows(key), NUM_ROWS);
+    assertNull(resultCache.getIfPresent(key));
+    // all the rows are still returned, and the block is scanned again by the next query
+    assertRows(readAndConvertRows(key), NUM_ROWS);
+    assertEquals(2 * NUM_ROWS, scannedRowCount);
+  }
+
+  @Test public void testDeleteDeltaGivesNewKey() {
+    String key = getKey(createExecutionInfo(null));
+    assertRows(readAndConvertRows(key), NUM_ROWS);
+
+    // a delete adds a delete delta file to the block, and the deleted rows are not scanned
+    String deletedKey = getKey(createExecutionInfo(new String[] { FILE + "_1.deletedelta" }));
+    assertNotEquals(key, deletedKey);
+    assertNull(resultCache.getIfPresent(deletedKey));
+    blockRows = createRows(NUM_ROWS - 3);
+    assertRows(readAndConvertRows(deletedKey), NUM_ROWS - 3);
+    assertEquals(2 * NUM_ROWS - 3, scannedRowCount);
+    assertRows(readAndConvertRows(deletedKey), NUM_ROWS - 3);
+    assertEquals(2 * NUM_ROWS - 3, scannedRowCount);
+
+    // the key does not depend on the listing order of the delete delta files
+    assertEquals(
+        getKey(createExecutionInfo(new String[] { FILE + "_1.deletedelta",
+            FILE + "_2.deletedelta" })),
+        getKey(createExecutionInfo(new String[] { FILE + "_2.deletedelta",
+            FILE + "_1.deletedelta" })));
+  }
+
+  private CachingDataBlockIterator createIterator(String key) {
+    return new CachingDataBlockIterator(null, null, BATCH_SIZE, null, null, resultCache, key);
+  }
+
+  /**
+   * Read all the rows of the block and convert them in place like the read support
+   */
+  private List<Object[]> readAndConvertRows(String key) {
+    CachingDataBlockIterator iterator = createIterator(key);
+    List<Object[]> rows = new ArrayList<>();
+    while (iterator.hasNext()) {
+      for (Object[] row : iterator.next()) {
+        rows.add(row.clone());
+        row[0] = "converted";
+      }
+    }
+    return rows;
+  }
+
+  private static void assertRows(List<Object[]> rows, int numRows) {
+    assertEquals(numRows, rows.size());
+    for (int i = 0; i < numRows; i++) {
+      assertEquals("name_" + i, rows.get(i)[0]);
+      assertEquals(i, rows.get(i)[1]);
+    }
+  }
+
+  private static List<Object[]> createRows(int numRows) {
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < numRows; i++) {
+      rows.add(new Object[] { "name_" + i, i });
+    }
+    return rows;
+  }
+
+  private static String getKey(BlockExecutionInfo executionInfo) {
+    return ScanResultCache.getKey("query", executionInfo);
+  }
+
+  private static BlockExecutionInfo createExecutionInfo(String[] deleteDeltaFiles) {
+    BlockletDetailInfo detailInfo = new BlockletDetailInfo();
+    detailInfo.setBlockletInfo(new BlockletInfo());
+    detailInfo.setRowCount(NUM_ROWS);
+    detailInfo.setPagesCount((short) 1);
+    detailInfo.setBlockletId((short) 0);
+    TableBlockInfo blockInfo = new TableBlockInfo(FILE, 500L, "0", new String[] { "localhost" },
+        1024L, ColumnarFormatVersion.V3, deleteDeltaFiles);
+    blockInfo.setDetailInfo(detailInfo);
+    List<TableBlockInfo> blockInfos = new ArrayList<>();
+    blockInfos.add(blockInfo);
+    BlockExecutionInfo executionInfo = new BlockExecutionInfo();
+    executionInfo.setFirstDataBlock(new IndexWrapper(blockInfos,
+        SegmentPropertiesTestUtil.getSegmentProperties()).getDataRefNode());
+    executionInfo.setStartBlockletIndex(0);
+    executionInfo.setNumberOfBlockletToScan(1);
+    executionInfo.setDeleteDeltaFilePath(deleteDeltaFiles);
+    return executionInfo;
+  }
+}
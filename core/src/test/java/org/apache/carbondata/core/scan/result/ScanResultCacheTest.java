@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.model.QueryModelBuilder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ScanResultCacheTest {
+
+  @Test public void testRowsAreCachedByKey() {
+    ScanResultCache cache = new ScanResultCache(new CarbonLRUCache("prop1", "-1"));
+    List<Object[]> rows = new ArrayList<>();
+    rows.add(new Object[] { "a", 1L, null });
+    rows.add(new Object[] { "bb", 2L, new byte[] { 1, 2 } });
+    long size = 0;
+    for (Object[] row : rows) {
+      size += CacheableScanResult.estimateRowSize(row);
+    }
+    assertTrue(size > 0);
+    CacheableScanResult result = new CacheableScanResult(rows, size);
+    cache.put("file1_0", result);
+    assertSame(result, cache.getIfPresent("file1_0"));
+    assertSame(result, cache.get("file1_0"));
+    assertEquals(2, cache.get("file1_0").getRows().size());
+    assertNull(cache.get("file1_1"));
+    cache.invalidate("file1_0");
+    assertNull(cache.getIfPresent("file1_0"));
+  }
+
+  @Test public void testRowSizeGrowsWithValues() {
+    long emptyRowSize = CacheableScanResult.estimateRowSize(new Object[] { null, null });
+    long rowSize = CacheableScanResult.estimateRowSize(new Object[] { "abcd", new byte[100] });
+    assertTrue(rowSize > emptyRowSize + 100);
+  }
+
+  @Test public void testCacheNotUsedWithoutLRUCacheSize() {
+    // nothing is evicted from the LRU cache when its size is not configured
+    assertFalse(new ScanResultCache(new CarbonLRUCache("prop1", "-1")).isSizeBounded());
+    assertTrue(new ScanResultCache(new CarbonLRUCache("prop1", "10")).isSizeBounded());
+  }
+
+  @Test public void testQueryKeyChangesWithColumnType() {
+    TableSchemaBuilder builder = TableSchema.builder().tableName("result_cache");
+    AtomicInteger valIndex = new AtomicInteger(0);
+    builder.addColumn(new StructField("name", DataTypes.STRING), valIndex, false, false);
+    ColumnSchema age =
+        builder.addColumn(new StructField("age", DataTypes.INT), valIndex, false, false);
+    ColumnSchema salary = builder.addColumn(
+        new StructField("salary", DataTypes.createDecimalType(10, 2)), valIndex, false, false);
+    TableInfo tableInfo = new TableInfo();
+    tableInfo.setDatabaseName("default");
+    tableInfo.setTableUniqueName("default_result_cache");
+    tableInfo.setFactTable(builder.build());
+    tableInfo.setTablePath("result_cache");
+    tableInfo.setTransactionalTable(false);
+    tableInfo.setLastUpdatedTime(System.currentTimeMillis());
+    CarbonTable carbonTable = CarbonTable.buildFromTableInfo(tableInfo);
+    String[] projection = new String[] { "name", "age", "salary" };
+    QueryModel queryModel = new QueryModelBuilder(carbonTable).projectColumns(projection).build();
+    String queryKey = ScanResultCache.getQueryKey(queryModel);
+    assertEquals(queryKey, ScanResultCache.getQueryKey(
+        new QueryModelBuilder(carbonTable).projectColumns(projection).build()));
+
+    // alter changes the type of the column and keeps its id
+    age.setDataType(DataTypes.LONG);
+    String changedTypeKey = ScanResultCache.getQueryKey(queryModel);
+    assertNotEquals(queryKey, changedTypeKey);
+
+    // alter changes the precision and scale of the decimal column
+    salary.setDataType(DataTypes.createDecimalType(12, 4));
+    salary.setPrecision(12);
+    salary.setScale(4);
+    assertNotEquals(changedTypeKey, ScanResultCache.getQueryKey(queryModel));
+  }
+}
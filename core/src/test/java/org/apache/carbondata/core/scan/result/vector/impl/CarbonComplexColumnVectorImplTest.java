@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.vector.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonComplexColumnVector;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CarbonComplexColumnVectorImplTest {
+
+  @Test public void testArrayOfStructGrowsElementVector() {
+    List<StructField> fields = new ArrayList<>();
+    fields.add(new StructField("id", DataTypes.INT));
+    fields.add(new StructField("name", DataTypes.STRING));
+    DataType dataType = DataTypes.createArrayType(DataTypes.createStructType(fields));
+    CarbonColumnVectorImpl vector = CarbonComplexColumnVectorImpl.createVector(2, dataType);
+    assertTrue(vector instanceof CarbonComplexColumnVector);
+    CarbonComplexColumnVector arrayVector = (CarbonComplexColumnVector) vector;
+    CarbonComplexColumnVector structVector =
+        (CarbonComplexColumnVector) arrayVector.getChildVector(0);
+    // more elements than the batch size
+    int offset = arrayVector.appendArray(0, 3);
+    for (int i = 0; i < 3; i++) {
+      structVector.getChildVector(0).putInt(offset + i, i);
+      byte[] name = ("n" + i).getBytes();
+      structVector.getChildVector(1).putByteArray(offset + i, 0, name.length, name);
+    }
+    arrayVector.putNull(1);
+    Object[] row = (Object[]) vector.getData(0);
+    assertArrayEquals(new Object[] { new Object[] { 0, "n0" }, new Object[] { 1, "n1" },
+        new Object[] { 2, "n2" } }, row);
+    assertNull(vector.getData(1));
+  }
+
+  @Test public void testStructWithFewerStoredFields() {
+    List<StructField> fields = new ArrayList<>();
+    fields.add(new StructField("id", DataTypes.INT));
+    fields.add(new StructField("name", DataTypes.STRING));
+    DataType dataType = DataTypes.createStructType(fields);
+    CarbonColumnVectorImpl vector = CarbonComplexColumnVectorImpl.createVector(1, dataType);
+    CarbonComplexColumnVector structVector = (CarbonComplexColumnVector) vector;
+    vector.reserve(3);
+    structVector.getChildVector(0).putInt(0, 1);
+    structVector.getChildVector(1).putByteArray(0, 0, 1, "a".getBytes());
+    // the struct at row 1 stores only one field, like a struct written before adding a field
+    structVector.putStruct(1, 1);
+    structVector.getChildVector(0).putInt(1, 2);
+    structVector.getChildVector(1).putNull(1);
+    structVector.putStruct(2, 2);
+    structVector.getChildVector(0).putNull(2);
+    structVector.getChildVector(1).putNull(2);
+    assertArrayEquals(new Object[] { 1, "a" }, (Object[]) vector.getData(0));
+    assertArrayEquals(new Object[] { 2 }, (Object[]) vector.getData(1));
+    assertArrayEquals(new Object[] { null, null }, (Object[]) vector.getData(2));
+    vector.reset();
+    structVector.getChildVector(0).putInt(1, 3);
+    structVector.getChildVector(1).putNull(1);
+    assertArrayEquals(new Object[] { 3, null }, (Object[]) vector.getData(1));
+  }
+
+  @Test public void testMap() {
+    DataType dataType = DataTypes.createMapType(DataTypes.STRING, DataTypes.LONG);
+    CarbonColumnVectorImpl vector = CarbonComplexColumnVectorImpl.createVector(1, dataType);
+    CarbonComplexColumnVector mapVector = (CarbonComplexColumnVector) vector;
+    CarbonComplexColumnVector entryVector =
+        (CarbonComplexColumnVector) mapVector.getChildVector(0);
+    int offset = mapVector.appendArray(0, 2);
+    CarbonColumnVector keyVector = entryVector.getChildVector(0);
+    CarbonColumnVector valueVector = entryVector.getChildVector(1);
+    keyVector.putByteArray(offset, 0, 1, "a".getBytes());
+    valueVector.putLong(offset, 1L);
+    keyVector.putByteArray(offset + 1, 0, 1, "b".getBytes());
+    valueVector.putNull(offset + 1);
+    Object[] row = (Object[]) vector.getData(0);
+    assertArrayEquals(new Object[] { "a", "b" }, (Object[]) row[0]);
+    assertArrayEquals(new Object[] { 1L, null }, (Object[]) row[1]);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.stats;
+
+import org.apache.carbondata.core.stats.ScanMetrics.Operator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScanMetricsTest {
+
+  @Test public void testRecordAndSnapshot() {
+    ScanMetrics metrics = new ScanMetrics(true);
+    metrics.add(Operator.IO_WAIT, 500);
+    metrics.add(Operator.IO_WAIT, 3000);
+    metrics.add(Operator.IO_WAIT, 100000);
+    metrics.record(Operator.DECODE, "c1", metrics.start());
+    metrics.record(Operator.DECODE, "c2", metrics.start());
+    metrics.record(Operator.VECTOR_FILL, null, metrics.start());
+    ScanMetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(3, snapshot.getCount(Operator.IO_WAIT));
+    assertEquals(103500, snapshot.getTotalNanos(Operator.IO_WAIT));
+    assertEquals(2, snapshot.getCount(Operator.DECODE));
+    assertEquals(1, snapshot.getCount(Operator.VECTOR_FILL));
+    assertEquals(0, snapshot.getCount(Operator.FILTER));
+    // 3 microseconds falls in [2, 4) microseconds, 100 microseconds in [64, 128)
+    assertEquals(4000, snapshot.getPercentileNanos(Operator.IO_WAIT, 50));
+    assertEquals(128000, snapshot.getPercentileNanos(Operator.IO_WAIT, 99));
+    assertEquals(0, snapshot.getPercentileNanos(Operator.FILTER, 99));
+    assertTrue(snapshot.getColumnNanos(Operator.VECTOR_FILL).isEmpty());
+  }
+
+  @Test public void testMergeAndReset() {
+    ScanMetrics metrics = new ScanMetrics(true);
+    metrics.add(Operator.FILTER, 2000);
+    ScanMetricsSnapshot merged = ScanMetricsSnapshot.empty()
+        .merge(metrics.snapshot()).merge(metrics.snapshot());
+    assertEquals(2, merged.getCount(Operator.FILTER));
+    assertEquals(4000, merged.getTotalNanos(Operator.FILTER));
+    metrics.reset();
+    assertEquals(0, metrics.snapshot().getCount(Operator.FILTER));
+    assertEquals(Long.valueOf(0), metrics.getTotalTimeNanos().get("filter"));
+  }
+
+  @Test public void testDisabled() {
+    ScanMetrics metrics = new ScanMetrics(false);
+    assertEquals(0, metrics.start());
+    metrics.record(Operator.DELETE_DELTA, "c1", metrics.start());
+    assertEquals(0, metrics.snapshot().getCount(Operator.DELETE_DELTA));
+    assertTrue(metrics.getColumnTimeNanos().isEmpty());
+  }
+
+  @Test public void testHistogramBuckets() {
+    assertEquals(0, LatencyHistogram.getBucket(999));
+    assertEquals(1, LatencyHistogram.getBucket(1000));
+    assertEquals(2, LatencyHistogram.getBucket(3999));
+    assertEquals(LatencyHistogram.NUM_BUCKETS - 1, LatencyHistogram.getBucket(Long.MAX_VALUE));
+  }
+}
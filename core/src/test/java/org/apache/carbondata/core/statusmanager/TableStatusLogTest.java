@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TableStatusLogTest {
+
+  private static final String path = "./testTableStatusLog";
+
+  private String tableStatusPath;
+
+  @Before public void setUp() throws IOException {
+    FileUtils.deleteDirectory(new File(path));
+    new File(path).mkdirs();
+    tableStatusPath = new File(path, CarbonTablePath.TABLE_STATUS_FILE).getCanonicalPath();
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE, "true");
+    TableStatusLog.clearSnapshots();
+  }
+
+  @After public void tearDown() throws IOException {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE,
+        CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE_DEFAULT);
+    TableStatusLog.clearSnapshots();
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  private LoadMetadataDetails createDetails(String name, SegmentStatus status) {
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    details.setLoadName(name);
+    details.setSegmentStatus(status);
+    details.setLoadStartTime(1000L + Integer.parseInt(name));
+    details.setSegmentFile(name + "_1000.segment");
+    return details;
+  }
+
+  private void write(LoadMetadataDetails... details) throws IOException {
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath, details);
+  }
+
+  private void assertDetails(LoadMetadataDetails[] details, String... expected) {
+    Assert.assertEquals(expected.length, details.length);
+    for (int i = 0; i < expected.length; i++) {
+      String[] nameAndStatus = expected[i].split(":");
+      Assert.assertEquals(nameAndStatus[0], details[i].getLoadName());
+      Assert.assertEquals(nameAndStatus[1], details[i].getSegmentStatus().name());
+      Assert.assertEquals(nameAndStatus[0] + "_1000.segment", details[i].getSegmentFile());
+    }
+  }
+
+  @Test public void testChangesAreAppendedToLog() throws IOException {
+    write(createDetails("0", SegmentStatus.SUCCESS));
+    File logFile = new File(TableStatusLog.getLogPath(tableStatusPath));
+    Assert.assertFalse(logFile.exists());
+
+    write(createDetails("0", SegmentStatus.COMPACTED), createDetails("1", SegmentStatus.SUCCESS));
+    write(createDetails("1", SegmentStatus.SUCCESS));
+    Assert.assertTrue(logFile.exists());
+    // tablestatus file is not rewritten
+    assertDetails(SegmentStatusManager.readTableStatusJson(tableStatusPath), "0:SUCCESS");
+
+    assertDetails(SegmentStatusManager.readTableStatusFile(tableStatusPath), "1:SUCCESS");
+    TableStatusLog.clearSnapshots();
+    assertDetails(SegmentStatusManager.readTableStatusFile(tableStatusPath), "1:SUCCESS");
+  }
+
+  @Test public void testReorderRewritesTableStatus() throws IOException {
+    write(createDetails("0", SegmentStatus.SUCCESS));
+    write(createDetails("0", SegmentStatus.SUCCESS), createDetails("1", SegmentStatus.SUCCESS));
+    File logFile = new File(TableStatusLog.getLogPath(tableStatusPath));
+    Assert.assertTrue(logFile.exists());
+
+    write(createDetails("1", SegmentStatus.SUCCESS), createDetails("0", SegmentStatus.SUCCESS));
+    Assert.assertFalse(logFile.exists());
+    assertDetails(SegmentStatusManager.readTableStatusJson(tableStatusPath),
+        "1:SUCCESS", "0:SUCCESS");
+    assertDetails(SegmentStatusManager.readTableStatusFile(tableStatusPath),
+        "1:SUCCESS", "0:SUCCESS");
+  }
+
+  @Test public void testIncompleteFrameIsIgnored() throws IOException {
+    write(createDetails("0", SegmentStatus.SUCCESS));
+    write(createDetails("0", SegmentStatus.SUCCESS), createDetails("1", SegmentStatus.SUCCESS));
+    File logFile = new File(TableStatusLog.getLogPath(tableStatusPath));
+    DataOutputStream out = new DataOutputStream(new FileOutputStream(logFile, true));
+    try {
+      out.writeInt(0x43534c47);
+      out.writeInt(100);
+      out.writeLong(1L);
+    } finally {
+      out.close();
+    }
+    TableStatusLog.clearSnapshots();
+    assertDetails(SegmentStatusManager.readTableStatusFile(tableStatusPath),
+        "0:SUCCESS", "1:SUCCESS");
+
+    // log with incomplete frame cannot be appended, so tablestatus file is rewritten
+    write(createDetails("0", SegmentStatus.SUCCESS), createDetails("1", SegmentStatus.COMPACTED));
+    Assert.assertFalse(logFile.exists());
+    assertDetails(SegmentStatusManager.readTableStatusFile(tableStatusPath),
+        "0:SUCCESS", "1:COMPACTED");
+  }
+
+  @Test public void testLogIsReadWhenDisabled() throws IOException {
+    write(createDetails("0", SegmentStatus.SUCCESS));
+    write(createDetails("0", SegmentStatus.SUCCESS), createDetails("1", SegmentStatus.SUCCESS));
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE, "false");
+    TableStatusLog.clearSnapshots();
+    assertDetails(SegmentStatusManager.readTableStatusFile(tableStatusPath),
+        "0:SUCCESS", "1:SUCCESS");
+  }
+}
@@ -37,7 +37,6 @@ import org.apache.carbondata.core.util.CarbonUtil;
 
 import org.apache.hadoop.util.bloom.CarbonBloomFilter;
 import org.apache.hadoop.util.bloom.Key;
-import org.apache.hadoop.util.hash.Hash;
 
 @InterfaceAudience.Internal
 public abstract class AbstractBloomDataMapWriter extends DataMapWriter {
@@ -80,8 +79,9 @@ public abstract class AbstractBloomDataMapWriter extends DataMapWriter {
     indexBloomFilters.clear();
     int[] stats = calculateBloomStats();
     for (int i = 0; i < indexColumns.size(); i++) {
-      indexBloomFilters
-          .add(new CarbonBloomFilter(stats[0], stats[1], Hash.MURMUR_HASH, compressBloom));
+      // blocked bloom filter sets all the bits of a value in one block, so the number of hashes
+      // is fixed by the block layout and only the size is used
+      indexBloomFilters.add(CarbonBloomFilter.createBlockedBloomFilter(stats[0], compressBloom));
     }
   }
 
@@ -198,12 +198,17 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
           continue;
         }
         boolean scanRequired = false;
-        for (byte[] value: bloomQueryModel.filterValues) {
-          scanRequired = bloomFilter.membershipTest(new Key(value));
-          if (scanRequired) {
-            // if any filter value hit this bloomfilter
-            // no need to check other filter values
-            break;
+        if (bloomFilter.isBlocked()) {
+          // filter values are hashed once for all the blocklets
+          scanRequired = bloomFilter.membershipTest(bloomQueryModel.getBlockedHashes());
+        } else {
+          for (byte[] value : bloomQueryModel.filterValues) {
+            scanRequired = bloomFilter.membershipTest(new Key(value));
+            if (scanRequired) {
+              // if any filter value hit this bloomfilter
+              // no need to check other filter values
+              break;
+            }
           }
         }
         if (scanRequired) {
@@ -406,6 +411,7 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
   static class BloomQueryModel {
     private String columnName;
     private List<byte[]> filterValues;
+    private long[] blockedHashes;
 
     /**
      * represent an query model will be applyied on bloom index
@@ -419,6 +425,20 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
       this.filterValues = filterValues;
     }
 
+    /**
+     * hashes of the filter values to test against blocked bloom filters
+     */
+    private long[] getBlockedHashes() {
+      if (blockedHashes == null) {
+        long[] hashes = new long[filterValues.size()];
+        for (int i = 0; i < hashes.length; i++) {
+          hashes[i] = CarbonBloomFilter.getBlockedHash(filterValues.get(i));
+        }
+        blockedHashes = hashes;
+      }
+      return blockedHashes;
+    }
+
     @Override
     public String toString() {
       final StringBuilder sb = new StringBuilder("BloomQueryModel{");
@@ -432,6 +432,14 @@ public class BloomCoarseGrainDataMapFactory extends DataMapFactory<CoarseGrainDa
     }
   }
 
+  /**
+   * bloom filters are read from the index files when they are not in the cache
+   */
+  @Override
+  public boolean isPruneBlocking() {
+    return true;
+  }
+
   @Override
   public DataMapMeta getMeta() {
     return this.dataMapMeta;
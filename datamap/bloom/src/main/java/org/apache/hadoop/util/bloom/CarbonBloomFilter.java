@@ -22,16 +22,44 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.BitSet;
 
+import org.apache.hadoop.util.hash.Hash;
+import org.apache.hadoop.util.hash.MurmurHash;
 import org.roaringbitmap.RoaringBitmap;
 
 /**
  * It is the extendable class to hadoop bloomfilter, it is extendable to implement compressed bloom
  * and fast serialize and deserialize of bloom.
+ *
+ * A filter created by {@link #createBlockedBloomFilter(int, boolean)} is a split block bloom
+ * filter: all the bits of a key are in one block of 256 bits, one bit in each 32 bits word of the
+ * block, so testing a key reads only one cache line. The key is hashed once to 64 bits, which can
+ * be computed once per query value by {@link #getBlockedHash(byte[])} and tested against all the
+ * filters. Filters written by the older versions are read and tested as hadoop bloom filters.
  */
 public class CarbonBloomFilter extends BloomFilter {
 
+  /**
+   * hash type of the blocked bloom filter, it is not one of the hadoop hash types
+   */
+  public static final int BLOCKED_HASH = 100;
+
+  private static final int WORDS_PER_BLOCK = 8;
+
+  private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * 32;
+
+  /**
+   * odd constants to derive the bit of each word of the block from the key hash
+   */
+  private static final int[] SALT = new int[] { 0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d,
+      0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31 };
+
   private RoaringBitmap bitmap;
 
+  /**
+   * words of the blocked bloom filter when it is not compressed
+   */
+  private int[] words;
+
   private boolean compress;
 
   private int blockletNo;
@@ -47,11 +75,104 @@ public class CarbonBloomFilter extends BloomFilter {
     this.compress = compress;
   }
 
+  /**
+   * Create a blocked bloom filter
+   *
+   * @param vectorSize minimum number of bits, rounded up to the blocks
+   * @param compress whether to compress the bits while writing
+   */
+  public static CarbonBloomFilter createBlockedBloomFilter(int vectorSize, boolean compress) {
+    CarbonBloomFilter bloomFilter = new CarbonBloomFilter();
+    int numBlocks = Math.max(1, (int) Math.ceil((double) vectorSize / BITS_PER_BLOCK));
+    bloomFilter.vectorSize = numBlocks * BITS_PER_BLOCK;
+    bloomFilter.nbHash = WORDS_PER_BLOCK;
+    bloomFilter.hashType = BLOCKED_HASH;
+    bloomFilter.compress = compress;
+    bloomFilter.words = new int[numBlocks * WORDS_PER_BLOCK];
+    return bloomFilter;
+  }
+
+  /**
+   * Return the hash of the value to test against blocked bloom filters
+   */
+  public static long getBlockedHash(byte[] value) {
+    Hash murmurHash = MurmurHash.getInstance();
+    int high = murmurHash.hash(value, value.length, 0);
+    int low = murmurHash.hash(value, value.length, high);
+    return ((long) high << 32) | (low & 0xFFFFFFFFL);
+  }
+
+  public boolean isBlocked() {
+    return hashType == BLOCKED_HASH;
+  }
+
+  @Override
+  public void add(Key key) {
+    if (!isBlocked()) {
+      super.add(key);
+      return;
+    }
+    if (key == null) {
+      throw new NullPointerException("key cannot be null");
+    }
+    long blockedHash = getBlockedHash(key.getBytes());
+    int wordOffset = getBlockIndex(blockedHash) * WORDS_PER_BLOCK;
+    int keyHash = (int) blockedHash;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      words[wordOffset + i] |= 1 << ((keyHash * SALT[i]) >>> 27);
+    }
+  }
+
+  /**
+   * Test the hashes of the values against the blocked bloom filter
+   *
+   * @param blockedHashes hashes computed by {@link #getBlockedHash(byte[])}
+   * @return true if any of the values may be in the filter
+   */
+  public boolean membershipTest(long[] blockedHashes) {
+    for (long blockedHash : blockedHashes) {
+      if (membershipTest(blockedHash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean membershipTest(long blockedHash) {
+    int wordOffset = getBlockIndex(blockedHash) * WORDS_PER_BLOCK;
+    int keyHash = (int) blockedHash;
+    if (compress) {
+      for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+        int bit = (wordOffset + i) * 32 + ((keyHash * SALT[i]) >>> 27);
+        if (!bitmap.contains(bit)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    // check all the words without branching, the block is in one cache line
+    int missing = 0;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      missing |= ~words[wordOffset + i] & (1 << ((keyHash * SALT[i]) >>> 27));
+    }
+    return missing == 0;
+  }
+
+  /**
+   * Map the high 32 bits of the hash to a block, without modulo
+   */
+  private int getBlockIndex(long blockedHash) {
+    return (int) (((blockedHash >>> 32) * (vectorSize / BITS_PER_BLOCK)) >>> 32);
+  }
+
   @Override
   public boolean membershipTest(Key key) {
     if (key == null) {
       throw new NullPointerException("key cannot be null");
     }
+    if (isBlocked()) {
+      return membershipTest(getBlockedHash(key.getBytes()));
+    }
 
     int[] h = hash.hash(key);
     hash.clear();
@@ -79,6 +200,10 @@ public class CarbonBloomFilter extends BloomFilter {
     out.writeByte(this.hashType);
     out.writeInt(this.vectorSize);
     out.writeBoolean(compress);
+    if (isBlocked()) {
+      writeBlocked(out);
+      return;
+    }
     BitSet bits = getBitSet();
     if (!compress) {
       byte[] bytes = bits.toByteArray();
@@ -96,6 +221,26 @@ public class CarbonBloomFilter extends BloomFilter {
     }
   }
 
+  private void writeBlocked(DataOutput out) throws IOException {
+    if (!compress) {
+      out.writeInt(words.length);
+      for (int word : words) {
+        out.writeInt(word);
+      }
+    } else {
+      RoaringBitmap bitmap = new RoaringBitmap();
+      for (int i = 0; i < words.length; i++) {
+        int word = words[i];
+        while (word != 0) {
+          bitmap.add(i * 32 + Integer.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+      bitmap.runOptimize();
+      bitmap.serialize(out);
+    }
+  }
+
   @Override
   public void readFields(DataInput in) throws IOException {
     this.blockletNo = in.readInt();
@@ -103,6 +248,18 @@ public class CarbonBloomFilter extends BloomFilter {
     this.hashType = in.readByte();
     this.vectorSize = in.readInt();
     this.compress = in.readBoolean();
+    if (isBlocked()) {
+      if (!compress) {
+        this.words = new int[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+          words[i] = in.readInt();
+        }
+      } else {
+        this.bitmap = new RoaringBitmap();
+        bitmap.deserialize(in);
+      }
+      return;
+    }
     if (!compress) {
       int len = in.readInt();
       byte[] bytes = new byte[len];
@@ -119,6 +276,8 @@ public class CarbonBloomFilter extends BloomFilter {
     int size = 14; // size of nbHash,hashType, vectorSize, compress
     if (compress) {
       size += bitmap.getSizeInBytes();
+    } else if (isBlocked()) {
+      size += words.length * 4;
     } else {
       try {
         size += getBitSet().toLongArray().length * 8;
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.util.bloom;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.BitSet;
+
+import org.apache.hadoop.util.hash.Hash;
+import org.junit.Assert;
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+public class CarbonBloomFilterTest {
+
+  private static final int NUM_KEYS = 1000;
+
+  private static final int VECTOR_SIZE = 16 * 1024;
+
+  @Test public void testBlockedRoundTrip() throws IOException {
+    testBlockedRoundTrip(false);
+  }
+
+  @Test public void testBlockedRoundTripCompressed() throws IOException {
+    testBlockedRoundTrip(true);
+  }
+
+  private void testBlockedRoundTrip(boolean compress) throws IOException {
+    CarbonBloomFilter bloomFilter =
+        CarbonBloomFilter.createBlockedBloomFilter(VECTOR_SIZE, compress);
+    bloomFilter.setBlockletNo(3);
+    for (int i = 0; i < NUM_KEYS; i++) {
+      bloomFilter.add(new Key(getKey(i)));
+    }
+    CarbonBloomFilter readFilter = readFilter(writeFilter(bloomFilter));
+    Assert.assertTrue(readFilter.isBlocked());
+    Assert.assertEquals(3, readFilter.getBlockletNo());
+    Assert.assertEquals(bloomFilter.getVectorSize(), readFilter.getVectorSize());
+    for (int i = 0; i < NUM_KEYS; i++) {
+      Assert.assertTrue(readFilter.membershipTest(new Key(getKey(i))));
+      Assert.assertTrue(readFilter.membershipTest(
+          new long[] { CarbonBloomFilter.getBlockedHash(getKey(i)) }));
+    }
+    assertFewFalsePositives(readFilter);
+  }
+
+  @Test public void testBlockedHashesOfSeveralValues() {
+    CarbonBloomFilter bloomFilter = CarbonBloomFilter.createBlockedBloomFilter(VECTOR_SIZE, false);
+    bloomFilter.add(new Key(getKey(7)));
+    long present = CarbonBloomFilter.getBlockedHash(getKey(7));
+    long absent = CarbonBloomFilter.getBlockedHash(getKey(NUM_KEYS + 1));
+    Assert.assertTrue(bloomFilter.membershipTest(new long[] { absent, present }));
+    Assert.assertFalse(bloomFilter.membershipTest(new long[0]));
+  }
+
+  @Test public void testBlockedVectorSizeRoundedToBlocks() {
+    CarbonBloomFilter bloomFilter = CarbonBloomFilter.createBlockedBloomFilter(300, false);
+    Assert.assertEquals(512, bloomFilter.getVectorSize());
+    bloomFilter = CarbonBloomFilter.createBlockedBloomFilter(0, true);
+    Assert.assertEquals(256, bloomFilter.getVectorSize());
+  }
+
+  @Test public void testHadoopFilterRoundTrip() throws IOException {
+    for (boolean compress : new boolean[] { false, true }) {
+      CarbonBloomFilter bloomFilter =
+          new CarbonBloomFilter(VECTOR_SIZE, 3, Hash.MURMUR_HASH, compress);
+      for (int i = 0; i < NUM_KEYS; i++) {
+        bloomFilter.add(new Key(getKey(i)));
+      }
+      CarbonBloomFilter readFilter = readFilter(writeFilter(bloomFilter));
+      Assert.assertFalse(readFilter.isBlocked());
+      for (int i = 0; i < NUM_KEYS; i++) {
+        Assert.assertTrue(readFilter.membershipTest(new Key(getKey(i))));
+      }
+      assertFewFalsePositives(readFilter);
+    }
+  }
+
+  @Test public void testReadOldFormat() throws IOException {
+    testReadOldFormat(false);
+  }
+
+  @Test public void testReadOldFormatCompressed() throws IOException {
+    testReadOldFormat(true);
+  }
+
+  /**
+   * Write the bits of a hadoop bloom filter in the layout of the older versions, without using
+   * the writer of CarbonBloomFilter, and test the keys against the filter read from it
+   */
+  private void testReadOldFormat(boolean compress) throws IOException {
+    int nbHash = 3;
+    HashFunction hashFunction = new HashFunction(VECTOR_SIZE, nbHash, Hash.MURMUR_HASH);
+    BitSet bits = new BitSet(VECTOR_SIZE);
+    for (int i = 0; i < NUM_KEYS; i++) {
+      for (int position : hashFunction.hash(new Key(getKey(i)))) {
+        bits.set(position);
+      }
+    }
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(5);
+    out.writeInt(nbHash);
+    out.writeByte(Hash.MURMUR_HASH);
+    out.writeInt(VECTOR_SIZE);
+    out.writeBoolean(compress);
+    if (compress) {
+      RoaringBitmap bitmap = new RoaringBitmap();
+      for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+        bitmap.add(bit);
+      }
+      bitmap.serialize(out);
+    } else {
+      byte[] bytes = bits.toByteArray();
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+    out.close();
+
+    CarbonBloomFilter readFilter = readFilter(stream.toByteArray());
+    Assert.assertFalse(readFilter.isBlocked());
+    Assert.assertEquals(5, readFilter.getBlockletNo());
+    for (int i = 0; i < NUM_KEYS; i++) {
+      Assert.assertTrue(readFilter.membershipTest(new Key(getKey(i))));
+    }
+    assertFewFalsePositives(readFilter);
+  }
+
+  private static void assertFewFalsePositives(CarbonBloomFilter bloomFilter) {
+    int falsePositives = 0;
+    for (int i = NUM_KEYS; i < NUM_KEYS * 2; i++) {
+      if (bloomFilter.membershipTest(new Key(getKey(i)))) {
+        falsePositives++;
+      }
+    }
+    // about 1% expected with 16 bits per key
+    Assert.assertTrue("false positives: " + falsePositives, falsePositives < NUM_KEYS / 10);
+  }
+
+  private static byte[] getKey(int i) {
+    return ("value" + i).getBytes(Charset.forName("UTF-8"));
+  }
+
+  private static byte[] writeFilter(CarbonBloomFilter bloomFilter) throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(stream);
+    bloomFilter.write(out);
+    out.close();
+    return stream.toByteArray();
+  }
+
+  private static CarbonBloomFilter readFilter(byte[] bytes) throws IOException {
+    CarbonBloomFilter bloomFilter = new CarbonBloomFilter();
+    bloomFilter.readFields(new DataInputStream(new ByteArrayInputStream(bytes)));
+    Assert.assertTrue(bloomFilter.getSize() > 0);
+    return bloomFilter;
+  }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.datamap.lucene;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,6 +27,9 @@ import java.util.Objects;
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.exceptions.sql.MalformedDataMapCommandException;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CacheProvider;
+import org.apache.carbondata.core.cache.CacheType;
 import org.apache.carbondata.core.datamap.DataMapDistributable;
 import org.apache.carbondata.core.datamap.DataMapLevel;
 import org.apache.carbondata.core.datamap.DataMapMeta;
@@ -116,6 +120,11 @@ abstract class LuceneDataMapFactoryBase<T extends DataMap> extends DataMapFactor
 
   boolean storeBlockletWise;
 
+  /**
+   * cache of the index searchers, shared by all the lucene datamaps
+   */
+  LuceneIndexSearcherCache searcherCache;
+
   public LuceneDataMapFactoryBase(CarbonTable carbonTable, DataMapSchema dataMapSchema)
       throws MalformedDataMapCommandException {
     super(carbonTable, dataMapSchema);
@@ -143,6 +152,14 @@ abstract class LuceneDataMapFactoryBase<T extends DataMap> extends DataMapFactor
     // get analyzer
     // TODO: how to get analyzer ?
     analyzer = new StandardAnalyzer();
+    try {
+      Cache<String, LuceneIndexSearcherCache.CacheValue> cache = CacheProvider.getInstance()
+          .createCache(new CacheType("lucene_cache"), LuceneIndexSearcherCache.class.getName());
+      searcherCache = (LuceneIndexSearcherCache) cache;
+    } catch (Exception e) {
+      LOGGER.error(e);
+      throw new MalformedDataMapCommandException(e.getMessage());
+    }
   }
 
   public static int validateAndGetWriteCacheSize(DataMapSchema schema) {
@@ -249,7 +266,8 @@ abstract class LuceneDataMapFactoryBase<T extends DataMap> extends DataMapFactor
    */
   @Override
   public void clear(Segment segment) {
-
+    searcherCache.invalidateAll(CarbonTablePath
+        .getDataMapStorePath(tableIdentifier.getTablePath(), segment.getSegmentNo(), dataMapName));
   }
 
   /**
@@ -257,7 +275,7 @@ abstract class LuceneDataMapFactoryBase<T extends DataMap> extends DataMapFactor
    */
   @Override
   public void clear() {
-
+    searcherCache.invalidateAll(tableIdentifier.getTablePath() + File.separator + dataMapName);
   }
 
   @Override
@@ -266,6 +284,7 @@ abstract class LuceneDataMapFactoryBase<T extends DataMap> extends DataMapFactor
       String segmentId = segment.getSegmentNo();
       String datamapPath = CarbonTablePath
           .getDataMapStorePath(tableIdentifier.getTablePath(), segmentId, dataMapName);
+      clear(segment);
       if (FileFactory.isFileExist(datamapPath)) {
         CarbonFile file = FileFactory.getCarbonFile(datamapPath,
             FileFactory.getFileType(datamapPath));
@@ -329,6 +348,14 @@ abstract class LuceneDataMapFactoryBase<T extends DataMap> extends DataMapFactor
     return indexDirs.toArray(new CarbonFile[0]);
   }
 
+  /**
+   * lucene searches read the index files
+   */
+  @Override
+  public boolean isPruneBlocking() {
+    return true;
+  }
+
   /**
    * Further validate whether it is string column and dictionary column.
    * Currently only string and non-dictionary column is supported for Lucene DataMap
@@ -48,6 +48,7 @@ import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.codecs.lucene50.Lucene50StoredFieldsFormat;
 import org.apache.lucene.codecs.lucene62.Lucene62Codec;
+import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.DoublePoint;
 import org.apache.lucene.document.Field;
@@ -55,12 +56,14 @@ import org.apache.lucene.document.FloatPoint;
 import org.apache.lucene.document.IntPoint;
 import org.apache.lucene.document.IntRangeField;
 import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BytesRef;
 import org.apache.solr.store.hdfs.HdfsDirectory;
 import org.roaringbitmap.IntIterator;
 import org.roaringbitmap.RoaringBitmap;
@@ -87,6 +90,17 @@ public class LuceneDataMapWriter extends DataMapWriter {
 
   public static final String ROWID_NAME = "rowId";
 
+  /**
+   * doc values field of the blocklet, page and row of a document, it is read by the query
+   * without loading the stored fields of the document
+   */
+  public static final String ROW_COORDINATE_NAME = "rowCoordinate";
+
+  /**
+   * doc values field of the pages and rows of a document written from the cache
+   */
+  public static final String ROW_COORDINATES_NAME = "rowCoordinates";
+
   private Codec speedCodec = new Lucene62Codec(Lucene50StoredFieldsFormat.Mode.BEST_SPEED);
 
   private Codec compressionCodec =
@@ -400,9 +414,18 @@ public class LuceneDataMapWriter extends DataMapWriter {
       document.add(new StoredField(PAGEID_NAME, intBuffer.getInt()));
       document.add(new StoredField(ROWID_NAME, (short) rowId));
     }
+    document.add(new NumericDocValuesField(ROW_COORDINATE_NAME,
+        encodeRowCoordinate(blockletId, pageId, rowId)));
     indexWriter.addDocument(document);
   }
 
+  /**
+   * Encode the blocklet, page and row of a document to the value of {@link #ROW_COORDINATE_NAME}
+   */
+  static long encodeRowCoordinate(int blockletId, int pageId, int rowId) {
+    return ((blockletId & 0xFFFFL) << 32) | ((pageId & 0xFFFFL) << 16) | (rowId & 0xFFFFL);
+  }
+
   private void flushCacheIfPossible() throws IOException {
     if (cache.size() > cacheSize) {
       flushCache(cache, getIndexColumns(), indexWriter, storeBlockletWise);
@@ -420,6 +443,12 @@ public class LuceneDataMapWriter extends DataMapWriter {
       }
       Map<Integer, RoaringBitmap> value = entry.getValue();
       int count = 0;
+      int totalRows = 0;
+      for (RoaringBitmap bitMap : value.values()) {
+        totalRows += bitMap.getCardinality();
+      }
+      // page key and row count of each page followed by the rows
+      ByteBuffer rowCoordinates = ByteBuffer.allocate(value.size() * 8 + totalRows * 2);
       for (Map.Entry<Integer, RoaringBitmap> pageData : value.entrySet()) {
         RoaringBitmap bitMap = pageData.getValue();
         int cardinality = bitMap.getCardinality();
@@ -430,13 +459,19 @@ public class LuceneDataMapWriter extends DataMapWriter {
         } else {
           byteBuffer.putShort(pageData.getKey().shortValue());
         }
+        rowCoordinates.putInt(pageData.getKey());
+        rowCoordinates.putInt(cardinality);
         IntIterator intIterator = bitMap.getIntIterator();
         while (intIterator.hasNext()) {
-          byteBuffer.putShort((short) intIterator.next());
+          short rowId = (short) intIterator.next();
+          byteBuffer.putShort(rowId);
+          rowCoordinates.putShort(rowId);
         }
         document.add(new StoredField(PAGEID_NAME + count, byteBuffer.array()));
         count++;
       }
+      document.add(
+          new BinaryDocValuesField(ROW_COORDINATES_NAME, new BytesRef(rowCoordinates.array())));
       indexWriter.addDocument(document);
     }
     cache.clear();
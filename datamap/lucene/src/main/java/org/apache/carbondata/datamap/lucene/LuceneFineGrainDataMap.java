@@ -20,6 +20,7 @@ package org.apache.carbondata.datamap.lucene;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,20 +44,18 @@ import org.apache.hadoop.fs.Path;
 import org.apache.log4j.Logger;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
-import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
-import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.CollectionTerminatedException;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.ScoreDoc;
-import org.apache.lucene.search.TopDocs;
-import org.apache.lucene.store.Directory;
+import org.apache.lucene.search.SimpleCollector;
 import org.apache.lucene.util.BytesRef;
-import org.apache.solr.store.hdfs.HdfsDirectory;
 
 @InterfaceAudience.Internal
 public class LuceneFineGrainDataMap extends FineGrainDataMap {
@@ -68,18 +67,15 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
       LogServiceFactory.getLogService(LuceneFineGrainDataMap.class.getName());
 
   /**
-   * search limit will help in deciding the size of priority queue which is used by lucene to store
-   * the documents in heap. By default it is 100 means in one search max of 10 documents can be
-   * stored in heap by lucene. This way it will help in reducing the GC.
-   * Note: If it is removed or it's value is increased it will lead to almost 90%
-   * of the query time in GC in worst case scenarios if it's value is increased beyond a limit
+   * cache of the index searchers
    */
-  private static final int SEARCH_LIMIT = 100;
+  private LuceneIndexSearcherCache searcherCache;
 
   /**
-   * searcher object for this datamap
+   * path of the index directory of each blocklet, or of the whole shard with key -1 if the
+   * index is not stored blocklet wise
    */
-  private Map<String, IndexSearcher> indexSearcherMap = null;
+  private Map<String, String> indexPathMap = null;
 
   /**
    * analyzer for lucene index
@@ -92,10 +88,10 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
 
   private boolean storeBlockletWise;
 
-  private IndexReader indexReader;
-
-  LuceneFineGrainDataMap(Analyzer analyzer, DataMapSchema schema) {
+  LuceneFineGrainDataMap(Analyzer analyzer, DataMapSchema schema,
+      LuceneIndexSearcherCache searcherCache) {
     this.analyzer = analyzer;
+    this.searcherCache = searcherCache;
     writeCacheSize = LuceneDataMapFactoryBase.validateAndGetWriteCacheSize(schema);
     storeBlockletWise = LuceneDataMapFactoryBase.validateAndGetStoreBlockletWise(schema);
   }
@@ -112,7 +108,7 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
 
     this.filePath = indexPath.getName();
 
-    this.indexSearcherMap = new HashMap<>();
+    this.indexPathMap = new HashMap<>();
 
     // get file system , use hdfs file system , realized in solr project
     CarbonFile indexFilePath = FileFactory.getCarbonFile(indexPath.toString());
@@ -133,30 +129,13 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
     if (storeBlockletWise) {
       CarbonFile[] blockletDirs = indexFilePath.listFiles();
       for (CarbonFile blockletDir : blockletDirs) {
-        IndexSearcher indexSearcher = createIndexSearcher(new Path(blockletDir.getAbsolutePath()));
-        indexSearcherMap.put(blockletDir.getName(), indexSearcher);
+        indexPathMap.put(blockletDir.getName(), blockletDir.getAbsolutePath());
       }
-
     } else {
-      IndexSearcher indexSearcher = createIndexSearcher(indexPath);
-      indexSearcherMap.put("-1", indexSearcher);
-
+      indexPathMap.put("-1", indexPath.toString());
     }
     LOGGER.info(
-        "Time taken to initialize lucene searcher: " + (System.currentTimeMillis() - startTime));
-  }
-
-  private IndexSearcher createIndexSearcher(Path indexPath) throws IOException {
-    // open this index path , use HDFS default configuration
-    Directory indexDir = new HdfsDirectory(indexPath, FileFactory.getConfiguration());
-
-    this.indexReader = DirectoryReader.open(indexDir);
-    if (indexReader == null) {
-      throw new RuntimeException("failed to create index reader object");
-    }
-
-    // create a index searcher object
-    return new IndexSearcher(indexReader);
+        "Time taken to initialize lucene datamap: " + (System.currentTimeMillis() - startTime));
   }
 
   /**
@@ -240,60 +219,27 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
       return null;
     }
     // temporary data, delete duplicated data
-    // Map<BlockId, Map<BlockletId, Map<PageId, Set<RowId>>>>
-    Map<String, Map<Integer, List<Short>>> mapBlocks = new HashMap<>();
+    // Map<BlockletId, Map<PageId, RowIds>>
+    Map<String, Map<Integer, BitSet>> mapBlocks = new HashMap<>();
 
     long luceneSearchStartTime = System.currentTimeMillis();
-    for (Map.Entry<String, IndexSearcher> searcherEntry : indexSearcherMap.entrySet()) {
-      IndexSearcher indexSearcher = searcherEntry.getValue();
-      // take the min of total documents available in the reader and limit if set by the user
-      maxDocs = Math.min(maxDocs, indexSearcher.getIndexReader().maxDoc());
-      // execute index search
-      TopDocs result = null;
-      // the number of documents to be queried in one search. It will always be minimum of
-      // search result and maxDocs
-      int numberOfDocumentsToBeQueried = 0;
-      // counter for maintaining the total number of documents finished querying
-      int documentHitCounter = 0;
+    RowCollector collector = new RowCollector(mapBlocks, maxDocs);
+    for (Map.Entry<String, String> indexPathEntry : indexPathMap.entrySet()) {
+      if (collector.isFull()) {
+        break;
+      }
+      LuceneIndexSearcherCache.CacheValue searcher =
+          searcherCache.get(indexPathEntry.getValue());
       try {
-        numberOfDocumentsToBeQueried = Math.min(maxDocs, SEARCH_LIMIT);
-        result = indexSearcher.search(query, numberOfDocumentsToBeQueried);
-        documentHitCounter += numberOfDocumentsToBeQueried;
+        collector.setBlockletId(indexPathEntry.getKey());
+        searcher.getIndexSearcher().search(query, collector);
       } catch (IOException e) {
         String errorMessage =
             String.format("failed to search lucene data, detail is %s", e.getMessage());
         LOGGER.error(errorMessage);
         throw new IOException(errorMessage);
-      }
-
-      ByteBuffer intBuffer = ByteBuffer.allocate(4);
-      // last scoreDoc in a result to be used in searchAfter API
-      ScoreDoc lastScoreDoc = null;
-      while (true) {
-        for (ScoreDoc scoreDoc : result.scoreDocs) {
-          // get a document
-          Document doc = indexSearcher.doc(scoreDoc.doc);
-          // get all fields
-          List<IndexableField> fieldsInDoc = doc.getFields();
-          if (writeCacheSize > 0) {
-            // It fills rowids to the map, its value is combined with multiple rows.
-            fillMapForCombineRows(intBuffer, mapBlocks, fieldsInDoc, searcherEntry.getKey());
-          } else {
-            // Fill rowids to the map
-            fillMap(intBuffer, mapBlocks, fieldsInDoc, searcherEntry.getKey());
-          }
-          lastScoreDoc = scoreDoc;
-        }
-        // result will have the total number of hits therefore we always need to query on the
-        // left over documents
-        int remainingHits = result.totalHits - documentHitCounter;
-        // break the loop if count reaches maxDocs to be searched or remaining hits become <=0
-        if (remainingHits <= 0 || documentHitCounter >= maxDocs) {
-          break;
-        }
-        numberOfDocumentsToBeQueried = Math.min(remainingHits, SEARCH_LIMIT);
-        result = indexSearcher.searchAfter(lastScoreDoc, query, numberOfDocumentsToBeQueried);
-        documentHitCounter += numberOfDocumentsToBeQueried;
+      } finally {
+        searcher.release();
       }
     }
     LOGGER.info(
@@ -304,21 +250,19 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
     List<FineGrainBlocklet> blocklets = new ArrayList<>();
 
     // transform all blocks into result type blocklets
-    // Map<BlockId, Map<BlockletId, Map<PageId, Set<RowId>>>>
-    for (Map.Entry<String, Map<Integer, List<Short>>> mapBlocklet :
-        mapBlocks.entrySet()) {
+    for (Map.Entry<String, Map<Integer, BitSet>> mapBlocklet : mapBlocks.entrySet()) {
       String blockletId = mapBlocklet.getKey();
-      Map<Integer, List<Short>> mapPageIds = mapBlocklet.getValue();
+      Map<Integer, BitSet> mapPageIds = mapBlocklet.getValue();
       List<FineGrainBlocklet.Page> pages = new ArrayList<FineGrainBlocklet.Page>();
 
-      // for pages in this blocklet Map<PageId, Set<RowId>>>
-      for (Map.Entry<Integer, List<Short>> mapPageId : mapPageIds.entrySet()) {
-        // construct array rowid
-        int[] rowIds = new int[mapPageId.getValue().size()];
+      // for pages in this blocklet Map<PageId, RowIds>
+      for (Map.Entry<Integer, BitSet> mapPageId : mapPageIds.entrySet()) {
+        // construct array rowid, in ascending order
+        BitSet rows = mapPageId.getValue();
+        int[] rowIds = new int[rows.cardinality()];
         int i = 0;
-        // for rowids in this page Set<RowId>
-        for (Short rowid : mapPageId.getValue()) {
-          rowIds[i++] = rowid;
+        for (int rowId = rows.nextSetBit(0); rowId >= 0; rowId = rows.nextSetBit(rowId + 1)) {
+          rowIds[i++] = rowId;
         }
         // construct one page
         FineGrainBlocklet.Page page = new FineGrainBlocklet.Page();
@@ -336,12 +280,30 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
     return blocklets;
   }
 
+  /**
+   * Return the rows of the page in the map, adding it if it is not present
+   */
+  private static BitSet getRows(Map<String, Map<Integer, BitSet>> mapBlocks, String blockletId,
+      int pageId) {
+    Map<Integer, BitSet> mapPageIds = mapBlocks.get(blockletId);
+    if (mapPageIds == null) {
+      mapPageIds = new HashMap<>();
+      mapBlocks.put(blockletId, mapPageIds);
+    }
+    BitSet rows = mapPageIds.get(pageId);
+    if (rows == null) {
+      rows = new BitSet();
+      mapPageIds.put(pageId, rows);
+    }
+    return rows;
+  }
+
   /**
    * It fills the rowids to the map, its value is combined with multiple rowids as we store group
-   * rows and combine as per there uniqueness.
+   * rows and combine as per there uniqueness. Used for the index written without doc values.
    */
   private void fillMapForCombineRows(ByteBuffer intBuffer,
-      Map<String, Map<Integer, List<Short>>> mapBlocks, List<IndexableField> fieldsInDoc,
+      Map<String, Map<Integer, BitSet>> mapBlocks, List<IndexableField> fieldsInDoc,
       String blockletId) {
     for (int i = 0; i < fieldsInDoc.size(); i++) {
       BytesRef bytesRef = fieldsInDoc.get(i).binaryValue();
@@ -360,27 +322,17 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
         pageId = intBuffer.getShort();
       }
 
-      Map<Integer, List<Short>> mapPageIds = mapBlocks.get(blockletId);
-      if (mapPageIds == null) {
-        mapPageIds = new HashMap<>();
-        mapBlocks.put(blockletId, mapPageIds);
-      }
-      List<Short> setRowId = mapPageIds.get(pageId);
-      if (setRowId == null) {
-        setRowId = new ArrayList<>();
-        mapPageIds.put(pageId, setRowId);
-      }
-
+      BitSet rows = getRows(mapBlocks, blockletId, pageId);
       while (buffer.hasRemaining()) {
-        setRowId.add(buffer.getShort());
+        rows.set(buffer.getShort());
       }
     }
   }
 
   /**
-   * Fill the map with rowids from documents
+   * Fill the map with rowids from documents. Used for the index written without doc values.
    */
-  private void fillMap(ByteBuffer intBuffer, Map<String, Map<Integer, List<Short>>> mapBlocks,
+  private void fillMap(ByteBuffer intBuffer, Map<String, Map<Integer, BitSet>> mapBlocks,
       List<IndexableField> fieldsInDoc, String blockletId) {
     int combineKey = fieldsInDoc.get(0).numericValue().intValue();
     intBuffer.clear();
@@ -398,17 +350,102 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
       pageId = intBuffer.getShort();
       rowId = fieldsInDoc.get(1).numericValue().shortValue();
     }
-    Map<Integer, List<Short>> mapPageIds = mapBlocks.get(blockletId);
-    if (mapPageIds == null) {
-      mapPageIds = new HashMap<>();
-      mapBlocks.put(blockletId, mapPageIds);
+    getRows(mapBlocks, blockletId, pageId).set(rowId);
+  }
+
+  /**
+   * Collects the rows of the matched documents into the map. Rows are read from the doc values
+   * written with the index, so the stored fields are loaded only for the index written without
+   * them. Scores are not computed and all the hits are collected in a single pass.
+   */
+  private class RowCollector extends SimpleCollector {
+
+    private final Map<String, Map<Integer, BitSet>> mapBlocks;
+
+    private final int maxDocs;
+
+    private final ByteBuffer intBuffer = ByteBuffer.allocate(4);
+
+    private int collectedDocs;
+
+    private String blockletId;
+
+    private LeafReader reader;
+
+    private NumericDocValues rowCoordinate;
+
+    private BinaryDocValues rowCoordinates;
+
+    RowCollector(Map<String, Map<Integer, BitSet>> mapBlocks, int maxDocs) {
+      this.mapBlocks = mapBlocks;
+      this.maxDocs = maxDocs;
     }
-    List<Short> setRowId = mapPageIds.get(pageId);
-    if (setRowId == null) {
-      setRowId = new ArrayList<>();
-      mapPageIds.put(pageId, setRowId);
+
+    void setBlockletId(String blockletId) {
+      this.blockletId = blockletId;
+    }
+
+    boolean isFull() {
+      return collectedDocs >= maxDocs;
+    }
+
+    @Override
+    protected void doSetNextReader(LeafReaderContext context) throws IOException {
+      if (isFull()) {
+        throw new CollectionTerminatedException();
+      }
+      reader = context.reader();
+      rowCoordinate = reader.getNumericDocValues(LuceneDataMapWriter.ROW_COORDINATE_NAME);
+      rowCoordinates = reader.getBinaryDocValues(LuceneDataMapWriter.ROW_COORDINATES_NAME);
+    }
+
+    @Override
+    public void collect(int doc) throws IOException {
+      if (isFull()) {
+        throw new CollectionTerminatedException();
+      }
+      collectedDocs++;
+      if (rowCoordinates != null) {
+        collectCombinedRows(rowCoordinates.get(doc));
+      } else if (rowCoordinate != null) {
+        long value = rowCoordinate.get(doc);
+        String blockletOfRow =
+            storeBlockletWise ? blockletId : String.valueOf((short) (value >>> 32));
+        getRows(mapBlocks, blockletOfRow, (short) (value >>> 16)).set((short) value);
+      } else {
+        List<IndexableField> fieldsInDoc = reader.document(doc).getFields();
+        if (writeCacheSize > 0) {
+          fillMapForCombineRows(intBuffer, mapBlocks, fieldsInDoc, blockletId);
+        } else {
+          fillMap(intBuffer, mapBlocks, fieldsInDoc, blockletId);
+        }
+      }
+    }
+
+    /**
+     * Read the page key, row count and rows of each page written from the cache
+     */
+    private void collectCombinedRows(BytesRef bytesRef) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length);
+      while (buffer.hasRemaining()) {
+        int pageKey = buffer.getInt();
+        int rowCount = buffer.getInt();
+        BitSet rows;
+        if (storeBlockletWise) {
+          rows = getRows(mapBlocks, blockletId, pageKey);
+        } else {
+          rows = getRows(mapBlocks, String.valueOf((short) (pageKey >>> 16)), (short) pageKey);
+        }
+        for (int i = 0; i < rowCount; i++) {
+          rows.set(buffer.getShort());
+        }
+      }
+    }
+
+    @Override
+    public boolean needsScores() {
+      return false;
     }
-    setRowId.add(rowId);
   }
 
   @Override
@@ -426,18 +463,6 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
 
   @Override
   public void finish() {
-    if (null != indexReader) {
-      try {
-        int referenceCount = indexReader.getRefCount();
-        if (referenceCount > 0) {
-          indexReader.decRef();
-          if (null != indexSearcherMap) {
-            indexSearcherMap.clear();
-          }
-        }
-      } catch (IOException e) {
-        LOGGER.error("Ignoring the exception, Error while closing the lucene index reader", e);
-      }
-    }
+    // searchers are owned by the cache and released after each search
   }
 }
@@ -51,7 +51,8 @@ public class LuceneFineGrainDataMapFactory extends LuceneDataMapFactoryBase<Fine
    */
   @Override public List<FineGrainDataMap> getDataMaps(Segment segment) throws IOException {
     List<FineGrainDataMap> lstDataMap = new ArrayList<>();
-    FineGrainDataMap dataMap = new LuceneFineGrainDataMap(analyzer, getDataMapSchema());
+    FineGrainDataMap dataMap =
+        new LuceneFineGrainDataMap(analyzer, getDataMapSchema(), searcherCache);
     try {
       dataMap.init(new DataMapModel(
           DataMapWriter.getDefaultDataMapPath(tableIdentifier.getTablePath(),
@@ -71,7 +72,8 @@ public class LuceneFineGrainDataMapFactory extends LuceneDataMapFactoryBase<Fine
   public List<FineGrainDataMap> getDataMaps(DataMapDistributable distributable)
       throws IOException {
     List<FineGrainDataMap> lstDataMap = new ArrayList<>();
-    FineGrainDataMap dataMap = new LuceneFineGrainDataMap(analyzer, getDataMapSchema());
+    FineGrainDataMap dataMap =
+        new LuceneFineGrainDataMap(analyzer, getDataMapSchema(), searcherCache);
     String indexPath = ((LuceneDataMapDistributable) distributable).getIndexPath();
     try {
       dataMap.init(new DataMapModel(indexPath, FileFactory.getConfiguration()));
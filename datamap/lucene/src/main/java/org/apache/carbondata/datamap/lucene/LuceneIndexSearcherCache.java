@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.datamap.lucene;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.log4j.Logger;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.Accountable;
+import org.apache.solr.store.hdfs.HdfsDirectory;
+
+/**
+ * Cache of the lucene index searchers, so that the index is opened once and shared by all the
+ * queries instead of being opened for every query. The key is the path of the index directory.
+ * The index reader of a searcher is reference counted, the cache holds one reference and each
+ * query holds one while searching, so an evicted searcher is closed only after the running
+ * queries release it.
+ */
+@InterfaceAudience.Internal
+public class LuceneIndexSearcherCache
+    implements Cache<String, LuceneIndexSearcherCache.CacheValue> {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(LuceneIndexSearcherCache.class.getName());
+
+  /**
+   * CarbonLRU cache
+   */
+  private CarbonLRUCache lruCache;
+
+  /**
+   * keys added to the lru cache, used to clear the searchers of a segment or datamap
+   */
+  private Set<String> keys =
+      Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+  public LuceneIndexSearcherCache(CarbonLRUCache lruCache) {
+    this.lruCache = lruCache;
+  }
+
+  /**
+   * Return the searcher of the index directory, opening it if it is not cached. A reference is
+   * acquired for the caller, it must be released by {@link CacheValue#release()} after searching.
+   */
+  @Override
+  public CacheValue get(String key) throws IOException {
+    String indexPath = getKey(key);
+    while (true) {
+      CacheValue cacheValue = getIfPresent(indexPath);
+      if (cacheValue == null) {
+        synchronized (this) {
+          cacheValue = getIfPresent(indexPath);
+          if (cacheValue == null) {
+            cacheValue = new CacheValue(key);
+            cacheValue.tryAcquire();
+            keys.add(indexPath);
+            if (!lruCache.put(indexPath, cacheValue, cacheValue.getMemorySize())) {
+              // no space in cache, the searcher is closed once the caller releases it
+              keys.remove(indexPath);
+              cacheValue.invalidate();
+            }
+            return cacheValue;
+          }
+        }
+      }
+      if (cacheValue.tryAcquire()) {
+        return cacheValue;
+      }
+      // evicted and closed after the lookup, open it again
+    }
+  }
+
+  @Override
+  public List<CacheValue> getAll(List<String> keys) throws IOException {
+    List<CacheValue> cacheValues = new ArrayList<>();
+    for (String key : keys) {
+      cacheValues.add(get(key));
+    }
+    return cacheValues;
+  }
+
+  @Override
+  public CacheValue getIfPresent(String key) {
+    return (CacheValue) lruCache.get(getKey(key));
+  }
+
+  @Override
+  public void invalidate(String key) {
+    String indexPath = getKey(key);
+    keys.remove(indexPath);
+    lruCache.remove(indexPath);
+  }
+
+  /**
+   * Invalidate the searchers of all the index directories under the path
+   */
+  public void invalidateAll(String path) {
+    String prefix = getKey(path) + "/";
+    for (String key : keys) {
+      if (key.startsWith(prefix)) {
+        invalidate(key);
+      }
+    }
+  }
+
+  @Override
+  public void put(String key, CacheValue value) {
+    // No impl required.
+  }
+
+  @Override
+  public void clearAccessCount(List<String> keys) {
+  }
+
+  /**
+   * cache key of the path, without the file system scheme
+   */
+  private static String getKey(String path) {
+    return new Path(path).toUri().getPath();
+  }
+
+  /**
+   * Searcher of one index directory
+   */
+  public static class CacheValue implements Cacheable {
+
+    private final IndexReader indexReader;
+
+    private final IndexSearcher indexSearcher;
+
+    private final long size;
+
+    /**
+     * whether the reference of the cache is released
+     */
+    private final AtomicBoolean invalidated = new AtomicBoolean(false);
+
+    CacheValue(String indexPath) throws IOException {
+      final Directory indexDir;
+      if (FileFactory.getFileType(indexPath) == FileFactory.FileType.LOCAL) {
+        // index on local disk is memory mapped, so it is paged by the OS and not read into heap
+        indexDir = new MMapDirectory(Paths.get(FileFactory.getUpdatedFilePath(indexPath)));
+      } else {
+        indexDir = new HdfsDirectory(new Path(indexPath), FileFactory.getConfiguration());
+      }
+      try {
+        this.indexReader = DirectoryReader.open(indexDir);
+      } catch (IOException e) {
+        indexDir.close();
+        throw e;
+      }
+      // the reader does not close its directory, close it once the last reference is released
+      indexReader.addReaderClosedListener(new IndexReader.ReaderClosedListener() {
+        @Override public void onClose(IndexReader reader) {
+          try {
+            indexDir.close();
+          } catch (IOException e) {
+            LOGGER.error("Ignoring the exception, Error while closing the lucene index directory",
+                e);
+          }
+        }
+      });
+      this.indexSearcher = new IndexSearcher(indexReader);
+      long memorySize = 0;
+      for (LeafReaderContext context : indexReader.leaves()) {
+        if (context.reader() instanceof Accountable) {
+          memorySize += ((Accountable) context.reader()).ramBytesUsed();
+        }
+      }
+      this.size = memorySize;
+    }
+
+    public IndexSearcher getIndexSearcher() {
+      return indexSearcher;
+    }
+
+    boolean tryAcquire() {
+      return indexReader.tryIncRef();
+    }
+
+    /**
+     * Release the reference acquired by {@link LuceneIndexSearcherCache#get(String)}
+     */
+    public void release() {
+      try {
+        indexReader.decRef();
+      } catch (IOException e) {
+        LOGGER.error("Ignoring the exception, Error while closing the lucene index reader", e);
+      }
+    }
+
+    @Override
+    public long getFileTimeStamp() {
+      return 0;
+    }
+
+    @Override
+    public int getAccessCount() {
+      return 0;
+    }
+
+    @Override
+    public long getMemorySize() {
+      return size;
+    }
+
+    @Override
+    public void invalidate() {
+      if (invalidated.compareAndSet(false, true)) {
+        release();
+      }
+    }
+  }
+}
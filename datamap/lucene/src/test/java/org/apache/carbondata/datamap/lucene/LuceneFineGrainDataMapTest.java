@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.datamap.lucene;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.datamap.dev.DataMapModel;
+import org.apache.carbondata.core.datamap.dev.fgdatamap.FineGrainBlocklet;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.DataMapSchema;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.expression.MatchExpression;
+import org.apache.carbondata.core.scan.filter.resolver.ConditionalFilterResolverImpl;
+import org.apache.carbondata.core.util.BitSetGroup;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+public class LuceneFineGrainDataMapTest {
+
+  private static final String indexDir = "./testLuceneIndex";
+
+  /**
+   * blocklet, page and row of the rows with value alpha
+   */
+  private static final int[][] ALPHA_ROWS =
+      new int[][] { { 0, 0, 1 }, { 0, 0, 5 }, { 0, 1, 2 }, { 1, 0, 7 } };
+
+  /**
+   * blocklet, page and row of the rows with value beta
+   */
+  private static final int[][] BETA_ROWS = new int[][] { { 0, 0, 2 }, { 1, 1, 3 } };
+
+  private List<CarbonColumn> indexColumns;
+
+  private LuceneIndexSearcherCache searcherCache;
+
+  @Before public void setUp() throws IOException {
+    FileUtils.deleteDirectory(new File(indexDir));
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("name");
+    columnSchema.setDataType(DataTypes.STRING);
+    indexColumns = Collections.singletonList(new CarbonColumn(columnSchema, 0, 0));
+    searcherCache = new LuceneIndexSearcherCache(
+        new CarbonLRUCache("carbon.lucene.test.cache.size", "-1"));
+  }
+
+  @After public void tearDown() throws IOException {
+    searcherCache.invalidateAll(new File(indexDir).getCanonicalPath());
+    FileUtils.deleteDirectory(new File(indexDir));
+  }
+
+  @Test public void testPruneWithRowDocValues() throws IOException {
+    String path = newIndexPath("rowDocValues");
+    IndexWriter indexWriter = newIndexWriter(path);
+    ByteBuffer intBuffer = ByteBuffer.allocate(4);
+    for (int[] row : ALPHA_ROWS) {
+      LuceneDataMapWriter.addData(newKey("alpha"), row[2], row[1], row[0], intBuffer, indexWriter,
+          indexColumns, false);
+    }
+    for (int[] row : BETA_ROWS) {
+      LuceneDataMapWriter.addData(newKey("beta"), row[2], row[1], row[0], intBuffer, indexWriter,
+          indexColumns, false);
+    }
+    close(indexWriter);
+
+    Assert.assertEquals(getExpectedRows(ALPHA_ROWS), prune(path, "name:alpha", 0));
+    Assert.assertEquals(getExpectedRows(BETA_ROWS), prune(path, "name:beta", 0));
+  }
+
+  @Test public void testPruneWithCombinedRowDocValues() throws IOException {
+    String path = newIndexPath("combinedDocValues");
+    Map<LuceneDataMapWriter.LuceneColumnKeys, Map<Integer, RoaringBitmap>> cache =
+        new LinkedHashMap<>();
+    addToCache(cache, "alpha", ALPHA_ROWS);
+    addToCache(cache, "beta", BETA_ROWS);
+    IndexWriter indexWriter = newIndexWriter(path);
+    LuceneDataMapWriter.flushCache(cache, indexColumns, indexWriter, false);
+    close(indexWriter);
+
+    Assert.assertEquals(getExpectedRows(ALPHA_ROWS), prune(path, "name:alpha", 10));
+    Assert.assertEquals(getExpectedRows(BETA_ROWS), prune(path, "name:beta", 10));
+  }
+
+  @Test public void testPruneIndexWithoutDocValues() throws IOException {
+    // index written by the older versions, the rows are only in the stored fields
+    String path = newIndexPath("storedFields");
+    IndexWriter indexWriter = newIndexWriter(path);
+    ByteBuffer intBuffer = ByteBuffer.allocate(4);
+    for (int[] row : ALPHA_ROWS) {
+      indexWriter.addDocument(newStoredFieldsDocument("alpha", row, intBuffer));
+    }
+    for (int[] row : BETA_ROWS) {
+      indexWriter.addDocument(newStoredFieldsDocument("beta", row, intBuffer));
+    }
+    close(indexWriter);
+
+    Assert.assertEquals(getExpectedRows(ALPHA_ROWS), prune(path, "name:alpha", 0));
+    Assert.assertEquals(getExpectedRows(BETA_ROWS), prune(path, "name:beta", 0));
+  }
+
+  @Test public void testPruneCombinedIndexWithoutDocValues() throws IOException {
+    String path = newIndexPath("combinedStoredFields");
+    IndexWriter indexWriter = newIndexWriter(path);
+    indexWriter.addDocument(newCombinedStoredFieldsDocument("alpha", ALPHA_ROWS));
+    indexWriter.addDocument(newCombinedStoredFieldsDocument("beta", BETA_ROWS));
+    close(indexWriter);
+
+    Assert.assertEquals(getExpectedRows(ALPHA_ROWS), prune(path, "name:alpha", 10));
+    Assert.assertEquals(getExpectedRows(BETA_ROWS), prune(path, "name:beta", 10));
+  }
+
+  @Test public void testSearcherIsReferenceCounted() throws IOException {
+    String path = newIndexPath("refCount");
+    IndexWriter indexWriter = newIndexWriter(path);
+    LuceneDataMapWriter.addData(newKey("alpha"), 1, 0, 0, ByteBuffer.allocate(4), indexWriter,
+        indexColumns, false);
+    close(indexWriter);
+
+    LuceneIndexSearcherCache.CacheValue first = searcherCache.get(path);
+    LuceneIndexSearcherCache.CacheValue second = searcherCache.get(path);
+    Assert.assertSame(first, second);
+    IndexReader reader = first.getIndexSearcher().getIndexReader();
+    // one reference of the cache and one of each caller
+    Assert.assertEquals(3, reader.getRefCount());
+    first.release();
+    second.release();
+    Assert.assertEquals(1, reader.getRefCount());
+
+    // invalidate removes the entry in the same way as the lru eviction
+    LuceneIndexSearcherCache.CacheValue held = searcherCache.get(path);
+    searcherCache.invalidate(path);
+    Assert.assertNull(searcherCache.getIfPresent(path));
+    Assert.assertEquals(1, reader.getRefCount());
+    Assert.assertEquals(1,
+        held.getIndexSearcher().count(new TermQuery(new Term("name", "alpha"))));
+    held.release();
+    Assert.assertEquals(0, reader.getRefCount());
+    Directory directory = ((DirectoryReader) reader).directory();
+    try {
+      directory.listAll();
+      Assert.fail("directory of the evicted searcher is not closed");
+    } catch (AlreadyClosedException e) {
+      // closed with the last reference
+    }
+
+    LuceneIndexSearcherCache.CacheValue reopened = searcherCache.get(path);
+    Assert.assertNotSame(held, reopened);
+    reopened.release();
+  }
+
+  @Test public void testInvalidateAllUnderPath() throws IOException {
+    String first = newIndexPath("segment/first");
+    String second = newIndexPath("segment/second");
+    String other = newIndexPath("other");
+    for (String path : new String[] { first, second, other }) {
+      IndexWriter indexWriter = newIndexWriter(path);
+      LuceneDataMapWriter.addData(newKey("alpha"), 1, 0, 0, ByteBuffer.allocate(4), indexWriter,
+          indexColumns, false);
+      close(indexWriter);
+      searcherCache.get(path).release();
+    }
+    searcherCache.invalidateAll(new File(indexDir, "segment").getCanonicalPath());
+    Assert.assertNull(searcherCache.getIfPresent(first));
+    Assert.assertNull(searcherCache.getIfPresent(second));
+    Assert.assertNotNull(searcherCache.getIfPresent(other));
+  }
+
+  private String newIndexPath(String name) throws IOException {
+    File dir = new File(indexDir, name);
+    Assert.assertTrue(dir.mkdirs());
+    return dir.getCanonicalPath();
+  }
+
+  private static IndexWriter newIndexWriter(String path) throws IOException {
+    return new IndexWriter(FSDirectory.open(Paths.get(path)),
+        new IndexWriterConfig(new StandardAnalyzer()));
+  }
+
+  private static void close(IndexWriter indexWriter) throws IOException {
+    indexWriter.close();
+    indexWriter.getDirectory().close();
+  }
+
+  private static LuceneDataMapWriter.LuceneColumnKeys newKey(String value) {
+    LuceneDataMapWriter.LuceneColumnKeys key = new LuceneDataMapWriter.LuceneColumnKeys(1);
+    key.getColValues()[0] = value;
+    return key;
+  }
+
+  /**
+   * Add the rows to the cache flushed by the writer, the page key has the blocklet in the high
+   * half and the page in the low half
+   */
+  private static void addToCache(
+      Map<LuceneDataMapWriter.LuceneColumnKeys, Map<Integer, RoaringBitmap>> cache, String value,
+      int[][] rows) {
+    Map<Integer, RoaringBitmap> pages = new HashMap<>();
+    for (int[] row : rows) {
+      int pageKey = (row[0] << 16) | row[1];
+      RoaringBitmap bitmap = pages.get(pageKey);
+      if (bitmap == null) {
+        bitmap = new RoaringBitmap();
+        pages.put(pageKey, bitmap);
+      }
+      bitmap.add(row[2]);
+    }
+    cache.put(newKey(value), pages);
+  }
+
+  private static Document newStoredFieldsDocument(String value, int[] row, ByteBuffer intBuffer) {
+    Document document = new Document();
+    document.add(new TextField("name", value, Field.Store.NO));
+    intBuffer.clear();
+    intBuffer.putShort((short) row[0]);
+    intBuffer.putShort((short) row[1]);
+    intBuffer.rewind();
+    document.add(new StoredField(LuceneDataMapWriter.PAGEID_NAME, intBuffer.getInt()));
+    document.add(new StoredField(LuceneDataMapWriter.ROWID_NAME, (short) row[2]));
+    return document;
+  }
+
+  private static Document newCombinedStoredFieldsDocument(String value, int[][] rows) {
+    Document document = new Document();
+    document.add(new TextField("name", value, Field.Store.NO));
+    Map<Integer, List<Integer>> pages = new LinkedHashMap<>();
+    for (int[] row : rows) {
+      int pageKey = (row[0] << 16) | row[1];
+      if (!pages.containsKey(pageKey)) {
+        pages.put(pageKey, new ArrayList<Integer>());
+      }
+      pages.get(pageKey).add(row[2]);
+    }
+    int count = 0;
+    for (Map.Entry<Integer, List<Integer>> page : pages.entrySet()) {
+      ByteBuffer buffer = ByteBuffer.allocate(4 + page.getValue().size() * 2);
+      buffer.putInt(page.getKey());
+      for (int rowId : page.getValue()) {
+        buffer.putShort((short) rowId);
+      }
+      document.add(new StoredField(LuceneDataMapWriter.PAGEID_NAME + count++, buffer.array()));
+    }
+    return document;
+  }
+
+  /**
+   * Prune the index and return the rows of each blocklet and page as "blocklet#page"
+   */
+  private Map<String, BitSet> prune(String path, String query, int writeCacheSize)
+      throws IOException {
+    DataMapSchema schema = new DataMapSchema("lucene_test", "lucene");
+    Map<String, String> properties = new HashMap<>();
+    properties.put(LuceneDataMapFactoryBase.SPLIT_BLOCKLET, "false");
+    properties.put(LuceneDataMapFactoryBase.FLUSH_CACHE, String.valueOf(writeCacheSize));
+    schema.setProperties(properties);
+    LuceneFineGrainDataMap dataMap =
+        new LuceneFineGrainDataMap(new StandardAnalyzer(), schema, searcherCache);
+    dataMap.init(new DataMapModel(path, new Configuration()));
+    List<FineGrainBlocklet> blocklets = dataMap.prune(
+        new ConditionalFilterResolverImpl(new MatchExpression(query), false, true, false), null,
+        null);
+    Map<String, BitSet> rows = new HashMap<>();
+    for (FineGrainBlocklet blocklet : blocklets) {
+      BitSetGroup bitSetGroup = blocklet.getBitSetGroup(2);
+      for (int pageId = 0; pageId < 2; pageId++) {
+        BitSet pageRows = bitSetGroup.getBitSet(pageId);
+        if (pageRows != null && !pageRows.isEmpty()) {
+          rows.put(blocklet.getBlockletId() + "#" + pageId, pageRows);
+        }
+      }
+    }
+    return rows;
+  }
+
+  private static Map<String, BitSet> getExpectedRows(int[][] rows) {
+    Map<String, BitSet> expected = new HashMap<>();
+    for (int[] row : rows) {
+      String key = row[0] + "#" + row[1];
+      if (!expected.containsKey(key)) {
+        expected.put(key, new BitSet());
+      }
+      expected.get(key).set(row[2]);
+    }
+    return expected;
+  }
+}
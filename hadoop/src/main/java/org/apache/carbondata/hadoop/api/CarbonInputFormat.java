@@ -36,6 +36,8 @@ import org.apache.carbondata.core.datamap.dev.expr.DataMapWrapperSimpleInfo;
 import org.apache.carbondata.core.exception.InvalidConfigurationException;
 import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
 import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.indexstore.service.BlockletIndexService;
+import org.apache.carbondata.core.indexstore.service.BlockletIndexServiceFactory;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.metadata.schema.PartitionInfo;
@@ -463,6 +465,33 @@ m filterExpression
     return filepaths.size();
   }
 
+  /**
+   * Prune with the default datamap, through the blocklet index service if it is configured
+   */
+  List<ExtendedBlocklet> pruneWithDefaultDataMap(CarbonTable carbonTable, List<Segment> segments,
+      FilterResolverIntf resolver, List<PartitionSpec> partitions) throws IOException {
+    BlockletIndexService indexService = BlockletIndexServiceFactory.getService();
+    if (indexService != null) {
+      return indexService.prune(carbonTable, segments, resolver, partitions);
+    }
+    return DataMapStoreManager.getInstance().getDefaultDataMap(carbonTable)
+        .prune(segments, resolver, partitions);
+  }
+
+  /**
+   * Remove the cached indexes of the invalid segments, also from the blocklet index service if
+   * it is configured
+   */
+  void clearInvalidSegments(CarbonTable carbonTable, List<Segment> segments)
+      throws IOException {
+    BlockletIndexService indexService = BlockletIndexServiceFactory.getService();
+    if (indexService != null) {
+      indexService.invalidateSegments(carbonTable, segments);
+    } else {
+      DataMapStoreManager.getInstance().clearInvalidSegments(carbonTable, segments);
+    }
+  }
+
   /**
    * Prune the blocklets using the filter expression with available datamaps.
    * First pruned with default blocklet datamap, then pruned with CG and FG datamaps
@@ -485,13 +514,15 @@ m filterExpression
     DataMapJob dataMapJob = DataMapUtil.getDataMapJob(job.getConfiguration());
     List<PartitionSpec> partitionsToPrune = getPartitionsToPrune(job.getConfiguration());
     // First prune using default datamap on driver side.
-    TableDataMap defaultDataMap = DataMapStoreManager.getInstance().getDefaultDataMap(carbonTable);
     List<ExtendedBlocklet> prunedBlocklets = null;
     // This is to log the event, so user will know what is happening by seeing logs.
     LOG.info("Started block pruning ...");
     if (carbonTable.isTransactionalTable()) {
-      prunedBlocklets = defaultDataMap.prune(segmentIds, resolver, partitionsToPrune);
+      prunedBlocklets =
+          pruneWithDefaultDataMap(carbonTable, segmentIds, resolver, partitionsToPrune);
     } else {
+      TableDataMap defaultDataMap =
+          DataMapStoreManager.getInstance().getDefaultDataMap(carbonTable);
       prunedBlocklets = defaultDataMap.prune(segmentIds, expression, partitionsToPrune);
     }
 
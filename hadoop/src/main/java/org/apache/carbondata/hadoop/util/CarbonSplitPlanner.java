@@ -0,0 +1,366 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CacheProvider;
+import org.apache.carbondata.core.cache.CacheType;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.indexstore.BlockletDetailInfo;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.CacheableDataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.hadoop.CarbonInputSplit;
+import org.apache.carbondata.hadoop.CarbonMultiBlockSplit;
+
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.log4j.Logger;
+
+/**
+ * Packs the pruned splits of a table into CarbonMultiBlockSplit of a target size, so that the
+ * engine schedules fewer tasks of similar cost instead of one task per block or blocklet.
+ *
+ * The cost of a split is the bytes of the projected column chunks of its blocklets plus an open
+ * cost for each block. The chunk lengths are taken from the blocklet info of the split, or from
+ * the footer of the block when the datamap caches only the blocks (CACHE_LEVEL=BLOCK) and the
+ * footer is already in the footer cache, the footer is never read from the file. When neither
+ * is available the length of the split is used. The splits of a block are kept in the
+ * same task unless they exceed the target size, and each task is assigned to the least loaded
+ * host among the locations of its splits.
+ */
+public class CarbonSplitPlanner {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(CarbonSplitPlanner.class.getName());
+
+  private static final String NO_LOCATION = "";
+
+  private final long targetSize;
+
+  private final long openCost;
+
+  /**
+   * projected columns, null if all the columns are read
+   */
+  private List<CarbonColumn> projectionColumns;
+
+  /**
+   * chunk indexes of the projected columns in the blocks of each schema
+   */
+  private final Map<String, ProjectedChunks> projectedChunks = new HashMap<>();
+
+  /**
+   * @param carbonTable table of the splits
+   * @param projection  projected column names, null or empty if all the columns are read
+   * @param targetSize  estimated bytes to read by each packed split
+   * @param openCost    bytes added to the cost for each block, for opening it and reading the
+   *                    footer
+   */
+  public CarbonSplitPlanner(CarbonTable carbonTable, String[] projection, long targetSize,
+      long openCost) {
+    this.targetSize = targetSize;
+    this.openCost = openCost;
+    if (projection != null && projection.length > 0) {
+      projectionColumns = new ArrayList<>(projection.length);
+      for (String columnName : projection) {
+        CarbonColumn column =
+            carbonTable.getColumnByName(carbonTable.getTableName(), columnName.trim());
+        if (column != null) {
+          projectionColumns.add(column);
+        }
+      }
+    }
+  }
+
+  private static int getNumberOfChildren(CarbonDimension dimension) {
+    int count = 0;
+    List<CarbonDimension> children = dimension.getListOfChildDimensions();
+    if (children != null) {
+      for (CarbonDimension child : children) {
+        count += 1 + getNumberOfChildren(child);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Pack the splits, each packed split holds the splits of one host
+   */
+  public List<InputSplit> packSplits(List<CarbonInputSplit> splits) throws IOException {
+    List<SplitGroup> groups = groupByBlock(splits);
+    // place the costly groups first so that the small ones fill the remaining space
+    Collections.sort(groups, new Comparator<SplitGroup>() {
+      @Override public int compare(SplitGroup o1, SplitGroup o2) {
+        return Long.compare(o2.cost, o1.cost);
+      }
+    });
+    List<InputSplit> packedSplits = new ArrayList<>();
+    Map<String, SplitGroup> openPacks = new LinkedHashMap<>();
+    Map<String, Long> hostCosts = new HashMap<>();
+    for (SplitGroup group : groups) {
+      String host = getLeastLoadedHost(group.locations, hostCosts);
+      SplitGroup pack = openPacks.get(host);
+      if (pack != null && pack.cost + group.cost > targetSize) {
+        packedSplits.add(pack.toMultiBlockSplit(host));
+        pack = null;
+      }
+      if (pack == null) {
+        pack = new SplitGroup(group.locations);
+        openPacks.put(host, pack);
+      }
+      pack.splits.addAll(group.splits);
+      pack.cost += group.cost;
+      Long hostCost = hostCosts.get(host);
+      hostCosts.put(host, (hostCost == null ? 0 : hostCost) + group.cost);
+    }
+    for (Map.Entry<String, SplitGroup> entry : openPacks.entrySet()) {
+      packedSplits.add(entry.getValue().toMultiBlockSplit(entry.getKey()));
+    }
+    LOGGER.info("Packed " + splits.size() + " splits into " + packedSplits.size()
+        + " splits of target size " + targetSize + " bytes on " + hostCosts.size() + " hosts");
+    return packedSplits;
+  }
+
+  /**
+   * Group the splits of each block, a block whose cost exceeds the target size is split into
+   * one group for each of its splits
+   */
+  private List<SplitGroup> groupByBlock(List<CarbonInputSplit> splits) throws IOException {
+    Map<String, SplitGroup> blockGroups = new LinkedHashMap<>();
+    // the splits of the blocklets of a block are equal, so they are kept by identity
+    Map<CarbonInputSplit, Long> splitCosts = new IdentityHashMap<>();
+    for (CarbonInputSplit split : splits) {
+      SplitGroup group = blockGroups.get(split.getBlockPath());
+      if (group == null) {
+        group = new SplitGroup(split.getLocations());
+        group.cost = openCost;
+        blockGroups.put(split.getBlockPath(), group);
+      }
+      long cost = getCost(split);
+      splitCosts.put(split, cost);
+      group.splits.add(split);
+      group.cost += cost;
+    }
+    List<SplitGroup> groups = new ArrayList<>(blockGroups.size());
+    for (SplitGroup group : blockGroups.values()) {
+      if (group.cost > targetSize && group.splits.size() > 1) {
+        for (CarbonInputSplit split : group.splits) {
+          SplitGroup splitGroup = new SplitGroup(group.locations);
+          splitGroup.splits.add(split);
+          splitGroup.cost = openCost + splitCosts.get(split);
+          groups.add(splitGroup);
+        }
+      } else {
+        groups.add(group);
+      }
+    }
+    return groups;
+  }
+
+  /**
+   * Return the estimated bytes to read for the split
+   */
+  long getCost(CarbonInputSplit split) throws IOException {
+    BlockletDetailInfo detailInfo = split.getDetailInfo();
+    if (projectionColumns == null || detailInfo == null) {
+      return split.getLength();
+    }
+    List<ColumnSchema> columnSchemas = detailInfo.getColumnSchemas();
+    if (columnSchemas == null || detailInfo.getDimLens() == null) {
+      return split.getLength();
+    }
+    List<BlockletInfo> blockletInfos;
+    if (detailInfo.getBlockletInfo() != null) {
+      blockletInfos = Collections.singletonList(detailInfo.getBlockletInfo());
+    } else {
+      // the datamap caches only the blocks, the chunk lengths are in the footer of the block
+      DataFileFooter footer = getCachedFooter(CarbonInputSplit.getTableBlockInfo(split));
+      if (footer == null) {
+        return split.getLength();
+      }
+      blockletInfos = footer.getBlockletList();
+    }
+    if (blockletInfos == null || blockletInfos.isEmpty()) {
+      return split.getLength();
+    }
+    ProjectedChunks chunks = getProjectedChunks(columnSchemas, detailInfo.getDimLens());
+    long cost = 0;
+    for (BlockletInfo blockletInfo : blockletInfos) {
+      List<Integer> dimensionLengths = blockletInfo.getDimensionChunksLength();
+      List<Integer> measureLengths = blockletInfo.getMeasureChunksLength();
+      if (dimensionLengths == null || measureLengths == null) {
+        return split.getLength();
+      }
+      for (int chunkIndex : chunks.dimensionChunks) {
+        if (chunkIndex < dimensionLengths.size()) {
+          cost += dimensionLengths.get(chunkIndex);
+        }
+      }
+      for (int chunkIndex : chunks.measureChunks) {
+        if (chunkIndex < measureLengths.size()) {
+          cost += measureLengths.get(chunkIndex);
+        }
+      }
+    }
+    return cost;
+  }
+
+  /**
+   * Return the footer of the block if it is in the footer cache, null otherwise
+   */
+  private static DataFileFooter getCachedFooter(TableBlockInfo blockInfo) {
+    if (blockInfo.getVersion() != ColumnarFormatVersion.V3 || !Boolean.parseBoolean(
+        CarbonProperties.getInstance().getProperty(
+            CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED,
+            CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED_DEFAULT))) {
+      return null;
+    }
+    Cache<TableBlockInfo, CacheableDataFileFooter> footerCache =
+        CacheProvider.getInstance().createCache(CacheType.DATA_FILE_FOOTER);
+    CacheableDataFileFooter cachedFooter = footerCache.getIfPresent(blockInfo);
+    return cachedFooter == null ? null : cachedFooter.getDataFileFooter();
+  }
+
+  /**
+   * Return the chunk indexes of the projected columns in the blocks of the schema. The columns
+   * are matched by their id and mapped to the chunks through the segment properties of the
+   * schema, the columns added after the block was written have no chunk.
+   */
+  private ProjectedChunks getProjectedChunks(List<ColumnSchema> columnSchemas,
+      int[] columnCardinality) {
+    StringBuilder key = new StringBuilder();
+    for (ColumnSchema columnSchema : columnSchemas) {
+      key.append(columnSchema.getColumnUniqueId()).append(columnSchema.isDimensionColumn())
+          .append(',');
+    }
+    ProjectedChunks chunks = projectedChunks.get(key.toString());
+    if (chunks != null) {
+      return chunks;
+    }
+    SegmentProperties segmentProperties = new SegmentProperties(columnSchemas, columnCardinality);
+    chunks = new ProjectedChunks();
+    for (CarbonColumn column : projectionColumns) {
+      if (column.isDimension()) {
+        CarbonDimension dimension = findDimension(segmentProperties, column.getColumnId());
+        if (dimension == null) {
+          continue;
+        }
+        // complex dimension is stored in one chunk for itself followed by one for each child
+        int chunkIndex =
+            segmentProperties.getDimensionOrdinalToChunkMapping().get(dimension.getOrdinal());
+        int numChunks = 1 + getNumberOfChildren(dimension);
+        for (int i = 0; i < numChunks; i++) {
+          chunks.dimensionChunks.add(chunkIndex + i);
+        }
+      } else {
+        CarbonMeasure measure = segmentProperties.getMeasureFromCurrentBlock(column.getColumnId());
+        if (measure != null) {
+          chunks.measureChunks.add(
+              segmentProperties.getMeasuresOrdinalToChunkMapping().get(measure.getOrdinal()));
+        }
+      }
+    }
+    projectedChunks.put(key.toString(), chunks);
+    return chunks;
+  }
+
+  private static CarbonDimension findDimension(SegmentProperties segmentProperties,
+      String columnId) {
+    for (CarbonDimension dimension : segmentProperties.getDimensions()) {
+      if (dimension.getColumnId().equals(columnId)) {
+        return dimension;
+      }
+    }
+    for (CarbonDimension dimension : segmentProperties.getComplexDimensions()) {
+      if (dimension.getColumnId().equals(columnId)) {
+        return dimension;
+      }
+    }
+    return null;
+  }
+
+  private static String getLeastLoadedHost(String[] locations, Map<String, Long> hostCosts) {
+    String host = NO_LOCATION;
+    long minCost = Long.MAX_VALUE;
+    if (locations != null) {
+      for (String location : locations) {
+        if (location == null || location.isEmpty() || location.equals("localhost")) {
+          continue;
+        }
+        Long cost = hostCosts.get(location);
+        long hostCost = cost == null ? 0 : cost;
+        if (hostCost < minCost) {
+          minCost = hostCost;
+          host = location;
+        }
+      }
+    }
+    return host;
+  }
+
+  /**
+   * Chunk indexes of the projected dimensions and measures in the blocks of a schema
+   */
+  private static class ProjectedChunks {
+
+    private final List<Integer> dimensionChunks = new ArrayList<>();
+
+    private final List<Integer> measureChunks = new ArrayList<>();
+  }
+
+  /**
+   * Splits packed together with their estimated cost
+   */
+  private static class SplitGroup {
+
+    private final List<CarbonInputSplit> splits = new ArrayList<>();
+
+    private final String[] locations;
+
+    private long cost;
+
+    private SplitGroup(String[] locations) {
+      this.locations = locations;
+    }
+
+    private CarbonMultiBlockSplit toMultiBlockSplit(String host) {
+      String[] splitLocations = NO_LOCATION.equals(host) ? locations : new String[] { host };
+      return new CarbonMultiBlockSplit(splits, splitLocations);
+    }
+  }
+}
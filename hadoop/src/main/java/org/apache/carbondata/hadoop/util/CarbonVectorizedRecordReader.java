@@ -30,6 +30,7 @@ import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.scan.executor.QueryExecutor;
 import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
 import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
@@ -39,7 +40,7 @@ import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.result.iterator.AbstractDetailQueryResultIterator;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonComplexColumnVectorImpl;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.hadoop.AbstractRecordReader;
 import org.apache.carbondata.hadoop.CarbonInputSplit;
@@ -119,7 +120,13 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
   }
 
 
-  private boolean nextBatch() {
+  /**
+   * Fill the next batch of rows into the columnar batch, the rows are available through
+   * {@link #getColumnarBatch()}
+   *
+   * @return false if there are no more rows
+   */
+  public boolean nextBatch() {
     carbonColumnarBatch.reset();
     if (iterator.hasNext()) {
       iterator.processNextBatch(carbonColumnarBatch);
@@ -137,7 +144,7 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
       StructField[] fields = new StructField[queryDimension.size() + queryMeasures.size()];
       for (ProjectionDimension dim : queryDimension) {
         fields[dim.getOrdinal()] =
-            new StructField(dim.getColumnName(), dim.getDimension().getDataType());
+            new StructField(dim.getColumnName(), getDataType(dim.getDimension()));
       }
       for (ProjectionMeasure msr : queryMeasures) {
         DataType dataType = msr.getMeasure().getDataType();
@@ -156,9 +163,8 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
       }
       CarbonColumnVector[] vectors = new CarbonColumnVector[fields.length];
       for (int i = 0; i < fields.length; i++) {
-        vectors[i] = new CarbonColumnVectorImpl(
-            CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT,
-            fields[i].getDataType());
+        vectors[i] = createColumnVector(fields[i],
+            CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT);
       }
       carbonColumnarBatch = new CarbonColumnarBatch(vectors,
           CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT,
@@ -166,6 +172,52 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
     }
   }
 
+  /**
+   * Return the data type of the dimension, for complex dimension the type of the children is
+   * built from the child dimensions
+   */
+  private static DataType getDataType(CarbonDimension dimension) {
+    DataType dataType = dimension.getDataType();
+    if (!dimension.isComplex()) {
+      return dataType;
+    }
+    List<CarbonDimension> children = dimension.getListOfChildDimensions();
+    if (DataTypes.isArrayType(dataType)) {
+      return DataTypes.createArrayType(getDataType(children.get(0)));
+    } else if (DataTypes.isMapType(dataType)) {
+      // map is stored as array of struct of key and value
+      List<CarbonDimension> entry = children.get(0).getListOfChildDimensions();
+      return DataTypes.createMapType(getDataType(entry.get(0)), getDataType(entry.get(1)));
+    } else {
+      List<StructField> fields = new ArrayList<>(children.size());
+      for (CarbonDimension child : children) {
+        String name = child.getColName();
+        fields.add(new StructField(name.substring(name.lastIndexOf('.') + 1),
+            getDataType(child)));
+      }
+      return DataTypes.createStructType(fields);
+    }
+  }
+
+  /**
+   * Create the vector into which the scan fills the given projection field. Readers which
+   * fill their own memory format can override it.
+   *
+   * @param field     projection field
+   * @param batchSize maximum number of rows filled in one batch
+   * @return column vector
+   */
+  protected CarbonColumnVector createColumnVector(StructField field, int batchSize) {
+    return CarbonComplexColumnVectorImpl.createVector(batchSize, field.getDataType());
+  }
+
+  /**
+   * Return the columnar batch filled by the last call of {@link #nextBatch()}
+   */
+  public CarbonColumnarBatch getColumnarBatch() {
+    return carbonColumnarBatch;
+  }
+
   @Override
   public Object getCurrentValue() throws IOException, InterruptedException {
     rowCount += 1;
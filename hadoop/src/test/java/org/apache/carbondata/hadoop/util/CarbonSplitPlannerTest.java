@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CacheProvider;
+import org.apache.carbondata.core.cache.CacheType;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.indexstore.BlockletDetailInfo;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.CacheableDataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.hadoop.CarbonInputSplit;
+import org.apache.carbondata.hadoop.CarbonMultiBlockSplit;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CarbonSplitPlannerTest {
+
+  private static final String[] NO_LOCATION = new String[0];
+
+  private static CarbonTable carbonTable;
+
+  /**
+   * columns of the table, the dimensions name and city and the measures age and salary
+   */
+  private static List<ColumnSchema> columns;
+
+  @BeforeClass public static void setUp() {
+    TableSchemaBuilder builder = TableSchema.builder().tableName("planner");
+    AtomicInteger valIndex = new AtomicInteger(0);
+    builder.addColumn(new StructField("name", DataTypes.STRING), valIndex, false, false);
+    builder.addColumn(new StructField("city", DataTypes.STRING), valIndex, false, false);
+    builder.addColumn(new StructField("age", DataTypes.INT), valIndex, false, false);
+    builder.addColumn(new StructField("salary", DataTypes.DOUBLE), valIndex, false, false);
+    TableInfo tableInfo = new TableInfo();
+    tableInfo.setDatabaseName("default");
+    tableInfo.setTableUniqueName("default_planner");
+    tableInfo.setFactTable(builder.build());
+    tableInfo.setTablePath("planner");
+    tableInfo.setLastUpdatedTime(System.currentTimeMillis());
+    carbonTable = CarbonTable.buildFromTableInfo(tableInfo);
+    columns = tableInfo.getFactTable().getListOfColumns();
+  }
+
+  @Test public void testCostOfProjectedChunks() throws IOException {
+    CarbonInputSplit split = createSplit("block_0", 1000000, NO_LOCATION);
+    split.setDetailInfo(createDetailInfo(columns,
+        createBlockletInfo(Arrays.asList(10000, 100), Arrays.asList(20000, 200))));
+    Assert.assertEquals(300,
+        createPlanner(new String[] { "city", "salary" }, 0).getCost(split));
+    Assert.assertEquals(30000,
+        createPlanner(new String[] { "name", "age" }, 0).getCost(split));
+    Assert.assertEquals(1000000, createPlanner(null, 0).getCost(split));
+  }
+
+  @Test public void testChunksOfBlockWrittenBeforeSchemaChange() throws IOException {
+    // the block was written when the table had only city and salary, so their chunks are the
+    // first ones of the block while their ordinals in the table are the second ones
+    CarbonInputSplit split = createSplit("block_0", 1000000, NO_LOCATION);
+    split.setDetailInfo(createDetailInfo(Arrays.asList(columns.get(1), columns.get(3)),
+        createBlockletInfo(Arrays.asList(100), Arrays.asList(200))));
+    Assert.assertEquals(300,
+        createPlanner(new String[] { "city", "salary" }, 0).getCost(split));
+    // name and age have no chunk in the block
+    Assert.assertEquals(0, createPlanner(new String[] { "name", "age" }, 0).getCost(split));
+  }
+
+  @Test public void testCostOfBlockLevelSplitFromFooter() throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED, "true");
+    Cache<TableBlockInfo, CacheableDataFileFooter> footerCache =
+        CacheProvider.getInstance().createCache(CacheType.DATA_FILE_FOOTER);
+    // the datamap of CACHE_LEVEL=BLOCK keeps no blocklet info, the footer has both blocklets
+    CarbonInputSplit split = createSplit("block_0", 1000000, NO_LOCATION);
+    split.setDetailInfo(createDetailInfo(columns, null));
+    TableBlockInfo blockInfo = CarbonInputSplit.getTableBlockInfo(split);
+    try {
+      DataFileFooter footer = new DataFileFooter();
+      footer.setColumnInTable(columns);
+      footer.setBlockletList(Arrays.asList(
+          createBlockletInfo(Arrays.asList(10000, 100), Arrays.asList(20000, 200)),
+          createBlockletInfo(Arrays.asList(10000, 150), Arrays.asList(20000, 250))));
+      footerCache.put(blockInfo, new CacheableDataFileFooter(footer));
+      Assert.assertEquals(700,
+          createPlanner(new String[] { "city", "salary" }, 0).getCost(split));
+    } finally {
+      footerCache.invalidate(blockInfo);
+      CarbonProperties.getInstance()
+          .removeProperty(CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED);
+    }
+  }
+
+  @Test public void testCostOfBlockLevelSplitWithoutCachedFooter() throws IOException {
+    // the footer is not read from the file, the length of the split is used
+    CarbonInputSplit split = createSplit("block_0", 1000000, NO_LOCATION);
+    split.setDetailInfo(createDetailInfo(columns, null));
+    Assert.assertEquals(1000000,
+        createPlanner(new String[] { "city", "salary" }, 0).getCost(split));
+  }
+
+  @Test public void testPackingWeightedByProjectedCost() throws IOException {
+    List<CarbonInputSplit> splits = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      CarbonInputSplit split = createSplit("block_" + i, 1000000, NO_LOCATION);
+      split.setDetailInfo(createDetailInfo(columns,
+          createBlockletInfo(Arrays.asList(10000, 100), Arrays.asList(20000, 200))));
+      splits.add(split);
+    }
+    // the projected chunks of all the blocks fit the target size
+    Assert.assertEquals(1,
+        createPlanner(new String[] { "city", "salary" }, 1500).packSplits(splits).size());
+    // the projected chunks of each block exceed the target size
+    Assert.assertEquals(4,
+        createPlanner(new String[] { "name", "city" }, 1500).packSplits(splits).size());
+  }
+
+  @Test public void testBalancingHostsByCost() throws IOException {
+    String[] hosts = new String[] { "host1", "host2" };
+    List<CarbonInputSplit> splits = new ArrayList<>();
+    splits.add(createSplit("block_200", 200, hosts));
+    splits.add(createSplit("block_500", 500, hosts));
+    splits.add(createSplit("block_300", 300, hosts));
+    splits.add(createSplit("block_400", 400, hosts));
+    Map<String, List<String>> blocksOfHost = getBlocksOfHost(
+        createPlanner(null, 10000).packSplits(splits));
+    // the costly blocks are placed first, each on the least loaded host
+    Assert.assertEquals(2, blocksOfHost.size());
+    Assert.assertEquals(Arrays.asList("block_500", "block_200"), blocksOfHost.get("host1"));
+    Assert.assertEquals(Arrays.asList("block_400", "block_300"), blocksOfHost.get("host2"));
+  }
+
+  @Test public void testSplitsOfBlockStayTogetherOnTheirHost() throws IOException {
+    List<CarbonInputSplit> splits = new ArrayList<>();
+    splits.add(createSplit("block_a", 300, new String[] { "host1" }));
+    splits.add(createSplit("block_b", 300, new String[] { "host2" }));
+    splits.add(createSplit("block_a", 300, new String[] { "host1" }));
+    splits.add(createSplit("block_c", 300, new String[] { "host1" }));
+    List<InputSplit> packedSplits = createPlanner(null, 700).packSplits(splits);
+    Assert.assertEquals(3, packedSplits.size());
+    boolean hasBlockA = false;
+    for (InputSplit packedSplit : packedSplits) {
+      CarbonMultiBlockSplit multiBlockSplit = (CarbonMultiBlockSplit) packedSplit;
+      List<String> blocks = new ArrayList<>();
+      for (CarbonInputSplit split : multiBlockSplit.getAllSplits()) {
+        blocks.add(split.getBlockPath());
+      }
+      String host = multiBlockSplit.getLocations()[0];
+      if (blocks.contains("block_a")) {
+        Assert.assertEquals(Arrays.asList("block_a", "block_a"), blocks);
+        Assert.assertEquals("host1", host);
+        hasBlockA = true;
+      } else if (blocks.contains("block_b")) {
+        Assert.assertEquals("host2", host);
+      } else {
+        Assert.assertEquals(Arrays.asList("block_c"), blocks);
+        Assert.assertEquals("host1", host);
+      }
+    }
+    Assert.assertTrue(hasBlockA);
+  }
+
+  private static CarbonSplitPlanner createPlanner(String[] projection, long targetSize) {
+    return new CarbonSplitPlanner(carbonTable, projection, targetSize, 0);
+  }
+
+  private static CarbonInputSplit createSplit(String blockName, long length,
+      String[] locations) {
+    return new CarbonInputSplit("0", "0", new Path("/planner/" + blockName), 0, length,
+        locations, 1, ColumnarFormatVersion.V3, null);
+  }
+
+  private static BlockletDetailInfo createDetailInfo(List<ColumnSchema> columnSchemas,
+      BlockletInfo blockletInfo) {
+    BlockletDetailInfo detailInfo = new BlockletDetailInfo();
+    detailInfo.setColumnSchemas(columnSchemas);
+    int numDimensions = 0;
+    for (ColumnSchema columnSchema : columnSchemas) {
+      if (columnSchema.isDimensionColumn()) {
+        numDimensions++;
+      }
+    }
+    int[] dimLens = new int[numDimensions];
+    Arrays.fill(dimLens, -1);
+    detailInfo.setDimLens(dimLens);
+    detailInfo.setBlockletInfo(blockletInfo);
+    detailInfo.setVersionNumber(ColumnarFormatVersion.V3.number());
+    return detailInfo;
+  }
+
+  private static BlockletInfo createBlockletInfo(List<Integer> dimensionChunksLength,
+      List<Integer> measureChunksLength) {
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setDimensionChunksLength(dimensionChunksLength);
+    blockletInfo.setMeasureChunksLength(measureChunksLength);
+    return blockletInfo;
+  }
+
+  private static Map<String, List<String>> getBlocksOfHost(List<InputSplit> packedSplits)
+      throws IOException {
+    Map<String, List<String>> blocksOfHost = new HashMap<>();
+    for (InputSplit packedSplit : packedSplits) {
+      List<String> blocks = new ArrayList<>();
+      for (CarbonInputSplit split : ((CarbonMultiBlockSplit) packedSplit).getAllSplits()) {
+        blocks.add(split.getBlockPath());
+      }
+      blocksOfHost.put(packedSplit.getLocations()[0], blocks);
+    }
+    return blocksOfHost;
+  }
+}
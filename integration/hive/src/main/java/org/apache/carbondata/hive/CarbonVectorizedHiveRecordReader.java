@@ -0,0 +1,397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.hive;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.dictionary.Dictionary;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.executor.QueryExecutor;
+import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
+import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.iterator.AbstractDetailQueryResultIterator;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatchCtx;
+import org.apache.hadoop.hive.ql.metadata.HiveException;
+import org.apache.hadoop.hive.serde.serdeConstants;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.log4j.Logger;
+
+/**
+ * Record reader used when hive executes the query in vectorized mode. The scan fills a carbon
+ * columnar batch of the projected columns and the batch is copied column by column into the
+ * hive row batch, so hive operators process the rows a batch at a time instead of deserializing
+ * every row through the serde.
+ */
+class CarbonVectorizedHiveRecordReader implements RecordReader<NullWritable, VectorizedRowBatch> {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(CarbonVectorizedHiveRecordReader.class.getCanonicalName());
+
+  private QueryModel queryModel;
+
+  private QueryExecutor queryExecutor;
+
+  private AbstractDetailQueryResultIterator iterator;
+
+  private CarbonColumnarBatch carbonColumnarBatch;
+
+  /**
+   * used to decode the global dictionary columns filled as surrogate keys
+   */
+  private CarbonDictionaryDecodeReadSupport<Object> readSupport;
+
+  /**
+   * index of each projected column in the hive row batch
+   */
+  private int[] columnIds;
+
+  private VectorizedRowBatchCtx rbCtx;
+
+  private boolean addPartitionCols = true;
+
+  private long rowCount;
+
+  CarbonVectorizedHiveRecordReader(QueryModel queryModel, InputSplit inputSplit, JobConf jobConf)
+      throws IOException {
+    this.queryModel = queryModel;
+    initialize(inputSplit, jobConf);
+  }
+
+  private void initialize(InputSplit inputSplit, JobConf jobConf) throws IOException {
+    List<CarbonHiveInputSplit> splitList;
+    if (inputSplit instanceof CarbonHiveInputSplit) {
+      splitList = new ArrayList<>(1);
+      splitList.add((CarbonHiveInputSplit) inputSplit);
+    } else {
+      throw new RuntimeException("unsupported input split type: " + inputSplit);
+    }
+    List<TableBlockInfo> tableBlockInfoList = CarbonHiveInputSplit.createBlocks(splitList);
+    queryModel.setTableBlockInfos(tableBlockInfoList);
+    queryModel.setVectorReader(true);
+    readSupport = new CarbonDictionaryDecodeReadSupport<>();
+    readSupport.initialize(queryModel.getProjectionColumns(), queryModel.getTable());
+    initColumnIds(jobConf);
+    initBatch();
+    try {
+      rbCtx = new VectorizedRowBatchCtx();
+      rbCtx.init(jobConf, (FileSplit) inputSplit);
+      queryExecutor = QueryExecutorFactory.getQueryExecutor(queryModel, jobConf);
+      iterator = (AbstractDetailQueryResultIterator) queryExecutor.execute(queryModel);
+    } catch (QueryExecutionException e) {
+      throw new IOException(e.getMessage(), e.getCause());
+    } catch (IOException e) {
+      throw e;
+    } catch (Exception e) {
+      LOGGER.error("Failed to create the vectorized row batch context", e);
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Map the projected columns to the columns of the hive row batch, which holds the columns in
+   * the order of the table schema
+   */
+  private void initColumnIds(JobConf jobConf) {
+    String[] tableColumns = jobConf.get(serdeConstants.LIST_COLUMNS).split(",");
+    Map<String, Integer> tableColumnIds = new HashMap<>();
+    for (int i = 0; i < tableColumns.length; i++) {
+      tableColumnIds.put(tableColumns[i].toLowerCase(), i);
+    }
+    CarbonColumn[] projectionColumns = queryModel.getProjectionColumns();
+    columnIds = new int[projectionColumns.length];
+    for (int i = 0; i < projectionColumns.length; i++) {
+      Integer columnId = tableColumnIds.get(projectionColumns[i].getColName().toLowerCase());
+      columnIds[i] = columnId == null ? -1 : columnId;
+    }
+  }
+
+  private void initBatch() throws IOException {
+    List<ProjectionDimension> queryDimension = queryModel.getProjectionDimensions();
+    List<ProjectionMeasure> queryMeasures = queryModel.getProjectionMeasures();
+    CarbonColumnVector[] vectors =
+        new CarbonColumnVector[queryDimension.size() + queryMeasures.size()];
+    int batchSize = VectorizedRowBatch.DEFAULT_SIZE;
+    for (ProjectionDimension dim : queryDimension) {
+      if (dim.getDimension().isComplex()) {
+        // hive does not vectorize the queries on complex columns
+        throw new IOException(
+            "Complex column " + dim.getColumnName() + " is not supported in vectorized mode");
+      }
+      DataType dataType = dim.getDimension().getDataType();
+      if (readSupport.dictionaries[dim.getOrdinal()] != null) {
+        // global dictionary column is filled with the surrogate keys
+        dataType = DataTypes.INT;
+      }
+      vectors[dim.getOrdinal()] = new CarbonColumnVectorImpl(batchSize, dataType);
+    }
+    for (ProjectionMeasure msr : queryMeasures) {
+      DataType dataType = msr.getMeasure().getDataType();
+      if (DataTypes.isDecimal(dataType)) {
+        dataType = DataTypes.createDecimalType(msr.getMeasure().getPrecision(),
+            msr.getMeasure().getScale());
+      } else if (dataType != DataTypes.BOOLEAN && dataType != DataTypes.SHORT
+          && dataType != DataTypes.INT && dataType != DataTypes.LONG
+          && dataType != DataTypes.FLOAT && dataType != DataTypes.BYTE) {
+        dataType = DataTypes.DOUBLE;
+      }
+      vectors[msr.getOrdinal()] = new CarbonColumnVectorImpl(batchSize, dataType);
+    }
+    carbonColumnarBatch = new CarbonColumnarBatch(vectors, batchSize, new boolean[] {});
+  }
+
+  @Override
+  public boolean next(NullWritable key, VectorizedRowBatch value) throws IOException {
+    try {
+      if (addPartitionCols) {
+        rbCtx.addPartitionColsToBatch(value);
+        addPartitionCols = false;
+      }
+    } catch (HiveException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+    carbonColumnarBatch.reset();
+    if (!iterator.hasNext()) {
+      value.size = 0;
+      return false;
+    }
+    iterator.processNextBatch(carbonColumnarBatch);
+    int numRows = carbonColumnarBatch.getActualSize();
+    for (int i = 0; i < columnIds.length; i++) {
+      if (columnIds[i] >= 0 && value.cols[columnIds[i]] != null) {
+        fillColumnVector((CarbonColumnVectorImpl) carbonColumnarBatch.columnVectors[i],
+            readSupport.dictionaries[i], value.cols[columnIds[i]], numRows);
+      }
+    }
+    value.size = numRows;
+    value.selectedInUse = false;
+    rowCount += numRows;
+    return true;
+  }
+
+  /**
+   * Copy the rows of the carbon vector into the hive column vector. The values are copied from
+   * the typed arrays of the carbon vector, only the combinations without a typed copy go
+   * through the boxed values of the rows.
+   */
+  private static void fillColumnVector(CarbonColumnVectorImpl source, Dictionary dictionary,
+      ColumnVector target, int numRows) {
+    target.reset();
+    for (int i = 0; i < numRows; i++) {
+      if (source.isNullAt(i)) {
+        target.noNulls = false;
+        target.isNull[i] = true;
+      }
+    }
+    Object dataArray = source.getDataArray();
+    if (dictionary != null) {
+      fillDictionaryColumnVector((int[]) dataArray, dictionary, target, numRows);
+    } else if (target instanceof LongColumnVector) {
+      long[] vector = ((LongColumnVector) target).vector;
+      if (dataArray instanceof long[]) {
+        long[] longs = (long[]) dataArray;
+        if (source.getType() == DataTypes.TIMESTAMP) {
+          // carbon fills timestamp in microseconds and hive expects nanoseconds
+          for (int i = 0; i < numRows; i++) {
+            vector[i] = longs[i] * 1000L;
+          }
+        } else {
+          System.arraycopy(longs, 0, vector, 0, numRows);
+        }
+      } else if (dataArray instanceof int[]) {
+        int[] ints = (int[]) dataArray;
+        for (int i = 0; i < numRows; i++) {
+          vector[i] = ints[i];
+        }
+      } else if (dataArray instanceof short[]) {
+        short[] shorts = (short[]) dataArray;
+        for (int i = 0; i < numRows; i++) {
+          vector[i] = shorts[i];
+        }
+      } else if (dataArray instanceof byte[]) {
+        byte[] bytes = (byte[]) dataArray;
+        for (int i = 0; i < numRows; i++) {
+          vector[i] = bytes[i];
+        }
+      } else {
+        fillColumnVectorByRow(source, target, numRows);
+      }
+    } else if (target instanceof DoubleColumnVector) {
+      double[] vector = ((DoubleColumnVector) target).vector;
+      if (dataArray instanceof double[]) {
+        System.arraycopy((double[]) dataArray, 0, vector, 0, numRows);
+      } else if (dataArray instanceof float[]) {
+        float[] floats = (float[]) dataArray;
+        for (int i = 0; i < numRows; i++) {
+          vector[i] = floats[i];
+        }
+      } else {
+        fillColumnVectorByRow(source, target, numRows);
+      }
+    } else if (target instanceof DecimalColumnVector && dataArray instanceof BigDecimal[]) {
+      BigDecimal[] decimals = (BigDecimal[]) dataArray;
+      for (int i = 0; i < numRows; i++) {
+        if (!target.isNull[i]) {
+          ((DecimalColumnVector) target).set(i, HiveDecimal.create(decimals[i]));
+        }
+      }
+    } else if (target instanceof BytesColumnVector && dataArray instanceof byte[][]) {
+      byte[][] bytes = (byte[][]) dataArray;
+      for (int i = 0; i < numRows; i++) {
+        if (!target.isNull[i]) {
+          ((BytesColumnVector) target).setRef(i, bytes[i], 0, bytes[i].length);
+        }
+      }
+    } else {
+      fillColumnVectorByRow(source, target, numRows);
+    }
+  }
+
+  /**
+   * Decode the surrogate keys of a global dictionary column into the hive column vector
+   */
+  private static void fillDictionaryColumnVector(int[] surrogates, Dictionary dictionary,
+      ColumnVector target, int numRows) {
+    for (int i = 0; i < numRows; i++) {
+      if (target.isNull[i]) {
+        continue;
+      }
+      if (surrogates[i] == CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY) {
+        target.noNulls = false;
+        target.isNull[i] = true;
+      } else if (target instanceof BytesColumnVector) {
+        byte[] bytes = dictionary.getDictionaryValueForKeyInBytes(surrogates[i]);
+        ((BytesColumnVector) target).setRef(i, bytes, 0, bytes.length);
+      } else {
+        setValue(target, i, dictionary.getDictionaryValueForKey(surrogates[i]), false);
+      }
+    }
+  }
+
+  /**
+   * Copy the rows of the carbon vector through their boxed values
+   */
+  private static void fillColumnVectorByRow(CarbonColumnVectorImpl source, ColumnVector target,
+      int numRows) {
+    boolean isTimestamp = source.getType() == DataTypes.TIMESTAMP;
+    for (int i = 0; i < numRows; i++) {
+      if (!target.isNull[i]) {
+        setValue(target, i, source.getData(i), isTimestamp);
+      }
+    }
+  }
+
+  private static void setValue(ColumnVector target, int rowId, Object data,
+      boolean isTimestamp) {
+    if (data == null) {
+      target.noNulls = false;
+      target.isNull[rowId] = true;
+    } else if (target instanceof BytesColumnVector) {
+      byte[] bytes = (byte[]) data;
+      ((BytesColumnVector) target).setRef(rowId, bytes, 0, bytes.length);
+    } else if (target instanceof LongColumnVector) {
+      long longValue;
+      if (data instanceof String) {
+        longValue = Long.parseLong((String) data);
+      } else if (isTimestamp) {
+        // carbon fills timestamp in microseconds and hive expects nanoseconds
+        longValue = (Long) data * 1000L;
+      } else {
+        longValue = ((Number) data).longValue();
+      }
+      ((LongColumnVector) target).vector[rowId] = longValue;
+    } else if (target instanceof DoubleColumnVector) {
+      ((DoubleColumnVector) target).vector[rowId] = data instanceof String ?
+          Double.parseDouble((String) data) :
+          ((Number) data).doubleValue();
+    } else if (target instanceof DecimalColumnVector) {
+      BigDecimal decimal = data instanceof String ?
+          new BigDecimal((String) data) :
+          (BigDecimal) data;
+      ((DecimalColumnVector) target).set(rowId, HiveDecimal.create(decimal));
+    } else {
+      target.noNulls = false;
+      target.isNull[rowId] = true;
+    }
+  }
+
+  @Override
+  public NullWritable createKey() {
+    return NullWritable.get();
+  }
+
+  @Override
+  public VectorizedRowBatch createValue() {
+    try {
+      return rbCtx.createVectorizedRowBatch();
+    } catch (HiveException e) {
+      throw new RuntimeException("Error creating a batch", e);
+    }
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return rowCount;
+  }
+
+  @Override
+  public float getProgress() throws IOException {
+    return 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    readSupport.close();
+    if (iterator != null) {
+      iterator.close();
+    }
+    if (queryExecutor != null) {
+      try {
+        queryExecutor.finish();
+      } catch (QueryExecutionException e) {
+        throw new IOException(e);
+      }
+    }
+  }
+}
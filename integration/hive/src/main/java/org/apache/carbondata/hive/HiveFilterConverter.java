@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.hive;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.common.type.HiveVarchar;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeColumnDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.hive.ql.plan.TableScanDesc;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFIn;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPAnd;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqual;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqualOrGreaterThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqualOrLessThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPGreaterThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPLessThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPNotEqual;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPNotNull;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPNull;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPOr;
+import org.apache.log4j.Logger;
+
+/**
+ * Converts the filter pushed down by hive to the table scan into carbon filter expression, so
+ * that carbon prunes the blocks and blocklets and filters the rows while scanning.
+ * Hive still evaluates the whole filter on the rows returned, so a condition which can not be
+ * converted is dropped from an AND, the carbon filter then selects a superset of the rows.
+ */
+class HiveFilterConverter {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(HiveFilterConverter.class.getCanonicalName());
+
+  private final CarbonTable carbonTable;
+
+  private HiveFilterConverter(CarbonTable carbonTable) {
+    this.carbonTable = carbonTable;
+  }
+
+  /**
+   * Return the carbon filter expression of the filter pushed down by hive in the configuration,
+   * or null if there is no filter or no part of it can be converted
+   */
+  static Expression getFilterExpression(Configuration configuration, CarbonTable carbonTable) {
+    String serializedFilter = configuration.get(TableScanDesc.FILTER_EXPR_CONF_STR);
+    if (serializedFilter == null || serializedFilter.isEmpty()) {
+      return null;
+    }
+    try {
+      ExprNodeGenericFuncDesc hiveFilter = Utilities.deserializeExpression(serializedFilter);
+      Expression filter = new HiveFilterConverter(carbonTable).convert(hiveFilter);
+      if (filter != null) {
+        LOGGER.info("Pushed down hive filter " + hiveFilter.getExprString() + " to carbon");
+      }
+      return filter;
+    } catch (RuntimeException e) {
+      LOGGER.warn("Hive filter is not pushed down to carbon: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Convert the hive expression, return null if it can not be converted
+   */
+  private Expression convert(ExprNodeDesc hiveExpr) {
+    if (!(hiveExpr instanceof ExprNodeGenericFuncDesc)) {
+      return null;
+    }
+    GenericUDF udf = ((ExprNodeGenericFuncDesc) hiveExpr).getGenericUDF();
+    List<ExprNodeDesc> children = hiveExpr.getChildren();
+    if (udf instanceof GenericUDFOPAnd) {
+      // unconverted conditions are dropped, hive applies them on the rows returned
+      Expression and = null;
+      for (ExprNodeDesc child : children) {
+        Expression expression = convert(child);
+        if (expression != null) {
+          and = and == null ? expression : new AndExpression(and, expression);
+        }
+      }
+      return and;
+    } else if (udf instanceof GenericUDFOPOr) {
+      Expression or = null;
+      for (ExprNodeDesc child : children) {
+        Expression expression = convert(child);
+        if (expression == null) {
+          return null;
+        }
+        or = or == null ? expression : new OrExpression(or, expression);
+      }
+      return or;
+    } else if (udf instanceof GenericUDFOPNull || udf instanceof GenericUDFOPNotNull) {
+      CarbonColumn column = getColumn(children.get(0));
+      if (column == null) {
+        return null;
+      }
+      Expression columnExpression = new ColumnExpression(column.getColName(),
+          column.getDataType());
+      Expression nullLiteral = new LiteralExpression(null, column.getDataType());
+      if (udf instanceof GenericUDFOPNull) {
+        return new EqualToExpression(columnExpression, nullLiteral, true);
+      }
+      return new NotEqualsExpression(columnExpression, nullLiteral, true);
+    } else if (udf instanceof GenericUDFIn) {
+      return convertIn(children);
+    } else {
+      return convertComparison(udf, children);
+    }
+  }
+
+  private Expression convertIn(List<ExprNodeDesc> children) {
+    CarbonColumn column = getColumn(children.get(0));
+    if (column == null) {
+      return null;
+    }
+    List<Expression> literals = new ArrayList<>(children.size() - 1);
+    for (int i = 1; i < children.size(); i++) {
+      Expression literal = getLiteral(children.get(i), column.getDataType());
+      if (literal == null) {
+        return null;
+      }
+      literals.add(literal);
+    }
+    return new InExpression(new ColumnExpression(column.getColName(), column.getDataType()),
+        new ListExpression(literals));
+  }
+
+  private Expression convertComparison(GenericUDF udf, List<ExprNodeDesc> children) {
+    if (children.size() != 2) {
+      return null;
+    }
+    // the column can be on either side of the comparison
+    boolean reversed = false;
+    CarbonColumn column = getColumn(children.get(0));
+    ExprNodeDesc value = children.get(1);
+    if (column == null) {
+      column = getColumn(children.get(1));
+      value = children.get(0);
+      reversed = true;
+    }
+    if (column == null) {
+      return null;
+    }
+    Expression literal = getLiteral(value, column.getDataType());
+    if (literal == null) {
+      return null;
+    }
+    Expression left = new ColumnExpression(column.getColName(), column.getDataType());
+    if (udf instanceof GenericUDFOPEqual) {
+      return new EqualToExpression(left, literal);
+    } else if (udf instanceof GenericUDFOPNotEqual) {
+      return new NotEqualsExpression(left, literal);
+    } else if (udf instanceof GenericUDFOPLessThan) {
+      return reversed ?
+          new GreaterThanExpression(left, literal) :
+          new LessThanExpression(left, literal);
+    } else if (udf instanceof GenericUDFOPEqualOrLessThan) {
+      return reversed ?
+          new GreaterThanEqualToExpression(left, literal) :
+          new LessThanEqualToExpression(left, literal);
+    } else if (udf instanceof GenericUDFOPGreaterThan) {
+      return reversed ?
+          new LessThanExpression(left, literal) :
+          new GreaterThanExpression(left, literal);
+    } else if (udf instanceof GenericUDFOPEqualOrGreaterThan) {
+      return reversed ?
+          new LessThanEqualToExpression(left, literal) :
+          new GreaterThanEqualToExpression(left, literal);
+    }
+    return null;
+  }
+
+  /**
+   * Return the carbon column of the hive column expression, null if it is not a column of
+   * primitive type whose literals can be converted
+   */
+  private CarbonColumn getColumn(ExprNodeDesc hiveExpr) {
+    if (!(hiveExpr instanceof ExprNodeColumnDesc)) {
+      return null;
+    }
+    CarbonColumn column = carbonTable.getColumnByName(carbonTable.getTableName(),
+        ((ExprNodeColumnDesc) hiveExpr).getColumn());
+    if (column == null || column.isComplex()) {
+      return null;
+    }
+    return column;
+  }
+
+  /**
+   * Return the literal of the hive constant in the carbon type of the column. Date and
+   * timestamp are not converted as hive and carbon keep them in different units.
+   */
+  private static Expression getLiteral(ExprNodeDesc hiveExpr, DataType dataType) {
+    if (!(hiveExpr instanceof ExprNodeConstantDesc)) {
+      return null;
+    }
+    Object value = ((ExprNodeConstantDesc) hiveExpr).getValue();
+    if (value == null) {
+      return null;
+    }
+    Object literal;
+    if (dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR) {
+      // hive compares string column with a number as double, so only strings are converted
+      if (!(value instanceof String) && !(value instanceof HiveVarchar)) {
+        return null;
+      }
+      literal = value.toString();
+    } else if (dataType == DataTypes.BOOLEAN) {
+      if (!(value instanceof Boolean)) {
+        return null;
+      }
+      literal = value;
+    } else if (DataTypes.isDecimal(dataType)) {
+      if (value instanceof HiveDecimal) {
+        literal = ((HiveDecimal) value).bigDecimalValue();
+      } else if (isIntegral(value)) {
+        literal = BigDecimal.valueOf(((Number) value).longValue());
+      } else {
+        return null;
+      }
+    } else if (dataType == DataTypes.DOUBLE) {
+      if (!isIntegral(value) && !(value instanceof Double) && !(value instanceof Float)) {
+        return null;
+      }
+      literal = ((Number) value).doubleValue();
+    } else if (isIntegral(value)) {
+      // the constant is converted only if it fits the column type, as truncating it would
+      // change the rows selected
+      long longValue = ((Number) value).longValue();
+      if (dataType == DataTypes.SHORT && longValue == (short) longValue) {
+        literal = (short) longValue;
+      } else if (dataType == DataTypes.INT && longValue == (int) longValue) {
+        literal = (int) longValue;
+      } else if (dataType == DataTypes.LONG) {
+        literal = longValue;
+      } else {
+        return null;
+      }
+    } else {
+      return null;
+    }
+    return new LiteralExpression(literal, dataType);
+  }
+
+  private static boolean isIntegral(Object value) {
+    return value instanceof Byte || value instanceof Short || value instanceof Integer
+        || value instanceof Long;
+  }
+}
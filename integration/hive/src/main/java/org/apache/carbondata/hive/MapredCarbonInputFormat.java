@@ -26,6 +26,7 @@ import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.SchemaReader;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.model.QueryModelBuilder;
 import org.apache.carbondata.core.util.DataTypeConverterImpl;
@@ -37,6 +38,8 @@ import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.InvalidPathException;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedInputFormatInterface;
 import org.apache.hadoop.hive.ql.io.CombineHiveInputFormat;
 import org.apache.hadoop.io.ArrayWritable;
 import org.apache.hadoop.mapred.InputFormat;
@@ -49,7 +52,8 @@ import org.apache.hadoop.util.StringUtils;
 import org.apache.log4j.Logger;
 
 public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritable>
-    implements InputFormat<Void, ArrayWritable>, CombineHiveInputFormat.AvoidSplitCombination {
+    implements InputFormat<Void, ArrayWritable>, CombineHiveInputFormat.AvoidSplitCombination,
+    VectorizedInputFormatInterface {
   private static final String CARBON_TABLE = "mapreduce.input.carboninputformat.table";
 
   private static final Logger LOGGER =
@@ -101,6 +105,10 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
 
   @Override public InputSplit[] getSplits(JobConf jobConf, int numSplits) throws IOException {
     org.apache.hadoop.mapreduce.JobContext jobContext = Job.getInstance(jobConf);
+    // push down the filter of hive to prune the blocks and blocklets
+    CarbonTable carbonTable = getOrCreateCarbonTable(jobContext.getConfiguration());
+    setFilterPredicates(jobContext.getConfiguration(),
+        HiveFilterConverter.getFilterExpression(jobConf, carbonTable));
     List<org.apache.hadoop.mapreduce.InputSplit> splitList = super.getSplits(jobContext);
     InputSplit[] splits = new InputSplit[splitList.size()];
     CarbonInputSplit split;
@@ -113,6 +121,7 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
     return splits;
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public RecordReader<Void, ArrayWritable> getRecordReader(InputSplit inputSplit, JobConf jobConf,
       Reporter reporter) throws IOException {
@@ -127,6 +136,12 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
       LOGGER.error("Failed to create record reader: " + e.getMessage());
       return null;
     }
+    if (Utilities.isVectorMode(jobConf)) {
+      // hive reads the rows in batches when the query is vectorized
+      RecordReader vectorizedReader =
+          new CarbonVectorizedHiveRecordReader(queryModel, inputSplit, jobConf);
+      return (RecordReader<Void, ArrayWritable>) vectorizedReader;
+    }
     CarbonReadSupport<ArrayWritable> readSupport = new CarbonDictionaryDecodeReadSupport<>();
     return new CarbonHiveRecordReader(queryModel, readSupport, inputSplit, jobConf);
   }
@@ -138,10 +153,14 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
     String projectionString = getProjection(configuration, carbonTable,
         identifier.getCarbonTableIdentifier().getTableName());
     String[] projectionColumns = projectionString.split(",");
+    Expression filter = getFilterPredicates(configuration);
+    if (filter == null) {
+      filter = HiveFilterConverter.getFilterExpression(configuration, carbonTable);
+    }
     QueryModel queryModel =
         new QueryModelBuilder(carbonTable)
             .projectColumns(projectionColumns)
-            .filterExpression(getFilterPredicates(configuration))
+            .filterExpression(filter)
             .dataConverter(new DataTypeConverterImpl())
             .build();
 
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.hive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.scan.expression.BinaryExpression;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeColumnDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.hive.ql.plan.TableScanDesc;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPAnd;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqual;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqualOrGreaterThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPGreaterThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPLessThan;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPOr;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class HiveFilterConverterTest {
+
+  private static CarbonTable carbonTable;
+
+  @BeforeClass public static void setUp() {
+    TableSchemaBuilder builder = TableSchema.builder().tableName("hive_filter");
+    AtomicInteger valIndex = new AtomicInteger(0);
+    builder.addColumn(new StructField("name", DataTypes.STRING), valIndex, false, false);
+    builder.addColumn(new StructField("code", DataTypes.SHORT), valIndex, false, false);
+    builder.addColumn(new StructField("age", DataTypes.INT), valIndex, false, false);
+    builder.addColumn(new StructField("id", DataTypes.LONG), valIndex, false, false);
+    TableInfo tableInfo = new TableInfo();
+    tableInfo.setDatabaseName("default");
+    tableInfo.setTableUniqueName("default_hive_filter");
+    tableInfo.setFactTable(builder.build());
+    tableInfo.setTablePath("hive_filter");
+    tableInfo.setLastUpdatedTime(System.currentTimeMillis());
+    carbonTable = CarbonTable.buildFromTableInfo(tableInfo);
+  }
+
+  @Test public void testReversedComparison() {
+    // 5 < age
+    Expression filter = convert(function(new GenericUDFOPLessThan(),
+        constant(TypeInfoFactory.intTypeInfo, 5), column(TypeInfoFactory.intTypeInfo, "age")));
+    assertComparison(filter, GreaterThanExpression.class, "age", 5);
+    // 10 >= age
+    filter = convert(function(new GenericUDFOPEqualOrGreaterThan(),
+        constant(TypeInfoFactory.intTypeInfo, 10), column(TypeInfoFactory.intTypeInfo, "age")));
+    assertComparison(filter, LessThanEqualToExpression.class, "age", 10);
+    // column on the left is not reversed
+    filter = convert(function(new GenericUDFOPGreaterThan(),
+        column(TypeInfoFactory.intTypeInfo, "age"), constant(TypeInfoFactory.intTypeInfo, 5)));
+    assertComparison(filter, GreaterThanExpression.class, "age", 5);
+  }
+
+  @Test public void testIntegralOverflowIsNotConverted() {
+    // the constants do not fit the column, truncating them would select other rows
+    Assert.assertNull(convert(function(new GenericUDFOPEqual(),
+        column(TypeInfoFactory.intTypeInfo, "age"),
+        constant(TypeInfoFactory.longTypeInfo, 3000000000L))));
+    Assert.assertNull(convert(function(new GenericUDFOPEqual(),
+        column(TypeInfoFactory.shortTypeInfo, "code"),
+        constant(TypeInfoFactory.intTypeInfo, 40000))));
+    Expression filter = convert(function(new GenericUDFOPEqual(),
+        column(TypeInfoFactory.longTypeInfo, "id"),
+        constant(TypeInfoFactory.longTypeInfo, 3000000000L)));
+    assertComparison(filter, EqualToExpression.class, "id", 3000000000L);
+    filter = convert(function(new GenericUDFOPEqual(),
+        column(TypeInfoFactory.shortTypeInfo, "code"),
+        constant(TypeInfoFactory.intTypeInfo, 300)));
+    assertComparison(filter, EqualToExpression.class, "code", (short) 300);
+  }
+
+  @Test public void testAndDropsUnconvertedChildren() {
+    // age = id compares two columns and is not converted
+    Expression filter = convert(function(new GenericUDFOPAnd(),
+        function(new GenericUDFOPGreaterThan(), column(TypeInfoFactory.intTypeInfo, "age"),
+            constant(TypeInfoFactory.intTypeInfo, 1)),
+        function(new GenericUDFOPEqual(), column(TypeInfoFactory.intTypeInfo, "age"),
+            column(TypeInfoFactory.longTypeInfo, "id")),
+        function(new GenericUDFOPEqual(), column(TypeInfoFactory.stringTypeInfo, "name"),
+            constant(TypeInfoFactory.stringTypeInfo, "a"))));
+    Assert.assertTrue(filter instanceof AndExpression);
+    assertComparison(((AndExpression) filter).getLeft(), GreaterThanExpression.class, "age", 1);
+    assertComparison(((AndExpression) filter).getRight(), EqualToExpression.class, "name", "a");
+
+    // no child converted
+    Assert.assertNull(convert(function(new GenericUDFOPAnd(),
+        function(new GenericUDFOPEqual(), column(TypeInfoFactory.intTypeInfo, "age"),
+            column(TypeInfoFactory.longTypeInfo, "id")),
+        function(new GenericUDFOPEqual(), column(TypeInfoFactory.intTypeInfo, "age"),
+            constant(TypeInfoFactory.longTypeInfo, 3000000000L)))));
+  }
+
+  @Test public void testOrWithUnconvertedChildIsNotConverted() {
+    // dropping a child of OR would filter out the rows selected by it
+    Assert.assertNull(convert(function(new GenericUDFOPOr(),
+        function(new GenericUDFOPGreaterThan(), column(TypeInfoFactory.intTypeInfo, "age"),
+            constant(TypeInfoFactory.intTypeInfo, 1)),
+        function(new GenericUDFOPEqual(), column(TypeInfoFactory.intTypeInfo, "age"),
+            column(TypeInfoFactory.longTypeInfo, "id")))));
+
+    Expression filter = convert(function(new GenericUDFOPOr(),
+        function(new GenericUDFOPGreaterThan(), column(TypeInfoFactory.intTypeInfo, "age"),
+            constant(TypeInfoFactory.intTypeInfo, 1)),
+        function(new GenericUDFOPEqual(), column(TypeInfoFactory.stringTypeInfo, "name"),
+            constant(TypeInfoFactory.stringTypeInfo, "a"))));
+    Assert.assertTrue(filter instanceof OrExpression);
+    assertComparison(((OrExpression) filter).getLeft(), GreaterThanExpression.class, "age", 1);
+    assertComparison(((OrExpression) filter).getRight(), EqualToExpression.class, "name", "a");
+  }
+
+  /**
+   * Convert the hive filter the way it is pushed down to the table scan
+   */
+  private static Expression convert(ExprNodeGenericFuncDesc hiveFilter) {
+    Configuration configuration = new Configuration();
+    configuration.set(TableScanDesc.FILTER_EXPR_CONF_STR,
+        Utilities.serializeExpression(hiveFilter));
+    return HiveFilterConverter.getFilterExpression(configuration, carbonTable);
+  }
+
+  private static void assertComparison(Expression filter, Class<?> expressionClass,
+      String columnName, Object value) {
+    Assert.assertNotNull(filter);
+    Assert.assertEquals(expressionClass, filter.getClass());
+    Expression left = ((BinaryExpression) filter).getLeft();
+    Expression right = ((BinaryExpression) filter).getRight();
+    Assert.assertEquals(columnName, ((ColumnExpression) left).getColumnName());
+    Assert.assertEquals(value, ((LiteralExpression) right).getLiteralExpValue());
+  }
+
+  private static ExprNodeGenericFuncDesc function(GenericUDF udf, ExprNodeDesc... children) {
+    List<ExprNodeDesc> childList = new ArrayList<>(Arrays.asList(children));
+    return new ExprNodeGenericFuncDesc(TypeInfoFactory.booleanTypeInfo, udf, childList);
+  }
+
+  private static ExprNodeDesc column(TypeInfo typeInfo, String name) {
+    return new ExprNodeColumnDesc(typeInfo, name, "hive_filter", false);
+  }
+
+  private static ExprNodeDesc constant(TypeInfo typeInfo, Object value) {
+    return new ExprNodeConstantDesc(typeInfo, value);
+  }
+}
@@ -24,6 +24,7 @@ import javax.inject.Inject;
 
 import static java.util.Objects.requireNonNull;
 
+import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
@@ -46,6 +47,7 @@ import com.facebook.presto.spi.connector.ConnectorSplitManager;
 import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
 import com.facebook.presto.spi.predicate.TupleDomain;
 import com.google.common.collect.ImmutableList;
+import org.apache.log4j.Logger;
 
 
 /**
@@ -54,6 +56,9 @@ import com.google.common.collect.ImmutableList;
  */
 public class CarbondataSplitManager implements ConnectorSplitManager {
 
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(CarbondataSplitManager.class.getName());
+
   private final String connectorId;
   private final CarbonTableReader carbonTableReader;
 
@@ -77,7 +82,6 @@ public class CarbondataSplitManager implements ConnectorSplitManager {
     statisticRecorder.recordStatisticsForDriver(statistic, queryId);
     statistic = new QueryStatistic();
 
-    carbonTableReader.setQueryId(queryId);
     // Packaging presto-TupleDomain into CarbondataColumnConstraint,
     // to decouple from presto-spi Module
     List<CarbondataColumnConstraint> rebuildConstraints =
@@ -88,7 +92,7 @@ public class CarbondataSplitManager implements ConnectorSplitManager {
       Expression filters = PrestoFilterUtil.parseFilterExpression(layoutHandle.getConstraint());
       try {
         List<CarbonLocalMultiBlockSplit> splits =
-            carbonTableReader.getInputSplits2(cache, filters, layoutHandle.getConstraint());
+            carbonTableReader.getInputSplits2(cache, filters, layoutHandle.getConstraint(), queryId);
 
         ImmutableList.Builder<ConnectorSplit> cSplits = ImmutableList.builder();
         long index = 0;
@@ -99,6 +103,10 @@ public class CarbondataSplitManager implements ConnectorSplitManager {
         }
 
         statisticRecorder.logStatisticsAsTableDriver();
+        LOGGER.info("Identified " + splits.size() + " splits of " + key + ", split plannings: "
+            + carbonTableReader.getPlanningCount() + ", served from split cache: "
+            + carbonTableReader.getSplitCacheHitCount() + ", total planning time: "
+            + carbonTableReader.getPlanningTimeMillis() + " ms");
 
         statistic.addStatistics(QueryStatisticsConstants.BLOCK_IDENTIFICATION,
             System.currentTimeMillis());
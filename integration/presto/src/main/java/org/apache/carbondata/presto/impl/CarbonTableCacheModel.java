@@ -17,6 +17,10 @@
 
 package org.apache.carbondata.presto.impl;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 
 /**
@@ -25,10 +29,58 @@ import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
  */
 public class CarbonTableCacheModel {
 
+  /**
+   * maximum number of distinct filters for which the splits are cached per table
+   */
+  private static final int MAX_CACHED_SPLIT_LISTS = 64;
+
   public CarbonTable carbonTable;
 
+  /**
+   * version of the segments the cached splits were planned on
+   */
+  private long segmentVersion = -1;
+
+  /**
+   * splits planned for the filters on the current segment version, in LRU order
+   */
+  private final Map<String, List<CarbonLocalMultiBlockSplit>> splitCache =
+      new LinkedHashMap<String, List<CarbonLocalMultiBlockSplit>>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(
+            Map.Entry<String, List<CarbonLocalMultiBlockSplit>> eldest) {
+          return size() > MAX_CACHED_SPLIT_LISTS;
+        }
+      };
+
   public boolean isValid() {
     return carbonTable != null;
   }
 
+  /**
+   * Return the cached splits of the filter, null if they are not cached for the segment version
+   */
+  synchronized List<CarbonLocalMultiBlockSplit> getCachedSplits(long segmentVersion,
+      String filterKey) {
+    if (this.segmentVersion != segmentVersion) {
+      return null;
+    }
+    return splitCache.get(filterKey);
+  }
+
+  /**
+   * Cache the splits of the filter, the splits of older segment versions are dropped
+   */
+  synchronized void cacheSplits(long segmentVersion, String filterKey,
+      List<CarbonLocalMultiBlockSplit> splits) {
+    if (segmentVersion < this.segmentVersion) {
+      // planned on an older segment version by a slower query
+      return;
+    }
+    if (segmentVersion != this.segmentVersion) {
+      splitCache.clear();
+      this.segmentVersion = segmentVersion;
+    }
+    splitCache.put(filterKey, splits);
+  }
+
 }
@@ -21,14 +21,19 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -53,6 +58,7 @@ import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
 import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 import org.apache.carbondata.hadoop.CarbonInputSplit;
 import org.apache.carbondata.hadoop.api.CarbonTableInputFormat;
@@ -116,11 +122,27 @@ public class CarbonTableReader {
    * A cache for Carbon reader, with this cache,
    * metadata of a table is only read from file system once.
    */
-  private AtomicReference<HashMap<SchemaTableName, CarbonTableCacheModel>> carbonCache;
+  private ConcurrentHashMap<SchemaTableName, CarbonTableCacheModel> carbonCache;
 
-  private LoadMetadataDetails[] loadMetadataDetails;
+  /**
+   * Validates the cached tables in background, so that queries do not wait for it
+   */
+  private final ExecutorService refreshExecutor =
+      Executors.newSingleThreadExecutor(new CarbonThreadFactory("CarbonPrestoTableRefresh"));
+
+  /**
+   * Tables whose validation is submitted and not yet finished
+   */
+  private final Set<SchemaTableName> refreshingTables = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Planning counters, logged by the split manager for each query
+   */
+  private final AtomicLong planningCount = new AtomicLong();
+
+  private final AtomicLong planningTimeNanos = new AtomicLong();
 
-  private String queryId;
+  private final AtomicLong splitCacheHits = new AtomicLong();
 
   /**
    * Logger instance
@@ -135,7 +157,7 @@ public class CarbonTableReader {
 
   @Inject public CarbonTableReader(CarbonTableConfig config) {
     this.config = Objects.requireNonNull(config, "CarbonTableConfig is null");
-    this.carbonCache = new AtomicReference(new HashMap());
+    this.carbonCache = new ConcurrentHashMap<>();
     tableList = new ConcurrentSet<>();
     setS3Properties();
     populateCarbonProperties();
@@ -149,7 +171,7 @@ public class CarbonTableReader {
    */
   public CarbonTableCacheModel getCarbonCache(SchemaTableName table) {
 
-    if (!carbonCache.get().containsKey(table) || carbonCache.get().get(table) == null) {
+    if (!carbonCache.containsKey(table) || carbonCache.get(table) == null) {
       // if this table is not cached, try to read the metadata of the table and cache it.
       try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(
           FileFactory.class.getClassLoader())) {
@@ -165,8 +187,8 @@ public class CarbonTableReader {
       updateSchemaTables(table);
       parseCarbonMetadata(table);
     }
-    if (carbonCache.get().containsKey(table)) {
-      return carbonCache.get().get(table);
+    if (carbonCache.containsKey(table)) {
+      return carbonCache.get(table);
     } else {
       return null;
     }
@@ -174,8 +196,8 @@ public class CarbonTableReader {
 
   private void removeTableFromCache(SchemaTableName table) {
     DataMapStoreManager.getInstance()
-        .clearDataMaps(carbonCache.get().get(table).carbonTable.getAbsoluteTableIdentifier());
-    carbonCache.get().remove(table);
+        .clearDataMaps(carbonCache.get(table).carbonTable.getAbsoluteTableIdentifier());
+    carbonCache.remove(table);
     tableList.remove(table);
 
   }
@@ -278,17 +300,46 @@ public class CarbonTableReader {
    * is called, it clears this.tableList and populate the list by reading the files.
    */
   private void updateSchemaTables(SchemaTableName schemaTableName) {
-    // update logic determine later
-    boolean isKeyExists = carbonCache.get().containsKey(schemaTableName);
-
     if (carbonFileList == null) {
       updateSchemaList();
     }
+    if (carbonCache.containsKey(schemaTableName) && tableList.contains(schemaTableName)) {
+      // query goes on with the cached metadata, a stale or dropped table is removed from the
+      // cache in background and reloaded by the next query
+      refreshTableAsync(schemaTableName);
+      return;
+    }
+    refreshTable(schemaTableName);
+  }
+
+  private void refreshTableAsync(SchemaTableName schemaTableName) {
+    if (!refreshingTables.add(schemaTableName)) {
+      return;
+    }
+    try {
+      refreshExecutor.submit(() -> {
+        try {
+          refreshTable(schemaTableName);
+        } catch (TableNotFoundException e) {
+          LOGGER.info("Removed dropped table from cache: " + schemaTableName);
+        } catch (RuntimeException e) {
+          LOGGER.warn("Failed to refresh table: " + schemaTableName, e);
+        } finally {
+          refreshingTables.remove(schemaTableName);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      refreshingTables.remove(schemaTableName);
+    }
+  }
+
+  private void refreshTable(SchemaTableName schemaTableName) {
+    boolean isKeyExists = carbonCache.containsKey(schemaTableName);
     try {
       if (isKeyExists
           && !FileFactory.isFileExist(
           CarbonTablePath.getSchemaFilePath(
-              carbonCache.get().get(schemaTableName).carbonTable.getTablePath()), fileType)) {
+              carbonCache.get(schemaTableName).carbonTable.getTablePath()), fileType)) {
         removeTableFromCache(schemaTableName);
         throw new TableNotFoundException(schemaTableName);
       }
@@ -297,11 +348,11 @@ public class CarbonTableReader {
     }
 
     if (isKeyExists) {
-      CarbonTableCacheModel carbonTableCacheModel = carbonCache.get().get(schemaTableName);
+      CarbonTableCacheModel carbonTableCacheModel = carbonCache.get(schemaTableName);
       if (carbonTableCacheModel != null
           && carbonTableCacheModel.carbonTable.getTableInfo() != null) {
         Long latestTime = FileFactory.getCarbonFile(CarbonTablePath
-            .getSchemaFilePath(carbonCache.get().get(schemaTableName).carbonTable.getTablePath()))
+            .getSchemaFilePath(carbonCache.get(schemaTableName).carbonTable.getTablePath()))
             .getLastModifiedTime();
         Long oldTime = carbonTableCacheModel.carbonTable.getTableInfo().getLastUpdatedTime();
         if (DateUtils.truncate(new Date(latestTime), Calendar.MINUTE)
@@ -347,7 +398,7 @@ public class CarbonTableReader {
   private CarbonTable parseCarbonMetadata(SchemaTableName table) {
     CarbonTable result = null;
     try {
-      CarbonTableCacheModel cache = carbonCache.get().get(table);
+      CarbonTableCacheModel cache = carbonCache.get(table);
       if (cache == null) {
         cache = new CarbonTableCacheModel();
       }
@@ -396,7 +447,7 @@ public class CarbonTableReader {
           table.getSchemaName(), table.getTableName());
 
       // cache the table
-      carbonCache.get().put(table, cache);
+      carbonCache.put(table, cache);
 
       result = cache.carbonTable;
     } catch (Exception ex) {
@@ -406,13 +457,65 @@ public class CarbonTableReader {
     return result;
   }
 
+  /**
+   * Plan the splits of the table for the filter. The splits are cached in the table cache model
+   * per filter and reused till the table status changes.
+   *
+   * @param tableCacheModel cached table
+   * @param filters         filter expression of the query
+   * @param constraints     constraints of the query, used to prune the partitions
+   * @param queryId         id of the query
+   * @return splits of the table
+   * @throws IOException
+   */
   public List<CarbonLocalMultiBlockSplit> getInputSplits2(CarbonTableCacheModel tableCacheModel,
-      Expression filters, TupleDomain<ColumnHandle> constraints) throws IOException {
+      Expression filters, TupleDomain<ColumnHandle> constraints, String queryId)
+      throws IOException {
+    long startTime = System.nanoTime();
+    CarbonTable carbonTable = tableCacheModel.carbonTable;
+    PartitionInfo partitionInfo = carbonTable.getPartitionInfo(carbonTable.getTableName());
+    boolean isHivePartitioned =
+        partitionInfo != null && partitionInfo.getPartitionType() == PartitionType.NATIVE_HIVE;
+    long segmentVersion = getSegmentVersion(carbonTable);
+    String filterKey = (filters == null ? "" : filters.getString()) + (isHivePartitioned ?
+        PrestoFilterUtil.getPartitionFilters(carbonTable, constraints).toString() : "");
+    List<CarbonLocalMultiBlockSplit> multiBlockSplitList =
+        tableCacheModel.getCachedSplits(segmentVersion, filterKey);
+    if (multiBlockSplitList != null) {
+      splitCacheHits.incrementAndGet();
+    } else {
+      multiBlockSplitList = Collections.unmodifiableList(
+          planSplits(carbonTable, filters, constraints, queryId, isHivePartitioned));
+      tableCacheModel.cacheSplits(segmentVersion, filterKey, multiBlockSplitList);
+    }
+    long timeTaken = System.nanoTime() - startTime;
+    planningCount.incrementAndGet();
+    planningTimeNanos.addAndGet(timeTaken);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Planned " + multiBlockSplitList.size() + " splits of " + carbonTable
+          .getTableUniqueName() + " in " + TimeUnit.NANOSECONDS.toMillis(timeTaken) + " ms");
+    }
+    return multiBlockSplitList;
+  }
+
+  /**
+   * Version of the segments of the table, it changes whenever load, compaction, update, delete
+   * or clean files writes the table status file or appends to its change log
+   */
+  private long getSegmentVersion(CarbonTable carbonTable) throws IOException {
+    return SegmentStatusManager
+        .getTableStatusLastModifiedTime(carbonTable.getAbsoluteTableIdentifier());
+  }
+
+  private List<CarbonLocalMultiBlockSplit> planSplits(CarbonTable carbonTable,
+      Expression filters, TupleDomain<ColumnHandle> constraints, String queryId,
+      boolean isHivePartitioned) throws IOException {
     List<CarbonLocalInputSplit> result = new ArrayList<>();
     List<CarbonLocalMultiBlockSplit> multiBlockSplitList = new ArrayList<>();
-    CarbonTable carbonTable = tableCacheModel.carbonTable;
-    TableInfo tableInfo = tableCacheModel.carbonTable.getTableInfo();
-    Configuration config = FileFactory.getConfiguration();
+    TableInfo tableInfo = carbonTable.getTableInfo();
+    // copy of the shared configuration, so that concurrent queries do not overwrite the
+    // table and filter of each other
+    Configuration config = new Configuration(FileFactory.getConfiguration());
     config.set(CarbonTableInputFormat.INPUT_SEGMENT_NUMBERS, "");
     String carbonTablePath = carbonTable.getAbsoluteTableIdentifier().getTablePath();
     config.set(CarbonTableInputFormat.INPUT_DIR, carbonTablePath);
@@ -423,9 +526,8 @@ public class CarbonTableReader {
     JobConf jobConf = new JobConf(config);
     List<PartitionSpec> filteredPartitions = new ArrayList();
 
-    PartitionInfo partitionInfo = carbonTable.getPartitionInfo(carbonTable.getTableName());
-
-    if (partitionInfo != null && partitionInfo.getPartitionType() == PartitionType.NATIVE_HIVE) {
+    if (isHivePartitioned) {
+      LoadMetadataDetails[] loadMetadataDetails;
       try {
         loadMetadataDetails = SegmentStatusManager.readTableStatusFile(
             CarbonTablePath.getTableStatusFilePath(carbonTable.getTablePath()));
@@ -465,7 +567,7 @@ public class CarbonTableReader {
                     .toArray(String[]::new)));
           }
         }
-        LOGGER.error("Size fo MultiblockList   " + multiBlockSplitList.size());
+        LOGGER.info("Size of MultiblockList " + multiBlockSplitList.size());
 
       }
 
@@ -566,11 +668,24 @@ public class CarbonTableReader {
     return cis.getLocations().toArray(new String[cis.getLocations().size()]);
   }
 
-  public String getQueryId() {
-    return queryId;
+  /**
+   * Return the number of split plannings done by this reader
+   */
+  public long getPlanningCount() {
+    return planningCount.get();
   }
 
-  public void setQueryId(String queryId) {
-    this.queryId = queryId;
+  /**
+   * Return the number of split plannings served from the split cache
+   */
+  public long getSplitCacheHitCount() {
+    return splitCacheHits.get();
+  }
+
+  /**
+   * Return the total time taken by the split plannings in milliseconds
+   */
+  public long getPlanningTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(planningTimeNanos.get());
   }
 }
@@ -17,6 +17,9 @@
 
 package org.apache.carbondata.presto.readers;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
@@ -24,10 +27,13 @@ import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 import com.facebook.presto.spi.block.Block;
-import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.block.IntArrayBlock;
 import com.facebook.presto.spi.type.IntegerType;
 import com.facebook.presto.spi.type.Type;
 
+/**
+ * Fills the values of the batch in an array and wraps it in IntArrayBlock without copying
+ */
 public class IntegerStreamReader extends CarbonColumnVectorImpl
     implements PrestoVectorBlockBuilder {
 
@@ -35,19 +41,31 @@ public class IntegerStreamReader extends CarbonColumnVectorImpl
 
   protected Type type = IntegerType.INTEGER;
 
-  protected BlockBuilder builder;
-
   private Dictionary dictionary;
 
+  /**
+   * maximum number of rows in a batch
+   */
+  private final int maxRows;
+
+  /**
+   * values and nulls of the batch, they are handed over to the built block and so allocated
+   * again on reset
+   */
+  private int[] values;
+
+  private boolean[] nulls;
+
   public IntegerStreamReader(int batchSize, DataType dataType, Dictionary dictionary) {
     super(batchSize, dataType);
     this.batchSize = batchSize;
-    this.builder = type.createBlockBuilder(null, batchSize);
+    this.maxRows = batchSize;
+    this.values = new int[batchSize];
     this.dictionary = dictionary;
   }
 
   @Override public Block buildBlock() {
-    return builder.build();
+    return new IntArrayBlock(batchSize, Optional.ofNullable(nulls), values);
   }
 
   @Override public void setBatchSize(int batchSize) {
@@ -56,24 +74,54 @@ public class IntegerStreamReader extends CarbonColumnVectorImpl
 
   @Override public void putInt(int rowId, int value) {
     if (dictionary == null) {
-      type.writeLong(builder, value);
+      values[rowId] = value;
     } else {
       Object data = DataTypeUtil
           .getDataBasedOnDataType(dictionary.getDictionaryValueForKey(value), DataTypes.INT);
       if (data != null) {
-        type.writeLong(builder, ((Integer) data).longValue());
+        values[rowId] = (Integer) data;
       } else {
-        builder.appendNull();
+        putNull(rowId);
+      }
+    }
+  }
+
+  @Override public void putInts(int rowId, int count, int value) {
+    if (dictionary == null) {
+      Arrays.fill(values, rowId, rowId + count, value);
+    } else {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, value);
+      }
+    }
+  }
+
+  @Override public void putInts(int rowId, int count, int[] src, int srcIndex) {
+    if (dictionary == null) {
+      System.arraycopy(src, srcIndex, values, rowId, count);
+    } else {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, src[srcIndex + i]);
       }
     }
   }
 
   @Override public void putNull(int rowId) {
-    builder.appendNull();
+    if (nulls == null) {
+      nulls = new boolean[maxRows];
+    }
+    nulls[rowId] = true;
   }
 
-  @Override public void reset() {
-    builder = type.createBlockBuilder(null, batchSize);
+  @Override public void putNulls(int rowId, int count) {
+    if (nulls == null) {
+      nulls = new boolean[maxRows];
+    }
+    Arrays.fill(nulls, rowId, rowId + count, true);
   }
 
+  @Override public void reset() {
+    values = new int[maxRows];
+    nulls = null;
+  }
 }
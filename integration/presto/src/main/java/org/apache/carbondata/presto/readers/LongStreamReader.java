@@ -17,6 +17,9 @@
 
 package org.apache.carbondata.presto.readers;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
@@ -24,29 +27,45 @@ import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 import com.facebook.presto.spi.block.Block;
-import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.block.LongArrayBlock;
 import com.facebook.presto.spi.type.BigintType;
 import com.facebook.presto.spi.type.Type;
 
-public class LongStreamReader extends CarbonColumnVectorImpl implements PrestoVectorBlockBuilder {
+/**
+ * Fills the values of the batch in an array and wraps it in LongArrayBlock without copying
+ */
+public class LongStreamReader extends CarbonColumnVectorImpl
+    implements PrestoVectorBlockBuilder {
 
   protected int batchSize;
 
   protected Type type = BigintType.BIGINT;
 
-  protected BlockBuilder builder;
-
   private Dictionary dictionary;
 
+  /**
+   * maximum number of rows in a batch
+   */
+  private final int maxRows;
+
+  /**
+   * values and nulls of the batch, they are handed over to the built block and so allocated
+   * again on reset
+   */
+  private long[] values;
+
+  private boolean[] nulls;
+
   public LongStreamReader(int batchSize, DataType dataType, Dictionary dictionary) {
     super(batchSize, dataType);
     this.batchSize = batchSize;
-    this.builder = type.createBlockBuilder(null, batchSize);
+    this.maxRows = batchSize;
+    this.values = new long[batchSize];
     this.dictionary = dictionary;
   }
 
   @Override public Block buildBlock() {
-    return builder.build();
+    return new LongArrayBlock(batchSize, Optional.ofNullable(nulls), values);
   }
 
   @Override public void setBatchSize(int batchSize) {
@@ -57,21 +76,40 @@ public class LongStreamReader extends CarbonColumnVectorImpl implements PrestoVe
     Object data = DataTypeUtil
         .getDataBasedOnDataType(dictionary.getDictionaryValueForKey(value), DataTypes.LONG);
     if (data != null) {
-      type.writeLong(builder, (Long) data);
+      values[rowId] = (Long) data;
     } else {
-      builder.appendNull();
+      putNull(rowId);
     }
   }
 
   @Override public void putLong(int rowId, long value) {
-    type.writeLong(builder, value);
+    values[rowId] = value;
+  }
+
+  @Override public void putLongs(int rowId, int count, long value) {
+    Arrays.fill(values, rowId, rowId + count, value);
+  }
+
+  @Override public void putLongs(int rowId, int count, long[] src, int srcIndex) {
+    System.arraycopy(src, srcIndex, values, rowId, count);
   }
 
   @Override public void putNull(int rowId) {
-    builder.appendNull();
+    if (nulls == null) {
+      nulls = new boolean[maxRows];
+    }
+    nulls[rowId] = true;
+  }
+
+  @Override public void putNulls(int rowId, int count) {
+    if (nulls == null) {
+      nulls = new boolean[maxRows];
+    }
+    Arrays.fill(nulls, rowId, rowId + count, true);
   }
 
   @Override public void reset() {
-    builder = type.createBlockBuilder(null, batchSize);
+    values = new long[maxRows];
+    nulls = null;
   }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.presto.readers;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.apache.carbondata.core.metadata.datatype.DataType;
@@ -24,36 +25,74 @@ import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
 import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 
 import com.facebook.presto.spi.block.Block;
-import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.block.DictionaryBlock;
 import com.facebook.presto.spi.block.VariableWidthBlock;
 import com.facebook.presto.spi.type.Type;
 import com.facebook.presto.spi.type.VarcharType;
 import io.airlift.slice.Slices;
 
-import static io.airlift.slice.Slices.wrappedBuffer;
-
 /**
- * This class reads the String data and convert it into Slice Block
+ * This class reads the String data and convert it into Slice Block. Dictionary encoded values
+ * are returned as DictionaryBlock over the dictionary, no dictionary values are appended to one
+ * buffer and returned as VariableWidthBlock over it.
  */
 public class SliceStreamReader extends CarbonColumnVectorImpl implements PrestoVectorBlockBuilder {
 
+  /**
+   * initial size of the value buffer per row
+   */
+  private static final int DEFAULT_BYTES_PER_ROW = 16;
+
   protected int batchSize;
 
   protected Type type = VarcharType.VARCHAR;
 
-  protected BlockBuilder builder;
-
   int[] values;
 
   private Block dictionaryBlock;
 
+  /**
+   * local dictionary from which the current dictionaryBlock is built
+   */
+  private CarbonDictionary localDictionary;
+
+  /**
+   * maximum number of rows in a batch
+   */
+  private final int maxRows;
+
+  /**
+   * values of the batch appended one after another, the arrays are handed over to the built
+   * block and so allocated again on reset
+   */
+  private byte[] buffer;
+
+  private int bufferSize;
+
+  private int[] offsets;
+
+  private boolean[] nulls;
+
+  private int position;
+
+  /**
+   * page offset and length of the rows added by putArray, copied to the buffer on
+   * putAllByteArray. Length -1 marks null.
+   */
+  private int[] pageOffsets;
+
+  private int[] pageLengths;
+
+  private int pendingStart = -1;
+
   public SliceStreamReader(int batchSize, DataType dataType,
       Block dictionaryBlock) {
     super(batchSize, dataType);
     this.batchSize = batchSize;
+    this.maxRows = batchSize;
     if (dictionaryBlock == null) {
-      this.builder = type.createBlockBuilder(null, batchSize);
+      this.buffer = new byte[batchSize * DEFAULT_BYTES_PER_ROW];
+      this.offsets = new int[batchSize + 1];
     } else {
       this.dictionaryBlock = dictionaryBlock;
       this.values = new int[batchSize];
@@ -62,7 +101,8 @@ public class SliceStreamReader extends CarbonColumnVectorImpl implements PrestoV
 
   @Override public Block buildBlock() {
     if (dictionaryBlock == null) {
-      return builder.build();
+      return new VariableWidthBlock(position, Slices.wrappedBuffer(buffer, 0, bufferSize),
+          offsets, Optional.ofNullable(nulls));
     } else {
       return new DictionaryBlock(batchSize, dictionaryBlock, values);
     }
@@ -72,30 +112,40 @@ public class SliceStreamReader extends CarbonColumnVectorImpl implements PrestoV
     super.setDictionary(dictionary);
     if (dictionary == null) {
       dictionaryBlock = null;
+      localDictionary = null;
       return;
     }
-    boolean[] nulls = new boolean[dictionary.getDictionarySize()];
+    // same dictionary is set for all the pages of a blocklet column
+    if (dictionary != localDictionary) {
+      dictionaryBlock = createDictionaryBlock(dictionary);
+      localDictionary = dictionary;
+    }
+    values = (int[]) ((CarbonColumnVectorImpl) getDictionaryVector()).getDataArray();
+  }
+
+  private static Block createDictionaryBlock(CarbonDictionary dictionary) {
+    int dictionarySize = dictionary.getDictionarySize();
+    boolean[] nulls = new boolean[dictionarySize];
     nulls[0] = true;
     nulls[1] = true;
-    int[] dictOffsets = new int[dictionary.getDictionarySize() + 1];
+    int[] dictOffsets = new int[dictionarySize + 1];
     int size = 0;
-    for (int i = 0; i < dictionary.getDictionarySize(); i++) {
+    for (int i = 0; i < dictionarySize; i++) {
+      dictOffsets[i] = size;
       if (dictionary.getDictionaryValue(i) != null) {
-        dictOffsets[i] = size;
         size += dictionary.getDictionaryValue(i).length;
       }
     }
+    dictOffsets[dictionarySize] = size;
     byte[] singleArrayDictValues = new byte[size];
-    for (int i = 0; i < dictionary.getDictionarySize(); i++) {
-      if (dictionary.getDictionaryValue(i) != null) {
-        System.arraycopy(dictionary.getDictionaryValue(i), 0, singleArrayDictValues, dictOffsets[i],
-            dictionary.getDictionaryValue(i).length);
+    for (int i = 0; i < dictionarySize; i++) {
+      byte[] value = dictionary.getDictionaryValue(i);
+      if (value != null) {
+        System.arraycopy(value, 0, singleArrayDictValues, dictOffsets[i], value.length);
       }
     }
-    dictOffsets[dictOffsets.length - 1] = size;
-    dictionaryBlock = new VariableWidthBlock(dictionary.getDictionarySize(),
-        Slices.wrappedBuffer(singleArrayDictValues), dictOffsets, Optional.of(nulls));
-    values = (int[]) ((CarbonColumnVectorImpl) getDictionaryVector()).getDataArray();
+    return new VariableWidthBlock(dictionarySize, Slices.wrappedBuffer(singleArrayDictValues),
+        dictOffsets, Optional.of(nulls));
   }
 
   @Override public void setBatchSize(int batchSize) {
@@ -107,22 +157,81 @@ public class SliceStreamReader extends CarbonColumnVectorImpl implements PrestoV
   }
 
   @Override public void putByteArray(int rowId, byte[] value) {
-    type.writeSlice(builder, wrappedBuffer(value));
+    appendValue(value, 0, value.length);
   }
 
   @Override public void putByteArray(int rowId, int offset, int length, byte[] value) {
-    byte[] byteArr = new byte[length];
-    System.arraycopy(value, offset, byteArr, 0, length);
-    type.writeSlice(builder, wrappedBuffer(byteArr));
+    appendValue(value, offset, length);
+  }
+
+  @Override public void putArray(int rowId, int offset, int length) {
+    if (pageOffsets == null) {
+      pageOffsets = new int[maxRows];
+      pageLengths = new int[maxRows];
+    }
+    if (pendingStart < 0) {
+      pendingStart = position;
+    }
+    pageOffsets[position] = offset;
+    pageLengths[position] = length;
+    position++;
+  }
+
+  @Override public void putAllByteArray(byte[] data, int offset, int length) {
+    if (pendingStart < 0) {
+      return;
+    }
+    int end = position;
+    position = pendingStart;
+    pendingStart = -1;
+    for (int i = position; i < end; i++) {
+      if (pageLengths[i] < 0) {
+        appendNull();
+      } else {
+        appendValue(data, pageOffsets[i], pageLengths[i]);
+      }
+    }
   }
 
   @Override public void putNull(int rowId) {
-    if (dictionaryBlock == null) {
-      builder.appendNull();
+    if (dictionaryBlock != null) {
+      return;
     }
+    if (pendingStart >= 0) {
+      pageLengths[position++] = -1;
+    } else {
+      appendNull();
+    }
+  }
+
+  private void appendValue(byte[] value, int offset, int length) {
+    if (bufferSize + length > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, bufferSize + length));
+    }
+    System.arraycopy(value, offset, buffer, bufferSize, length);
+    bufferSize += length;
+    offsets[++position] = bufferSize;
+  }
+
+  private void appendNull() {
+    if (nulls == null) {
+      nulls = new boolean[maxRows];
+    }
+    nulls[position] = true;
+    offsets[++position] = bufferSize;
   }
 
   @Override public void reset() {
-    builder = type.createBlockBuilder(null, batchSize);
+    if (buffer == null) {
+      buffer = new byte[maxRows * DEFAULT_BYTES_PER_ROW];
+    } else {
+      // size the new buffer by the last batch, the old one is referenced by the built block
+      buffer = new byte[Math.max(bufferSize, maxRows)];
+    }
+    offsets = new int[maxRows + 1];
+    nulls = null;
+    bufferSize = 0;
+    position = 0;
+    pendingStart = -1;
   }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the"License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an"AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.datacompaction
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.test.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+
+/**
+ * Test compaction by copying the blocklets of the segments
+ */
+class BlockletCopyCompactionTest extends QueryTest with BeforeAndAfterAll {
+
+  val filePath: String = resourcesPath + "/globalsort/sample1.csv"
+
+  override def beforeAll(): Unit = {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_COMPACTION_COPY_BLOCKLETS_ENABLE, "true")
+    sql("DROP TABLE IF EXISTS copy_compact")
+    sql("DROP TABLE IF EXISTS copy_compact_sorted")
+  }
+
+  override def afterAll(): Unit = {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_COMPACTION_COPY_BLOCKLETS_ENABLE,
+        CarbonCommonConstants.CARBON_COMPACTION_COPY_BLOCKLETS_ENABLE_DEFAULT)
+    sql("DROP TABLE IF EXISTS copy_compact")
+    sql("DROP TABLE IF EXISTS copy_compact_sorted")
+  }
+
+  test("compact unsorted segments by copying blocklets") {
+    sql(
+      """
+        |CREATE TABLE copy_compact (id INT, name STRING, city STRING, age INT)
+        |STORED BY 'org.apache.carbondata.format'
+        |TBLPROPERTIES('SORT_COLUMNS'='')
+      """.stripMargin)
+    for (_ <- 0 until 3) {
+      sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE copy_compact")
+    }
+    val expected = sql("SELECT city, count(*), sum(age) FROM copy_compact GROUP BY city")
+      .collect()
+    sql("ALTER TABLE copy_compact COMPACT 'MAJOR'")
+    val segments = sql("SHOW SEGMENTS FOR TABLE copy_compact").collect()
+      .map(each => (each.get(0).toString, each.get(1).toString))
+    assert(segments.contains(("0.1", "Success")))
+    checkAnswer(sql("SELECT city, count(*), sum(age) FROM copy_compact GROUP BY city"), expected)
+    checkAnswer(sql("SELECT count(*) FROM copy_compact WHERE id = 1"), Seq(Row(3)))
+  }
+
+  test("compact overlapping sorted segments falls back to merge sort") {
+    sql(
+      """
+        |CREATE TABLE copy_compact_sorted (id INT, name STRING, city STRING, age INT)
+        |STORED BY 'org.apache.carbondata.format'
+        |TBLPROPERTIES('SORT_COLUMNS'='city,name')
+      """.stripMargin)
+    for (_ <- 0 until 2) {
+      sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE copy_compact_sorted")
+    }
+    val expected = sql("SELECT * FROM copy_compact_sorted ORDER BY city, name, id").collect()
+    sql("ALTER TABLE copy_compact_sorted COMPACT 'MAJOR'")
+    checkAnswer(sql("SELECT * FROM copy_compact_sorted ORDER BY city, name, id"), expected)
+  }
+}
@@ -17,6 +17,7 @@
 package org.apache.carbondata.spark.dictionary.client;
 
 import java.nio.charset.Charset;
+import java.util.List;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -107,6 +108,10 @@ public class SecureDictionaryClient implements DictionaryClient {
     return dictionaryClientHandler.getDictionary(key, this.client);
   }
 
+  @Override public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys) {
+    return dictionaryClientHandler.getDictionaries(keys, this.client);
+  }
+
   /**
    * shutdown dictionary client
    */
@@ -17,8 +17,13 @@
 package org.apache.carbondata.spark.dictionary.client;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessage;
@@ -79,6 +84,57 @@ public class SecureDictionaryClientHandler extends RpcHandler {
     }
   }
 
+  /**
+   * client sends all the requests asynchronously and then waits for all the responses
+   *
+   * @param keys   requests
+   * @param client transport client
+   * @return responses in the order of the requests
+   */
+  public List<DictionaryMessage> getDictionaries(List<DictionaryMessage> keys,
+      TransportClient client) {
+    final DictionaryMessage[] responses = new DictionaryMessage[keys.size()];
+    final CountDownLatch latch = new CountDownLatch(keys.size());
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    for (int i = 0; i < keys.size(); i++) {
+      final int index = i;
+      ByteBuf buffer = ByteBufAllocator.DEFAULT.heapBuffer();
+      keys.get(i).writeData(buffer);
+      client.sendRpc(buffer.nioBuffer(), new RpcResponseCallback() {
+        @Override public void onSuccess(ByteBuffer response) {
+          try {
+            DictionaryMessage newKey = new DictionaryMessage();
+            newKey.readFullLength(Unpooled.wrappedBuffer(response));
+            responses[index] = newKey;
+          } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            latch.countDown();
+          }
+        }
+
+        @Override public void onFailure(Throwable e) {
+          failure.compareAndSet(null, e);
+          latch.countDown();
+        }
+      });
+    }
+    try {
+      if (!latch.await(100, TimeUnit.SECONDS)) {
+        throw new RuntimeException(
+            "Request timed out for batch of " + keys.size() + " dictionary requests");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    if (failure.get() != null) {
+      LOGGER.error("Error while send request to server ", failure.get());
+      throw new RuntimeException(failure.get());
+    }
+    return Arrays.asList(responses);
+  }
+
   @Override public void receive(TransportClient transportClient, ByteBuffer byteBuffer,
       RpcResponseCallback rpcResponseCallback) {
     try {
@@ -59,6 +59,9 @@ import org.apache.spark.network.server.StreamManager;
       case DICT_GENERATION:
         generatorForServer.initializeGeneratorForColumn(key);
         return generatorForServer.generateKey(key);
+      case BATCH_DICT_GENERATION:
+        generatorForServer.generateKeys(key);
+        return 0;
       case SIZE:
         generatorForServer.initializeGeneratorForColumn(key);
         return generatorForServer.size(key);
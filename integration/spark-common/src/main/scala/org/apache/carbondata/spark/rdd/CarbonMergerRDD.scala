@@ -172,14 +172,38 @@ class CarbonMergerRDD[K, V](
             carbonTable.getTableLastUpdatedTime)
         LOGGER.info(s"Restructured block exists: $restructuredBlockExists")
         DataTypeUtil.setDataTypeConverter(new SparkDataTypeConverterImpl)
-        exec = new CarbonCompactionExecutor(segmentMapping, segmentProperties,
-          carbonTable, dataFileMetadataSegMapping, restructuredBlockExists,
-          new SparkDataTypeConverterImpl)
 
         // add task completion listener to clean up the resources
         context.addTaskCompletionListener { _ =>
           close()
         }
+        val copyMerger = new CarbonBlockletCopyMerger(carbonLoadModel, segmentProperties,
+          carbonMergerMapping.maxSegmentColumnSchemaList.asJava,
+          carbonMergerMapping.maxSegmentColCardinality,
+          carbonMergerMapping.campactionType,
+          partitionSpec)
+        if (copyMerger.isSupported(tableBlockInfoList, restructuredBlockExists)) {
+          LOGGER.info("Blocklet copy compaction flow is selected")
+          mergeStatus = copyMerger.execute()
+        } else {
+          mergeStatus = mergeRows(segmentProperties, segmentMapping, dataFileMetadataSegMapping,
+            restructuredBlockExists)
+        }
+        mergeResult = tableBlockInfoList.get(0).getSegmentId + ',' + mergeNumber
+
+      } catch {
+        case e: Exception =>
+          LOGGER.error("Compaction Failed ", e)
+          throw e
+      }
+
+      private def mergeRows(segmentProperties: SegmentProperties,
+          segmentMapping: java.util.Map[String, TaskBlockInfo],
+          dataFileMetadataSegMapping: java.util.Map[String, List[DataFileFooter]],
+          restructuredBlockExists: Boolean): Boolean = {
+        exec = new CarbonCompactionExecutor(segmentMapping, segmentProperties,
+          carbonTable, dataFileMetadataSegMapping, restructuredBlockExists,
+          new SparkDataTypeConverterImpl)
         try {
           // fire a query and get the results.
           rawResultIteratorList = exec.processTableBlocks(FileFactory.getConfiguration)
@@ -219,13 +243,7 @@ class CarbonMergerRDD[K, V](
               carbonMergerMapping.campactionType,
               partitionSpec)
         }
-        mergeStatus = processor.execute(rawResultIteratorList)
-        mergeResult = tableBlockInfoList.get(0).getSegmentId + ',' + mergeNumber
-
-      } catch {
-        case e: Exception =>
-          LOGGER.error("Compaction Failed ", e)
-          throw e
+        processor.execute(rawResultIteratorList)
       }
 
       private def close(): Unit = {
@@ -48,7 +48,8 @@ import org.apache.carbondata.core.datastore.block.Distributable
 import org.apache.carbondata.core.datastore.impl.FileFactory
 import org.apache.carbondata.core.indexstore.PartitionSpec
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier
-import org.apache.carbondata.core.metadata.schema.table.TableInfo
+import org.apache.carbondata.core.metadata.schema.table.{CarbonTable, TableInfo}
+import org.apache.carbondata.core.profiler.{ExplainCollector, ScanProfile}
 import org.apache.carbondata.core.scan.expression.Expression
 import org.apache.carbondata.core.scan.filter.FilterUtil
 import org.apache.carbondata.core.scan.model.QueryModel
@@ -59,7 +60,7 @@ import org.apache.carbondata.hadoop._
 import org.apache.carbondata.hadoop.api.{CarbonFileInputFormat, CarbonInputFormat}
 import org.apache.carbondata.hadoop.api.CarbonTableInputFormat
 import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport
-import org.apache.carbondata.hadoop.util.CarbonInputFormatUtil
+import org.apache.carbondata.hadoop.util.{CarbonInputFormatUtil, CarbonSplitPlanner}
 import org.apache.carbondata.processing.util.CarbonLoaderUtil
 import org.apache.carbondata.spark.InitInputMetrics
 import org.apache.carbondata.spark.util.Util
@@ -92,6 +93,9 @@ class CarbonScanRDD[T: ClassTag](
 
   private var directFill = false
 
+  // collects the runtime profile of the tasks when the query is executed by EXPLAIN command
+  private var scanProfileAccumulator: ScanProfileAccumulator = _
+
   private val bucketedTable = tableInfo.getFactTable.getBucketingInfo
 
   @transient val LOGGER = LogServiceFactory.getLogService(this.getClass.getName)
@@ -126,6 +130,11 @@ class CarbonScanRDD[T: ClassTag](
       getSplitsStartTime = System.currentTimeMillis()
       val splits = format.getSplits(job)
       getSplitsEndTime = System.currentTimeMillis()
+      if (ExplainCollector.isAnalyze) {
+        scanProfileAccumulator = new ScanProfileAccumulator
+        spark.sparkContext.register(scanProfileAccumulator, "carbon scan profile")
+        ExplainCollector.setScanProfile(scanProfileAccumulator.value)
+      }
       if ((splits == null) && format.isInstanceOf[CarbonFileInputFormat[Object]]) {
         throw new SparkException(
           "CarbonData file not exist in the segment_null (SDK writer Output) path")
@@ -340,6 +349,20 @@ class CarbonScanRDD[T: ClassTag](
             currentFiles += file
           }
           closePartition()
+        } else if (carbonDistribution.equalsIgnoreCase(
+            CarbonCommonConstants.CARBON_TASK_DISTRIBUTION_PROJECTED_SIZE)) {
+          // pack the blocks by the bytes of the projected columns
+          val maxSplitBytes = sessionState(spark).conf.filesMaxPartitionBytes
+          val openCostInBytes = sessionState(spark).conf.filesOpenCostInBytes
+          val projection = if (columnProjection == null) null else columnProjection.getAllColumns
+          val planner = new CarbonSplitPlanner(CarbonTable.buildFromTableInfo(tableInfo),
+            projection, maxSplitBytes, openCostInBytes)
+          planner.packSplits(splits.asScala.map(_.asInstanceOf[CarbonInputSplit]).asJava)
+            .asScala.zipWithIndex.foreach { splitWithIndex =>
+              val partition = new CarbonSparkPartition(id, splitWithIndex._2,
+                splitWithIndex._1.asInstanceOf[CarbonMultiBlockSplit])
+              result.add(partition)
+            }
         } else {
           // Use block distribution
           splits.asScala.map(_.asInstanceOf[CarbonInputSplit]).groupBy { f =>
@@ -419,6 +442,9 @@ class CarbonScanRDD[T: ClassTag](
       val model = format.createQueryModel(inputSplit, attemptContext)
       // one query id per table
       model.setQueryId(queryId)
+      if (scanProfileAccumulator != null) {
+        addScanProfileListener(context, model, queryStartTime)
+      }
       // get RecordReader by FileFormat
       var reader: RecordReader[Void, Object] = inputSplit.getFileFormat match {
         case FileFormat.ROW_V1 =>
@@ -560,6 +586,24 @@ class CarbonScanRDD[T: ClassTag](
     }
   }
 
+  /**
+   * Profile the scan of the task. The listener is added before the one which closes the reader,
+   * since listeners are called in reverse order it is called after the query executor finishes
+   * and the profile is filled
+   */
+  private def addScanProfileListener(context: TaskContext,
+      model: QueryModel,
+      queryStartTime: Long): Unit = {
+    val scanProfile = new ScanProfile
+    model.setScanProfile(scanProfile)
+    context.addTaskCompletionListener(new TaskCompletionListener {
+      override def onTaskCompletion(context: TaskContext): Unit = {
+        scanProfile.addTaskTime(System.currentTimeMillis() - queryStartTime)
+        scanProfileAccumulator.add(scanProfile)
+      }
+    })
+  }
+
   private def close() {
     TaskMetricsMap.getInstance().updateReadBytes(Thread.currentThread().getId)
     inputMetricsStats.updateAndClose()
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.rdd
+
+import org.apache.spark.util.AccumulatorV2
+
+import org.apache.carbondata.core.profiler.ScanProfile
+
+/**
+ * Accumulator to collect the runtime profile of each scan task into the driver, used when the
+ * query is executed by EXPLAIN command. The value is merged in place, so the profile given to
+ * [[org.apache.carbondata.core.profiler.ExplainCollector]] is updated as the tasks complete.
+ */
+class ScanProfileAccumulator(private var profile: ScanProfile)
+  extends AccumulatorV2[ScanProfile, ScanProfile] {
+
+  def this() = this(new ScanProfile)
+
+  override def isZero: Boolean = profile.isEmpty
+
+  override def copy(): AccumulatorV2[ScanProfile, ScanProfile] = {
+    val newProfile = new ScanProfile
+    newProfile.merge(profile)
+    new ScanProfileAccumulator(newProfile)
+  }
+
+  override def copyAndReset(): AccumulatorV2[ScanProfile, ScanProfile] = {
+    new ScanProfileAccumulator
+  }
+
+  override def reset(): Unit = {
+    // the old profile may be referenced by the explain collector, so it is not cleared in place
+    profile = new ScanProfile
+  }
+
+  override def add(v: ScanProfile): Unit = profile.merge(v)
+
+  override def merge(other: AccumulatorV2[ScanProfile, ScanProfile]): Unit = {
+    profile.merge(other.value)
+  }
+
+  override def value: ScanProfile = profile
+}
@@ -23,7 +23,9 @@ import org.apache.spark.sql.catalyst.plans.logical.{Command, LogicalPlan, Union}
 import org.apache.spark.sql.execution.command.{ExplainCommand, MetadataCommand}
 import org.apache.spark.sql.types.StringType
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.profiler.ExplainCollector
+import org.apache.carbondata.core.util.CarbonProperties
 
 case class CarbonExplainCommand(
     child: LogicalPlan,
@@ -49,9 +51,17 @@ case class CarbonExplainCommand(
   private def collectProfiler(sparkSession: SparkSession): Seq[Row] = {
     val queryExecution =
       sparkSession.sessionState.executePlan(child.asInstanceOf[ExplainCommand].logicalPlan)
+    val analyze = CarbonProperties.getInstance()
+      .getProperty(CarbonCommonConstants.CARBON_EXPLAIN_ANALYZE,
+        CarbonCommonConstants.CARBON_EXPLAIN_ANALYZE_DEFAULT).toBoolean
     try {
-      ExplainCollector.setup()
-      queryExecution.toRdd.partitions
+      ExplainCollector.setup(analyze)
+      if (analyze) {
+        // execute the query so that the scans collect their runtime profile
+        queryExecution.toRdd.count()
+      } else {
+        queryExecution.toRdd.partitions
+      }
       if (ExplainCollector.enabled()) {
         Seq(Row("== CarbonData Profiler ==\n" + ExplainCollector.getFormatedOutput))
       } else {
@@ -18,8 +18,10 @@
 package org.apache.carbondata.processing.loading.converter.impl;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.carbondata.core.cache.Cache;
 import org.apache.carbondata.core.cache.CacheProvider;
@@ -41,6 +43,7 @@ import org.apache.carbondata.processing.loading.converter.BadRecordLogHolder;
 import org.apache.carbondata.processing.loading.dictionary.DictionaryServerClientDictionary;
 import org.apache.carbondata.processing.loading.dictionary.PreCreatedDictionary;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
 
 public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConverterImpl {
@@ -132,6 +135,31 @@ public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConvert
     }
   }
 
+  /**
+   * In one pass load, generate the dictionary values of all the new values of the batch together
+   * so that the rows are converted without a round trip to dictionary server per value. The batch
+   * is rewound after this call.
+   */
+  public void generateDictionary(CarbonRowBatch rowBatch) {
+    if (!(dictionaryGenerator instanceof DictionaryServerClientDictionary)) {
+      return;
+    }
+    Set<Object> newValues = new LinkedHashSet<>();
+    while (rowBatch.hasNext()) {
+      String dimensionValue = rowBatch.next().getString(index);
+      if (dimensionValue == null || dimensionValue.equals(nullFormat)) {
+        continue;
+      }
+      // bad records are handled while converting the row
+      String parsedValue = DataTypeUtil.parseValue(dimensionValue, carbonDimension);
+      if (null != parsedValue && null == dictionaryGenerator.getKey(parsedValue)) {
+        newValues.add(parsedValue);
+      }
+    }
+    rowBatch.rewind();
+    ((DictionaryServerClientDictionary) dictionaryGenerator).generateKeys(newValues);
+  }
+
   /**
    * Method to clear out the dictionary cache.
    */
@@ -42,6 +42,7 @@ import org.apache.carbondata.processing.loading.converter.FieldConverter;
 import org.apache.carbondata.processing.loading.converter.RowConverter;
 import org.apache.carbondata.processing.loading.exception.BadRecordFoundException;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 
 import org.apache.log4j.Logger;
 
@@ -184,6 +185,23 @@ public class RowConverterImpl implements RowConverter {
     return row;
   }
 
+  @Override
+  public void generateDictionary(CarbonRowBatch rowBatch) throws CarbonDataLoadingException {
+    // dictionary values are generated in batch only with dictionary server
+    if (!configuration.getUseOnePass()) {
+      return;
+    }
+    try {
+      for (FieldConverter fieldConverter : fieldConverters) {
+        if (fieldConverter instanceof DictionaryFieldConverterImpl) {
+          ((DictionaryFieldConverterImpl) fieldConverter).generateDictionary(rowBatch);
+        }
+      }
+    } catch (RuntimeException e) {
+      throw new CarbonDataLoadingException(e);
+    }
+  }
+
   @Override
   public void finish() {
     // Clear up dictionary cache access count.
@@ -16,6 +16,9 @@
  */
 package org.apache.carbondata.processing.loading.dictionary;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
@@ -31,6 +34,16 @@ import org.apache.carbondata.core.dictionary.generator.key.DictionaryMessageType
  */
 public class DictionaryServerClientDictionary implements BiDictionary<Integer, Object> {
 
+  /**
+   * maximum number of values in one batch request
+   */
+  private static final int MAX_VALUES_PER_REQUEST = 4096;
+
+  /**
+   * maximum size of the values in one batch request, the message length is sent in two bytes
+   */
+  private static final int MAX_BYTES_PER_REQUEST = 32 * 1024;
+
   private Dictionary dictionary;
 
   private DictionaryClient client;
@@ -64,6 +77,55 @@ public class DictionaryServerClientDictionary implements BiDictionary<Integer, O
     return key;
   }
 
+  /**
+   * Generate the keys of the new values with batch requests. All the requests are sent together
+   * and the keys are added to the local cache, so that the values are found by
+   * {@link #getKey(Object)} after this call.
+   *
+   * @param values values which are not in the dictionary and local cache
+   */
+  public void generateKeys(Collection<Object> values) {
+    if (values.isEmpty()) {
+      return;
+    }
+    List<DictionaryMessage> requests = new ArrayList<>();
+    List<List<Object>> requestValues = new ArrayList<>();
+    List<Object> currentValues = null;
+    List<String> currentData = null;
+    int currentBytes = 0;
+    for (Object value : values) {
+      String data = value.toString();
+      // upper bound of the UTF-8 length
+      int bytes = 4 + data.length() * 3;
+      if (currentData == null || currentData.size() == MAX_VALUES_PER_REQUEST
+          || currentBytes + bytes > MAX_BYTES_PER_REQUEST) {
+        currentValues = new ArrayList<>();
+        currentData = new ArrayList<>();
+        currentBytes = 0;
+        DictionaryMessage request = new DictionaryMessage();
+        request.setTableUniqueId(dictionaryMessage.getTableUniqueId());
+        request.setColumnName(dictionaryMessage.getColumnName());
+        request.setType(DictionaryMessageType.BATCH_DICT_GENERATION);
+        request.setBatchData(currentData);
+        requests.add(request);
+        requestValues.add(currentValues);
+      }
+      currentValues.add(value);
+      currentData.add(data);
+      currentBytes += bytes;
+    }
+    List<DictionaryMessage> responses = client.getDictionaries(requests);
+    synchronized (localCache) {
+      for (int i = 0; i < responses.size(); i++) {
+        int[] keys = responses.get(i).getBatchDictionaryValues();
+        List<Object> batchValues = requestValues.get(i);
+        for (int j = 0; j < keys.length; j++) {
+          localCache.put(batchValues.get(j), keys[j]);
+        }
+      }
+    }
+  }
+
   @Override public Integer getKey(Object value) {
     Integer key = -1;
     if (dictionary != null) {
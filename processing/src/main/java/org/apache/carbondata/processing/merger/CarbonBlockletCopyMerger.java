@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.constants.CarbonVersionConstants;
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
+import org.apache.carbondata.core.datamap.TableDataMap;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3;
+import org.apache.carbondata.core.reader.CarbonHeaderReader;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.core.writer.CarbonIndexFileWriter;
+import org.apache.carbondata.format.BlockIndex;
+import org.apache.carbondata.format.BlockletIndex;
+import org.apache.carbondata.format.BlockletInfo3;
+import org.apache.carbondata.format.BlockletMinMaxIndex;
+import org.apache.carbondata.format.FileFooter3;
+import org.apache.carbondata.format.FileHeader;
+import org.apache.carbondata.format.IndexHeader;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Compacts the carbondata files of a task by copying their encoded blocklets into the new
+ * files as they are, without decoding and re-encoding the rows. Only the blocklet offsets are
+ * shifted, the footers and index are merged from the footers of the source files.
+ *
+ * It is possible only when the rows need not to be rewritten, that is when all the files have
+ * same schema and cardinality as the target segment, there are no deleted rows, and the source
+ * files are unsorted or their ranges on the first sort column do not overlap, so that copying
+ * them in order keeps the result sorted. {@link #isSupported(List, boolean)} checks these
+ * conditions, otherwise the normal merge flow has to be used.
+ */
+public class CarbonBlockletCopyMerger {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(CarbonBlockletCopyMerger.class.getName());
+
+  private CarbonLoadModel loadModel;
+
+  private CarbonTable carbonTable;
+
+  private SegmentProperties segmentProperties;
+
+  private List<ColumnSchema> columnSchemaList;
+
+  private int[] columnCardinality;
+
+  private CompactionType compactionType;
+
+  private PartitionSpec partitionSpec;
+
+  /**
+   * source files in the order they are copied, filled by isSupported
+   */
+  private List<SourceFile> sourceFiles;
+
+  public CarbonBlockletCopyMerger(CarbonLoadModel loadModel, SegmentProperties segmentProperties,
+      List<ColumnSchema> columnSchemaList, int[] columnCardinality,
+      CompactionType compactionType, PartitionSpec partitionSpec) {
+    this.loadModel = loadModel;
+    this.carbonTable = loadModel.getCarbonDataLoadSchema().getCarbonTable();
+    this.segmentProperties = segmentProperties;
+    this.columnSchemaList = columnSchemaList;
+    this.columnCardinality = columnCardinality;
+    this.compactionType = compactionType;
+    this.partitionSpec = partitionSpec;
+  }
+
+  /**
+   * Return true if the blocks can be compacted by copying the blocklets
+   *
+   * @param blocks blocks to compact
+   * @param restructuredBlockExists whether any block is written with an old schema
+   */
+  public boolean isSupported(List<TableBlockInfo> blocks, boolean restructuredBlockExists)
+      throws IOException {
+    if (!Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_COMPACTION_COPY_BLOCKLETS_ENABLE,
+        CarbonCommonConstants.CARBON_COMPACTION_COPY_BLOCKLETS_ENABLE_DEFAULT))) {
+      return false;
+    }
+    if (restructuredBlockExists || blocks.isEmpty()
+        || compactionType == CompactionType.IUD_UPDDEL_DELTA || partitionSpec != null
+        || carbonTable.isPartitionTable()
+        || carbonTable.getBucketingInfo(carbonTable.getTableName()) != null
+        || hasIndexDataMapWriters()) {
+      return false;
+    }
+    Set<String> filePaths = new LinkedHashSet<>();
+    for (TableBlockInfo block : blocks) {
+      // deleted rows must be removed from the pages, which needs rewriting them
+      if (block.getVersion() != ColumnarFormatVersion.V3 || block.getBlockOffset() != 0
+          || (block.getDeletedDeltaFilePath() != null
+          && block.getDeletedDeltaFilePath().length > 0)) {
+        return false;
+      }
+      if (!filePaths.add(block.getFilePath())) {
+        // file is split into several blocks
+        return false;
+      }
+    }
+    List<String> columnIds = new ArrayList<>(columnSchemaList.size());
+    for (ColumnSchema columnSchema : columnSchemaList) {
+      columnIds.add(columnSchema.getColumnUniqueId());
+    }
+    List<Integer> cardinality = CarbonUtil.convertToIntegerList(columnCardinality);
+    List<SourceFile> files = new ArrayList<>(filePaths.size());
+    Boolean isSort = null;
+    for (String filePath : filePaths) {
+      SourceFile file = SourceFile.read(filePath);
+      List<String> fileColumnIds = new ArrayList<>(file.header.getColumn_schemaSize());
+      for (org.apache.carbondata.format.ColumnSchema columnSchema :
+          file.header.getColumn_schema()) {
+        fileColumnIds.add(columnSchema.getColumn_id());
+      }
+      if (!columnIds.equals(fileColumnIds)
+          || !cardinality.equals(file.footer.getSegment_info().getColumn_cardinalities())
+          || file.footer.getBlocklet_info_list3Size() == 0) {
+        return false;
+      }
+      boolean fileSorted = file.footer.isSetIs_sort() && file.footer.isIs_sort();
+      if (isSort != null && isSort != fileSorted) {
+        return false;
+      }
+      isSort = fileSorted;
+      files.add(file);
+    }
+    if (isSort && !orderByFirstSortColumn(files)) {
+      return false;
+    }
+    this.sourceFiles = files;
+    return true;
+  }
+
+  /**
+   * Index datamaps are built from the rows while writing, so they need the normal flow
+   */
+  private boolean hasIndexDataMapWriters() throws IOException {
+    List<TableDataMap> dataMaps = DataMapStoreManager.getInstance().getAllDataMap(carbonTable);
+    if (dataMaps != null) {
+      for (TableDataMap dataMap : dataMaps) {
+        if (!dataMap.getDataMapSchema().isLazy()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sort the files on the min value of the first sort column, return false if the ranges of
+   * the files overlap or the column min max can not be compared as bytes
+   */
+  private boolean orderByFirstSortColumn(List<SourceFile> files) {
+    List<CarbonDimension> dimensions = segmentProperties.getDimensions();
+    if (dimensions.isEmpty() || !dimensions.get(0).isSortColumn()) {
+      // no sort columns, any order is sorted
+      return true;
+    }
+    CarbonDimension sortColumn = dimensions.get(0);
+    if (!sortColumn.hasEncoding(Encoding.DICTIONARY)
+        && sortColumn.getDataType() != DataTypes.STRING
+        && sortColumn.getDataType() != DataTypes.VARCHAR) {
+      // min max of no dictionary primitive columns are not in sort order as bytes
+      return false;
+    }
+    for (SourceFile file : files) {
+      if (!file.fillSortColumnRange()) {
+        return false;
+      }
+    }
+    Collections.sort(files, new Comparator<SourceFile>() {
+      @Override public int compare(SourceFile o1, SourceFile o2) {
+        return ByteUtil.compare(o1.minValue, o2.minValue);
+      }
+    });
+    for (int i = 1; i < files.size(); i++) {
+      // rows with equal first column can be in any order of the next sort columns
+      if (ByteUtil.compare(files.get(i - 1).maxValue, files.get(i).minValue) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copy the blocklets of the source files into the new files of the merged segment and write
+   * their index file
+   *
+   * @return true if merged successfully
+   */
+  public boolean execute() throws IOException {
+    if (sourceFiles == null) {
+      throw new IllegalStateException("blocklet copy is not supported for the blocks");
+    }
+    long startTime = System.currentTimeMillis();
+    String storeLocation = CarbonDataProcessorUtil
+        .createCarbonStoreLocation(carbonTable, loadModel.getSegmentId());
+    FileFactory.mkdirs(storeLocation, FileFactory.getFileType(storeLocation));
+    long blockSize = (long) carbonTable.getBlockSizeInMB() << 20;
+    BlockletCopyWriter writer = new BlockletCopyWriter(storeLocation, blockSize);
+    try {
+      for (SourceFile file : sourceFiles) {
+        writer.copy(file);
+      }
+      writer.finish();
+      writer.writeIndexFile();
+    } finally {
+      writer.close();
+    }
+    LOGGER.info("Copied blocklets of " + sourceFiles.size() + " files into "
+        + writer.fileCount + " files in " + (System.currentTimeMillis() - startTime) + " ms");
+    return true;
+  }
+
+  /**
+   * Header and footer of a carbondata file to copy
+   */
+  private static final class SourceFile {
+
+    private String filePath;
+
+    private FileHeader header;
+
+    private FileFooter3 footer;
+
+    private byte[] minValue;
+
+    private byte[] maxValue;
+
+    static SourceFile read(String filePath) throws IOException {
+      SourceFile file = new SourceFile();
+      file.filePath = filePath;
+      long fileSize = FileFactory.getCarbonFile(filePath).getSize();
+      FileReader fileReader = FileFactory.getFileHolder(FileFactory.getFileType(filePath));
+      long footerOffset;
+      try {
+        footerOffset =
+            fileReader.readLong(filePath, fileSize - CarbonCommonConstants.LONG_SIZE_IN_BYTE);
+      } finally {
+        fileReader.finish();
+      }
+      file.header = new CarbonHeaderReader(filePath).readHeader();
+      file.footer = new CarbonFooterReaderV3(filePath, footerOffset).readFooterVersion3();
+      return file;
+    }
+
+    /**
+     * Fill the range of the first column from the blocklet min max, the file is sorted so
+     * first blocklet has the min and last blocklet has the max
+     */
+    boolean fillSortColumnRange() {
+      List<BlockletIndex> indexes = footer.getBlocklet_index_list();
+      BlockletMinMaxIndex first = indexes.get(0).getMin_max_index();
+      BlockletMinMaxIndex last = indexes.get(indexes.size() - 1).getMin_max_index();
+      if (!isMinMaxPresent(first) || !isMinMaxPresent(last)) {
+        return false;
+      }
+      minValue = first.getMin_values().get(0);
+      maxValue = last.getMax_values().get(0);
+      return true;
+    }
+
+    private static boolean isMinMaxPresent(BlockletMinMaxIndex minMaxIndex) {
+      return minMaxIndex != null && minMaxIndex.getMin_valuesSize() > 0
+          && (!minMaxIndex.isSetMin_max_presence() || minMaxIndex.getMin_max_presence().get(0));
+    }
+  }
+
+  /**
+   * Writes the copied blocklets into carbondata files of the block size
+   */
+  private final class BlockletCopyWriter {
+
+    private final String storeLocation;
+
+    private final long blockSize;
+
+    private final byte[] buffer = new byte[CarbonCommonConstants.BYTEBUFFER_SIZE];
+
+    private final List<BlockIndex> blockIndexes = new ArrayList<>();
+
+    private int fileCount;
+
+    private String fileName;
+
+    private DataOutputStream outputStream;
+
+    private long currentOffset;
+
+    private FileFooter3 footer;
+
+    private int blockletStart;
+
+    BlockletCopyWriter(String storeLocation, long blockSize) {
+      this.storeLocation = storeLocation;
+      this.blockSize = blockSize;
+    }
+
+    void copy(SourceFile file) throws IOException {
+      DataInputStream inputStream = null;
+      long readOffset = 0;
+      try {
+        List<BlockletInfo3> blocklets = file.footer.getBlocklet_info_list3();
+        for (int i = 0; i < blocklets.size(); i++) {
+          BlockletInfo3 blocklet = blocklets.get(i);
+          long start = blocklet.getColumn_data_chunks_offsets().get(0);
+          long length = blocklet.getMeasure_offsets() - start;
+          if (outputStream != null && currentOffset + length > blockSize
+              && footer.getBlocklet_info_list3Size() > 0) {
+            finish();
+          }
+          if (outputStream == null) {
+            startFile(file);
+          }
+          if (inputStream == null) {
+            inputStream = FileFactory.getDataInputStream(file.filePath,
+                FileFactory.getFileType(file.filePath), CarbonCommonConstants.BYTEBUFFER_SIZE,
+                start);
+            readOffset = start;
+          }
+          skip(inputStream, start - readOffset);
+          transfer(inputStream, length);
+          readOffset = start + length;
+          addBlocklet(blocklet, file.footer.getBlocklet_index_list().get(i),
+              currentOffset - start);
+          currentOffset += length;
+        }
+      } finally {
+        if (inputStream != null) {
+          inputStream.close();
+        }
+      }
+    }
+
+    private void startFile(SourceFile file) throws IOException {
+      fileName = CarbonTablePath.getCarbonDataFileName(fileCount,
+          Long.parseLong(loadModel.getTaskNo()), 0, 0, "" + loadModel.getFactTimeStamp(),
+          loadModel.getSegmentId());
+      String filePath = storeLocation + CarbonCommonConstants.FILE_SEPARATOR + fileName;
+      // same as the fact data writer, block size is twice the carbon block size to make sure
+      // that one carbondata file is in one HDFS block
+      outputStream = FileFactory.getDataOutputStream(filePath, FileFactory.getFileType(filePath),
+          CarbonCommonConstants.BYTEBUFFER_SIZE, blockSize * 2);
+      fileCount++;
+      byte[] header = CarbonUtil.getByteArray(file.header);
+      outputStream.write(header);
+      currentOffset = header.length;
+      footer = new FileFooter3();
+      footer.setSegment_info(file.footer.getSegment_info());
+      footer.setBlocklet_index_list(new ArrayList<BlockletIndex>());
+      footer.setBlocklet_info_list3(new ArrayList<BlockletInfo3>());
+      footer.setIs_sort(file.footer.isSetIs_sort() && file.footer.isIs_sort());
+      Map<String, String> extraInfo = new HashMap<>();
+      if (file.footer.getExtra_info() != null) {
+        extraInfo.putAll(file.footer.getExtra_info());
+      }
+      extraInfo.put(CarbonCommonConstants.CARBON_WRITTEN_VERSION,
+          CarbonVersionConstants.CARBONDATA_VERSION);
+      footer.setExtra_info(extraInfo);
+      blockletStart = blockIndexes.size();
+    }
+
+    /**
+     * Add the blocklet to the footer and index with its chunk offsets shifted by delta
+     */
+    private void addBlocklet(BlockletInfo3 source, BlockletIndex blockletIndex, long delta) {
+      BlockletInfo3 blocklet = source.deepCopy();
+      List<Long> offsets = new ArrayList<>(blocklet.getColumn_data_chunks_offsetsSize());
+      for (Long offset : source.getColumn_data_chunks_offsets()) {
+        offsets.add(offset + delta);
+      }
+      blocklet.setColumn_data_chunks_offsets(offsets);
+      blocklet.setDimension_offsets(source.getDimension_offsets() + delta);
+      blocklet.setMeasure_offsets(source.getMeasure_offsets() + delta);
+      footer.addToBlocklet_info_list3(blocklet);
+      footer.addToBlocklet_index_list(blockletIndex);
+      footer.setNum_rows(footer.getNum_rows() + blocklet.getNum_rows());
+      BlockIndex blockIndex = new BlockIndex();
+      blockIndex.setFile_name(fileName);
+      blockIndex.setBlock_index(blockletIndex);
+      blockIndex.setBlocklet_info(blocklet);
+      blockIndexes.add(blockIndex);
+    }
+
+    /**
+     * Write the footer and close the current file
+     */
+    void finish() throws IOException {
+      if (outputStream == null) {
+        return;
+      }
+      long footerOffset = currentOffset;
+      outputStream.write(CarbonUtil.getByteArray(footer));
+      outputStream.writeLong(footerOffset);
+      outputStream.close();
+      outputStream = null;
+      // index of every blocklet has the row count and footer offset of the whole file
+      for (int i = blockletStart; i < blockIndexes.size(); i++) {
+        blockIndexes.get(i).setNum_rows(footer.getNum_rows());
+        blockIndexes.get(i).setOffset(footerOffset);
+      }
+    }
+
+    void writeIndexFile() throws IOException {
+      if (blockIndexes.isEmpty()) {
+        return;
+      }
+      FileHeader header = sourceFiles.get(0).header;
+      IndexHeader indexHeader = CarbonMetadataUtil.getIndexHeader(columnCardinality,
+          header.getColumn_schema(), 0, header.getTime_stamp());
+      String indexFilePath = storeLocation + CarbonCommonConstants.FILE_SEPARATOR
+          + CarbonTablePath.getCarbonIndexFileName(Long.parseLong(loadModel.getTaskNo()), 0, 0,
+          "" + loadModel.getFactTimeStamp(), loadModel.getSegmentId());
+      CarbonIndexFileWriter indexWriter = new CarbonIndexFileWriter();
+      indexWriter.openThriftWriter(indexFilePath);
+      try {
+        indexWriter.writeThrift(indexHeader);
+        for (BlockIndex blockIndex : blockIndexes) {
+          indexWriter.writeThrift(blockIndex);
+        }
+      } finally {
+        indexWriter.close();
+      }
+    }
+
+    void close() {
+      if (outputStream != null) {
+        CarbonUtil.closeStreams(outputStream);
+        outputStream = null;
+      }
+    }
+
+    private void skip(DataInputStream inputStream, long length) throws IOException {
+      while (length > 0) {
+        long skipped = inputStream.skip(length);
+        if (skipped <= 0) {
+          throw new IOException("Unexpected end of carbondata file");
+        }
+        length -= skipped;
+      }
+    }
+
+    private void transfer(DataInputStream inputStream, long length) throws IOException {
+      while (length > 0) {
+        int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, length));
+        if (read < 0) {
+          throw new IOException("Unexpected end of carbondata file");
+        }
+        outputStream.write(buffer, 0, read);
+        length -= read;
+      }
+    }
+  }
+}
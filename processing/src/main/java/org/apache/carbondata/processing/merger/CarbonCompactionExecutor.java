@@ -23,6 +23,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -45,6 +47,7 @@ import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeConverter;
@@ -69,6 +72,11 @@ public class CarbonCompactionExecutor {
   private CarbonTable carbonTable;
   private QueryModel queryModel;
 
+  /**
+   * executor shared by all the result iterators to prefetch the next batch
+   */
+  private ExecutorService prefetchExecutor;
+
   /**
    * flag to check whether any restructured block exists in the blocks selected for compaction.
    * Based on this decision will be taken whether complete data has to be sorted again
@@ -118,6 +126,7 @@ public class CarbonCompactionExecutor {
       builder.enableReadPageByPage();
     }
     queryModel = builder.build();
+    prefetchExecutor = createPrefetchExecutor();
     // iterate each seg ID
     for (Map.Entry<String, TaskBlockInfo> taskMap : segmentMapping.entrySet()) {
       String segmentId = taskMap.getKey();
@@ -136,12 +145,33 @@ public class CarbonCompactionExecutor {
         resultList.add(
             new RawResultIterator(executeBlockList(list, segmentId, task, configuration),
                 sourceSegProperties,
-                destinationSegProperties, false));
+                destinationSegProperties, false, prefetchExecutor));
       }
     }
     return resultList;
   }
 
+  /**
+   * Create one executor with at most the compacting cores for prefetching of all the sources,
+   * instead of one thread for each source. Return null if prefetch is disabled.
+   */
+  private ExecutorService createPrefetchExecutor() {
+    boolean prefetchEnabled = Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_COMPACTION_PREFETCH_ENABLE,
+        CarbonCommonConstants.CARBON_COMPACTION_PREFETCH_ENABLE_DEFAULT));
+    if (!prefetchEnabled) {
+      return null;
+    }
+    int numberOfSources = 0;
+    for (TaskBlockInfo taskBlockInfo : segmentMapping.values()) {
+      numberOfSources += taskBlockInfo.getTaskSet().size();
+    }
+    int numberOfThreads = Math.max(1,
+        Math.min(numberOfSources, CarbonProperties.getInstance().getNumberOfCompactingCores()));
+    return Executors.newFixedThreadPool(numberOfThreads,
+        new CarbonThreadFactory("CompactionPrefetchPool:" + carbonTable.getTableName()));
+  }
+
   /**
    * This method will create the source segment properties based on restructured block existence
    *
@@ -209,6 +239,10 @@ public class CarbonCompactionExecutor {
       logStatistics(queryStartTime);
     } catch (QueryExecutionException e) {
       LOGGER.error("Problem while close. Ignoring the exception", e);
+    } finally {
+      if (null != prefetchExecutor) {
+        prefetchExecutor.shutdownNow();
+      }
     }
     clearDictionaryFromQueryModel();
   }
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.scan.result.iterator.RawResultIterator;
+import org.apache.carbondata.core.scan.wrappers.ByteArrayWrapper;
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Merges the sorted rows of the raw result iterators with a loser tree. Each row needs
+ * log(number of sources) comparisons, and each comparison compares the normalized sort keys
+ * of the current rows as one byte array, the keys are built once when the row becomes the
+ * current row of its source.
+ */
+class RawResultLoserTree {
+
+  private final List<RawResultIterator> sources;
+
+  private final int numberOfSources;
+
+  /**
+   * tree[0] is the winner source, tree[i] is the loser source of node i
+   */
+  private final int[] tree;
+
+  /**
+   * current row of each source, null if the source is finished
+   */
+  private final Object[][] rows;
+
+  /**
+   * normalized sort key of the current row of each source
+   */
+  private final byte[][] keys;
+
+  /**
+   * size of each sort column in the dictionary key, -1 for no dictionary columns
+   */
+  private final int[] sortColumnValueSizes;
+
+  /**
+   * length of the dictionary sort columns in dictionary key, used when all the sort columns
+   * are dictionary columns, then key is the dictionary key itself
+   */
+  private final int dictionarySortKeyLength;
+
+  private final boolean hasNoDictionarySortColumn;
+
+  RawResultLoserTree(List<RawResultIterator> sources, SegmentProperties segmentProperties) {
+    this.sources = sources;
+    this.numberOfSources = sources.size();
+    int[] columnValueSizes = segmentProperties.getEachDimColumnValueSize();
+    int numberOfSortColumns =
+        Math.min(segmentProperties.getNumberOfSortColumns(), columnValueSizes.length);
+    this.sortColumnValueSizes = new int[numberOfSortColumns];
+    System.arraycopy(columnValueSizes, 0, sortColumnValueSizes, 0, numberOfSortColumns);
+    int keyLength = 0;
+    boolean noDictionary = false;
+    for (int valueSize : sortColumnValueSizes) {
+      if (valueSize > 0) {
+        keyLength += valueSize;
+      } else {
+        noDictionary = true;
+      }
+    }
+    this.dictionarySortKeyLength = keyLength;
+    this.hasNoDictionarySortColumn = noDictionary;
+    this.rows = new Object[numberOfSources][];
+    this.keys = new byte[numberOfSources][];
+    this.tree = new int[Math.max(numberOfSources, 1)];
+    for (int i = 0; i < numberOfSources; i++) {
+      advance(i);
+    }
+    // fill the tree with the sentinel which beats all sources, then play every source
+    for (int i = 0; i < tree.length; i++) {
+      tree[i] = numberOfSources;
+    }
+    for (int i = numberOfSources - 1; i >= 0; i--) {
+      adjust(i);
+    }
+  }
+
+  /**
+   * Return the next row in sort order, null if all the sources are finished
+   */
+  Object[] next() {
+    if (numberOfSources == 0) {
+      return null;
+    }
+    int winner = tree[0];
+    Object[] row = rows[winner];
+    if (row == null) {
+      return null;
+    }
+    advance(winner);
+    adjust(winner);
+    return row;
+  }
+
+  /**
+   * Move the source to its next row
+   */
+  private void advance(int source) {
+    RawResultIterator iterator = sources.get(source);
+    Object[] row = null;
+    while (row == null && iterator.hasNext()) {
+      row = iterator.next();
+    }
+    rows[source] = row;
+    if (row == null) {
+      keys[source] = null;
+      iterator.close();
+    } else {
+      keys[source] = getSortKey((ByteArrayWrapper) row[0]);
+    }
+  }
+
+  /**
+   * Replay the matches from the leaf of the source to the root
+   */
+  private void adjust(int source) {
+    int winner = source;
+    for (int node = (source + numberOfSources) >> 1; node > 0; node >>= 1) {
+      if (beats(tree[node], winner)) {
+        int loser = winner;
+        winner = tree[node];
+        tree[node] = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+
+  private boolean beats(int source1, int source2) {
+    if (source1 == numberOfSources) {
+      return true;
+    } else if (source2 == numberOfSources) {
+      return false;
+    }
+    byte[] key1 = keys[source1];
+    byte[] key2 = keys[source2];
+    if (key1 == null) {
+      return false;
+    } else if (key2 == null) {
+      return true;
+    }
+    int compare;
+    if (hasNoDictionarySortColumn) {
+      compare = ByteUtil.UnsafeComparer.INSTANCE.compareTo(key1, key2);
+    } else {
+      compare = ByteUtil.UnsafeComparer.INSTANCE.compareTo(key1, 0, dictionarySortKeyLength,
+          key2, 0, dictionarySortKeyLength);
+    }
+    // rows with same key are taken in the order of sources
+    return compare < 0 || (compare == 0 && source1 < source2);
+  }
+
+  /**
+   * Return the sort key of the row which compares as unsigned bytes in the sort order. The
+   * no dictionary values are escaped, each 0 byte is written as 0 and 0xFF and each value
+   * ends with two 0 bytes, so that a value sorts before the values it is a prefix of.
+   */
+  private byte[] getSortKey(ByteArrayWrapper wrapper) {
+    byte[] dictionaryKey = wrapper.getDictionaryKey();
+    if (!hasNoDictionarySortColumn) {
+      return dictionaryKey;
+    }
+    int length = dictionarySortKeyLength;
+    int noDictionaryIndex = 0;
+    for (int valueSize : sortColumnValueSizes) {
+      if (valueSize <= 0) {
+        byte[] value = wrapper.getNoDictionaryKeyByIndex(noDictionaryIndex++);
+        length += value.length + 2;
+        for (byte b : value) {
+          if (b == 0) {
+            length++;
+          }
+        }
+      }
+    }
+    byte[] key = new byte[length];
+    int position = 0;
+    int dictionaryOffset = 0;
+    noDictionaryIndex = 0;
+    for (int valueSize : sortColumnValueSizes) {
+      if (valueSize > 0) {
+        System.arraycopy(dictionaryKey, dictionaryOffset, key, position, valueSize);
+        dictionaryOffset += valueSize;
+        position += valueSize;
+      } else {
+        byte[] value = wrapper.getNoDictionaryKeyByIndex(noDictionaryIndex++);
+        for (byte b : value) {
+          key[position++] = b;
+          if (b == 0) {
+            key[position++] = (byte) 0xFF;
+          }
+        }
+        // terminator, array is already filled with 0
+        position += 2;
+      }
+    }
+    return key;
+  }
+}
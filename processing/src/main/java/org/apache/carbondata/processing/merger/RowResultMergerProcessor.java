@@ -17,10 +17,7 @@
 package org.apache.carbondata.processing.merger;
 
 import java.io.IOException;
-import java.util.AbstractQueue;
-import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -29,12 +26,9 @@ import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.datastore.row.WriteStepRowUtil;
 import org.apache.carbondata.core.indexstore.PartitionSpec;
-import org.apache.carbondata.core.keygenerator.KeyGenException;
 import org.apache.carbondata.core.metadata.SegmentFileStore;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.scan.result.iterator.RawResultIterator;
-import org.apache.carbondata.core.scan.wrappers.ByteArrayWrapper;
-import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.processing.exception.SliceMergerException;
 import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
 import org.apache.carbondata.processing.store.CarbonFactDataHandlerColumnar;
@@ -55,10 +49,6 @@ public class RowResultMergerProcessor extends AbstractResultProcessor {
   private PartitionSpec partitionSpec;
 
   CarbonColumn[] noDicAndComplexColumns;
-  /**
-   * record holder heap
-   */
-  private AbstractQueue<RawResultIterator> recordHolderHeap;
 
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(RowResultMergerProcessor.class.getName());
@@ -93,75 +83,24 @@ public class RowResultMergerProcessor extends AbstractResultProcessor {
     dataHandler = new CarbonFactDataHandlerColumnar(carbonFactDataHandlerModel);
   }
 
-  private void initRecordHolderHeap(List<RawResultIterator> rawResultIteratorList) {
-    // create the List of RawResultIterator.
-    recordHolderHeap = new PriorityQueue<RawResultIterator>(rawResultIteratorList.size(),
-        new RowResultMergerProcessor.CarbonMdkeyComparator());
-  }
-
   /**
    * Merge function
    *
    */
   public boolean execute(List<RawResultIterator> resultIteratorList) throws Exception {
-    initRecordHolderHeap(resultIteratorList);
     boolean mergeStatus = false;
-    int index = 0;
     boolean isDataPresent = false;
     try {
-
-      // add all iterators to the queue
-      for (RawResultIterator leaftTupleIterator : resultIteratorList) {
-        this.recordHolderHeap.add(leaftTupleIterator);
-        index++;
-      }
-      RawResultIterator iterator = null;
-      while (index > 1) {
-        // iterator the top record
-        iterator = this.recordHolderHeap.poll();
-        Object[] convertedRow = iterator.next();
-        if (null == convertedRow) {
-          index--;
-          iterator.close();
-          continue;
-        }
+      RawResultLoserTree loserTree = new RawResultLoserTree(resultIteratorList, segprop);
+      Object[] convertedRow = loserTree.next();
+      while (null != convertedRow) {
+        // do it only once
         if (!isDataPresent) {
           dataHandler.initialise();
           isDataPresent = true;
         }
-        // get the mdkey
         addRow(convertedRow);
-        // if there is no record in the leaf and all then decrement the
-        // index
-        if (!iterator.hasNext()) {
-          index--;
-          iterator.close();
-          continue;
-        }
-        // add record to heap
-        this.recordHolderHeap.add(iterator);
-      }
-      // if record holder is not empty then iterator the slice holder from
-      // heap
-      iterator = this.recordHolderHeap.poll();
-      if (null != iterator) {
-        while (true) {
-          Object[] convertedRow = iterator.next();
-          if (null == convertedRow) {
-            iterator.close();
-            break;
-          }
-          // do it only once
-          if (!isDataPresent) {
-            dataHandler.initialise();
-            isDataPresent = true;
-          }
-          addRow(convertedRow);
-          // check if leaf contains no record
-          if (!iterator.hasNext()) {
-            break;
-          }
-        }
+        convertedRow = loserTree.next();
       }
       if (isDataPresent)
       {
@@ -212,68 +151,4 @@ public class RowResultMergerProcessor extends AbstractResultProcessor {
       throw new SliceMergerException("Problem in merging the slice", e);
     }
   }
-
-  /**
-   * Comparator class for comparing 2 raw row result.
-   */
-  private class CarbonMdkeyComparator implements Comparator<RawResultIterator> {
-    int[] columnValueSizes = segprop.getEachDimColumnValueSize();
-    public CarbonMdkeyComparator() {
-      initSortColumns();
-    }
-
-    private void initSortColumns() {
-      int numberOfSortColumns = segprop.getNumberOfSortColumns();
-      if (numberOfSortColumns != columnValueSizes.length) {
-        int[] sortColumnValueSizes = new int[numberOfSortColumns];
-        System.arraycopy(columnValueSizes, 0, sortColumnValueSizes, 0, numberOfSortColumns);
-        this.columnValueSizes = sortColumnValueSizes;
-      }
-    }
-
-    @Override public int compare(RawResultIterator o1, RawResultIterator o2) {
-
-      Object[] row1 = new Object[0];
-      Object[] row2 = new Object[0];
-      try {
-        row1 = o1.fetchConverted();
-        row2 = o2.fetchConverted();
-      } catch (KeyGenException e) {
-        LOGGER.error(e.getMessage());
-      }
-      if (null == row1 || null == row2) {
-        return 0;
-      }
-      ByteArrayWrapper key1 = (ByteArrayWrapper) row1[0];
-      ByteArrayWrapper key2 = (ByteArrayWrapper) row2[0];
-      int compareResult = 0;
-      int dictionaryKeyOffset = 0;
-      byte[] dimCols1 = key1.getDictionaryKey();
-      byte[] dimCols2 = key2.getDictionaryKey();
-      int noDicIndex = 0;
-      for (int eachColumnValueSize : columnValueSizes) {
-        // case of dictionary cols
-        if (eachColumnValueSize > 0) {
-
-          compareResult = ByteUtil.UnsafeComparer.INSTANCE
-              .compareTo(dimCols1, dictionaryKeyOffset, eachColumnValueSize, dimCols2,
-                  dictionaryKeyOffset, eachColumnValueSize);
-          dictionaryKeyOffset += eachColumnValueSize;
-        } else { // case of no dictionary
-
-          byte[] noDictionaryDim1 = key1.getNoDictionaryKeyByIndex(noDicIndex);
-          byte[] noDictionaryDim2 = key2.getNoDictionaryKeyByIndex(noDicIndex);
-          compareResult =
-              ByteUtil.UnsafeComparer.INSTANCE.compareTo(noDictionaryDim1, noDictionaryDim2);
-          noDicIndex++;
-
-        }
-        if (0 != compareResult) {
-          return compareResult;
-        }
-      }
-      return 0;
-    }
-  }
-
 }
@@ -22,6 +22,7 @@ import java.util.UUID;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.locks.CarbonLockFactory;
+import org.apache.carbondata.core.locks.CarbonLockManager;
 import org.apache.carbondata.core.locks.ICarbonLock;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.locks.LocalFileLock;
@@ -80,6 +81,40 @@ public class LocalFileLockTest {
     Assert.assertTrue(localLock2.unlock());
   }
 
+  @Test public void testWaiterIsWokenWhenLockIsReleased() throws Exception {
+    AbsoluteTableIdentifier absoluteTableIdentifier = AbsoluteTableIdentifier
+        .from(CarbonProperties.getInstance().getProperty("carbon.storelocation"), "databaseName",
+            "tableName", UUID.randomUUID().toString());
+    final LocalFileLock localLock1 =
+        new LocalFileLock(absoluteTableIdentifier.getTablePath(), LockUsage.COMPACTION_LOCK);
+    final LocalFileLock localLock2 =
+        new LocalFileLock(absoluteTableIdentifier.getTablePath(), LockUsage.COMPACTION_LOCK);
+    Assert.assertTrue(localLock1.lockWithRetries(3, 5));
+    Thread releaser = new Thread(new Runnable() {
+      @Override public void run() {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+          // release immediately
+        }
+        localLock1.unlock();
+      }
+    });
+    long startTime = System.currentTimeMillis();
+    releaser.start();
+    Assert.assertTrue(localLock2.lockWithRetries(3, 5));
+    // acquired after the release, without waiting for the retry timeout
+    Assert.assertTrue(System.currentTimeMillis() - startTime < 5000);
+    Assert.assertTrue(localLock2.unlock());
+    releaser.join();
+    long[] histogram = CarbonLockManager.getWaitTimeHistogram(LockUsage.COMPACTION_LOCK);
+    long count = 0;
+    for (long bucket : histogram) {
+      count += bucket;
+    }
+    Assert.assertTrue(count >= 2);
+  }
+
   @Test public void testConfigurablePathForLock() throws Exception {
     try {
       Field f = secretClass.getDeclaredField("lockPath");
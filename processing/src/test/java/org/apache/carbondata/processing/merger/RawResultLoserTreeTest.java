@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.result.iterator.RawResultIterator;
+import org.apache.carbondata.core.scan.wrappers.ByteArrayWrapper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RawResultLoserTreeTest {
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  @Test public void testMergeOnDictionaryAndNoDictionarySortColumns() {
+    List<RawResultIterator> sources = new ArrayList<>();
+    sources.add(createSource(new Object[][] {
+        { 1, "b" }, { 1, "ba" }, { 2, "" }, { 3, "z" } }));
+    sources.add(createSource(new Object[][] {}));
+    sources.add(createSource(new Object[][] {
+        { 1, "a" }, { 1, "b\0" }, { 2, "a" } }));
+    sources.add(createSource(new Object[][] {
+        { 0, "x" }, { 1, "b" }, { 3, "a" } }));
+    RawResultLoserTree loserTree = new RawResultLoserTree(sources, createSegmentProperties());
+    List<String> merged = new ArrayList<>();
+    Object[] row = loserTree.next();
+    while (row != null) {
+      ByteArrayWrapper wrapper = (ByteArrayWrapper) row[0];
+      merged.add(wrapper.getDictionaryKey()[0] + ":"
+          + new String(wrapper.getNoDictionaryKeyByIndex(0), UTF8));
+      row = loserTree.next();
+    }
+    Assert.assertEquals(Arrays.asList("0:x", "1:a", "1:b", "1:b", "1:b\0", "1:ba", "2:", "2:a",
+        "3:a", "3:z"), merged);
+  }
+
+  @Test public void testMergeWithoutSources() {
+    RawResultLoserTree loserTree =
+        new RawResultLoserTree(new ArrayList<RawResultIterator>(), createSegmentProperties());
+    Assert.assertNull(loserTree.next());
+  }
+
+  private static SegmentProperties createSegmentProperties() {
+    List<ColumnSchema> columns = new ArrayList<>();
+    columns.add(createDimension("dict", true));
+    columns.add(createDimension("nodict", false));
+    return new SegmentProperties(columns, new int[] { 100, -1 });
+  }
+
+  private static ColumnSchema createDimension(String name, boolean dictionary) {
+    ColumnSchema column = new ColumnSchema();
+    column.setColumnName(name);
+    column.setColumnUniqueId(UUID.randomUUID().toString());
+    column.setDataType(DataTypes.STRING);
+    column.setDimensionColumn(true);
+    column.setSortColumn(true);
+    List<Encoding> encodings = new ArrayList<>();
+    if (dictionary) {
+      encodings.add(Encoding.DICTIONARY);
+    }
+    column.setEncodingList(encodings);
+    column.setNumberOfChild(0);
+    return column;
+  }
+
+  private static RawResultIterator createSource(Object[][] values) {
+    final List<Object[]> rows = new ArrayList<>();
+    for (Object[] value : values) {
+      ByteArrayWrapper wrapper = new ByteArrayWrapper();
+      wrapper.setDictionaryKey(new byte[] { (byte) (int) (Integer) value[0] });
+      wrapper.setNoDictionaryKeys(new byte[][] { ((String) value[1]).getBytes(UTF8) });
+      rows.add(new Object[] { wrapper });
+    }
+    final Iterator<Object[]> iterator = rows.iterator();
+    return new RawResultIterator(null, null, null, true) {
+      @Override public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override public Object[] next() {
+        return iterator.next();
+      }
+    };
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.sdk.file.arrow.ArrowRecordReader;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.hadoop.mapreduce.RecordReader;
+
+/**
+ * Reader for CarbonData file which returns the rows as arrow batches. The scan fills the arrow
+ * vectors directly, so the batches can be handed to arrow based tools without conversion.
+ */
+@InterfaceAudience.User
+@InterfaceStability.Evolving
+public class ArrowCarbonReader {
+
+  private List<ArrowRecordReader> readers;
+
+  private BufferAllocator allocator;
+
+  private int index;
+
+  private boolean initialise;
+
+  /**
+   * Call {@link CarbonReaderBuilder#buildArrowReader(boolean)} to construct an instance
+   */
+  ArrowCarbonReader(List<ArrowRecordReader> readers, BufferAllocator allocator) {
+    if (readers.size() == 0) {
+      throw new IllegalArgumentException("no reader");
+    }
+    this.readers = readers;
+    this.allocator = allocator;
+    this.index = 0;
+    this.initialise = true;
+  }
+
+  /**
+   * Return the arrow schema of the batches
+   */
+  public Schema getArrowSchema() {
+    validateReader();
+    return new Schema(readers.get(0).getArrowFields());
+  }
+
+  /**
+   * Read the next batch. The returned root is reused by next calls, so the data must be
+   * consumed or transferred before reading the next batch.
+   *
+   * @return root of the batch, null if there are no more rows
+   */
+  public VectorSchemaRoot readNextBatch() throws IOException {
+    validateReader();
+    while (index < readers.size()) {
+      VectorSchemaRoot root = readers.get(index).nextArrowBatch();
+      if (root != null) {
+        return root;
+      }
+      // current reader is completed
+      readers.get(index).close();
+      index++;
+    }
+    return null;
+  }
+
+  /**
+   * Return the dictionaries of the dictionary encoded fields of the last batch. Carbon local
+   * dictionaries are per blocklet, so the dictionaries can change between batches.
+   */
+  public DictionaryProvider getDictionaryProvider() {
+    validateReader();
+    if (index >= readers.size()) {
+      return null;
+    }
+    return readers.get(index).getDictionaryProvider();
+  }
+
+  /**
+   * Write all the remaining batches in arrow IPC file format. Arrow file format allows only one
+   * dictionary per field, so the reader must be built without dictionary encoding.
+   *
+   * @param channel output channel
+   * @return number of rows written
+   * @throws IOException
+   */
+  public long writeArrowFile(WritableByteChannel channel) throws IOException {
+    Schema schema = getArrowSchema();
+    for (Field field : schema.getFields()) {
+      if (field.getDictionary() != null) {
+        throw new UnsupportedOperationException(
+            "Arrow file cannot be written from dictionary encoded reader");
+      }
+    }
+    long rowCount = 0;
+    VectorSchemaRoot fileRoot = VectorSchemaRoot.create(schema, allocator);
+    ArrowFileWriter writer =
+        new ArrowFileWriter(fileRoot, new DictionaryProvider.MapDictionaryProvider(), channel);
+    try {
+      writer.start();
+      VectorLoader loader = new VectorLoader(fileRoot);
+      VectorSchemaRoot batch = readNextBatch();
+      while (batch != null) {
+        // transfers the buffers of the batch, no data copy
+        ArrowRecordBatch recordBatch = new VectorUnloader(batch).getRecordBatch();
+        try {
+          loader.load(recordBatch);
+        } finally {
+          recordBatch.close();
+        }
+        writer.writeBatch();
+        rowCount += batch.getRowCount();
+        batch = readNextBatch();
+      }
+      writer.end();
+    } finally {
+      writer.close();
+      fileRoot.close();
+    }
+    return rowCount;
+  }
+
+  /**
+   * Close reader and release the arrow memory
+   *
+   * @throws IOException
+   */
+  public void close() throws IOException {
+    validateReader();
+    this.initialise = false;
+    try {
+      for (int i = index; i < readers.size(); i++) {
+        readers.get(i).close();
+      }
+    } finally {
+      allocator.close();
+    }
+  }
+
+  /**
+   * Creates arrow record readers sharing one allocator
+   */
+  static class ArrowReaderFactory implements CarbonReaderBuilder.VectorReaderFactory {
+
+    private final BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+
+    private final boolean dictionaryEncode;
+
+    ArrowReaderFactory(boolean dictionaryEncode) {
+      this.dictionaryEncode = dictionaryEncode;
+    }
+
+    @Override public RecordReader createReader(QueryModel queryModel) {
+      return new ArrowRecordReader(queryModel, allocator, dictionaryEncode);
+    }
+
+    ArrowCarbonReader createCarbonReader(List<RecordReader<Void, Object>> readers) {
+      List<ArrowRecordReader> arrowReaders = new ArrayList<>(readers.size());
+      for (RecordReader<Void, Object> reader : readers) {
+        arrowReaders.add((ArrowRecordReader) reader);
+      }
+      return new ArrowCarbonReader(arrowReaders, allocator);
+    }
+
+    void close() {
+      try {
+        allocator.close();
+      } catch (IllegalStateException e) {
+        // vectors of the reader which failed to initialise are not released, ignore it as
+        // the original failure is thrown to the caller
+      }
+    }
+
+    @Override public String toString() {
+      return "arrow reader";
+    }
+  }
+
+  /**
+   * Validate the reader
+   */
+  private void validateReader() {
+    if (!this.initialise) {
+      throw new RuntimeException(this.getClass().getSimpleName() +
+          " not initialise, please create it first.");
+    }
+  }
+}
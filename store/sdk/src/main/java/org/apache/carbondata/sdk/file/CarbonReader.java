@@ -52,6 +52,11 @@ public class CarbonReader<T> {
    */
   private Object[] batchRows;
 
+  /**
+   * reads all the readers on an internal thread pool, null if reading sequentially
+   */
+  private ParallelSplitReader<T> parallelReader;
+
   /**
    * Call {@link #builder(String)} to construct an instance
    */
@@ -65,11 +70,24 @@ public class CarbonReader<T> {
     this.currentReader = readers.get(0);
   }
 
+  /**
+   * Call {@link #builder(String)} to construct an instance which reads the readers
+   * in parallel
+   */
+  CarbonReader(List<RecordReader<Void, T>> readers, int numThreads, int prefetchRows,
+      boolean ordered) {
+    this(readers);
+    this.parallelReader = new ParallelSplitReader<>(readers, numThreads, prefetchRows, ordered);
+  }
+
   /**
    * Return true if has next row
    */
   public boolean hasNext() throws IOException, InterruptedException {
     validateReader();
+    if (parallelReader != null) {
+      return parallelReader.hasNext();
+    }
     if (currentReader.nextKeyValue()) {
       return true;
     } else {
@@ -91,6 +109,9 @@ public class CarbonReader<T> {
    */
   public T readNextRow() throws IOException, InterruptedException {
     validateReader();
+    if (parallelReader != null) {
+      return parallelReader.next();
+    }
     return currentReader.getCurrentValue();
   }
 
@@ -99,6 +120,9 @@ public class CarbonReader<T> {
    */
   public Object[] readNextBatchRow() throws Exception {
     validateReader();
+    if (parallelReader != null) {
+      return readNextParallelBatchRow();
+    }
     if (currentReader instanceof CarbonRecordReader) {
       List<Object> batchValue = ((CarbonRecordReader) currentReader).getBatchValue();
       if (batchValue == null) {
@@ -131,6 +155,37 @@ public class CarbonReader<T> {
     }
   }
 
+  /**
+   * Read next batch rows from the parallel split readers, return null if no more rows
+   */
+  private Object[] readNextParallelBatchRow() throws IOException, InterruptedException {
+    int batch = Integer.parseInt(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE,
+            String.valueOf(CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE_DEFAULT)));
+    List<Object> rows = new ArrayList<>(batch);
+    while (rows.size() < batch && parallelReader.hasNext()) {
+      rows.add(parallelReader.next());
+    }
+    if (rows.isEmpty()) {
+      return null;
+    }
+    return rows.toArray();
+  }
+
+  /**
+   * Return read statistics of every split, only available when the reader is built with
+   * {@link CarbonReaderBuilder#withParallelReading(int)}
+   *
+   * @return list of {@link SplitReadStatistics} in split order
+   */
+  public List<SplitReadStatistics> getSplitReadStatistics() {
+    if (parallelReader == null) {
+      throw new UnsupportedOperationException(
+          "Split read statistics are only available for parallel reading");
+    }
+    return parallelReader.getStatistics();
+  }
+
   /**
    * Return a new {@link CarbonReaderBuilder} instance
    *
@@ -173,6 +228,10 @@ public class CarbonReader<T> {
    */
   public List<CarbonReader> split(int maxSplits) throws IOException {
     validateReader();
+    if (parallelReader != null) {
+      throw new UnsupportedOperationException(
+          "split is not supported when the reader already reads in parallel");
+    }
     if (maxSplits < 1) {
       throw new RuntimeException(
           this.getClass().getSimpleName() + ".split: maxSplits must be positive");
@@ -216,7 +275,11 @@ public class CarbonReader<T> {
     CarbonProperties.getInstance()
         .addProperty(CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE,
             String.valueOf(CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE_DEFAULT));
-    this.currentReader.close();
+    if (parallelReader != null) {
+      parallelReader.close();
+    } else {
+      this.currentReader.close();
+    }
     this.initialise = false;
   }
 
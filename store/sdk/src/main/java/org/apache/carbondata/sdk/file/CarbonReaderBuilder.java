@@ -19,8 +19,10 @@ package org.apache.carbondata.sdk.file;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.annotations.InterfaceStability;
@@ -28,6 +30,9 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datamap.DataMapStoreManager;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.aggregate.AggregateFunction;
+import org.apache.carbondata.core.scan.aggregate.ScanAggregate;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.model.ProjectionDimension;
 import org.apache.carbondata.core.scan.model.QueryModel;
@@ -35,7 +40,9 @@ import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonSessionInfo;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.ThreadLocalSessionInfo;
+import org.apache.carbondata.hadoop.CarbonRecordReader;
 import org.apache.carbondata.hadoop.api.CarbonFileInputFormat;
+import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport;
 import org.apache.carbondata.hadoop.util.CarbonVectorizedRecordReader;
 
 import org.apache.hadoop.conf.Configuration;
@@ -51,12 +58,23 @@ import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
 @InterfaceStability.Evolving
 public class CarbonReaderBuilder {
 
+  /**
+   * default number of rows prefetched per split when reading in parallel
+   */
+  private static final int DEFAULT_PREFETCH_ROWS = 32000;
+
   private String tablePath;
   private String[] projectionColumns;
   private Expression filterExpression;
   private String tableName;
   private Configuration hadoopConf;
   private boolean useVectorReader = true;
+  /**
+   * number of threads reading the splits, 0 if the splits are read sequentially by the caller
+   */
+  private int numReadThreads;
+  private int prefetchRows = DEFAULT_PREFETCH_ROWS;
+  private boolean orderedRead = true;
 
   /**
    * Construct a CarbonReaderBuilder with table path and table name
@@ -146,6 +164,42 @@ public class CarbonReaderBuilder {
     return this;
   }
 
+  /**
+   * Read the splits in parallel on an internal thread pool, rows are returned in split order.
+   * With one thread the splits are read one after the other in the background, ahead of the
+   * caller.
+   *
+   * @param numThreads number of threads used to read splits
+   * @return updated CarbonReaderBuilder
+   */
+  public CarbonReaderBuilder withParallelReading(int numThreads) {
+    return withParallelReading(numThreads, DEFAULT_PREFETCH_ROWS, true);
+  }
+
+  /**
+   * Read the splits in parallel on an internal thread pool.
+   *
+   * @param numThreads   number of threads used to read splits
+   * @param prefetchRows maximum number of rows buffered per split before the split reader
+   *                     waits for the consumer
+   * @param ordered      if true rows are returned in split order, else rows are returned
+   *                     as soon as any split has read them
+   * @return updated CarbonReaderBuilder
+   */
+  public CarbonReaderBuilder withParallelReading(int numThreads, int prefetchRows,
+      boolean ordered) {
+    if (numThreads < 1) {
+      throw new IllegalArgumentException("numThreads must be positive");
+    }
+    if (prefetchRows < 1) {
+      throw new IllegalArgumentException("prefetchRows must be positive");
+    }
+    this.numReadThreads = numThreads;
+    this.prefetchRows = prefetchRows;
+    this.orderedRead = ordered;
+    return this;
+  }
+
   /**
    * Build CarbonReader
    *
@@ -156,12 +210,102 @@ public class CarbonReaderBuilder {
    */
   public <T> CarbonReader<T> build()
       throws IOException, InterruptedException {
+    List<RecordReader<Void, T>> readers = buildRecordReaders(buildTable(), null, null);
+    if (numReadThreads > 0) {
+      return new CarbonReader<>(readers, numReadThreads, prefetchRows, orderedRead);
+    }
+    return new CarbonReader<>(readers);
+  }
+
+  /**
+   * Build a reader which fills the batches directly into arrow vectors
+   *
+   * @param dictionaryEncode true to export string columns as arrow dictionary encoded
+   *                         vectors, carbon local dictionaries are exported without expanding
+   * @return ArrowCarbonReader
+   * @throws IOException
+   * @throws InterruptedException
+   */
+  public ArrowCarbonReader buildArrowReader(boolean dictionaryEncode)
+      throws IOException, InterruptedException {
+    // arrow is an optional dependency, its classes are referred only by the arrow reader
+    ArrowCarbonReader.ArrowReaderFactory factory =
+        new ArrowCarbonReader.ArrowReaderFactory(dictionaryEncode);
+    try {
+      return factory.createCarbonReader(this.<Object>buildRecordReaders(buildTable(), factory,
+          null));
+    } catch (IOException | InterruptedException | RuntimeException e) {
+      factory.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Compute the aggregates in the scan instead of reading the rows. The filter is applied and
+   * the projection is replaced by the columns of the aggregates. See {@link ScanAggregate} for
+   * the supported aggregates and the types of their results.
+   *
+   * @param functions   aggregate functions
+   * @param columnNames column of each aggregate function, null for COUNT(*)
+   * @return result of each aggregate, in the order of the functions
+   * @throws IOException
+   * @throws InterruptedException
+   */
+  public Object[] readAggregates(AggregateFunction[] functions, String[] columnNames)
+      throws IOException, InterruptedException {
+    Objects.requireNonNull(functions);
+    Objects.requireNonNull(columnNames);
+    if (functions.length == 0 || functions.length != columnNames.length) {
+      throw new IllegalArgumentException("Each aggregate function must have one column name");
+    }
+    CarbonTable table = buildTable();
+    List<ScanAggregate> aggregates = new ArrayList<>(functions.length);
+    for (int i = 0; i < functions.length; i++) {
+      CarbonColumn column = null;
+      if (columnNames[i] != null) {
+        column = table.getColumnByName(table.getTableName(), columnNames[i]);
+        if (column == null) {
+          throw new IllegalArgumentException("Column " + columnNames[i] + " does not exist");
+        }
+      }
+      aggregates.add(new ScanAggregate(functions[i], column));
+    }
+    // each reader returns one row of partial results for its split
+    List<RecordReader<Void, Object[]>> readers = buildRecordReaders(table, null, aggregates);
+    Object[] results = new Object[aggregates.size()];
+    try {
+      for (RecordReader<Void, Object[]> reader : readers) {
+        while (reader.nextKeyValue()) {
+          Object[] partialResults = reader.getCurrentValue();
+          for (int i = 0; i < results.length; i++) {
+            results[i] = aggregates.get(i).merge(results[i], partialResults[i]);
+          }
+        }
+      }
+    } finally {
+      CarbonUtil.closeStreams(readers.toArray(new RecordReader[0]));
+    }
+    return results;
+  }
+
+  private CarbonTable buildTable() throws IOException {
     if (hadoopConf == null) {
       hadoopConf = FileFactory.getConfiguration();
     }
-    CarbonTable table;
     // now always infer schema. TODO:Refactor in next version.
-    table = CarbonTable.buildTable(tablePath, tableName, hadoopConf);
+    return CarbonTable.buildTable(tablePath, tableName, hadoopConf);
+  }
+
+  /**
+   * Create the record readers of all the splits
+   *
+   * @param table               table to read
+   * @param vectorReaderFactory factory of the vector readers, null to use default readers
+   * @param aggregates          aggregates computed by the scan, null to read the rows
+   */
+  private <T> List<RecordReader<Void, T>> buildRecordReaders(CarbonTable table,
+      VectorReaderFactory vectorReaderFactory, List<ScanAggregate> aggregates)
+      throws IOException, InterruptedException {
     final CarbonFileInputFormat format = new CarbonFileInputFormat();
     final Job job = new Job(hadoopConf);
     format.setTableInfo(job.getConfiguration(), table.getTableInfo());
@@ -172,17 +316,22 @@ public class CarbonReaderBuilder {
       format.setFilterPredicates(job.getConfiguration(), filterExpression);
     }
 
-    if (projectionColumns != null) {
+    String[] projection = projectionColumns;
+    if (aggregates != null) {
+      // the columns of the aggregates must be in the projection
+      projection = getAggregateProjection(aggregates);
+    }
+    if (projection != null) {
       // set the user projection
-      int len = projectionColumns.length;
+      int len = projection.length;
       //      TODO : Handle projection of complex child columns
       for (int i = 0; i < len; i++) {
-        if (projectionColumns[i].contains(".")) {
+        if (projection[i].contains(".")) {
           throw new UnsupportedOperationException(
               "Complex child columns projection NOT supported through CarbonReader");
         }
       }
-      format.setColumnProjection(job.getConfiguration(), projectionColumns);
+      format.setColumnProjection(job.getConfiguration(), projection);
     }
 
     try {
@@ -205,8 +354,21 @@ public class CarbonReaderBuilder {
             break;
           }
         }
-        if (useVectorReader && !hasComplex) {
+        if (aggregates != null) {
+          queryModel.setAggregates(aggregates);
+          reader = new CarbonRecordReader<>(queryModel, new PartialResultReadSupport(),
+              job.getConfiguration());
+        } else if (vectorReaderFactory != null) {
+          if (hasComplex) {
+            CarbonUtil.closeStreams(readers.toArray(new RecordReader[0]));
+            throw new UnsupportedOperationException(
+                "Complex columns are NOT supported by " + vectorReaderFactory);
+          }
           queryModel.setDirectVectorFill(filterExpression == null);
+          reader = vectorReaderFactory.createReader(queryModel);
+        } else if (useVectorReader) {
+          // complex columns are filled into nested vectors from the child pages
+          queryModel.setDirectVectorFill(filterExpression == null && !hasComplex);
           reader = new CarbonVectorizedRecordReader(queryModel);
         } else {
           reader = format.createRecordReader(split, attempt);
@@ -219,7 +381,7 @@ public class CarbonReaderBuilder {
           throw e;
         }
       }
-      return new CarbonReader<>(readers);
+      return readers;
     } catch (Exception ex) {
       // Clear the datamap cache as it can get added in getSplits() method
       DataMapStoreManager.getInstance()
@@ -228,4 +390,41 @@ public class CarbonReaderBuilder {
     }
   }
 
+  /**
+   * Return the distinct columns of the aggregates, null if there is only COUNT(*)
+   */
+  private static String[] getAggregateProjection(List<ScanAggregate> aggregates) {
+    Set<String> columnNames = new LinkedHashSet<>();
+    for (ScanAggregate aggregate : aggregates) {
+      if (aggregate.getColumn() != null) {
+        columnNames.add(aggregate.getColumn().getColName());
+      }
+    }
+    return columnNames.isEmpty() ? null : columnNames.toArray(new String[0]);
+  }
+
+  /**
+   * Returns the row of partial results of the aggregates as it is
+   */
+  private static class PartialResultReadSupport implements CarbonReadSupport<Object[]> {
+
+    @Override public void initialize(CarbonColumn[] carbonColumns, CarbonTable carbonTable) {
+    }
+
+    @Override public Object[] readRow(Object[] data) {
+      return data;
+    }
+
+    @Override public void close() {
+    }
+  }
+
+  /**
+   * Creates the vectorized record reader of a split
+   */
+  interface VectorReaderFactory {
+
+    RecordReader createReader(QueryModel queryModel);
+  }
+
 }
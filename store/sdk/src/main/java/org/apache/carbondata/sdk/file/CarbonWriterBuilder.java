@@ -55,6 +55,12 @@ import org.apache.hadoop.conf.Configuration;
 @InterfaceAudience.User
 @InterfaceStability.Unstable
 public class CarbonWriterBuilder {
+
+  /**
+   * maximum number of rows waiting in the queue of a pipeline of parallel writer
+   */
+  private static final int PARALLEL_WRITER_QUEUE_SIZE = 10000;
+
   private Schema schema;
   private String path;
   private String[] sortColumns;
@@ -69,6 +75,9 @@ public class CarbonWriterBuilder {
   private Configuration hadoopConf;
   private String writtenByApp;
   private String[] invertedIndexColumns;
+  private int numOfPipelines = 1;
+  private String partitionColumn;
+  private String[] rangeBounds;
   private enum WRITER_TYPE {
     CSV, AVRO, JSON
   }
@@ -285,6 +294,58 @@ public class CarbonWriterBuilder {
     return this;
   }
 
+  /**
+   * To write with several loading pipelines in parallel. Input rows are distributed to the
+   * pipelines in round robin, use {@link #partitionByHash(String)} or
+   * {@link #partitionByRange(String, String[])} to partition them on a column. Each pipeline
+   * writes its own carbondata files and all of them share the unsafe memory of the process.
+   * The built writer is thread safe.
+   *
+   * @param numOfPipelines number of loading pipelines
+   * @return updated CarbonWriterBuilder
+   */
+  public CarbonWriterBuilder withParallelPipelines(int numOfPipelines) {
+    if (numOfPipelines < 1) {
+      throw new IllegalArgumentException("number of pipelines cannot be lesser than 1");
+    }
+    this.numOfPipelines = numOfPipelines;
+    return this;
+  }
+
+  /**
+   * To partition the rows across parallel pipelines on the hash of a column, so all the rows of
+   * a value are written in the same files. Supported for CSV and Avro input.
+   *
+   * @param columnName partition column
+   * @return updated CarbonWriterBuilder
+   */
+  public CarbonWriterBuilder partitionByHash(String columnName) {
+    Objects.requireNonNull(columnName, "partition column should not be null");
+    this.partitionColumn = columnName;
+    this.rangeBounds = null;
+    return this;
+  }
+
+  /**
+   * To partition the rows across parallel pipelines on ranges of a column, one pipeline per
+   * range. Pipeline i writes the values greater than bounds[i - 1] and less than or equal to
+   * bounds[i]. If the column is also the first sort column, the written files are globally
+   * sorted in the order of the ranges. Supported for CSV and Avro input.
+   *
+   * @param columnName partition column
+   * @param bounds     upper bounds of the ranges in ascending order, number of pipelines is
+   *                   bounds.length + 1
+   * @return updated CarbonWriterBuilder
+   */
+  public CarbonWriterBuilder partitionByRange(String columnName, String[] bounds) {
+    Objects.requireNonNull(columnName, "partition column should not be null");
+    Objects.requireNonNull(bounds, "range bounds should not be null");
+    this.partitionColumn = columnName;
+    this.rangeBounds = bounds;
+    this.numOfPipelines = bounds.length + 1;
+    return this;
+  }
+
   /**
    * To support hadoop configuration
    *
@@ -435,6 +496,88 @@ public class CarbonWriterBuilder {
    * @throws InvalidLoadOptionException
    */
   public CarbonWriter build() throws IOException, InvalidLoadOptionException {
+    if (numOfPipelines > 1) {
+      return buildParallelWriter();
+    }
+    return buildWriter();
+  }
+
+  /**
+   * Build a {@link ParallelCarbonWriter} with one writer per pipeline
+   */
+  private CarbonWriter buildParallelWriter() throws IOException, InvalidLoadOptionException {
+    RowPartitioner partitioner = createPartitioner();
+    List<CarbonWriter> writers = new ArrayList<>(numOfPipelines);
+    try {
+      for (int i = 0; i < numOfPipelines; i++) {
+        writers.add(copyForPipeline(i).buildWriter());
+      }
+    } catch (IOException | InvalidLoadOptionException | RuntimeException e) {
+      for (CarbonWriter writer : writers) {
+        try {
+          writer.close();
+        } catch (IOException ex) {
+          // the original failure is thrown to the caller
+        }
+      }
+      throw e;
+    }
+    return new ParallelCarbonWriter(writers, partitioner, PARALLEL_WRITER_QUEUE_SIZE);
+  }
+
+  /**
+   * Return a copy of this builder which builds the writer of one pipeline, this builder is not
+   * modified so that it can be reused by the caller
+   */
+  private CarbonWriterBuilder copyForPipeline(int pipelineIndex) {
+    CarbonWriterBuilder builder = new CarbonWriterBuilder();
+    builder.schema = schema;
+    builder.path = path;
+    builder.sortColumns = sortColumns;
+    builder.blockletSize = blockletSize;
+    builder.blockSize = blockSize;
+    builder.timestamp = timestamp;
+    builder.options = options;
+    if (taskNo != null) {
+      // keep the file names of the pipelines unique
+      builder.taskNo = String.valueOf(Long.parseLong(taskNo) * numOfPipelines + pipelineIndex);
+    }
+    builder.localDictionaryThreshold = localDictionaryThreshold;
+    builder.isLocalDictionaryEnabled = isLocalDictionaryEnabled;
+    // each pipeline writer is called only from its own thread
+    builder.numOfThreads = 0;
+    builder.hadoopConf = hadoopConf;
+    builder.writtenByApp = writtenByApp;
+    builder.invertedIndexColumns = invertedIndexColumns;
+    builder.writerType = writerType;
+    return builder;
+  }
+
+  private RowPartitioner createPartitioner() {
+    if (partitionColumn == null) {
+      return new RowPartitioner.RoundRobinPartitioner(numOfPipelines);
+    }
+    if (writerType != WRITER_TYPE.CSV && writerType != WRITER_TYPE.AVRO) {
+      throw new UnsupportedOperationException(
+          "partitioning on column is supported only for CSV and Avro input");
+    }
+    Field[] fields = schema.getFields();
+    for (int i = 0; i < fields.length; i++) {
+      if (fields[i] != null && fields[i].getFieldName().equalsIgnoreCase(partitionColumn)) {
+        boolean avroInput = writerType == WRITER_TYPE.AVRO;
+        if (rangeBounds != null) {
+          return new RowPartitioner.RangePartitioner(rangeBounds, fields[i].getDataType(), i,
+              fields[i].getFieldName(), avroInput);
+        }
+        return new RowPartitioner.HashPartitioner(numOfPipelines, i, fields[i].getFieldName(),
+            avroInput);
+      }
+    }
+    throw new IllegalArgumentException(
+        "partition column: " + partitionColumn + " not found in schema");
+  }
+
+  private CarbonWriter buildWriter() throws IOException, InvalidLoadOptionException {
     Objects.requireNonNull(path, "path should not be null");
     if (this.writerType == null) {
       throw new IOException(
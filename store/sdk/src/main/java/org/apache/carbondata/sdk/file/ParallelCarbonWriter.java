@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Writer which partitions the input rows across several loading pipelines, each pipeline is a
+ * writer of its own running in its own thread and writing its own carbondata files. All the
+ * pipelines run in the same JVM, so the unsafe working and sort memory configured for the
+ * process is shared by them.
+ *
+ * This writer is thread safe.
+ */
+@InterfaceAudience.Internal
+class ParallelCarbonWriter extends CarbonWriter {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(ParallelCarbonWriter.class.getName());
+
+  /**
+   * marks the end of input in a pipeline queue
+   */
+  private static final Object END_OF_INPUT = new Object();
+
+  private final List<CarbonWriter> writers;
+
+  private final List<BlockingQueue<Object>> queues;
+
+  private final List<Future<Void>> futures;
+
+  private final RowPartitioner partitioner;
+
+  private final ExecutorService executorService;
+
+  private volatile Throwable failure;
+
+  private volatile boolean closed;
+
+  ParallelCarbonWriter(List<CarbonWriter> writers, RowPartitioner partitioner, int queueSize) {
+    this.writers = writers;
+    this.partitioner = partitioner;
+    this.queues = new ArrayList<>(writers.size());
+    this.futures = new ArrayList<>(writers.size());
+    this.executorService = Executors.newFixedThreadPool(writers.size(),
+        new CarbonThreadFactory("SDKParallelWriterPool:" + System.nanoTime()));
+    for (int i = 0; i < writers.size(); i++) {
+      BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueSize);
+      queues.add(queue);
+      futures.add(executorService.submit(new PipelineTask(writers.get(i), queue)));
+    }
+  }
+
+  /**
+   * Write the row into the pipeline of its partition, waits if the pipeline is full
+   */
+  @Override
+  public void write(Object object) throws IOException {
+    Objects.requireNonNull(object, "Input cannot be null");
+    checkClosed();
+    checkFailure();
+    BlockingQueue<Object> queue = queues.get(partitioner.getPartition(object));
+    try {
+      // pipelines stop consuming once the writer is closed, so do not wait on a full queue
+      // after a concurrent close
+      while (!queue.offer(object, 100, TimeUnit.MILLISECONDS)) {
+        checkClosed();
+        checkFailure();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Flush and close all the pipelines
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      for (BlockingQueue<Object> queue : queues) {
+        queue.put(END_OF_INPUT);
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      executorService.shutdownNow();
+    }
+    checkFailure();
+  }
+
+  private void checkClosed() {
+    if (closed) {
+      throw new IllegalStateException("Writer is already closed");
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    if (failure != null) {
+      throw new IOException("Failed to write in parallel pipeline", failure);
+    }
+  }
+
+  /**
+   * Writes the rows of one partition
+   */
+  private final class PipelineTask implements Callable<Void> {
+
+    private final CarbonWriter writer;
+
+    private final BlockingQueue<Object> queue;
+
+    PipelineTask(CarbonWriter writer, BlockingQueue<Object> queue) {
+      this.writer = writer;
+      this.queue = queue;
+    }
+
+    @Override public Void call() throws Exception {
+      try {
+        Object row = queue.take();
+        while (row != END_OF_INPUT) {
+          // after a failure keep draining the queue so that producers are not blocked
+          if (failure == null) {
+            try {
+              writer.write(row);
+            } catch (Throwable e) {
+              LOGGER.error("Failed to write row in parallel pipeline", e);
+              failure = e;
+            }
+          }
+          row = queue.take();
+        }
+      } finally {
+        try {
+          writer.close();
+        } catch (Throwable e) {
+          LOGGER.error("Failed to close writer of parallel pipeline", e);
+          if (failure == null) {
+            failure = e;
+          }
+        }
+      }
+      return null;
+    }
+  }
+}
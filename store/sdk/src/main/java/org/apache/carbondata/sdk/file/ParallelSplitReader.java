@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.util.CarbonSessionInfo;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
+import org.apache.carbondata.core.util.ThreadLocalSessionInfo;
+
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.log4j.Logger;
+
+/**
+ * Reads a list of split readers on an internal thread pool. Every split reader fills a bounded
+ * prefetch queue with chunks of rows and the consumer thread merges them either in split order
+ * (ordered) or in the order the chunks are produced (unordered).
+ */
+class ParallelSplitReader<T> {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(ParallelSplitReader.class.getName());
+
+  /**
+   * maximum number of rows handed over to the consumer in one queue entry
+   */
+  private static final int CHUNK_SIZE = 64;
+
+  /**
+   * marks the end of one split in the queue
+   */
+  private static final Object[] END_OF_SPLIT = new Object[0];
+
+  private final List<RecordReader<Void, T>> readers;
+
+  private final List<SplitReadStatistics> statistics;
+
+  /**
+   * one queue per split if ordered, else a single queue shared by all the splits
+   */
+  private final List<BlockingQueue<Object[]>> queues;
+
+  private final boolean ordered;
+
+  /**
+   * number of rows in one queue entry, not more than the prefetch rows so that the queue of a
+   * split never holds more rows than configured
+   */
+  private final int chunkSize;
+
+  private final ExecutorService executorService;
+
+  private volatile Throwable failure;
+
+  /**
+   * queue consumed currently, only used in ordered mode
+   */
+  private int currentQueue;
+
+  /**
+   * number of splits for which end is received by consumer
+   */
+  private int finishedSplits;
+
+  private Object[] currentChunk;
+
+  private int currentChunkIndex;
+
+  private boolean closed;
+
+  ParallelSplitReader(List<RecordReader<Void, T>> readers, int numThreads, int prefetchRows,
+      boolean ordered) {
+    if (numThreads < 1) {
+      throw new IllegalArgumentException("number of read threads must be positive");
+    }
+    if (prefetchRows < 1) {
+      throw new IllegalArgumentException("prefetch rows must be positive");
+    }
+    this.readers = readers;
+    this.ordered = ordered;
+    this.chunkSize = Math.min(CHUNK_SIZE, prefetchRows);
+    int queueCapacity = prefetchRows / chunkSize;
+    int poolSize = Math.min(numThreads, readers.size());
+    this.queues = new ArrayList<>();
+    if (ordered) {
+      for (int i = 0; i < readers.size(); i++) {
+        queues.add(new ArrayBlockingQueue<Object[]>(queueCapacity));
+      }
+    } else {
+      queues.add(new ArrayBlockingQueue<Object[]>(queueCapacity * poolSize));
+    }
+    List<SplitReadStatistics> splitStatistics = new ArrayList<>(readers.size());
+    for (int i = 0; i < readers.size(); i++) {
+      splitStatistics.add(new SplitReadStatistics(i));
+    }
+    this.statistics = Collections.unmodifiableList(splitStatistics);
+    this.executorService = Executors.newFixedThreadPool(poolSize,
+        new CarbonThreadFactory("SDKParallelReaderPool:" + System.nanoTime()));
+    CarbonSessionInfo sessionInfo = ThreadLocalSessionInfo.getCarbonSessionInfo();
+    // splits are submitted in order, so in ordered mode the split consumed currently is
+    // always one of the running splits
+    for (int i = 0; i < readers.size(); i++) {
+      BlockingQueue<Object[]> queue = ordered ? queues.get(i) : queues.get(0);
+      executorService.execute(new SplitReadTask(i, queue, sessionInfo));
+    }
+  }
+
+  /**
+   * Return true if any of the splits has more rows
+   */
+  boolean hasNext() throws IOException, InterruptedException {
+    while (currentChunk == null || currentChunkIndex >= currentChunk.length) {
+      checkFailure();
+      if (finishedSplits == readers.size()) {
+        return false;
+      }
+      Object[] chunk = queues.get(ordered ? currentQueue : 0).take();
+      if (chunk == END_OF_SPLIT) {
+        finishedSplits++;
+        if (ordered) {
+          currentQueue++;
+        }
+        checkFailure();
+      } else {
+        currentChunk = chunk;
+        currentChunkIndex = 0;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the next row, {@link #hasNext()} must be called before it
+   */
+  @SuppressWarnings("unchecked")
+  T next() {
+    return (T) currentChunk[currentChunkIndex++];
+  }
+
+  List<SplitReadStatistics> getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Stop all the split readers and close them
+   */
+  void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    // not started tasks are returned, their readers are closed here. Running tasks close
+    // their own readers once interrupted
+    List<Runnable> pendingTasks = executorService.shutdownNow();
+    try {
+      executorService.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (Runnable task : pendingTasks) {
+      readers.get(((SplitReadTask) task).splitIndex).close();
+    }
+    if (LOGGER.isDebugEnabled()) {
+      for (SplitReadStatistics statistic : statistics) {
+        LOGGER.debug("Parallel SDK reader " + statistic);
+      }
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    if (failure != null) {
+      throw new IOException("Failed to read split in parallel", failure);
+    }
+  }
+
+  /**
+   * Reads one split into the prefetch queue
+   */
+  private final class SplitReadTask implements Runnable {
+
+    private final int splitIndex;
+
+    private final BlockingQueue<Object[]> queue;
+
+    private final CarbonSessionInfo sessionInfo;
+
+    SplitReadTask(int splitIndex, BlockingQueue<Object[]> queue, CarbonSessionInfo sessionInfo) {
+      this.splitIndex = splitIndex;
+      this.queue = queue;
+      this.sessionInfo = sessionInfo;
+    }
+
+    @Override public void run() {
+      ThreadLocalSessionInfo.setCarbonSessionInfo(sessionInfo);
+      RecordReader<Void, T> reader = readers.get(splitIndex);
+      SplitReadStatistics statistic = statistics.get(splitIndex);
+      long rowCount = 0;
+      long readTime = 0;
+      try {
+        Object[] chunk = new Object[chunkSize];
+        int size = 0;
+        while (true) {
+          long start = System.nanoTime();
+          boolean hasNext = reader.nextKeyValue();
+          if (hasNext) {
+            chunk[size++] = reader.getCurrentValue();
+          }
+          readTime += System.nanoTime() - start;
+          if (hasNext) {
+            rowCount++;
+          }
+          if (size == chunkSize || (!hasNext && size > 0)) {
+            statistic.update(rowCount, readTime);
+            queue.put(size == chunkSize ? chunk : copyOf(chunk, size));
+            chunk = new Object[chunkSize];
+            size = 0;
+          }
+          if (!hasNext) {
+            break;
+          }
+        }
+        statistic.update(rowCount, readTime);
+        statistic.finish();
+        queue.put(END_OF_SPLIT);
+      } catch (InterruptedException e) {
+        // reader is closed by consumer
+        Thread.currentThread().interrupt();
+      } catch (Throwable e) {
+        LOGGER.error("Failed to read split " + splitIndex, e);
+        failure = e;
+        try {
+          queue.put(END_OF_SPLIT);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
+      } finally {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          LOGGER.error("Failed to close reader of split " + splitIndex, e);
+        }
+      }
+    }
+
+    private Object[] copyOf(Object[] chunk, int size) {
+      Object[] copy = new Object[size];
+      System.arraycopy(chunk, 0, copy, 0, size);
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.apache.avro.generic.GenericData;
+
+/**
+ * Decides the loading pipeline of an input row in {@link ParallelCarbonWriter}
+ */
+@InterfaceAudience.Internal
+abstract class RowPartitioner {
+
+  /**
+   * Return the partition of the row, in the range [0, number of partitions)
+   */
+  abstract int getPartition(Object row);
+
+  /**
+   * Distributes the rows to the partitions one after another
+   */
+  static class RoundRobinPartitioner extends RowPartitioner {
+
+    private final int numPartitions;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    RoundRobinPartitioner(int numPartitions) {
+      this.numPartitions = numPartitions;
+    }
+
+    @Override int getPartition(Object row) {
+      return (counter.getAndIncrement() & Integer.MAX_VALUE) % numPartitions;
+    }
+  }
+
+  /**
+   * Base class of the partitioners which partition on the value of one column
+   */
+  abstract static class ColumnPartitioner extends RowPartitioner {
+
+    private final int columnIndex;
+
+    private final String columnName;
+
+    private final boolean avroInput;
+
+    ColumnPartitioner(int columnIndex, String columnName, boolean avroInput) {
+      this.columnIndex = columnIndex;
+      this.columnName = columnName;
+      this.avroInput = avroInput;
+    }
+
+    /**
+     * Return the partition column value of the row as string, null if the value is null
+     */
+    String getValue(Object row) {
+      Object value;
+      if (avroInput) {
+        value = ((GenericData.Record) row).get(columnName);
+      } else {
+        value = ((String[]) row)[columnIndex];
+      }
+      return value == null ? null : value.toString();
+    }
+  }
+
+  /**
+   * Partitions the rows on the hash of the partition column value, so rows with same value
+   * are written by same pipeline
+   */
+  static class HashPartitioner extends ColumnPartitioner {
+
+    private final int numPartitions;
+
+    HashPartitioner(int numPartitions, int columnIndex, String columnName, boolean avroInput) {
+      super(columnIndex, columnName, avroInput);
+      this.numPartitions = numPartitions;
+    }
+
+    @Override int getPartition(Object row) {
+      String value = getValue(row);
+      if (value == null) {
+        return 0;
+      }
+      return (value.hashCode() & Integer.MAX_VALUE) % numPartitions;
+    }
+  }
+
+  /**
+   * Partitions the rows on ranges of the partition column value. Partition i holds the values
+   * greater than bounds[i - 1] and less than or equal to bounds[i], nulls go to the first
+   * partition. Numeric columns are compared by value and others by their UTF-8 bytes, same as
+   * the sort order of carbon.
+   */
+  static class RangePartitioner extends ColumnPartitioner {
+
+    private final boolean numeric;
+
+    private final BigDecimal[] numericBounds;
+
+    private final byte[][] bytesBounds;
+
+    RangePartitioner(String[] bounds, DataType dataType, int columnIndex, String columnName,
+        boolean avroInput) {
+      super(columnIndex, columnName, avroInput);
+      this.numeric = dataType == DataTypes.SHORT || dataType == DataTypes.INT
+          || dataType == DataTypes.LONG || dataType == DataTypes.FLOAT
+          || dataType == DataTypes.DOUBLE || DataTypes.isDecimal(dataType);
+      this.numericBounds = new BigDecimal[bounds.length];
+      this.bytesBounds = new byte[bounds.length][];
+      for (int i = 0; i < bounds.length; i++) {
+        if (numeric) {
+          numericBounds[i] = new BigDecimal(bounds[i].trim());
+          if (i > 0 && numericBounds[i - 1].compareTo(numericBounds[i]) >= 0) {
+            throw new IllegalArgumentException("range bounds must be in ascending order");
+          }
+        } else {
+          bytesBounds[i] = bounds[i].getBytes(CarbonCommonConstants.DEFAULT_CHARSET_CLASS);
+          if (i > 0 && ByteUtil.compare(bytesBounds[i - 1], bytesBounds[i]) >= 0) {
+            throw new IllegalArgumentException("range bounds must be in ascending order");
+          }
+        }
+      }
+    }
+
+    @Override int getPartition(Object row) {
+      String value = getValue(row);
+      if (value == null || value.isEmpty()) {
+        return 0;
+      }
+      // binary search for the first bound which is greater than or equal to the value
+      int low = 0;
+      int high = bytesBounds.length;
+      if (numeric) {
+        BigDecimal key;
+        try {
+          key = new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+          // bad record, it is handled by the loading pipeline
+          return 0;
+        }
+        while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (numericBounds[mid].compareTo(key) < 0) {
+            low = mid + 1;
+          } else {
+            high = mid;
+          }
+        }
+      } else {
+        byte[] key = value.getBytes(CarbonCommonConstants.DEFAULT_CHARSET_CLASS);
+        while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (ByteUtil.compare(bytesBounds[mid], key) < 0) {
+            low = mid + 1;
+          } else {
+            high = mid;
+          }
+        }
+      }
+      return low;
+    }
+  }
+}
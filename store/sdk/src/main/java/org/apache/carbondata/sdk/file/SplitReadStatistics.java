@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.annotations.InterfaceStability;
+
+/**
+ * Read statistics of one split when {@link CarbonReader} reads the splits in parallel
+ */
+@InterfaceAudience.User
+@InterfaceStability.Evolving
+public class SplitReadStatistics {
+
+  private final int splitIndex;
+
+  private volatile long rowCount;
+
+  private volatile long readTimeNanos;
+
+  private volatile boolean finished;
+
+  SplitReadStatistics(int splitIndex) {
+    this.splitIndex = splitIndex;
+  }
+
+  void update(long rowCount, long readTimeNanos) {
+    this.rowCount = rowCount;
+    this.readTimeNanos = readTimeNanos;
+  }
+
+  void finish() {
+    this.finished = true;
+  }
+
+  /**
+   * Return the index of the split in the order returned by the input format
+   */
+  public int getSplitIndex() {
+    return splitIndex;
+  }
+
+  /**
+   * Return number of rows read from the split so far
+   */
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Return time in milliseconds spent by the split reader, excluding the time it waited
+   * for the consumer to drain its prefetch queue
+   */
+  public long getReadTimeMillis() {
+    return readTimeNanos / 1000000L;
+  }
+
+  /**
+   * Return rows read per second by the split reader
+   */
+  public double getRowsPerSecond() {
+    if (readTimeNanos == 0) {
+      return 0;
+    }
+    return rowCount * 1000000000.0 / readTimeNanos;
+  }
+
+  /**
+   * Return true if the split reader has read all of its rows
+   */
+  public boolean isFinished() {
+    return finished;
+  }
+
+  @Override public String toString() {
+    return "split " + splitIndex + ": rows=" + rowCount + ", time=" + getReadTimeMillis()
+        + " ms, rows/s=" + String.format("%.2f", getRowsPerSecond());
+  }
+}
@@ -0,0 +1,744 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file.arrow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
+import org.apache.carbondata.core.scan.scanner.LazyPageLoader;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+/**
+ * Column vector which is filled by the carbon scan directly into arrow buffers.
+ *
+ * Fixed width values are written into the arrow vector as they are filled. Variable width values
+ * can be filled out of order (inverted index), so only the references to the decoded page
+ * buffers are kept and they are copied once into the arrow vector in {@link #finish(int)}.
+ *
+ * If the field is dictionary encoded, rows filled from a carbon local dictionary page keep their
+ * dictionary ids and the carbon dictionary is exported as the arrow dictionary. Rows filled
+ * with plain values are encoded with a dictionary built for the batch.
+ */
+@InterfaceAudience.Internal
+public class ArrowCarbonColumnVector implements CarbonColumnVector {
+
+  private final Field field;
+
+  private final DataType dataType;
+
+  private DataType blockDataType;
+
+  private final BufferAllocator allocator;
+
+  private final int batchSize;
+
+  /**
+   * vector exported in the arrow batch, holds dictionary ids if the field is dictionary encoded
+   */
+  private final FieldVector vector;
+
+  private final BitSet nullBits;
+
+  // variable width values, referred from decoded page buffers till the batch is finished
+  private byte[][] valueArrays;
+
+  private int[] valueOffsets;
+
+  private int[] valueLengths;
+
+  // bulk data set by putAllByteArray, referred by putArray
+  private byte[] allByteArray;
+
+  // dictionary ids of the rows filled from carbon local dictionary pages
+  private int[] dictionaryIds;
+
+  private BitSet dictionaryRows;
+
+  private CarbonDictionary carbonDictionary;
+
+  private CarbonColumnVector dictionaryIdVector;
+
+  /**
+   * arrow dictionary of the last finished batch, null if not dictionary encoded
+   */
+  private Dictionary arrowDictionary;
+
+  /**
+   * carbon dictionary from which the cached arrow dictionary vector is built
+   */
+  private CarbonDictionary cachedCarbonDictionary;
+
+  private FieldVector cachedDictionaryVector;
+
+  public ArrowCarbonColumnVector(Field field, DataType dataType, int batchSize,
+      BufferAllocator allocator) {
+    this.field = field;
+    this.dataType = dataType;
+    this.batchSize = batchSize;
+    this.allocator = allocator;
+    this.nullBits = new BitSet(batchSize);
+    this.vector = field.createVector(allocator);
+    this.vector.setInitialCapacity(batchSize);
+    this.vector.allocateNew();
+    if (isVariableWidth()) {
+      valueArrays = new byte[batchSize][];
+      valueOffsets = new int[batchSize];
+      valueLengths = new int[batchSize];
+      dictionaryIds = new int[batchSize];
+      dictionaryRows = new BitSet(batchSize);
+      dictionaryIdVector = new DictionaryIdVector();
+    }
+  }
+
+  private boolean isVariableWidth() {
+    return dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR
+        || dataType == DataTypes.BYTE_ARRAY;
+  }
+
+  private boolean isDictionaryEncoded() {
+    return field.getDictionary() != null;
+  }
+
+  /**
+   * Return the arrow vector of the column
+   */
+  public FieldVector getArrowVector() {
+    return vector;
+  }
+
+  /**
+   * Return the arrow field of the column
+   */
+  public Field getField() {
+    return field;
+  }
+
+  /**
+   * Return the arrow dictionary of the last finished batch, null if the field is not
+   * dictionary encoded
+   */
+  public Dictionary getArrowDictionary() {
+    return arrowDictionary;
+  }
+
+  /**
+   * Complete the batch, copies the variable width values into the arrow vector and sets the
+   * value count
+   *
+   * @param rowCount number of rows filled in the batch
+   */
+  public void finish(int rowCount) {
+    if (isVariableWidth()) {
+      if (isDictionaryEncoded()) {
+        finishDictionaryEncoded(rowCount);
+      } else {
+        if (hasDictionaryRows()) {
+          decodeDictionaryRows();
+        }
+        for (int i = 0; i < rowCount; i++) {
+          if (!nullBits.get(i) && valueArrays[i] != null) {
+            setVariableWidthValue(vector, i, valueArrays[i], valueOffsets[i], valueLengths[i]);
+          }
+        }
+      }
+    }
+    vector.setValueCount(rowCount);
+  }
+
+  private void finishDictionaryEncoded(int rowCount) {
+    IntVector indexVector = (IntVector) vector;
+    if (valueArraysEmpty(rowCount) && carbonDictionary != null) {
+      // all the rows are from carbon local dictionary, export it without expanding
+      for (int i = 0; i < rowCount; i++) {
+        if (!nullBits.get(i) && dictionaryRows.get(i)) {
+          indexVector.set(i, dictionaryIds[i]);
+        }
+      }
+      arrowDictionary = new Dictionary(getDictionaryVector(carbonDictionary),
+          field.getDictionary());
+      return;
+    }
+    if (hasDictionaryRows()) {
+      decodeDictionaryRows();
+    }
+    // plain values, build the dictionary of the batch
+    FieldVector batchDictionary = createDictionaryVector();
+    Map<ByteBuffer, Integer> dictionaryIndex = new HashMap<>();
+    for (int i = 0; i < rowCount; i++) {
+      if (nullBits.get(i) || valueArrays[i] == null) {
+        continue;
+      }
+      ByteBuffer key = ByteBuffer.wrap(valueArrays[i], valueOffsets[i], valueLengths[i]);
+      Integer id = dictionaryIndex.get(key);
+      if (id == null) {
+        id = dictionaryIndex.size();
+        dictionaryIndex.put(key, id);
+        setVariableWidthValue(batchDictionary, id, valueArrays[i], valueOffsets[i],
+            valueLengths[i]);
+      }
+      indexVector.set(i, id);
+    }
+    batchDictionary.setValueCount(dictionaryIndex.size());
+    releaseCachedDictionary();
+    cachedDictionaryVector = batchDictionary;
+    arrowDictionary = new Dictionary(batchDictionary, field.getDictionary());
+  }
+
+  /**
+   * Return true if any row of the batch holds a carbon local dictionary id, always false for
+   * fixed width columns as they do not keep dictionary ids
+   */
+  private boolean hasDictionaryRows() {
+    return dictionaryRows != null && !dictionaryRows.isEmpty();
+  }
+
+  private boolean valueArraysEmpty(int rowCount) {
+    for (int i = 0; i < rowCount; i++) {
+      if (valueArrays[i] != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the arrow dictionary vector of the carbon dictionary, it is built once per carbon
+   * dictionary and reused by all the batches of the page
+   */
+  private FieldVector getDictionaryVector(CarbonDictionary dictionary) {
+    if (cachedCarbonDictionary != dictionary) {
+      FieldVector dictionaryVector = createDictionaryVector();
+      byte[][] values = dictionary.getAllDictionaryValues();
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          setVariableWidthValue(dictionaryVector, i, values[i], 0, values[i].length);
+        }
+      }
+      dictionaryVector.setValueCount(values.length);
+      releaseCachedDictionary();
+      cachedDictionaryVector = dictionaryVector;
+      cachedCarbonDictionary = dictionary;
+    }
+    return cachedDictionaryVector;
+  }
+
+  private FieldVector createDictionaryVector() {
+    FieldVector dictionaryVector = new Field(field.getName(),
+        new FieldType(true, ArrowType.Utf8.INSTANCE, null), null).createVector(allocator);
+    dictionaryVector.allocateNew();
+    return dictionaryVector;
+  }
+
+  private void releaseCachedDictionary() {
+    if (cachedDictionaryVector != null) {
+      cachedDictionaryVector.close();
+      cachedDictionaryVector = null;
+      cachedCarbonDictionary = null;
+    }
+  }
+
+  /**
+   * Convert the rows filled with dictionary ids into plain values, used when the batch has rows
+   * of more than one dictionary or rows without dictionary
+   */
+  private void decodeDictionaryRows() {
+    for (int i = dictionaryRows.nextSetBit(0); i >= 0; i = dictionaryRows.nextSetBit(i + 1)) {
+      byte[] value = carbonDictionary.getDictionaryValue(dictionaryIds[i]);
+      valueArrays[i] = value;
+      valueOffsets[i] = 0;
+      valueLengths[i] = value == null ? 0 : value.length;
+    }
+    dictionaryRows.clear();
+  }
+
+  private static void setVariableWidthValue(FieldVector vector, int index, byte[] value,
+      int offset, int length) {
+    if (vector instanceof VarCharVector) {
+      ((VarCharVector) vector).setSafe(index, value, offset, length);
+    } else {
+      ((VarBinaryVector) vector).setSafe(index, value, offset, length);
+    }
+  }
+
+  /**
+   * Release the arrow buffers of the column
+   */
+  public void close() {
+    releaseCachedDictionary();
+    vector.close();
+  }
+
+  private void putIntegral(int rowId, long value) {
+    if (vector instanceof IntVector) {
+      ((IntVector) vector).set(rowId, (int) value);
+    } else if (vector instanceof BigIntVector) {
+      ((BigIntVector) vector).set(rowId, value);
+    } else if (vector instanceof SmallIntVector) {
+      ((SmallIntVector) vector).set(rowId, (short) value);
+    } else if (vector instanceof TinyIntVector) {
+      ((TinyIntVector) vector).set(rowId, (byte) value);
+    } else if (vector instanceof DateDayVector) {
+      ((DateDayVector) vector).set(rowId, (int) value);
+    } else if (vector instanceof TimeStampMicroVector) {
+      ((TimeStampMicroVector) vector).set(rowId, value);
+    } else if (vector instanceof BitVector) {
+      ((BitVector) vector).set(rowId, value == 0 ? 0 : 1);
+    } else if (vector instanceof Float8Vector) {
+      ((Float8Vector) vector).set(rowId, value);
+    } else if (vector instanceof Float4Vector) {
+      ((Float4Vector) vector).set(rowId, value);
+    } else if (vector instanceof DecimalVector) {
+      putDecimal(rowId, BigDecimal.valueOf(value), 0);
+    } else {
+      throw new UnsupportedOperationException(
+          "Cannot put integral value into " + field.getType());
+    }
+  }
+
+  @Override public void putBoolean(int rowId, boolean value) {
+    putIntegral(rowId, value ? 1 : 0);
+  }
+
+  @Override public void putFloat(int rowId, float value) {
+    if (vector instanceof Float4Vector) {
+      ((Float4Vector) vector).set(rowId, value);
+    } else {
+      putDouble(rowId, value);
+    }
+  }
+
+  @Override public void putFloats(int rowId, int count, float[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putFloat(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putShort(int rowId, short value) {
+    putIntegral(rowId, value);
+  }
+
+  @Override public void putShorts(int rowId, int count, short value) {
+    for (int i = 0; i < count; i++) {
+      putIntegral(rowId + i, value);
+    }
+  }
+
+  @Override public void putShorts(int rowId, int count, short[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putIntegral(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putInt(int rowId, int value) {
+    putIntegral(rowId, value);
+  }
+
+  @Override public void putInts(int rowId, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      putIntegral(rowId + i, value);
+    }
+  }
+
+  @Override public void putInts(int rowId, int count, int[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putIntegral(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putLong(int rowId, long value) {
+    putIntegral(rowId, value);
+  }
+
+  @Override public void putLongs(int rowId, int count, long value) {
+    for (int i = 0; i < count; i++) {
+      putIntegral(rowId + i, value);
+    }
+  }
+
+  @Override public void putLongs(int rowId, int count, long[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putIntegral(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putDecimal(int rowId, BigDecimal value, int precision) {
+    DecimalVector decimalVector = (DecimalVector) vector;
+    decimalVector.set(rowId, value.setScale(decimalVector.getScale(), RoundingMode.HALF_UP));
+  }
+
+  @Override public void putDecimals(int rowId, int count, BigDecimal value, int precision) {
+    for (int i = 0; i < count; i++) {
+      putDecimal(rowId + i, value, precision);
+    }
+  }
+
+  @Override public void putDouble(int rowId, double value) {
+    if (vector instanceof Float8Vector) {
+      ((Float8Vector) vector).set(rowId, value);
+    } else if (vector instanceof Float4Vector) {
+      ((Float4Vector) vector).set(rowId, (float) value);
+    } else if (vector instanceof DecimalVector) {
+      putDecimal(rowId, BigDecimal.valueOf(value), 0);
+    } else {
+      throw new UnsupportedOperationException(
+          "Cannot put floating point value into " + field.getType());
+    }
+  }
+
+  @Override public void putDoubles(int rowId, int count, double value) {
+    for (int i = 0; i < count; i++) {
+      putDouble(rowId + i, value);
+    }
+  }
+
+  @Override public void putDoubles(int rowId, int count, double[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putDouble(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putByteArray(int rowId, byte[] value) {
+    putByteArray(rowId, 0, value.length, value);
+  }
+
+  @Override public void putByteArray(int rowId, int offset, int length, byte[] value) {
+    valueArrays[rowId] = value;
+    valueOffsets[rowId] = offset;
+    valueLengths[rowId] = length;
+  }
+
+  @Override public void putArray(int rowId, int offset, int length) {
+    putByteArray(rowId, offset, length, allByteArray);
+  }
+
+  @Override public void putAllByteArray(byte[] data, int offset, int length) {
+    allByteArray = data;
+  }
+
+  @Override public void putByte(int rowId, byte value) {
+    putIntegral(rowId, value);
+  }
+
+  @Override public void putBytes(int rowId, int count, byte[] value) {
+    for (int i = 0; i < count; i++) {
+      putByteArray(rowId + i, value);
+    }
+  }
+
+  @Override public void putBytes(int rowId, int count, byte[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putIntegral(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putNull(int rowId) {
+    // validity bits are cleared on reset, so only remember the null row
+    nullBits.set(rowId);
+  }
+
+  @Override public void putNulls(int rowId, int count) {
+    nullBits.set(rowId, rowId + count);
+  }
+
+  @Override public void putNotNull(int rowId) {
+
+  }
+
+  @Override public void putNotNull(int rowId, int count) {
+
+  }
+
+  @Override public boolean isNull(int rowId) {
+    return nullBits.get(rowId);
+  }
+
+  @Override public void putObject(int rowId, Object obj) {
+    throw new UnsupportedOperationException(
+        "Object values are not supported by arrow vector of " + field.getType());
+  }
+
+  @Override public Object getData(int rowId) {
+    if (nullBits.get(rowId)) {
+      return null;
+    }
+    if (isVariableWidth()) {
+      if (dictionaryRows.get(rowId)) {
+        return carbonDictionary.getDictionaryValue(dictionaryIds[rowId]);
+      }
+      if (valueArrays[rowId] == null) {
+        return null;
+      }
+      return Arrays.copyOfRange(valueArrays[rowId], valueOffsets[rowId],
+          valueOffsets[rowId] + valueLengths[rowId]);
+    }
+    return vector.getObject(rowId);
+  }
+
+  @Override public void reset() {
+    nullBits.clear();
+    arrowDictionary = null;
+    if (isVariableWidth()) {
+      Arrays.fill(valueArrays, null);
+      dictionaryRows.clear();
+    }
+    // the returned batch is valid only till the next batch, so the buffers are zeroed and
+    // reused instead of being allocated for every batch
+    vector.reset();
+  }
+
+  @Override public DataType getType() {
+    return dataType;
+  }
+
+  @Override public DataType getBlockDataType() {
+    return blockDataType;
+  }
+
+  @Override public void setBlockDataType(DataType blockDataType) {
+    this.blockDataType = blockDataType;
+  }
+
+  @Override public void setFilteredRowsExist(boolean filteredRowsExist) {
+
+  }
+
+  @Override public void setDictionary(CarbonDictionary dictionary) {
+    if (dictionary != carbonDictionary && hasDictionaryRows()) {
+      // batch continues with rows of another page, keep the rows filled so far as values
+      decodeDictionaryRows();
+    }
+    this.carbonDictionary = dictionary;
+  }
+
+  @Override public boolean hasDictionary() {
+    return carbonDictionary != null;
+  }
+
+  @Override public CarbonColumnVector getDictionaryVector() {
+    return dictionaryIdVector;
+  }
+
+  @Override public void setLazyPage(LazyPageLoader lazyPage) {
+    lazyPage.loadPage();
+  }
+
+  /**
+   * Receives the carbon local dictionary ids of the rows
+   */
+  private final class DictionaryIdVector implements CarbonColumnVector {
+
+    @Override public void putInt(int rowId, int value) {
+      dictionaryIds[rowId] = value;
+      dictionaryRows.set(rowId);
+    }
+
+    @Override public void putInts(int rowId, int count, int value) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, value);
+      }
+    }
+
+    @Override public void putInts(int rowId, int count, int[] src, int srcIndex) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, src[srcIndex + i]);
+      }
+    }
+
+    @Override public void putNull(int rowId) {
+      nullBits.set(rowId);
+    }
+
+    @Override public void putNulls(int rowId, int count) {
+      nullBits.set(rowId, rowId + count);
+    }
+
+    @Override public void putNotNull(int rowId) {
+
+    }
+
+    @Override public void putNotNull(int rowId, int count) {
+
+    }
+
+    @Override public boolean isNull(int rowId) {
+      return nullBits.get(rowId);
+    }
+
+    @Override public Object getData(int rowId) {
+      return nullBits.get(rowId) ? null : dictionaryIds[rowId];
+    }
+
+    @Override public void reset() {
+
+    }
+
+    @Override public DataType getType() {
+      return DataTypes.INT;
+    }
+
+    @Override public DataType getBlockDataType() {
+      return DataTypes.INT;
+    }
+
+    @Override public void setBlockDataType(DataType blockDataType) {
+
+    }
+
+    @Override public void setFilteredRowsExist(boolean filteredRowsExist) {
+
+    }
+
+    @Override public void setDictionary(CarbonDictionary dictionary) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public boolean hasDictionary() {
+      return false;
+    }
+
+    @Override public CarbonColumnVector getDictionaryVector() {
+      return null;
+    }
+
+    @Override public void setLazyPage(LazyPageLoader lazyPage) {
+      lazyPage.loadPage();
+    }
+
+    @Override public void putBoolean(int rowId, boolean value) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putFloat(int rowId, float value) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putFloats(int rowId, int count, float[] src, int srcIndex) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putShort(int rowId, short value) {
+      putInt(rowId, value);
+    }
+
+    @Override public void putShorts(int rowId, int count, short value) {
+      putInts(rowId, count, value);
+    }
+
+    @Override public void putShorts(int rowId, int count, short[] src, int srcIndex) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, src[srcIndex + i]);
+      }
+    }
+
+    @Override public void putLong(int rowId, long value) {
+      putInt(rowId, (int) value);
+    }
+
+    @Override public void putLongs(int rowId, int count, long value) {
+      putInts(rowId, count, (int) value);
+    }
+
+    @Override public void putLongs(int rowId, int count, long[] src, int srcIndex) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, (int) src[srcIndex + i]);
+      }
+    }
+
+    @Override public void putDecimal(int rowId, BigDecimal value, int precision) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putDecimals(int rowId, int count, BigDecimal value, int precision) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putDouble(int rowId, double value) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putDoubles(int rowId, int count, double value) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putDoubles(int rowId, int count, double[] src, int srcIndex) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putByteArray(int rowId, byte[] value) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putByteArray(int rowId, int offset, int length, byte[] value) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putArray(int rowId, int offset, int length) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putAllByteArray(byte[] data, int offset, int length) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putByte(int rowId, byte value) {
+      putInt(rowId, value);
+    }
+
+    @Override public void putBytes(int rowId, int count, byte[] value) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+
+    @Override public void putBytes(int rowId, int count, byte[] src, int srcIndex) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, src[srcIndex + i]);
+      }
+    }
+
+    @Override public void putObject(int rowId, Object obj) {
+      throw new UnsupportedOperationException("Operation not supported on dictionary ids");
+    }
+  }
+}
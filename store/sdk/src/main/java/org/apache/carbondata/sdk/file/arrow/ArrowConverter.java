@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file.arrow;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.DecimalType;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+/**
+ * Converts carbon data types to arrow types
+ */
+@InterfaceAudience.Internal
+public final class ArrowConverter {
+
+  private static final ArrowType.Int DICTIONARY_INDEX_TYPE = new ArrowType.Int(32, true);
+
+  private ArrowConverter() {
+  }
+
+  /**
+   * Return the arrow type of the carbon data type. Timestamp is mapped to microseconds and
+   * date to days since epoch, same as the values filled in carbon vectors.
+   */
+  public static ArrowType toArrowType(DataType dataType) {
+    if (dataType == DataTypes.BOOLEAN) {
+      return ArrowType.Bool.INSTANCE;
+    } else if (dataType == DataTypes.BYTE) {
+      return new ArrowType.Int(8, true);
+    } else if (dataType == DataTypes.SHORT) {
+      return new ArrowType.Int(16, true);
+    } else if (dataType == DataTypes.INT) {
+      return new ArrowType.Int(32, true);
+    } else if (dataType == DataTypes.LONG) {
+      return new ArrowType.Int(64, true);
+    } else if (dataType == DataTypes.FLOAT) {
+      return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+    } else if (dataType == DataTypes.DOUBLE) {
+      return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+    } else if (DataTypes.isDecimal(dataType)) {
+      DecimalType decimalType = (DecimalType) dataType;
+      return new ArrowType.Decimal(decimalType.getPrecision(), decimalType.getScale());
+    } else if (dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR) {
+      return ArrowType.Utf8.INSTANCE;
+    } else if (dataType == DataTypes.BYTE_ARRAY) {
+      return ArrowType.Binary.INSTANCE;
+    } else if (dataType == DataTypes.DATE) {
+      return new ArrowType.Date(DateUnit.DAY);
+    } else if (dataType == DataTypes.TIMESTAMP) {
+      return new ArrowType.Timestamp(TimeUnit.MICROSECOND, null);
+    }
+    throw new UnsupportedOperationException(
+        "Arrow conversion is not supported for data type: " + dataType.getName());
+  }
+
+  /**
+   * Return true if the carbon data type can be exported as arrow dictionary encoded vector
+   */
+  public static boolean isDictionaryEncodable(DataType dataType) {
+    return dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR;
+  }
+
+  /**
+   * Return the arrow field of the carbon projection field
+   *
+   * @param field            carbon projection field
+   * @param dictionaryEncode true to encode string fields as dictionary ids
+   * @param dictionaryId     id of the arrow dictionary of the field if dictionary encoded
+   */
+  public static Field toArrowField(StructField field, boolean dictionaryEncode,
+      long dictionaryId) {
+    DictionaryEncoding encoding = null;
+    if (dictionaryEncode && isDictionaryEncodable(field.getDataType())) {
+      encoding = new DictionaryEncoding(dictionaryId, false, DICTIONARY_INDEX_TYPE);
+    }
+    return new Field(field.getFieldName(),
+        new FieldType(true, toArrowType(field.getDataType()), encoding), null);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file.arrow;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.hadoop.util.CarbonVectorizedRecordReader;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.types.pojo.Field;
+
+/**
+ * Vectorized record reader which fills the scanned batches directly into arrow vectors
+ */
+@InterfaceAudience.Internal
+public class ArrowRecordReader extends CarbonVectorizedRecordReader {
+
+  private final BufferAllocator allocator;
+
+  private final boolean dictionaryEncode;
+
+  private final List<ArrowCarbonColumnVector> arrowVectors = new ArrayList<>();
+
+  private VectorSchemaRoot root;
+
+  private DictionaryProvider.MapDictionaryProvider dictionaryProvider;
+
+  public ArrowRecordReader(QueryModel queryModel, BufferAllocator allocator,
+      boolean dictionaryEncode) {
+    super(queryModel);
+    this.allocator = allocator;
+    this.dictionaryEncode = dictionaryEncode;
+  }
+
+  @Override
+  protected CarbonColumnVector createColumnVector(StructField field, int batchSize) {
+    // dictionary id is the ordinal of the field, so that ids are same for all readers
+    Field arrowField =
+        ArrowConverter.toArrowField(field, dictionaryEncode, arrowVectors.size());
+    ArrowCarbonColumnVector vector =
+        new ArrowCarbonColumnVector(arrowField, field.getDataType(), batchSize, allocator);
+    arrowVectors.add(vector);
+    return vector;
+  }
+
+  /**
+   * Return the arrow fields of the projection
+   */
+  public List<Field> getArrowFields() {
+    List<Field> fields = new ArrayList<>(arrowVectors.size());
+    for (ArrowCarbonColumnVector vector : arrowVectors) {
+      fields.add(vector.getField());
+    }
+    return fields;
+  }
+
+  /**
+   * Fill the next batch into arrow vectors. Returned root and dictionaries are reused, they
+   * are valid till the next call.
+   *
+   * @return root of the batch, null if there are no more rows
+   */
+  public VectorSchemaRoot nextArrowBatch() {
+    if (!nextBatch()) {
+      return null;
+    }
+    CarbonColumnarBatch batch = getColumnarBatch();
+    int rowCount = batch.getActualSize();
+    List<FieldVector> vectors = new ArrayList<>(arrowVectors.size());
+    DictionaryProvider.MapDictionaryProvider provider =
+        new DictionaryProvider.MapDictionaryProvider();
+    for (ArrowCarbonColumnVector vector : arrowVectors) {
+      vector.finish(rowCount);
+      vectors.add(vector.getArrowVector());
+      Dictionary dictionary = vector.getArrowDictionary();
+      if (dictionary != null) {
+        provider.put(dictionary);
+      }
+    }
+    if (root == null) {
+      root = new VectorSchemaRoot(getArrowFields(), vectors, rowCount);
+    } else {
+      root.setRowCount(rowCount);
+    }
+    dictionaryProvider = provider;
+    return root;
+  }
+
+  /**
+   * Return the dictionaries of the dictionary encoded fields of the last batch
+   */
+  public DictionaryProvider getDictionaryProvider() {
+    return dictionaryProvider;
+  }
+
+  @Override public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      for (ArrowCarbonColumnVector vector : arrowVectors) {
+        vector.close();
+      }
+    }
+  }
+}
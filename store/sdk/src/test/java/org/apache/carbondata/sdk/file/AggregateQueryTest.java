@@ -0,0 +1,535 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.scan.aggregate.AggregateFunction;
+import org.apache.carbondata.core.scan.aggregate.ScanAggregate;
+import org.apache.carbondata.core.scan.executor.QueryExecutor;
+import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.model.QueryModelBuilder;
+import org.apache.carbondata.core.scan.result.RowBatch;
+import org.apache.carbondata.core.util.DataTypeConverterImpl;
+import org.apache.carbondata.core.writer.CarbonDeleteDeltaWriterImpl;
+import org.apache.carbondata.hadoop.CarbonInputSplit;
+import org.apache.carbondata.hadoop.CarbonMultiBlockSplit;
+import org.apache.carbondata.hadoop.api.CarbonFileInputFormat;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the aggregates computed by the scan on files written by the SDK, the partial
+ * results of the splits are merged and must be the same as aggregating the rows of the query
+ */
+public class AggregateQueryTest {
+
+  private static final String dataDir = "./testAggregateQueryFiles";
+
+  /**
+   * delete delta files are kept out of the data directory which is listed by the reader
+   */
+  private static final String deltaDir = "./testAggregateQueryDeltaFiles";
+
+  private static final int NUM_FILES = 2;
+
+  private static final int NUM_ROWS = 100;
+
+  private static final String[] PROJECTION = { "name", "shortField", "intField", "longField",
+      "doubleField", "decimalField", "dateField", "birthDate" };
+
+  private static final String NULL = "\\N";
+
+  private Configuration configuration;
+
+  private CarbonTable table;
+
+  @Before public void setUp() throws Exception {
+    FileUtils.deleteDirectory(new File(dataDir));
+    FileUtils.deleteDirectory(new File(deltaDir));
+    configuration = FileFactory.getConfiguration();
+    writeFiles();
+    table = CarbonTable.buildTable(dataDir, "_temp", configuration);
+  }
+
+  @After public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(new File(dataDir));
+    FileUtils.deleteDirectory(new File(deltaDir));
+  }
+
+  @Test public void testAggregatesMatchRows() throws Exception {
+    List<CarbonInputSplit> splits = getSplits();
+    Assert.assertEquals(NUM_FILES, splits.size());
+    List<ScanAggregate> aggregates = new ArrayList<>();
+    aggregates.add(aggregate(AggregateFunction.COUNT, null));
+    for (String column : new String[] { "shortField", "intField", "longField", "doubleField",
+        "decimalField" }) {
+      for (AggregateFunction function : AggregateFunction.values()) {
+        aggregates.add(aggregate(function, column));
+      }
+    }
+    for (String column : new String[] { "dateField", "birthDate" }) {
+      aggregates.add(aggregate(AggregateFunction.COUNT, column));
+      aggregates.add(aggregate(AggregateFunction.MIN, column));
+      aggregates.add(aggregate(AggregateFunction.MAX, column));
+    }
+    // the scan computes the aggregates on the pages, with the nulls of the measure pages and the
+    // null surrogate keys of the date pages
+    assertAggregates(table, splits, null, aggregates,
+        readRows(table, splits, null, NUM_FILES * NUM_ROWS));
+  }
+
+  @Test public void testAggregatesFromStatistics() throws Exception {
+    List<CarbonInputSplit> splits = getSplits();
+    // the columns have no null and no min or max taken as null, so the blocklets are answered
+    // from their statistics
+    List<ScanAggregate> aggregates = Arrays.asList(
+        aggregate(AggregateFunction.COUNT, null),
+        aggregate(AggregateFunction.MIN, "shortField"),
+        aggregate(AggregateFunction.MAX, "shortField"),
+        aggregate(AggregateFunction.MIN, "longField"),
+        aggregate(AggregateFunction.MAX, "longField"),
+        aggregate(AggregateFunction.MIN, "birthDate"),
+        aggregate(AggregateFunction.MAX, "birthDate"));
+    assertAggregates(table, splits, null, aggregates,
+        readRows(table, splits, null, NUM_FILES * NUM_ROWS));
+  }
+
+  @Test public void testStatisticsOfNullsNotUsed() throws Exception {
+    List<CarbonInputSplit> splits = getSplits();
+    // the min of intField and dateField are the nulls, which the statistics take as 0 and as the
+    // null surrogate key, so the blocklets are scanned
+    List<ScanAggregate> aggregates = Arrays.asList(
+        aggregate(AggregateFunction.COUNT, null),
+        aggregate(AggregateFunction.MIN, "intField"),
+        aggregate(AggregateFunction.MAX, "intField"),
+        aggregate(AggregateFunction.MIN, "dateField"),
+        aggregate(AggregateFunction.MAX, "dateField"));
+    List<Object[]> rows = readRows(table, splits, null, NUM_FILES * NUM_ROWS);
+    assertAggregates(table, splits, null, aggregates, rows);
+    Assert.assertEquals(1, aggregateRows(rows, "intField", AggregateFunction.MIN));
+  }
+
+  @Test public void testAggregatesWithFilter() throws Exception {
+    List<CarbonInputSplit> splits = getSplits();
+    // the filter removes the rows having the max of the columns
+    Expression filter = new LessThanExpression(new ColumnExpression("longField", DataTypes.LONG),
+        new LiteralExpression(20007L, DataTypes.LONG));
+    List<ScanAggregate> aggregates = Arrays.asList(
+        aggregate(AggregateFunction.COUNT, null),
+        aggregate(AggregateFunction.COUNT, "intField"),
+        aggregate(AggregateFunction.SUM, "intField"),
+        aggregate(AggregateFunction.MIN, "longField"),
+        aggregate(AggregateFunction.MAX, "longField"),
+        aggregate(AggregateFunction.SUM, "doubleField"),
+        aggregate(AggregateFunction.MAX, "decimalField"),
+        aggregate(AggregateFunction.MAX, "birthDate"));
+    List<Object[]> rows = readRows(table, splits, filter, 170);
+    assertAggregates(table, splits, filter, aggregates, rows);
+    Assert.assertEquals(19007L, aggregateRows(rows, "longField", AggregateFunction.MAX));
+  }
+
+  @Test public void testReadAggregatesFromReaderBuilder() throws Exception {
+    Expression filter = new LessThanExpression(new ColumnExpression("longField", DataTypes.LONG),
+        new LiteralExpression(20007L, DataTypes.LONG));
+    AggregateFunction[] functions = { AggregateFunction.COUNT, AggregateFunction.SUM,
+        AggregateFunction.MIN, AggregateFunction.MAX };
+    String[] columnNames = { null, "intField", "longField", "birthDate" };
+    Object[] results =
+        CarbonReader.builder(dataDir, "_temp").filter(filter).readAggregates(functions,
+            columnNames);
+    List<Object[]> rows = readRows(table, getSplits(), filter, 170);
+    Assert.assertEquals(functions.length, results.length);
+    for (int i = 0; i < functions.length; i++) {
+      assertResult(functions[i] + "(" + columnNames[i] + ")",
+          aggregateRows(rows, columnNames[i], functions[i]), results[i]);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedAggregateRejectedByReaderBuilder() throws Exception {
+    CarbonReader.builder(dataDir, "_temp").readAggregates(
+        new AggregateFunction[] { AggregateFunction.SUM }, new String[] { "name" });
+  }
+
+  @Test public void testAggregatesWithDeletedRows() throws Exception {
+    List<CarbonInputSplit> splits = getSplits();
+    CarbonInputSplit deletedSplit = splits.get(0);
+    List<Object[]> blockRows =
+        readRows(table, Collections.singletonList(deletedSplit), null, NUM_ROWS);
+    // delete the rows having the min and max of longField in the block and every tenth row, the
+    // rows of the query without filter are in the order of the rows of the page
+    int longIndex = Arrays.asList(PROJECTION).indexOf("longField");
+    int minRowId = 0;
+    int maxRowId = 0;
+    for (int i = 0; i < blockRows.size(); i++) {
+      long value = (Long) blockRows.get(i)[longIndex];
+      if (value < (Long) blockRows.get(minRowId)[longIndex]) {
+        minRowId = i;
+      }
+      if (value > (Long) blockRows.get(maxRowId)[longIndex]) {
+        maxRowId = i;
+      }
+    }
+    List<Integer> deletedRowIds = new ArrayList<>();
+    for (int i = 0; i < blockRows.size(); i++) {
+      if (i == minRowId || i == maxRowId || i % 10 == 3) {
+        deletedRowIds.add(i);
+      }
+    }
+    deletedSplit.setDeleteDeltaFiles(new String[] { writeDeleteDelta(deletedSplit,
+        deletedRowIds) });
+
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < blockRows.size(); i++) {
+      if (!deletedRowIds.contains(i)) {
+        rows.add(blockRows.get(i));
+      }
+    }
+    rows.addAll(
+        readRows(table, splits.subList(1, splits.size()), null, (NUM_FILES - 1) * NUM_ROWS));
+    Assert.assertEquals(rows.size(),
+        readRows(table, splits, null, NUM_FILES * NUM_ROWS - deletedRowIds.size()).size());
+    // COUNT(*), MIN and MAX do not use the statistics which include the deleted rows
+    List<ScanAggregate> aggregates = Arrays.asList(
+        aggregate(AggregateFunction.COUNT, null),
+        aggregate(AggregateFunction.MIN, "longField"),
+        aggregate(AggregateFunction.MAX, "longField"),
+        aggregate(AggregateFunction.MIN, "birthDate"),
+        aggregate(AggregateFunction.MAX, "birthDate"),
+        aggregate(AggregateFunction.COUNT, "doubleField"),
+        aggregate(AggregateFunction.SUM, "decimalField"),
+        aggregate(AggregateFunction.COUNT, "dateField"));
+    assertAggregates(table, splits, null, aggregates, rows);
+  }
+
+  @Test public void testAggregatesOfAddedColumn() throws Exception {
+    List<CarbonInputSplit> splits = getSplits();
+    // the column is added to the table after the files are written, its rows are the default
+    // value. The files of a non transactional table must have the schema of the table.
+    TableInfo tableInfo = CarbonTable.buildTable(dataDir, "_temp", configuration).getTableInfo();
+    List<ColumnSchema> columns = tableInfo.getFactTable().getListOfColumns();
+    ColumnSchema addedColumn = new ColumnSchema();
+    addedColumn.setColumnName("addedField");
+    addedColumn.setColumnUniqueId("addedField");
+    addedColumn.setColumnReferenceId("addedField");
+    addedColumn.setDataType(DataTypes.INT);
+    addedColumn.setDimensionColumn(false);
+    addedColumn.setEncodingList(new ArrayList<Encoding>());
+    addedColumn.setSchemaOrdinal(columns.size());
+    addedColumn.setDefaultValue(
+        "7".getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+    columns.add(addedColumn);
+    tableInfo.setTransactionalTable(true);
+    CarbonTable restructuredTable = CarbonTable.buildFromTableInfo(tableInfo);
+
+    String[] projection = { "longField", "addedField" };
+    List<Object[]> rows = runQuery(restructuredTable, splits, projection, null, null);
+    Assert.assertEquals(NUM_FILES * NUM_ROWS, rows.size());
+    CarbonColumn longField =
+        restructuredTable.getColumnByName(restructuredTable.getTableName(), "longField");
+    CarbonColumn addedField =
+        restructuredTable.getColumnByName(restructuredTable.getTableName(), "addedField");
+    List<ScanAggregate> aggregates = new ArrayList<>();
+    for (AggregateFunction function : AggregateFunction.values()) {
+      aggregates.add(new ScanAggregate(function, addedField));
+    }
+    // the scan takes the default value for the rows of the column missing in the block
+    List<Object> results =
+        runAggregates(restructuredTable, splits, projection, null, aggregates);
+    assertResult("COUNT(addedField)", (long) NUM_FILES * NUM_ROWS, results.get(0));
+    assertResult("SUM(addedField)", 7L * NUM_FILES * NUM_ROWS, results.get(1));
+    assertResult("MIN(addedField)", 7, results.get(2));
+    assertResult("MAX(addedField)", 7, results.get(3));
+    Assert.assertEquals(7, rows.get(0)[1]);
+
+    // MIN and MAX of the missing column are taken from the default value with the statistics of
+    // the other columns
+    aggregates = Arrays.asList(new ScanAggregate(AggregateFunction.MAX, longField),
+        new ScanAggregate(AggregateFunction.MIN, addedField));
+    results = runAggregates(restructuredTable, splits, projection, null, aggregates);
+    assertResult("MAX(longField)", 49007L, results.get(0));
+    assertResult("MIN(addedField)", 7, results.get(1));
+  }
+
+  private ScanAggregate aggregate(AggregateFunction function, String columnName) {
+    return new ScanAggregate(function,
+        null == columnName ? null : table.getColumnByName(table.getTableName(), columnName));
+  }
+
+  /**
+   * Run the aggregates on the splits and compare the merged results with aggregating the rows
+   */
+  private static void assertAggregates(CarbonTable carbonTable, List<CarbonInputSplit> splits,
+      Expression filter, List<ScanAggregate> aggregates, List<Object[]> rows) throws Exception {
+    List<Object> results = runAggregates(carbonTable, splits, PROJECTION, filter, aggregates);
+    Assert.assertEquals(aggregates.size(), results.size());
+    for (int i = 0; i < aggregates.size(); i++) {
+      ScanAggregate aggregate = aggregates.get(i);
+      String columnName = null == aggregate.getColumn() ? null : aggregate.getColumn().getColName();
+      assertResult(aggregate.toString(), aggregateRows(rows, columnName, aggregate.getFunction()),
+          results.get(i));
+    }
+  }
+
+  private static void assertResult(String message, Object expected, Object actual) {
+    if (expected instanceof BigDecimal && actual instanceof BigDecimal) {
+      Assert.assertEquals(message + " expected " + expected + " but was " + actual, 0,
+          ((BigDecimal) expected).compareTo((BigDecimal) actual));
+    } else if (expected instanceof Double && actual instanceof Double) {
+      Assert.assertEquals(message, (Double) expected, (Double) actual, 1e-6);
+    } else {
+      Assert.assertEquals(message, expected, actual);
+    }
+  }
+
+  /**
+   * Aggregate the column of the rows of the projection, the results have the types of the
+   * results of the scan
+   */
+  private static Object aggregateRows(List<Object[]> rows, String columnName,
+      AggregateFunction function) {
+    if (null == columnName) {
+      return (long) rows.size();
+    }
+    int index = -1;
+    for (int i = 0; i < PROJECTION.length; i++) {
+      if (PROJECTION[i].equalsIgnoreCase(columnName)) {
+        index = i;
+      }
+    }
+    long count = 0;
+    Object result = null;
+    for (Object[] row : rows) {
+      Object value = row[index];
+      if (null == value) {
+        continue;
+      }
+      count++;
+      if (function == AggregateFunction.SUM) {
+        if (value instanceof BigDecimal) {
+          result = null == result ? value : ((BigDecimal) result).add((BigDecimal) value);
+        } else if (value instanceof Double) {
+          result = null == result ? value : (Double) result + (Double) value;
+        } else {
+          long longValue = ((Number) value).longValue();
+          result = null == result ? longValue : (Long) result + longValue;
+        }
+      } else if (function == AggregateFunction.MIN) {
+        result = null == result || compare(value, result) < 0 ? value : result;
+      } else if (function == AggregateFunction.MAX) {
+        result = null == result || compare(value, result) > 0 ? value : result;
+      }
+    }
+    return function == AggregateFunction.COUNT ? (Object) count : result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int compare(Object value1, Object value2) {
+    return ((Comparable<Object>) value1).compareTo(value2);
+  }
+
+  /**
+   * Run the aggregates on each split like the tasks of a query and merge their partial results
+   */
+  private static List<Object> runAggregates(CarbonTable carbonTable,
+      List<CarbonInputSplit> splits, String[] projection, Expression filter,
+      List<ScanAggregate> aggregates) throws Exception {
+    Object[] results = new Object[aggregates.size()];
+    for (CarbonInputSplit split : splits) {
+      List<Object[]> partialRows = runQuery(carbonTable, Collections.singletonList(split),
+          projection, filter, aggregates);
+      Assert.assertEquals(1, partialRows.size());
+      for (int i = 0; i < aggregates.size(); i++) {
+        results[i] = aggregates.get(i).merge(results[i], partialRows.get(0)[i]);
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  private static List<Object[]> readRows(CarbonTable carbonTable, List<CarbonInputSplit> splits,
+      Expression filter, int expectedRowCount) throws Exception {
+    List<Object[]> rows = new ArrayList<>();
+    for (CarbonInputSplit split : splits) {
+      rows.addAll(runQuery(carbonTable, Collections.singletonList(split), PROJECTION, filter,
+          null));
+    }
+    Assert.assertEquals(expectedRowCount, rows.size());
+    return rows;
+  }
+
+  private static List<Object[]> runQuery(CarbonTable carbonTable, List<CarbonInputSplit> splits,
+      String[] projection, Expression filter, List<ScanAggregate> aggregates) throws Exception {
+    QueryModel queryModel = new QueryModelBuilder(carbonTable).projectColumns(projection)
+        .filterExpression(filter).dataConverter(new DataTypeConverterImpl()).build();
+    queryModel.setTableBlockInfos(CarbonInputSplit.createBlocks(splits));
+    queryModel.setAggregates(aggregates);
+    QueryExecutor<RowBatch> queryExecutor =
+        QueryExecutorFactory.getQueryExecutor(queryModel, FileFactory.getConfiguration());
+    List<Object[]> rows = new ArrayList<>();
+    try {
+      CarbonIterator<RowBatch> iterator = queryExecutor.execute(queryModel);
+      while (iterator.hasNext()) {
+        RowBatch rowBatch = iterator.next();
+        while (rowBatch.hasNext()) {
+          rows.add(rowBatch.next());
+        }
+      }
+    } finally {
+      queryExecutor.finish();
+    }
+    return rows;
+  }
+
+  /**
+   * Get the splits of the files the way the reader gets them, in the order of the files
+   */
+  private List<CarbonInputSplit> getSplits() throws IOException {
+    CarbonFileInputFormat format = new CarbonFileInputFormat();
+    Job job = new Job(configuration);
+    format.setTableInfo(job.getConfiguration(), table.getTableInfo());
+    format.setTablePath(job.getConfiguration(), table.getTablePath());
+    format.setTableName(job.getConfiguration(), table.getTableName());
+    format.setDatabaseName(job.getConfiguration(), table.getDatabaseName());
+    job.getConfiguration().set("filter_blocks", "false");
+    List<InputSplit> inputSplits;
+    try {
+      inputSplits = format.getSplits(new JobContextImpl(job.getConfiguration(), new JobID()));
+    } finally {
+      DataMapStoreManager.getInstance().clearDataMaps(table.getAbsoluteTableIdentifier());
+    }
+    List<CarbonInputSplit> splits = new ArrayList<>();
+    for (InputSplit inputSplit : inputSplits) {
+      if (inputSplit instanceof CarbonMultiBlockSplit) {
+        splits.addAll(((CarbonMultiBlockSplit) inputSplit).getAllSplits());
+      } else {
+        splits.add((CarbonInputSplit) inputSplit);
+      }
+    }
+    for (CarbonInputSplit split : splits) {
+      // the footer offset is read from the end of the file like the record reader does
+      if (split.getDetailInfo().getBlockFooterOffset() == 0L) {
+        String splitPath = split.getPath().toString();
+        FileReader reader = FileFactory.getFileHolder(FileFactory.getFileType(splitPath),
+            job.getConfiguration());
+        ByteBuffer buffer = reader.readByteBuffer(FileFactory.getUpdatedFilePath(splitPath),
+            split.getLength() - 8, 8);
+        split.getDetailInfo().setBlockFooterOffset(buffer.getLong());
+        reader.finish();
+      }
+    }
+    Collections.sort(splits, new Comparator<CarbonInputSplit>() {
+      @Override public int compare(CarbonInputSplit split1, CarbonInputSplit split2) {
+        return split1.getPath().toString().compareTo(split2.getPath().toString());
+      }
+    });
+    return splits;
+  }
+
+  /**
+   * Write the delete delta of the rows of the first page of the first blocklet of the split
+   */
+  private static String writeDeleteDelta(CarbonInputSplit split, List<Integer> rowIds)
+      throws Exception {
+    String blockName = split.getPath().getName();
+    DeleteDeltaBlockDetails deleteDeltaBlockDetails = new DeleteDeltaBlockDetails(blockName);
+    for (int rowId : rowIds) {
+      deleteDeltaBlockDetails.addBlocklet("0", String.valueOf(rowId), 0);
+    }
+    new File(deltaDir).mkdirs();
+    // the timestamp of the delete delta is after the last hyphen of the file name
+    String deltaPath = new File(deltaDir,
+        UUID.randomUUID().toString().replace("-", "") + CarbonCommonConstants.HYPHEN
+            + System.currentTimeMillis() + CarbonCommonConstants.DELETE_DELTA_FILE_EXT)
+        .getAbsolutePath();
+    new CarbonDeleteDeltaWriterImpl(deltaPath, FileFactory.getFileType(deltaPath))
+        .write(deleteDeltaBlockDetails);
+    return deltaPath;
+  }
+
+  /**
+   * Write the files with nulls in intField, doubleField, decimalField and dateField, negative
+   * values in all the measures and no null in birthDate
+   */
+  private static void writeFiles() throws Exception {
+    Field[] fields = new Field[8];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("shortField", DataTypes.SHORT);
+    fields[2] = new Field("intField", DataTypes.INT);
+    fields[3] = new Field("longField", DataTypes.LONG);
+    fields[4] = new Field("doubleField", DataTypes.DOUBLE);
+    fields[5] = new Field("decimalField", DataTypes.createDecimalType(10, 3));
+    fields[6] = new Field("dateField", DataTypes.DATE);
+    fields[7] = new Field("birthDate", DataTypes.DATE);
+    for (int file = 0; file < NUM_FILES; file++) {
+      CarbonWriter writer = CarbonWriter.builder().outputPath(dataDir)
+          .uniqueIdentifier(System.currentTimeMillis() + file)
+          .withCsvInput(new Schema(fields)).writtenBy("AggregateQueryTest").build();
+      for (int i = 0; i < NUM_ROWS; i++) {
+        int id = file * NUM_ROWS + i;
+        writer.write(new String[] {
+            "name_" + id,
+            String.valueOf(id % 50 - 20),
+            id % 7 == 3 ? NULL : String.valueOf(id + 1),
+            String.valueOf((id - 150) * 1000L + 7),
+            id % 9 == 4 ? NULL : String.valueOf((id - 80) * 1.25),
+            id % 11 == 5 ? NULL :
+                BigDecimal.valueOf(id - 120).multiply(new BigDecimal("0.125")).toPlainString(),
+            id % 6 == 1 ? NULL : String.format("2019-%02d-%02d", 1 + id % 12, 1 + id % 28),
+            String.format("2000-%02d-%02d", 1 + id % 12, 1 + (id * 7) % 28) });
+      }
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.sdk.file.arrow.ArrowCarbonColumnVector;
+
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link ArrowCarbonReader}
+ */
+public class ArrowCarbonReaderTest {
+
+  private static final String path = "./testArrowReadFiles";
+
+  @Before @After public void cleanTestData() throws IOException {
+    FileUtils.deleteDirectory(new File(path));
+    DataMapStoreManager.getInstance().clearDataMaps(AbsoluteTableIdentifier.from(path));
+  }
+
+  private void writeData() {
+    org.apache.carbondata.sdk.file.Field[] fields = new org.apache.carbondata.sdk.file.Field[2];
+    fields[0] = new org.apache.carbondata.sdk.file.Field("name", DataTypes.STRING);
+    fields[1] = new org.apache.carbondata.sdk.file.Field("age", DataTypes.INT);
+    TestUtil.writeFilesAndVerify(200, new Schema(fields), path);
+  }
+
+  @Test public void testReadArrowBatches() throws IOException, InterruptedException {
+    writeData();
+    ArrowCarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[] { "name", "age" }).buildArrowReader(false);
+    try {
+      Assert.assertEquals(2, reader.getArrowSchema().getFields().size());
+      long sum = 0;
+      int count = 0;
+      VectorSchemaRoot root = reader.readNextBatch();
+      while (root != null) {
+        VarCharVector names = (VarCharVector) root.getVector("name");
+        IntVector ages = (IntVector) root.getVector("age");
+        for (int i = 0; i < root.getRowCount(); i++) {
+          int age = ages.get(i);
+          Assert.assertEquals("robot" + (age / 10), new String(names.get(i), "UTF-8"));
+          sum += age;
+          count++;
+        }
+        root = reader.readNextBatch();
+      }
+      Assert.assertEquals(200, count);
+      Assert.assertEquals(199 * 200 / 2, sum);
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test public void testReadDictionaryEncodedArrowBatches()
+      throws IOException, InterruptedException {
+    writeData();
+    ArrowCarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[] { "name", "age" }).buildArrowReader(true);
+    try {
+      Field nameField = reader.getArrowSchema().getFields().get(0);
+      Assert.assertNotNull(nameField.getDictionary());
+      Set<String> names = new HashSet<>();
+      int count = 0;
+      VectorSchemaRoot root = reader.readNextBatch();
+      while (root != null) {
+        IntVector ids = (IntVector) root.getVector("name");
+        Dictionary dictionary =
+            reader.getDictionaryProvider().lookup(nameField.getDictionary().getId());
+        VarCharVector values = (VarCharVector) dictionary.getVector();
+        for (int i = 0; i < root.getRowCount(); i++) {
+          names.add(new String(values.get(ids.get(i)), "UTF-8"));
+          count++;
+        }
+        root = reader.readNextBatch();
+      }
+      Assert.assertEquals(200, count);
+      Assert.assertEquals(20, names.size());
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test public void testWriteArrowFile() throws IOException, InterruptedException {
+    writeData();
+    File arrowFile = new File(path, "export.arrow");
+    ArrowCarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[] { "age" }).buildArrowReader(false);
+    FileOutputStream out = new FileOutputStream(arrowFile);
+    try {
+      Assert.assertEquals(200, reader.writeArrowFile(out.getChannel()));
+    } finally {
+      out.close();
+      reader.close();
+    }
+
+    RootAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+    FileInputStream in = new FileInputStream(arrowFile);
+    ArrowFileReader fileReader = new ArrowFileReader(in.getChannel(), allocator);
+    try {
+      int count = 0;
+      while (fileReader.loadNextBatch()) {
+        count += fileReader.getVectorSchemaRoot().getRowCount();
+      }
+      Assert.assertEquals(200, count);
+    } finally {
+      fileReader.close();
+      in.close();
+      allocator.close();
+    }
+  }
+
+  @Test public void testColumnVectorReusesBuffersAcrossBatches() {
+    RootAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+    ArrowCarbonColumnVector intVector = new ArrowCarbonColumnVector(
+        new Field("age", FieldType.nullable(new ArrowType.Int(32, true)), null), DataTypes.INT,
+        16, allocator);
+    ArrowCarbonColumnVector stringVector = new ArrowCarbonColumnVector(
+        new Field("name", FieldType.nullable(ArrowType.Utf8.INSTANCE), null), DataTypes.STRING,
+        16, allocator);
+    try {
+      // scan sets no dictionary on the pages without local dictionary
+      intVector.setDictionary(null);
+      stringVector.setDictionary(null);
+      intVector.putInt(0, 10);
+      intVector.putNull(1);
+      intVector.finish(2);
+      IntVector arrowVector = (IntVector) intVector.getArrowVector();
+      long dataAddress = arrowVector.getDataBuffer().memoryAddress();
+      Assert.assertEquals(10, arrowVector.get(0));
+      Assert.assertTrue(arrowVector.isNull(1));
+
+      intVector.reset();
+      Assert.assertEquals(0, arrowVector.getValueCount());
+      Assert.assertEquals(dataAddress, arrowVector.getDataBuffer().memoryAddress());
+      intVector.putInt(1, 20);
+      intVector.finish(2);
+      Assert.assertTrue(arrowVector.isNull(0));
+      Assert.assertEquals(20, arrowVector.get(1));
+    } finally {
+      intVector.close();
+      stringVector.close();
+      allocator.close();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datamap.DataMapStoreManager;
+import org.apache.carbondata.core.datamap.Segment;
+import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.PartitionSpec;
+import org.apache.carbondata.core.indexstore.service.BlockletIndexServer;
+import org.apache.carbondata.core.indexstore.service.BlockletIndexService;
+import org.apache.carbondata.core.indexstore.service.LocalBlockletIndexService;
+import org.apache.carbondata.core.indexstore.service.RemoteBlockletIndexService;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.readcommitter.LatestFilesReadCommittedScope;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for pruning the files written by the SDK through {@link BlockletIndexServer}
+ */
+public class BlockletIndexServerPruneTest {
+
+  private static final String dataDir = "./testIndexServerFiles";
+
+  private static final String SECRET = "BlockletIndexServerPruneTest";
+
+  private BlockletIndexServer server;
+
+  @Before public void setUp() throws IOException {
+    FileUtils.deleteDirectory(new File(dataDir));
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_INDEX_SERVICE_SECRET, SECRET);
+  }
+
+  @After public void tearDown() throws IOException {
+    if (server != null) {
+      server.stop();
+    }
+    CarbonProperties.getInstance()
+        .removeProperty(CarbonCommonConstants.CARBON_INDEX_SERVICE_SECRET);
+    DataMapStoreManager.getInstance().clearDataMaps(
+        CarbonTable.buildDummyTable(dataDir).getAbsoluteTableIdentifier());
+    FileUtils.deleteDirectory(new File(dataDir));
+  }
+
+  @Test public void testRemotePruneMatchesLocalPrune() throws Exception {
+    // two files with disjoint ranges, so that the filter can prune one of them
+    writeFile(0, 100);
+    writeFile(1000, 100);
+
+    Configuration conf = new Configuration();
+    CarbonTable table = CarbonTable.buildTable(dataDir, "_temp", conf);
+    List<Segment> segments = getSegments(conf);
+    Expression expression = new EqualToExpression(
+        new ColumnExpression("intField", DataTypes.INT),
+        new LiteralExpression(5, DataTypes.INT));
+    table.processFilterExpression(expression, null, null);
+    FilterResolverIntf resolver =
+        CarbonTable.resolveFilter(expression, table.getAbsoluteTableIdentifier());
+
+    Set<String> localBlocklets = toKeys(DataMapStoreManager.getInstance()
+        .getDefaultDataMap(table).prune(segments, resolver, null));
+    DataMapStoreManager.getInstance().clearDataMaps(table.getAbsoluteTableIdentifier());
+
+    final AtomicInteger serverPrunes = new AtomicInteger();
+    server = new BlockletIndexServer(0, new LocalBlockletIndexService() {
+      @Override public List<ExtendedBlocklet> prune(CarbonTable carbonTable,
+          List<Segment> segments, FilterResolverIntf filter, List<PartitionSpec> partitions)
+          throws IOException {
+        serverPrunes.incrementAndGet();
+        return super.prune(carbonTable, segments, filter, partitions);
+      }
+    });
+    server.start();
+    BlockletIndexService client = new RemoteBlockletIndexService("localhost", server.getPort(),
+        10000, SECRET.getBytes(Charset.forName("UTF-8")));
+    Set<String> remoteBlocklets = toKeys(client.prune(table, segments, resolver, null));
+
+    Assert.assertEquals(1, serverPrunes.get());
+    Assert.assertEquals(localBlocklets, remoteBlocklets);
+    Assert.assertFalse(remoteBlocklets.isEmpty());
+    Set<String> files = new HashSet<>();
+    for (String blocklet : remoteBlocklets) {
+      files.add(blocklet.substring(0, blocklet.lastIndexOf('#')));
+    }
+    Assert.assertEquals(1, files.size());
+  }
+
+  private void writeFile(int start, int numRows) throws Exception {
+    Field[] fields = new Field[2];
+    fields[0] = new Field("stringField", DataTypes.STRING);
+    fields[1] = new Field("intField", DataTypes.INT);
+    CarbonWriter writer = CarbonWriter.builder().outputPath(dataDir)
+        .withCsvInput(new Schema(fields)).writtenBy("BlockletIndexServerPruneTest").build();
+    for (int i = start; i < start + numRows; i++) {
+      writer.write(new String[] { "robot_" + i, String.valueOf(i) });
+    }
+    writer.close();
+  }
+
+  private List<Segment> getSegments(Configuration conf) throws IOException {
+    LatestFilesReadCommittedScope readCommittedScope =
+        new LatestFilesReadCommittedScope(dataDir, conf);
+    List<Segment> segments = new ArrayList<>();
+    for (LoadMetadataDetails load : readCommittedScope.getSegmentList()) {
+      segments.add(new Segment(load.getLoadName(), null, readCommittedScope));
+    }
+    return segments;
+  }
+
+  private static Set<String> toKeys(List<ExtendedBlocklet> blocklets) {
+    Set<String> keys = new HashSet<>();
+    for (ExtendedBlocklet blocklet : blocklets) {
+      keys.add(new File(blocklet.getPath()).getName() + "#" + blocklet.getBlockletId());
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.avro.generic.GenericData;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for reading complex columns written by the SDK through the vector reader, the
+ * rows must be the same as the rows of the row reader
+ */
+public class ComplexVectorReaderTest {
+
+  private static final String dataDir = "./testComplexVectorReaderFiles";
+
+  private static final String[] PROJECTION = { "id", "tags", "points", "address" };
+
+  private static final String AVRO_SCHEMA = "{\"type\": \"record\", \"name\": \"Person\", "
+      + "\"fields\": ["
+      + "{\"name\": \"id\", \"type\": \"int\"}, "
+      + "{\"name\": \"tags\", \"type\": {\"type\": \"array\", \"items\": \"string\"}}, "
+      + "{\"name\": \"points\", \"type\": {\"type\": \"array\", \"items\": "
+      + "{\"type\": \"record\", \"name\": \"Point\", \"fields\": ["
+      + "{\"name\": \"x\", \"type\": \"int\"}, {\"name\": \"label\", \"type\": \"string\"}]}}}, "
+      + "{\"name\": \"address\", \"type\": [\"null\", "
+      + "{\"type\": \"record\", \"name\": \"Address\", \"fields\": ["
+      + "{\"name\": \"city\", \"type\": \"string\"}, {\"name\": \"zip\", \"type\": \"long\"}, "
+      + "{\"name\": \"phones\", \"type\": {\"type\": \"array\", \"items\": \"long\"}}]}]}]}";
+
+  @Before public void setUp() throws IOException {
+    FileUtils.deleteDirectory(new File(dataDir));
+  }
+
+  @After public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(new File(dataDir));
+  }
+
+  @Test public void testNestedVectorsMatchRowReader() throws Exception {
+    int numRows = 100;
+    writeFile(numRows);
+
+    List<Object[]> vectorRows = readRows(
+        CarbonReader.builder(dataDir, "_temp").projection(PROJECTION).build());
+    List<Object[]> rows = readRows(
+        CarbonReader.builder(dataDir, "_temp").projection(PROJECTION).withRowRecordReader()
+            .build());
+
+    Assert.assertEquals(numRows, rows.size());
+    Assert.assertEquals(rows.size(), vectorRows.size());
+    boolean hasEmptyArray = false;
+    boolean hasNullAddress = false;
+    for (int i = 0; i < rows.size(); i++) {
+      Object[] row = rows.get(i);
+      Assert.assertTrue("row " + i + " expected " + Arrays.deepToString(row) + " but was "
+          + Arrays.deepToString(vectorRows.get(i)), Arrays.deepEquals(row, vectorRows.get(i)));
+      int id = (Integer) row[0];
+      if (id % 4 == 1) {
+        // empty arrays are read as arrays without elements and not as null
+        Assert.assertArrayEquals(new Object[0], (Object[]) vectorRows.get(i)[1]);
+        Assert.assertArrayEquals(new Object[0], (Object[]) vectorRows.get(i)[2]);
+        hasEmptyArray = true;
+      } else if (id % 4 == 2) {
+        // the union of the null address is stored as a struct with a null record
+        Object[] address = (Object[]) ((Object[]) vectorRows.get(i)[3])[0];
+        Assert.assertNull(address[0]);
+        Assert.assertNull(address[1]);
+        hasNullAddress = true;
+      }
+    }
+    Assert.assertTrue(hasEmptyArray);
+    Assert.assertTrue(hasNullAddress);
+  }
+
+  private void writeFile(int numRows) throws Exception {
+    org.apache.avro.Schema avroSchema = new org.apache.avro.Schema.Parser().parse(AVRO_SCHEMA);
+    org.apache.avro.Schema pointSchema =
+        avroSchema.getField("points").schema().getElementType();
+    org.apache.avro.Schema addressSchema =
+        avroSchema.getField("address").schema().getTypes().get(1);
+    CarbonWriter writer = CarbonWriter.builder().outputPath(dataDir).withAvroInput(avroSchema)
+        .writtenBy("ComplexVectorReaderTest").build();
+    for (int i = 0; i < numRows; i++) {
+      GenericData.Record record = new GenericData.Record(avroSchema);
+      record.put("id", i);
+      ArrayList<Object> tags = new ArrayList<>();
+      ArrayList<Object> points = new ArrayList<>();
+      if (i % 4 != 1) {
+        for (int j = 0; j <= i % 3; j++) {
+          tags.add("tag_" + i + "_" + j);
+          GenericData.Record point = new GenericData.Record(pointSchema);
+          point.put("x", i * 10 + j);
+          point.put("label", "point_" + j);
+          points.add(point);
+        }
+      }
+      record.put("tags", tags);
+      record.put("points", points);
+      if (i % 4 != 2) {
+        GenericData.Record address = new GenericData.Record(addressSchema);
+        address.put("city", "city_" + i);
+        address.put("zip", (long) i * 1000);
+        ArrayList<Object> phones = new ArrayList<>();
+        // the address of every fourth row has no phones
+        if (i % 4 != 3) {
+          phones.add((long) i);
+          phones.add((long) -i);
+        }
+        address.put("phones", phones);
+        record.put("address", address);
+      }
+      writer.write(record);
+    }
+    writer.close();
+  }
+
+  private static List<Object[]> readRows(CarbonReader reader) throws Exception {
+    List<Object[]> rows = new ArrayList<>();
+    try {
+      while (reader.hasNext()) {
+        rows.add((Object[]) reader.readNextRow());
+      }
+    } finally {
+      reader.close();
+    }
+    return rows;
+  }
+}
@@ -26,10 +26,17 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.junit.*;
 
 /**
@@ -132,6 +139,166 @@ public class ConcurrentSdkReaderTest {
     }
   }
 
+  @Test public void testReadWithInternalParallelism() throws IOException, InterruptedException {
+    int numFiles = 10;
+    int numRowsPerFile = 100;
+    writeDataMultipleFiles(numFiles, numRowsPerFile);
+
+    CarbonReader reader = CarbonReader.builder(dataDir).withParallelReading(4).build();
+    try {
+      long count = 0;
+      while (reader.hasNext()) {
+        Object[] row = (Object[]) reader.readNextRow();
+        Assert.assertEquals(2, row.length);
+        count += 1;
+      }
+      Assert.assertEquals(numFiles * numRowsPerFile, count);
+      List<SplitReadStatistics> statistics = reader.getSplitReadStatistics();
+      Assert.assertEquals(numFiles, statistics.size());
+      for (SplitReadStatistics statistic : statistics) {
+        Assert.assertTrue(statistic.isFinished());
+        Assert.assertEquals(numRowsPerFile, statistic.getRowCount());
+      }
+    } finally {
+      reader.close();
+    }
+
+    // unordered reading with filter and projection
+    EqualToExpression equalToExpression = new EqualToExpression(
+        new ColumnExpression("intField", DataTypes.INT),
+        new LiteralExpression("5", DataTypes.INT));
+    CarbonReader reader2 = CarbonReader.builder(dataDir)
+        .projection(new String[] { "stringField" })
+        .filter(equalToExpression)
+        .withParallelReading(3, 10, false)
+        .build();
+    try {
+      long count = 0;
+      while (reader2.hasNext()) {
+        Object[] row = (Object[]) reader2.readNextRow();
+        Assert.assertEquals(1, row.length);
+        Assert.assertEquals("robot_5", row[0]);
+        count += 1;
+      }
+      Assert.assertEquals(numFiles, count);
+    } finally {
+      reader2.close();
+    }
+  }
+
+  @Test public void testOrderedParallelReadReturnsRowsInSplitOrder()
+      throws IOException, InterruptedException {
+    int numFiles = 6;
+    int numRowsPerFile = 300;
+    writeDataMultipleFiles(numFiles, numRowsPerFile);
+
+    List<Object> sequentialRows = new ArrayList<>();
+    CarbonReader reader = CarbonReader.builder(dataDir).build();
+    try {
+      while (reader.hasNext()) {
+        sequentialRows.add(((Object[]) reader.readNextRow())[1]);
+      }
+    } finally {
+      reader.close();
+    }
+
+    // small prefetch makes the split readers wait for the consumer while it is behind
+    CarbonReader parallelReader =
+        CarbonReader.builder(dataDir).withParallelReading(3, 20, true).build();
+    List<Object> parallelRows = new ArrayList<>();
+    try {
+      while (parallelReader.hasNext()) {
+        parallelRows.add(((Object[]) parallelReader.readNextRow())[1]);
+      }
+    } finally {
+      parallelReader.close();
+    }
+    Assert.assertEquals(numFiles * numRowsPerFile, parallelRows.size());
+    Assert.assertEquals(sequentialRows, parallelRows);
+  }
+
+  @Test public void testParallelReadWithSingleThread() throws IOException, InterruptedException {
+    int numFiles = 3;
+    int numRowsPerFile = 50;
+    writeDataMultipleFiles(numFiles, numRowsPerFile);
+
+    CarbonReader reader = CarbonReader.builder(dataDir).withParallelReading(1).build();
+    try {
+      long count = 0;
+      while (reader.hasNext()) {
+        reader.readNextRow();
+        count += 1;
+      }
+      Assert.assertEquals(numFiles * numRowsPerFile, count);
+      List<SplitReadStatistics> statistics = reader.getSplitReadStatistics();
+      Assert.assertEquals(numFiles, statistics.size());
+      for (SplitReadStatistics statistic : statistics) {
+        Assert.assertTrue(statistic.isFinished());
+        Assert.assertEquals(numRowsPerFile, statistic.getRowCount());
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test public void testPrefetchRowsBoundSplitReader() throws Exception {
+    int prefetchRows = 10;
+    InfiniteRecordReader recordReader = new InfiniteRecordReader();
+    List<RecordReader<Void, Object[]>> readers = new ArrayList<>();
+    readers.add(recordReader);
+    ParallelSplitReader<Object[]> parallelReader =
+        new ParallelSplitReader<>(readers, 1, prefetchRows, true);
+    try {
+      // wait until the split reader is blocked on the full queue
+      int readRows = -1;
+      while (readRows != recordReader.readRows.get()) {
+        readRows = recordReader.readRows.get();
+        Thread.sleep(100);
+      }
+      // the queue holds at most prefetch rows, one more chunk is held by the split reader
+      Assert.assertTrue("read " + readRows + " rows", readRows <= 2 * prefetchRows);
+      for (int i = 0; i < 3 * prefetchRows; i++) {
+        Assert.assertTrue(parallelReader.hasNext());
+        Assert.assertEquals(i, parallelReader.next()[0]);
+      }
+    } finally {
+      parallelReader.close();
+    }
+  }
+
+  /**
+   * Record reader returning rows forever, counts the rows read from it
+   */
+  private static class InfiniteRecordReader extends RecordReader<Void, Object[]> {
+
+    private final AtomicInteger readRows = new AtomicInteger();
+
+    private int currentRow = -1;
+
+    @Override public void initialize(InputSplit split, TaskAttemptContext context) {
+    }
+
+    @Override public boolean nextKeyValue() {
+      currentRow = readRows.getAndIncrement();
+      return true;
+    }
+
+    @Override public Void getCurrentKey() {
+      return null;
+    }
+
+    @Override public Object[] getCurrentValue() {
+      return new Object[] { currentRow };
+    }
+
+    @Override public float getProgress() {
+      return 0;
+    }
+
+    @Override public void close() {
+    }
+  }
+
   class ReadLogic implements Callable<Long> {
     CarbonReader reader;
 
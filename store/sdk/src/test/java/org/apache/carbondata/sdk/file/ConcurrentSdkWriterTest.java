@@ -18,12 +18,14 @@
 package org.apache.carbondata.sdk.file;
 
 import java.io.File;
+import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
@@ -86,6 +88,94 @@ public class ConcurrentSdkWriterTest {
     FileUtils.deleteDirectory(new File(path));
   }
 
+  @Test
+  public void testWriteWithRangePartitionedPipelines() throws Exception {
+    String path = "./testWriteRangePartitionedFiles";
+    FileUtils.deleteDirectory(new File(path));
+
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(numOfThreads);
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .sortBy(new String[] { "age" })
+        .partitionByRange("age", new String[] { "2", "5" })
+        .withCsvInput(new Schema(fields))
+        .writtenBy("ConcurrentSdkWriterTest")
+        .build();
+    for (int i = 0; i < numOfThreads; i++) {
+      executorService.submit(new WriteLogic(writer));
+    }
+    executorService.shutdown();
+    executorService.awaitTermination(2, TimeUnit.HOURS);
+    writer.close();
+
+    // one set of files per range
+    File[] dataFiles = new File(path).listFiles(new FilenameFilter() {
+      @Override public boolean accept(File dir, String name) {
+        return name.endsWith(CarbonTablePath.CARBON_DATA_EXT);
+      }
+    });
+    Assert.assertEquals(3, dataFiles.length);
+
+    CarbonReader reader = CarbonReader
+        .builder(path, "_temp")
+        .projection(new String[] { "name", "age" })
+        .build();
+    int count = 0;
+    while (reader.hasNext()) {
+      reader.readNextRow();
+      count++;
+    }
+    reader.close();
+    Assert.assertEquals(numOfThreads * recordsPerItr, count);
+
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  @Test
+  public void testParallelWriterRejectsWriteAfterClose() throws Exception {
+    String path = "./testWriteAfterCloseFiles";
+    FileUtils.deleteDirectory(new File(path));
+
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    CarbonWriterBuilder builder = CarbonWriter.builder()
+        .outputPath(path)
+        .taskNo(5)
+        .withParallelPipelines(2)
+        .withCsvInput(new Schema(fields))
+        .writtenBy("ConcurrentSdkWriterTest");
+    CarbonWriter writer = builder.build();
+    writer.write(new String[] { "robot0", "0" });
+    writer.close();
+    try {
+      writer.write(new String[] { "robot1", "1" });
+      Assert.fail("write after close must fail");
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(e.getMessage().contains("closed"));
+    }
+
+    // the builder is not modified by building the pipelines, so it builds the same writer again
+    CarbonWriter secondWriter = builder.build();
+    secondWriter.write(new String[] { "robot2", "2" });
+    secondWriter.close();
+
+    CarbonReader reader = CarbonReader.builder(path, "_temp").build();
+    int count = 0;
+    while (reader.hasNext()) {
+      reader.readNextRow();
+      count++;
+    }
+    reader.close();
+    Assert.assertEquals(2, count);
+
+    FileUtils.deleteDirectory(new File(path));
+  }
+
   class WriteLogic implements Runnable {
     CarbonWriter writer;
 
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for running several queries on the footer of a data file shared by the footer cache
+ */
+public class FooterCacheQueryTest {
+
+  private static final String dataDir = "./testFooterCacheQueryFiles";
+
+  @Before public void setUp() throws IOException {
+    FileUtils.deleteDirectory(new File(dataDir));
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED, "true");
+  }
+
+  @After public void tearDown() throws IOException {
+    CarbonProperties.getInstance()
+        .removeProperty(CarbonCommonConstants.CARBON_FOOTER_CACHE_ENABLED);
+    FileUtils.deleteDirectory(new File(dataDir));
+  }
+
+  @Test public void testQueriesOnCachedFooter() throws Exception {
+    Field[] fields = new Field[3];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    fields[2] = new Field("doubleField", DataTypes.DOUBLE);
+    TestUtil.writeFilesAndVerify(200, new Schema(fields), dataDir);
+
+    Expression filter = new EqualToExpression(new ColumnExpression("age", DataTypes.INT),
+        new LiteralExpression("5", DataTypes.INT));
+    // the first query caches the footer, the others get it from the cache
+    assertFilteredRows(readRows(new String[] { "name", "age" }, filter));
+    List<Object[]> rows = readRows(new String[] { "doubleField", "age", "name" }, null);
+    Assert.assertEquals(200, rows.size());
+    for (Object[] row : rows) {
+      int age = (Integer) row[1];
+      Assert.assertEquals((double) age / 2, (Double) row[0], 0);
+      Assert.assertEquals("robot" + (age % 10), row[2]);
+    }
+    assertFilteredRows(readRows(new String[] { "name", "age" }, filter));
+  }
+
+  private static void assertFilteredRows(List<Object[]> rows) {
+    Assert.assertEquals(1, rows.size());
+    Assert.assertEquals("robot5", rows.get(0)[0]);
+    Assert.assertEquals(5, rows.get(0)[1]);
+  }
+
+  private static List<Object[]> readRows(String[] projection, Expression filter)
+      throws Exception {
+    CarbonReaderBuilder builder = CarbonReader.builder(dataDir, "_temp").projection(projection);
+    if (filter != null) {
+      builder.filter(filter);
+    }
+    CarbonReader reader = builder.build();
+    List<Object[]> rows = new ArrayList<>();
+    try {
+      while (reader.hasNext()) {
+        rows.add((Object[]) reader.readNextRow());
+      }
+    } finally {
+      reader.close();
+    }
+    return rows;
+  }
+}